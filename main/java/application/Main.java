@@ -1,5 +1,6 @@
 package application;
 
+import enums.IdentificadorEstado;
 import model.adapter.NotificadorAdapter;
 import model.adapter.concrete_adapters.EmailAdapter;
 import model.adapter.concrete_adapters.TelegramAdapter;
@@ -169,7 +170,8 @@ public class Main {
         AnuncioPrototypeRegistry registry = new AnuncioPrototypeRegistry();
 
         System.out.println("Protótipos disponíveis no sistema:");
-        System.out.println("Total: " + registry.getQuantidadePrototipos() + " protótipos registrados\n");
+        System.out.println("Total: " + registry.getQuantidadePrototipos() + " protótipos registrados");
+        System.out.println(registry.getRelatorio() + "\n");
 
         // Demonstra clonagem de apartamento padrão
         System.out.println("1. Clonando protótipo APARTAMENTO_PADRAO_2Q:");
@@ -202,6 +204,9 @@ public class Main {
             anuncios.add(sobradoClonado);
         }
 
+        // Apenas os protótipos clonados acima foram criados (carregamento sob demanda)
+        System.out.println("Registry: " + registry.getRelatorio() + "\n");
+
         System.out.println("BENEFÍCIO: Protótipos permitem criar anúncios rapidamente");
         System.out.println("a partir de configurações pré-definidas.\n");
 
@@ -437,7 +442,7 @@ public class Main {
 
         // Garante que temos anúncios ativos
         for (Anuncio a : anuncios) {
-            if (a.getEstadoAtual().equals("Rascunho")) {
+            if (a.getIdentificadorEstado() == IdentificadorEstado.RASCUNHO) {
                 a.enviarParaModeracao();
                 a.aprovar();
             }
@@ -0,0 +1,36 @@
+package enums;
+
+/**
+ * Enum que representa os campos de um anúncio cuja alteração é notificada
+ * aos observadores (e registrada no histórico do anúncio).
+ *
+ * ESTADO é alterado apenas pelas transições do State; os demais pelos setters.
+ */
+public enum CampoAnuncio {
+    ESTADO("Estado"),
+    TITULO("Título"),
+    PRECO("Preço"),
+    DESCRICAO("Descrição"),
+    TIPO_TRANSACAO("Tipo de transação"),
+    IMOVEL("Imóvel"),
+    ANUNCIANTE("Anunciante"),
+    FOTO_ADICIONADA("Foto adicionada"),
+    FOTO_REMOVIDA("Foto removida");
+
+    private static final CampoAnuncio[] VALORES = values();
+
+    private final String descricao;
+
+    CampoAnuncio(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    // Retorna o campo pela posição (ordinal); usado na leitura do histórico em disco
+    public static CampoAnuncio porOrdinal(int ordinal) {
+        return VALORES[ordinal];
+    }
+}
@@ -0,0 +1,51 @@
+package enums;
+
+/**
+ * Enum que identifica os estados do ciclo de vida de um anúncio (RF04).
+ *
+ * Usado para comparar estados por identidade (==) em vez de pelo nome exibido.
+ * A descrição é o nome exibido ao usuário e usado nas notificações.
+ */
+public enum IdentificadorEstado {
+    RASCUNHO("Rascunho"),
+    PENDENTE_MODERACAO("Pendente de Moderação"),
+    ATIVO("Ativo"),
+    SUSPENSO("Suspenso"),
+    VENDIDO("Vendido/Alugado");
+
+    // Cópia de values() para evitar a alocação de um novo array a cada consulta
+    private static final IdentificadorEstado[] VALORES = values();
+
+    private final String descricao;
+
+    IdentificadorEstado(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    // Retorna o identificador pelo nome exibido (sem diferenciar maiúsculas), ou null
+    public static IdentificadorEstado porDescricao(String descricao) {
+        if (descricao == null) {
+            return null;
+        }
+        for (IdentificadorEstado estado : VALORES) {
+            if (estado.descricao.equalsIgnoreCase(descricao)) {
+                return estado;
+            }
+        }
+        return null;
+    }
+
+    // Retorna o identificador pela posição (ordinal)
+    public static IdentificadorEstado porOrdinal(int ordinal) {
+        return VALORES[ordinal];
+    }
+
+    // Retorna a quantidade de estados
+    public static int quantidade() {
+        return VALORES.length;
+    }
+}
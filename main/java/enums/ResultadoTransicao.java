@@ -0,0 +1,31 @@
+package enums;
+
+/**
+ * Enum que representa o resultado de uma ação de transição de estado do anúncio.
+ *
+ * - APLICADA: a transição aconteceu e os observadores foram notificados
+ * - NAO_PERMITIDA: a ação não é válida no estado atual (nada muda)
+ * - BLOQUEADA: a ação é válida no estado, mas a guarda da transição recusou (nada muda)
+ * - CONCORRENTE: outra transição mudou o estado primeiro; esta foi descartada
+ */
+public enum ResultadoTransicao {
+    APLICADA("Aplicada"),
+    NAO_PERMITIDA("Não permitida"),
+    BLOQUEADA("Bloqueada pela guarda da transição"),
+    CONCORRENTE("Rejeitada por transição concorrente");
+
+    private final String descricao;
+
+    ResultadoTransicao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    // Retorna true se a transição aconteceu
+    public boolean isAplicada() {
+        return this == APLICADA;
+    }
+}
@@ -0,0 +1,46 @@
+package model.adapter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PADRÃO: Adapter
+ * PAPEL: Objeto de dados da interface Client
+ * FUNÇÃO: Representa uma notificação (destinatário + mensagem) enviada em lote
+ * pelo NotificadorAdapter.enviarLote
+ */
+public class Notificacao {
+
+    private final String destinatario;
+    private final String mensagem;
+
+    public Notificacao(String destinatario, String mensagem) {
+        this.destinatario = destinatario;
+        this.mensagem = mensagem;
+    }
+
+    /**
+     * Agrupa as notificações pela mensagem, preservando a ordem da primeira ocorrência.
+     * Usado pelos adapters que enviam a mesma mensagem para vários destinatários
+     * em uma única chamada ao serviço.
+     *
+     * @return mensagem -> posições das notificações na lista original
+     */
+    public static Map<String, List<Integer>> agruparPorMensagem(List<Notificacao> notificacoes) {
+        Map<String, List<Integer>> grupos = new LinkedHashMap<>();
+        for (int i = 0; i < notificacoes.size(); i++) {
+            grupos.computeIfAbsent(notificacoes.get(i).getMensagem(), k -> new ArrayList<>()).add(i);
+        }
+        return grupos;
+    }
+
+    public String getDestinatario() {
+        return destinatario;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+}
@@ -1,5 +1,7 @@
 package model.adapter;
 
+import java.util.List;
+
 /**
  * PADRÃO: Adapter
  * PAPEL: Client (Interface)
@@ -18,4 +20,25 @@ public interface NotificadorAdapter {
 
     // Retorna o nome do canal de notificação
     String getNomeCanal();
+
+    /**
+     * Envia várias notificações pelo canal.
+     *
+     * A implementação padrão envia uma a uma; adapters cujo serviço aceita
+     * lotes sobrescrevem este método.
+     *
+     * @return resultado de cada notificação, na mesma ordem da lista
+     */
+    default boolean[] enviarLote(List<Notificacao> notificacoes) {
+        boolean[] resultados = new boolean[notificacoes.size()];
+        for (int i = 0; i < resultados.length; i++) {
+            Notificacao notificacao = notificacoes.get(i);
+            try {
+                resultados[i] = enviar(notificacao.getDestinatario(), notificacao.getMensagem());
+            } catch (RuntimeException e) {
+                resultados[i] = false;
+            }
+        }
+        return resultados;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package model.adapter.adaptee;
 
+import java.util.List;
+
 /**
  * PADRÃO: Adapter
  * PAPEL: Adaptee
@@ -28,12 +30,37 @@ public class ServicoEmail {
         System.out.println("[ServicoEmail] Conectando ao servidor " + servidorSmtp + ":" + porta);
         System.out.println("[ServicoEmail] Enviando para: " + emailDestino);
         System.out.println("[ServicoEmail] Assunto: " + assunto);
-        System.out.println("[ServicoEmail] Corpo: " + corpo);
+        System.out.println("[ServicoEmail] Corpo: " + corpo.length() + " caracteres");
         System.out.println("[ServicoEmail] Email enviado com sucesso!");
 
         return true;
     }
 
+    /**
+     * Envia o mesmo email para vários destinatários usando uma única conexão
+     * com o servidor SMTP.
+     *
+     * @return resultado de cada destinatário, na mesma ordem
+     */
+    public boolean[] enviarEmailEmMassa(List<String> emailsDestino, String assunto, String corpo) {
+        boolean[] resultados = new boolean[emailsDestino.size()];
+        int enviados = 0;
+
+        // Simula uma única conexão para todo o lote
+        System.out.println("[ServicoEmail] Conectando ao servidor " + servidorSmtp + ":" + porta);
+        System.out.println("[ServicoEmail] Assunto: " + assunto);
+        for (int i = 0; i < resultados.length; i++) {
+            String emailDestino = emailsDestino.get(i);
+            resultados[i] = emailDestino != null && emailDestino.contains("@");
+            if (resultados[i]) {
+                enviados++;
+            }
+        }
+        System.out.println("[ServicoEmail] Lote enviado: " + enviados + " de " + resultados.length + " emails");
+
+        return resultados;
+    }
+
     public String getServidorSmtp() {
         return servidorSmtp;
     }
@@ -37,4 +37,36 @@ public class ServicoSMS {
 
         return 0; // Sucesso
     }
+
+    /**
+     * Transmite o mesmo SMS para vários números em uma única requisição.
+     *
+     * @return código de status de cada número (0 = sucesso, -1 = número inválido)
+     */
+    public int[] transmitirSMSEmLote(String[] numerosTelefone, String textoMensagem) {
+        int[] codigos = new int[numerosTelefone.length];
+        int enviados = 0;
+
+        // Trunca mensagem se necessário (limite SMS)
+        String mensagemTruncada = textoMensagem;
+        if (textoMensagem.length() > 160) {
+            mensagemTruncada = textoMensagem.substring(0, 157) + "...";
+        }
+
+        for (int i = 0; i < numerosTelefone.length; i++) {
+            String numero = numerosTelefone[i];
+            codigos[i] = numero == null || numero.length() < 10 ? -1 : 0;
+            if (codigos[i] == 0) {
+                enviados++;
+            }
+        }
+
+        // Simula uma única requisição para todo o lote
+        System.out.println("[ServicoSMS] Autenticando com API Key: " + apiKey.substring(0, 4) + "****");
+        System.out.println("[ServicoSMS] Remetente: " + numeroRemetente);
+        System.out.println("[ServicoSMS] Mensagem: " + mensagemTruncada);
+        System.out.println("[ServicoSMS] Lote enviado: " + enviados + " de " + codigos.length + " SMS");
+
+        return codigos;
+    }
 }
\ No newline at end of file
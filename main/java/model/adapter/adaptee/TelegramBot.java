@@ -1,9 +1,23 @@
 package model.adapter.adaptee;
 
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import model.singleton.ConfiguracaoSistema;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * PADRÃO: Adapter
@@ -13,6 +27,22 @@ import java.nio.charset.StandardCharsets;
  * IMPLEMENTAÇÃO REAL (RF05):
  * Esta classe implementa a integração REAL com a API do Telegram
  *
+ * FUNCIONAMENTO:
+ * - Um único HttpClient (HTTP/2, conexões reaproveitadas) é compartilhado por todos os bots
+ * - A URI de envio é montada uma única vez por bot
+ * - sendAsync nunca bloqueia: reserva o horário de envio e agenda o despacho
+ * - A vaga de requisição em andamento só é ocupada no despacho (não durante a
+ *   espera pelo horário); sem vaga, o envio entra em uma fila e sai quando
+ *   outra requisição termina
+ * - Respeita os limites do Telegram: intervalo mínimo por chat e mensagens
+ *   por segundo no total; mensagens acima do limite são adiadas, não recusadas
+ * - Uma resposta 429 adia o chat pelo Retry-After e reagenda a mensagem
+ *   (até MAXIMO_TENTATIVAS vezes)
+ * - O controle de horários por chat é limpo por uma varredura periódica
+ *
+ * INTEGRAÇÃO COM RF07 (Singleton):
+ * - URL da API e limites vêm do ConfiguracaoSistema (servico.telegram.*)
+ *
  * REQUISITOS PARA USO:
  * 1. Criar um bot no Telegram via @BotFather
  * 2. Obter o token do bot
@@ -20,68 +50,278 @@ import java.nio.charset.StandardCharsets;
  */
 public class TelegramBot {
 
-    private static final String TELEGRAM_API_URL = "https://api.telegram.org/bot";
+    private static final Logger LOGGER = Logger.getLogger(TelegramBot.class.getName());
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    // Cliente HTTP compartilhado (pool de conexões keep-alive)
+    private static final HttpClient CLIENTE = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(TIMEOUT)
+            .build();
+
+    // Intervalo entre varreduras dos chats sem envio pendente
+    private static final long INTERVALO_LIMPEZA_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    // Tentativas de uma mensagem que recebe 429 (Too Many Requests)
+    private static final int MAXIMO_TENTATIVAS = 3;
+
+    // Espera usada quando o 429 não informa Retry-After
+    private static final long RETRY_AFTER_PADRAO_SEGUNDOS = 1;
+
     private final String botToken;
+    private final URI uriEnvio;
+
+    // Limita as requisições em andamento
+    private final Semaphore requisicoesEmAndamento;
+
+    // Envios que chegaram ao horário sem vaga de requisição
+    private final Queue<Envio> aguardandoVaga;
+
+    // Próxima varredura do controle por chat (System.nanoTime)
+    private final AtomicLong proximaLimpeza;
+
+    // Próximo horário livre (System.nanoTime) por chat e para o bot como um todo
+    private final Map<String, AtomicLong> proximoEnvioPorChat;
+    private final AtomicLong proximoEnvioGlobal;
+    private final long intervaloChatNanos;
+    private final long intervaloGlobalNanos;
 
     // Construtor que recebe o token do bot
     public TelegramBot(String botToken) {
+        this(botToken, ConfiguracaoSistema.getInstancia().getUrlServicoTelegram());
+    }
+
+    // Construtor que recebe o token e a URL base da API (ex.: servidor local de testes)
+    public TelegramBot(String botToken, String urlBase) {
+        ConfiguracaoSistema config = ConfiguracaoSistema.getInstancia();
         this.botToken = botToken;
+        this.uriEnvio = URI.create(urlBase + botToken + "/sendMessage");
+        this.requisicoesEmAndamento = new Semaphore(Math.max(1, config.getRequisicoesSimultaneasTelegram()));
+        this.aguardandoVaga = new ConcurrentLinkedQueue<>();
+        this.proximaLimpeza = new AtomicLong(System.nanoTime() + INTERVALO_LIMPEZA_NANOS);
+        this.proximoEnvioPorChat = new ConcurrentHashMap<>();
+        this.proximoEnvioGlobal = new AtomicLong(System.nanoTime());
+        this.intervaloChatNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, config.getIntervaloChatTelegram()));
+        this.intervaloGlobalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, config.getMensagensPorSegundoTelegram());
     }
 
-    // Envia mensagem para um chat específico via API do Telegram
+    // Envia mensagem para um chat específico via API do Telegram (aguarda a resposta)
     public boolean sendMessage(String chatId, String texto) {
-        try {
-            String urlString = TELEGRAM_API_URL + botToken + "/sendMessage";
-            URL url = new URL(urlString);
-
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("POST");
-            connection.setRequestProperty("Content-Type", "application/json");
-            connection.setDoOutput(true);
-            connection.setConnectTimeout(5000);
-            connection.setReadTimeout(5000);
-
-            // Monta o JSON da requisição
-            String jsonPayload = String.format(
-                    "{\"chat_id\": \"%s\", \"text\": \"%s\", \"parse_mode\": \"HTML\"}",
-                    chatId,
-                    escapeJson(texto)
-            );
-
-            // Envia a requisição
-            try (OutputStream os = connection.getOutputStream()) {
-                byte[] input = jsonPayload.getBytes(StandardCharsets.UTF_8);
-                os.write(input, 0, input.length);
-            }
+        return sendAsync(chatId, texto).join();
+    }
+
+    /**
+     * Envia a mensagem de forma assíncrona, sem bloquear quem chama.
+     *
+     * A mensagem é despachada no horário reservado para o chat; se nesse
+     * momento o limite de requisições em andamento estiver atingido, espera
+     * na fila até uma requisição terminar.
+     *
+     * @return futuro concluído com true se o Telegram aceitou a mensagem, ou
+     *         com a exceção do cliente HTTP se a requisição for recusada antes do envio
+     */
+    public CompletableFuture<Boolean> sendAsync(String chatId, String texto) {
+        HttpRequest requisicao = HttpRequest.newBuilder(uriEnvio)
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(montarPayload(chatId, texto)))
+                .build();
+
+        Envio envio = new Envio(chatId, requisicao);
+        agendar(envio, reservarHorario(chatId));
+        return envio.resultado;
+    }
+
+    // Agenda o despacho do envio para o horário reservado
+    private void agendar(Envio envio, long horario) {
+        long espera = horario - System.nanoTime();
+        if (espera <= 0) {
+            despachar(envio);
+        } else {
+            CompletableFuture.runAsync(() -> despachar(envio),
+                    CompletableFuture.delayedExecutor(espera, TimeUnit.NANOSECONDS));
+        }
+    }
+
+    // Ocupa uma vaga e envia, ou deixa o envio na fila até uma vaga ser liberada
+    private void despachar(Envio envio) {
+        if (requisicoesEmAndamento.tryAcquire()) {
+            executar(envio);
+            return;
+        }
+        aguardandoVaga.add(envio);
+        // A vaga pode ter sido liberada entre o tryAcquire e o add
+        if (requisicoesEmAndamento.tryAcquire()) {
+            executarProximoOuLiberar();
+        }
+    }
 
-            // Verifica resposta
-            int responseCode = connection.getResponseCode();
+    // Chamado com uma vaga ocupada: envia o próximo da fila ou devolve a vaga
+    private void executarProximoOuLiberar() {
+        Envio proximo = aguardandoVaga.poll();
+        if (proximo != null) {
+            executar(proximo);
+            return;
+        }
+        requisicoesEmAndamento.release();
+        if (!aguardandoVaga.isEmpty() && requisicoesEmAndamento.tryAcquire()) {
+            executarProximoOuLiberar();
+        }
+    }
 
-            if (responseCode == HttpURLConnection.HTTP_OK) {
-                System.out.println("[TelegramBot] Mensagem enviada com sucesso para chatId: " + chatId);
-                return true;
+    // Envia a requisição (com a vaga ocupada) e trata a resposta
+    private void executar(Envio envio) {
+        envio.tentativas++;
+        CompletableFuture<HttpResponse<Void>> resposta;
+        try {
+            resposta = CLIENTE.sendAsync(envio.requisicao, HttpResponse.BodyHandlers.discarding());
+        } catch (RuntimeException e) {
+            // Requisição recusada antes do envio (ex.: IllegalArgumentException): devolve a vaga
+            executarProximoOuLiberar();
+            LOGGER.log(Level.WARNING, "[TelegramBot] Requisição recusada para chatId: {0}: {1}",
+                    new Object[]{envio.chatId, e.getMessage()});
+            envio.resultado.completeExceptionally(e);
+            return;
+        }
+        resposta.whenComplete((recebida, erro) -> {
+            executarProximoOuLiberar();
+            if (erro == null && recebida.statusCode() == 429 && envio.tentativas < MAXIMO_TENTATIVAS) {
+                reagendar(envio, recebida);
             } else {
-                System.out.println("[TelegramBot] Erro ao enviar mensagem. Código: " + responseCode);
-                return false;
+                envio.resultado.complete(tratarResposta(envio.chatId, recebida, erro));
             }
+        });
+    }
+
+    // Adia o chat pelo Retry-After do 429 e agenda uma nova tentativa
+    private void reagendar(Envio envio, HttpResponse<Void> resposta) {
+        long retryAfter = lerRetryAfter(resposta);
+        LOGGER.log(Level.WARNING, "[TelegramBot] Limite do Telegram excedido para chatId: {0}; nova tentativa em {1}s",
+                new Object[]{envio.chatId, retryAfter});
+
+        long liberadoEm = System.nanoTime() + TimeUnit.SECONDS.toNanos(retryAfter);
+        proximoEnvioPorChat.computeIfAbsent(envio.chatId, k -> new AtomicLong(liberadoEm))
+                .accumulateAndGet(liberadoEm, (atual, novo) -> atual - novo > 0 ? atual : novo);
+        agendar(envio, reservarHorario(envio.chatId));
+    }
+
+    // Lê o Retry-After (segundos) da resposta
+    private static long lerRetryAfter(HttpResponse<Void> resposta) {
+        try {
+            return Math.max(1, Long.parseLong(resposta.headers().firstValue("Retry-After")
+                    .orElse(String.valueOf(RETRY_AFTER_PADRAO_SEGUNDOS)).trim()));
+        } catch (NumberFormatException e) {
+            return RETRY_AFTER_PADRAO_SEGUNDOS;
+        }
+    }
 
-        } catch (Exception e) {
-            System.out.println("[TelegramBot] Erro de conexão: " + e.getMessage());
+    private boolean tratarResposta(String chatId, HttpResponse<Void> resposta, Throwable erro) {
+        if (erro != null) {
+            LOGGER.log(Level.WARNING, "[TelegramBot] Erro de conexão: {0}", erro.getMessage());
             return false;
         }
+
+        int codigo = resposta.statusCode();
+        if (codigo == 200) {
+            LOGGER.log(Level.FINE, "[TelegramBot] Mensagem enviada com sucesso para chatId: {0}", chatId);
+            return true;
+        }
+        if (codigo == 429) {
+            LOGGER.log(Level.WARNING, "[TelegramBot] Limite do Telegram excedido para chatId: {0}; tentativas esgotadas",
+                    chatId);
+            return false;
+        }
+        LOGGER.log(Level.WARNING, "[TelegramBot] Erro ao enviar mensagem. Código: {0}", codigo);
+        return false;
+    }
+
+    /**
+     * Reserva o próximo horário de envio livre para o chat, respeitando o
+     * intervalo por chat e o limite global do bot.
+     *
+     * @return horário (System.nanoTime) em que a mensagem pode ser enviada
+     */
+    private long reservarHorario(String chatId) {
+        long agora = System.nanoTime();
+        limparSeNecessario(agora);
+
+        AtomicLong proximoChat = proximoEnvioPorChat.computeIfAbsent(chatId, k -> new AtomicLong(agora));
+        long horarioChat = reservar(proximoChat, agora, intervaloChatNanos);
+        return reservar(proximoEnvioGlobal, horarioChat, intervaloGlobalNanos);
+    }
+
+    // Remove os chats sem horário pendente, no máximo uma vez por INTERVALO_LIMPEZA_NANOS
+    private void limparSeNecessario(long agora) {
+        long proxima = proximaLimpeza.get();
+        if (agora - proxima < 0 || !proximaLimpeza.compareAndSet(proxima, agora + INTERVALO_LIMPEZA_NANOS)) {
+            return;
+        }
+        proximoEnvioPorChat.values().removeIf(proximo -> proximo.get() - agora < 0);
+    }
+
+    // Reserva o primeiro horário livre a partir de "minimo" e avança o próximo horário livre
+    private static long reservar(AtomicLong proximo, long minimo, long intervalo) {
+        while (true) {
+            long atual = proximo.get();
+            long horario = atual - minimo > 0 ? atual : minimo;
+            if (proximo.compareAndSet(atual, horario + intervalo)) {
+                return horario;
+            }
+        }
+    }
+
+    // Monta o JSON da requisição em uma única passada
+    private static byte[] montarPayload(String chatId, String texto) {
+        StringBuilder sb = new StringBuilder(texto.length() + chatId.length() + 64);
+        sb.append("{\"chat_id\":\"");
+        escaparJson(chatId, sb);
+        sb.append("\",\"text\":\"");
+        escaparJson(texto, sb);
+        sb.append("\",\"parse_mode\":\"HTML\"}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
     }
 
     // "Traduz" caracteres especiais para JSON
-    private String escapeJson(String texto) {
-        return texto
-                .replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r")
-                .replace("\t", "\\t");
+    private static void escaparJson(String texto, StringBuilder destino) {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '\\': destino.append("\\\\"); break;
+                case '"': destino.append("\\\""); break;
+                case '\n': destino.append("\\n"); break;
+                case '\r': destino.append("\\r"); break;
+                case '\t': destino.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        destino.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        destino.append(c);
+                    }
+            }
+        }
+    }
+
+    // Retorna quantas requisições ainda podem ser iniciadas agora
+    public int getVagasDisponiveis() {
+        return requisicoesEmAndamento.availablePermits();
     }
 
     public String getBotToken() {
         return botToken;
     }
-}
\ No newline at end of file
+
+    // Mensagem em trânsito: requisição pronta, tentativas e resultado
+    private static class Envio {
+        private final String chatId;
+        private final HttpRequest requisicao;
+        private final CompletableFuture<Boolean> resultado;
+        private int tentativas;
+
+        private Envio(String chatId, HttpRequest requisicao) {
+            this.chatId = chatId;
+            this.requisicao = requisicao;
+            this.resultado = new CompletableFuture<>();
+        }
+    }
+}
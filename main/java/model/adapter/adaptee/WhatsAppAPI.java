@@ -36,6 +36,36 @@ public class WhatsAppAPI {
         return new RespostaWhatsApp(true, "MSG_SENT", "Mensagem enviada");
     }
 
+    /**
+     * Envia o mesmo template para vários números em uma única requisição.
+     *
+     * @return resposta de cada número, na mesma ordem
+     */
+    public RespostaWhatsApp[] enviarMensagensWhatsAppEmLote(String[] numerosDestino,
+                                                            String templateMensagem,
+                                                            String[] parametros) {
+        RespostaWhatsApp[] respostas = new RespostaWhatsApp[numerosDestino.length];
+        int enviados = 0;
+
+        for (int i = 0; i < numerosDestino.length; i++) {
+            String numero = numerosDestino[i];
+            if (numero == null || numero.isEmpty()) {
+                respostas[i] = new RespostaWhatsApp(false, "ERR_INVALID_NUMBER", "Número inválido");
+            } else {
+                respostas[i] = new RespostaWhatsApp(true, "MSG_SENT", "Mensagem enviada");
+                enviados++;
+            }
+        }
+
+        // Simula uma única requisição para todo o lote
+        System.out.println("[WhatsAppAPI] Autenticando conta: " + accountSid.substring(0, 4) + "****");
+        System.out.println("[WhatsAppAPI] Número remetente: " + numeroWhatsApp);
+        System.out.println("[WhatsAppAPI] Mensagem: " + templateMensagem);
+        System.out.println("[WhatsAppAPI] Lote enviado: " + enviados + " de " + respostas.length + " mensagens");
+
+        return respostas;
+    }
+
     // Classe interna que representa a resposta da API do WhatsApp
     public static class RespostaWhatsApp {
         private final boolean sucesso;
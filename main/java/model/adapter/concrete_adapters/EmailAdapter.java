@@ -1,8 +1,13 @@
 package model.adapter.concrete_adapters;
 
 import model.adapter.NotificadorAdapter;
+import model.adapter.Notificacao;
 import model.adapter.adaptee.ServicoEmail;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 /**
  * PADRÃO: Adapter
  * PAPEL: Adapter (Concrete)
@@ -37,6 +42,30 @@ public class EmailAdapter implements NotificadorAdapter {
         return servicoEmail.enviarEmail(destinatario, assuntoPadrao, mensagem);
     }
 
+    /**
+     * Envia as notificações agrupadas por mensagem: cada grupo é um único
+     * envio em massa do ServicoEmail.
+     */
+    @Override
+    public boolean[] enviarLote(List<Notificacao> notificacoes) {
+        boolean[] resultados = new boolean[notificacoes.size()];
+
+        for (Map.Entry<String, List<Integer>> grupo : Notificacao.agruparPorMensagem(notificacoes).entrySet()) {
+            List<Integer> posicoes = grupo.getValue();
+            List<String> destinos = new ArrayList<>(posicoes.size());
+            for (int posicao : posicoes) {
+                destinos.add(notificacoes.get(posicao).getDestinatario());
+            }
+
+            boolean[] enviados = servicoEmail.enviarEmailEmMassa(destinos, assuntoPadrao, grupo.getKey());
+            for (int i = 0; i < enviados.length; i++) {
+                resultados[posicoes.get(i)] = enviados[i];
+            }
+        }
+
+        return resultados;
+    }
+
     @Override
     public String getNomeCanal() {
         return "Email";
@@ -1,8 +1,12 @@
 package model.adapter.concrete_adapters;
 
 import model.adapter.NotificadorAdapter;
+import model.adapter.Notificacao;
 import model.adapter.adaptee.ServicoSMS;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * PADRÃO: Adapter
  * PAPEL: Adapter (Concrete)
@@ -43,6 +47,31 @@ public class SMSAdapter implements NotificadorAdapter {
         return codigoRetorno == 0;
     }
 
+    /**
+     * Envia as notificações agrupadas por mensagem: cada grupo é uma única
+     * requisição em lote ao ServicoSMS.
+     */
+    @Override
+    public boolean[] enviarLote(List<Notificacao> notificacoes) {
+        boolean[] resultados = new boolean[notificacoes.size()];
+
+        for (Map.Entry<String, List<Integer>> grupo : Notificacao.agruparPorMensagem(notificacoes).entrySet()) {
+            List<Integer> posicoes = grupo.getValue();
+            String[] numeros = new String[posicoes.size()];
+            for (int i = 0; i < numeros.length; i++) {
+                numeros[i] = notificacoes.get(posicoes.get(i)).getDestinatario();
+            }
+
+            // Converte os códigos de status para boolean
+            int[] codigos = servicoSMS.transmitirSMSEmLote(numeros, grupo.getKey());
+            for (int i = 0; i < codigos.length; i++) {
+                resultados[posicoes.get(i)] = codigos[i] == 0;
+            }
+        }
+
+        return resultados;
+    }
+
     @Override
     public String getNomeCanal() {
         return "SMS";
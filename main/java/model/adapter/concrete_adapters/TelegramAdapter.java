@@ -1,8 +1,13 @@
 package model.adapter.concrete_adapters;
 
 import model.adapter.NotificadorAdapter;
+import model.adapter.Notificacao;
 import model.adapter.adaptee.TelegramBot;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * PADRÃO: Adapter
  * PAPEL: Adapter (Concrete)
@@ -33,11 +38,34 @@ public class TelegramAdapter implements NotificadorAdapter {
     // Adapta a chamada genérica para o formato do TelegramBot
     @Override
     public boolean enviar(String destinatario, String mensagem) {
-        // Formata a mensagem com cabeçalho do MyHome
-        String mensagemFormatada = "<b>🏠 MyHome - Notificação</b>\n\n" + mensagem;
-
         // Adapta a chamada para o TelegramBot
-        return telegramBot.sendMessage(destinatario, mensagemFormatada);
+        return telegramBot.sendMessage(destinatario, formatarMensagem(mensagem));
+    }
+
+    /**
+     * O Telegram não tem envio em lote: as mensagens são disparadas em paralelo
+     * pelo sendAsync (que respeita os limites do bot) e o método espera todas.
+     * Uma requisição recusada pelo cliente HTTP conta como falha só da sua
+     * mensagem.
+     */
+    @Override
+    public boolean[] enviarLote(List<Notificacao> notificacoes) {
+        List<CompletableFuture<Boolean>> envios = new ArrayList<>(notificacoes.size());
+        for (Notificacao notificacao : notificacoes) {
+            envios.add(telegramBot.sendAsync(notificacao.getDestinatario(), formatarMensagem(notificacao.getMensagem()))
+                    .exceptionally(erro -> false));
+        }
+
+        boolean[] resultados = new boolean[envios.size()];
+        for (int i = 0; i < resultados.length; i++) {
+            resultados[i] = envios.get(i).join();
+        }
+        return resultados;
+    }
+
+    // Formata a mensagem com cabeçalho do MyHome
+    private String formatarMensagem(String mensagem) {
+        return "<b>🏠 MyHome - Notificação</b>\n\n" + mensagem;
     }
 
     @Override
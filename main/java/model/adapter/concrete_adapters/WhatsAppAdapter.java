@@ -1,8 +1,12 @@
 package model.adapter.concrete_adapters;
 
 import model.adapter.NotificadorAdapter;
+import model.adapter.Notificacao;
 import model.adapter.adaptee.WhatsAppAPI;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * PADRÃO: Adapter
  * PAPEL: Adapter (Concrete)
@@ -36,6 +40,31 @@ public class WhatsAppAdapter implements NotificadorAdapter {
         return resposta.isSucesso();
     }
 
+    /**
+     * Envia as notificações agrupadas por mensagem: cada grupo é uma única
+     * requisição em lote à WhatsAppAPI.
+     */
+    @Override
+    public boolean[] enviarLote(List<Notificacao> notificacoes) {
+        boolean[] resultados = new boolean[notificacoes.size()];
+
+        for (Map.Entry<String, List<Integer>> grupo : Notificacao.agruparPorMensagem(notificacoes).entrySet()) {
+            List<Integer> posicoes = grupo.getValue();
+            String[] numeros = new String[posicoes.size()];
+            for (int i = 0; i < numeros.length; i++) {
+                numeros[i] = notificacoes.get(posicoes.get(i)).getDestinatario();
+            }
+
+            WhatsAppAPI.RespostaWhatsApp[] respostas =
+                    whatsAppAPI.enviarMensagensWhatsAppEmLote(numeros, grupo.getKey(), new String[]{});
+            for (int i = 0; i < respostas.length; i++) {
+                resultados[posicoes.get(i)] = respostas[i].isSucesso();
+            }
+        }
+
+        return resultados;
+    }
+
     @Override
     public String getNomeCanal() {
         return "WhatsApp";
@@ -0,0 +1,485 @@
+package model.adapter.outbox;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * PADRÃO: Adapter (suporte à outbox)
+ * PAPEL: Diário (log de gravação antecipada) de um canal da outbox
+ * FUNÇÃO: Grava as notificações do canal em lote, fora da thread que as
+ * enfileira, com um único fsync por lote (group commit)
+ *
+ * FUNCIONAMENTO:
+ * - O diário é uma sequência de segmentos <n>.log; os registros são
+ *   acrescentados ao segmento atual: MENSAGEM (a notificação inteira),
+ *   TENTATIVA (nova contagem e horário) e CONCLUIDA (entregue ou na fila morta)
+ * - acrescentar() só coloca a notificação na fila de gravação (limitada) e
+ *   retorna; a thread gravadora junta o que houver na fila, escreve e
+ *   sincroniza uma vez. A referência só vai para a fila de entrega depois do fsync
+ * - Em memória ficam apenas as referências (ID, posição e tentativas); a
+ *   mensagem é relida do segmento na hora da entrega
+ * - Se a gravação falhar, a parte escrita é desfeita, o lote vai para um
+ *   segmento novo e é tentado de novo
+ * - Um segmento é apagado quando todas as suas mensagens foram concluídas e
+ *   todos os anteriores já foram apagados (os registros de um segmento só
+ *   citam mensagens dele ou de segmentos anteriores)
+ * - Na recuperação os segmentos são relidos em ordem; um registro incompleto no
+ *   fim de um segmento (gravação interrompida) é descartado
+ */
+public class DiarioOutbox {
+
+    private static final String EXTENSAO = ".log";
+
+    // Tipos de registro
+    private static final byte MENSAGEM = 1;
+    private static final byte TENTATIVA = 2;
+    private static final byte CONCLUIDA = 3;
+
+    // Cabeçalho de cada registro: tipo (1 byte) + tamanho do conteúdo (int)
+    private static final int CABECALHO = 5;
+
+    // Tamanho a partir do qual a gravação passa para um segmento novo
+    private static final long TAMANHO_SEGMENTO = 4L * 1024 * 1024;
+
+    // Registros gravados por vez (um fsync por lote)
+    private static final int MAXIMO_LOTE = 512;
+
+    // Notificações aceitas e ainda não gravadas; acima disso acrescentar() recusa
+    private static final int CAPACIDADE_FILA_GRAVACAO = 10_000;
+
+    // Espera antes de tentar de novo um lote cuja gravação falhou
+    private static final long ESPERA_NOVA_TENTATIVA_MS = 1000;
+
+    // Tempo máximo que encerrar() espera a gravação do que já foi aceito
+    private static final long ESPERA_ENCERRAMENTO_MS = 5000;
+
+    // Marca de fim colocada na fila por encerrar()
+    private static final Registro FIM = new Registro((byte) 0, new byte[0], null, null);
+
+    private final Path diretorio;
+
+    // Registros aguardando a thread gravadora
+    private final BlockingQueue<Registro> filaGravacao;
+
+    // Notificações (registros MENSAGEM) na fila de gravação
+    private final AtomicInteger aguardandoGravacao;
+
+    // Mensagens ainda não concluídas por segmento (após iniciar(), só a thread gravadora usa)
+    private final TreeMap<Long, Integer> pendentesPorSegmento;
+
+    private long segmentoAtual;
+
+    // Segmento aberto para gravação (null após uma falha: o próximo lote abre outro)
+    private FileChannel escrita;
+
+    private Consumer<ReferenciaPendente> aoGravar;
+    private Thread gravador;
+    private volatile boolean encerrado;
+
+    public DiarioOutbox(Path diretorio) {
+        this.diretorio = diretorio;
+        this.filaGravacao = new LinkedBlockingQueue<>();
+        this.aguardandoGravacao = new AtomicInteger();
+        this.pendentesPorSegmento = new TreeMap<>();
+    }
+
+    /**
+     * Relê os segmentos existentes e apaga os que já foram concluídos.
+     * Deve ser chamado antes de iniciar().
+     *
+     * @return as mensagens ainda não concluídas, na ordem de gravação
+     */
+    public List<ReferenciaPendente> recuperar() throws IOException {
+        List<Long> segmentos = listarSegmentos();
+        Map<String, ReferenciaPendente> pendentes = new LinkedHashMap<>();
+        for (long segmento : segmentos) {
+            pendentesPorSegmento.put(segmento, 0);
+            reler(segmento, pendentes);
+        }
+        for (ReferenciaPendente referencia : pendentes.values()) {
+            pendentesPorSegmento.merge(referencia.getSegmento(), 1, Integer::sum);
+        }
+
+        // A gravação sempre começa em um segmento novo
+        segmentoAtual = segmentos.isEmpty() ? 0 : segmentos.get(segmentos.size() - 1);
+        abrirProximoSegmento();
+        apagarSegmentosConcluidos();
+        return new ArrayList<>(pendentes.values());
+    }
+
+    /**
+     * Inicia a thread gravadora.
+     *
+     * @param aoGravar recebe a referência de cada notificação assim que ela
+     *                 está sincronizada com o disco
+     */
+    public void iniciar(Consumer<ReferenciaPendente> aoGravar, String nomeThread) {
+        this.aoGravar = aoGravar;
+        this.gravador = new Thread(this::gravarEmLotes, nomeThread);
+        gravador.setDaemon(true);
+        gravador.start();
+    }
+
+    /**
+     * Coloca a notificação na fila de gravação e retorna sem esperar o disco.
+     *
+     * @return false se a fila de gravação está cheia ou o diário foi encerrado
+     */
+    public boolean acrescentar(MensagemPendente mensagem) {
+        if (encerrado) {
+            return false;
+        }
+        if (aguardandoGravacao.incrementAndGet() > CAPACIDADE_FILA_GRAVACAO) {
+            aguardandoGravacao.decrementAndGet();
+            return false;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + mensagem.getMensagem().length());
+        try {
+            mensagem.gravar(new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        filaGravacao.add(new Registro(MENSAGEM, bytes.toByteArray(), mensagem, null));
+        return true;
+    }
+
+    // Registra a nova contagem de tentativas e o horário da próxima
+    public void registrarTentativa(ReferenciaPendente referencia) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try {
+            DataOutputStream saida = new DataOutputStream(bytes);
+            saida.writeUTF(referencia.getId());
+            saida.writeInt(referencia.getTentativas());
+            saida.writeLong(referencia.getProximaTentativa());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        filaGravacao.add(new Registro(TENTATIVA, bytes.toByteArray(), null, referencia));
+    }
+
+    // Registra que a notificação saiu da outbox (entregue ou na fila morta)
+    public void concluir(ReferenciaPendente referencia) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(48);
+        try {
+            new DataOutputStream(bytes).writeUTF(referencia.getId());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        filaGravacao.add(new Registro(CONCLUIDA, bytes.toByteArray(), null, referencia));
+    }
+
+    /**
+     * Relê a notificação do segmento onde foi gravada.
+     *
+     * @throws IOException se o registro não puder ser lido
+     */
+    public MensagemPendente ler(ReferenciaPendente referencia) throws IOException {
+        try (FileChannel leitor = FileChannel.open(caminho(referencia.getSegmento()), StandardOpenOption.READ)) {
+            ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO);
+            lerCompleto(leitor, cabecalho, referencia.getPosicao());
+            cabecalho.flip();
+            byte tipo = cabecalho.get();
+            int tamanho = cabecalho.getInt();
+            if (tipo != MENSAGEM || tamanho < 0 || tamanho > leitor.size() - referencia.getPosicao() - CABECALHO) {
+                throw new IOException("Registro inválido na posição " + referencia.getPosicao() +
+                        " do segmento " + referencia.getSegmento());
+            }
+            ByteBuffer conteudo = ByteBuffer.allocate(tamanho);
+            lerCompleto(leitor, conteudo, referencia.getPosicao() + CABECALHO);
+            return MensagemPendente.ler(new DataInputStream(new ByteArrayInputStream(conteudo.array())));
+        }
+    }
+
+    // Retorna quantas notificações aceitas ainda não foram gravadas
+    public int getAguardandoGravacao() {
+        return aguardandoGravacao.get();
+    }
+
+    /**
+     * Para de aceitar notificações, grava o que já estava na fila e encerra a
+     * thread gravadora (espera no máximo ESPERA_ENCERRAMENTO_MS).
+     */
+    public void encerrar() {
+        encerrado = true;
+        if (gravador == null) {
+            fecharEscrita();
+            return;
+        }
+        filaGravacao.add(FIM);
+        try {
+            gravador.join(ESPERA_ENCERRAMENTO_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ========================================================================
+    // GRAVAÇÃO (thread gravadora)
+    // ========================================================================
+
+    // Laço da thread gravadora: um lote (e um fsync) com tudo que estiver na fila
+    private void gravarEmLotes() {
+        List<Registro> lote = new ArrayList<>(MAXIMO_LOTE);
+        boolean fim = false;
+        while (!fim) {
+            try {
+                lote.add(filaGravacao.take());
+            } catch (InterruptedException e) {
+                fim = true;
+            }
+            filaGravacao.drainTo(lote, MAXIMO_LOTE - lote.size());
+            fim |= lote.remove(FIM);
+            gravarComNovasTentativas(lote);
+            lote.clear();
+        }
+        fecharEscrita();
+    }
+
+    // Grava o lote, tentando de novo enquanto o diário não for encerrado
+    private void gravarComNovasTentativas(List<Registro> lote) {
+        while (!lote.isEmpty()) {
+            try {
+                gravar(lote);
+                return;
+            } catch (IOException e) {
+                System.out.println("[Outbox] Falha ao gravar o diário " + diretorio + ": " + e.getMessage());
+                if (encerrado) {
+                    return;
+                }
+                try {
+                    Thread.sleep(ESPERA_NOVA_TENTATIVA_MS);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Escreve o lote no segmento atual, sincroniza uma vez e publica as mensagens gravadas
+    private void gravar(List<Registro> lote) throws IOException {
+        if (escrita == null) {
+            abrirProximoSegmento();
+        }
+
+        int tamanho = 0;
+        for (Registro registro : lote) {
+            tamanho += CABECALHO + registro.conteudo.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(tamanho);
+        long inicio = escrita.size();
+        long[] posicoes = new long[lote.size()];
+        for (int i = 0; i < lote.size(); i++) {
+            Registro registro = lote.get(i);
+            posicoes[i] = inicio + buffer.position();
+            buffer.put(registro.tipo).putInt(registro.conteudo.length).put(registro.conteudo);
+        }
+        buffer.flip();
+
+        try {
+            while (buffer.hasRemaining()) {
+                escrita.write(buffer, inicio + buffer.position());
+            }
+            escrita.force(false);
+        } catch (IOException e) {
+            desfazer(inicio);
+            throw e;
+        }
+
+        // Lote no disco: publica as mensagens e contabiliza as concluídas
+        for (int i = 0; i < lote.size(); i++) {
+            Registro registro = lote.get(i);
+            if (registro.tipo == MENSAGEM) {
+                aguardandoGravacao.decrementAndGet();
+                pendentesPorSegmento.merge(segmentoAtual, 1, Integer::sum);
+                aoGravar.accept(new ReferenciaPendente(registro.mensagem.getId(), segmentoAtual, posicoes[i],
+                        registro.mensagem.getTentativas(), registro.mensagem.getProximaTentativa()));
+            } else if (registro.tipo == CONCLUIDA) {
+                pendentesPorSegmento.computeIfPresent(registro.referencia.getSegmento(), (k, v) -> v - 1);
+            }
+        }
+        apagarSegmentosConcluidos();
+
+        if (escrita.size() >= TAMANHO_SEGMENTO) {
+            fecharEscrita();
+            abrirProximoSegmento();
+        }
+    }
+
+    // Desfaz a parte escrita do lote; o próximo lote vai para um segmento novo
+    private void desfazer(long inicio) {
+        try {
+            escrita.truncate(inicio);
+        } catch (IOException e) {
+            // Um registro incompleto no fim do segmento é descartado na recuperação
+        }
+        fecharEscrita();
+    }
+
+    private void abrirProximoSegmento() throws IOException {
+        long proximo = segmentoAtual + 1;
+        Files.createDirectories(diretorio);
+        escrita = FileChannel.open(caminho(proximo), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        segmentoAtual = proximo;
+        pendentesPorSegmento.putIfAbsent(proximo, 0);
+    }
+
+    private void fecharEscrita() {
+        if (escrita != null) {
+            try {
+                escrita.close();
+            } catch (IOException e) {
+                // Nada a fazer: o conteúdo já foi sincronizado ou será descartado
+            }
+            escrita = null;
+        }
+    }
+
+    // Apaga, do mais antigo em diante, os segmentos sem mensagens pendentes
+    private void apagarSegmentosConcluidos() {
+        while (!pendentesPorSegmento.isEmpty()) {
+            Map.Entry<Long, Integer> primeiro = pendentesPorSegmento.firstEntry();
+            if (primeiro.getKey() == segmentoAtual || primeiro.getValue() > 0) {
+                return;
+            }
+            pendentesPorSegmento.pollFirstEntry();
+            try {
+                Files.deleteIfExists(caminho(primeiro.getKey()));
+            } catch (IOException e) {
+                System.out.println("[Outbox] Não foi possível apagar " + caminho(primeiro.getKey()) +
+                        ": " + e.getMessage());
+            }
+        }
+    }
+
+    // ========================================================================
+    // RECUPERAÇÃO
+    // ========================================================================
+
+    // Relê um segmento aplicando seus registros; corta um registro incompleto no fim
+    private void reler(long segmento, Map<String, ReferenciaPendente> pendentes) throws IOException {
+        Path arquivo = caminho(segmento);
+        long tamanhoArquivo = Files.size(arquivo);
+        long valido = 0;
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivo)))) {
+            while (valido + CABECALHO <= tamanhoArquivo) {
+                byte tipo = entrada.readByte();
+                int tamanho = entrada.readInt();
+                if (tamanho < 0 || tamanho > tamanhoArquivo - valido - CABECALHO) {
+                    break;
+                }
+                byte[] conteudo = new byte[tamanho];
+                entrada.readFully(conteudo);
+                aplicar(tipo, conteudo, segmento, valido, pendentes);
+                valido += CABECALHO + tamanho;
+            }
+        } catch (EOFException e) {
+            // Fim inesperado: o que vem depois de "valido" é descartado abaixo
+        }
+
+        if (valido < tamanhoArquivo) {
+            try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+                canal.truncate(valido);
+            }
+        }
+    }
+
+    // Aplica um registro relido às mensagens pendentes
+    private void aplicar(byte tipo, byte[] conteudo, long segmento, long posicao,
+                         Map<String, ReferenciaPendente> pendentes) {
+        DataInputStream dados = new DataInputStream(new ByteArrayInputStream(conteudo));
+        try {
+            switch (tipo) {
+                case MENSAGEM:
+                    MensagemPendente mensagem = MensagemPendente.ler(dados);
+                    pendentes.put(mensagem.getId(), new ReferenciaPendente(mensagem.getId(), segmento, posicao,
+                            mensagem.getTentativas(), mensagem.getProximaTentativa()));
+                    break;
+                case TENTATIVA:
+                    ReferenciaPendente referencia = pendentes.get(dados.readUTF());
+                    int tentativas = dados.readInt();
+                    long proximaTentativa = dados.readLong();
+                    if (referencia != null) {
+                        referencia.restaurar(tentativas, proximaTentativa);
+                    }
+                    break;
+                case CONCLUIDA:
+                    pendentes.remove(dados.readUTF());
+                    break;
+                default:
+                    break;
+            }
+        } catch (IOException e) {
+            System.out.println("[Outbox] Registro ilegível ignorado no segmento " + caminho(segmento));
+        }
+    }
+
+    // Números dos segmentos existentes, em ordem
+    private List<Long> listarSegmentos() throws IOException {
+        List<Long> segmentos = new ArrayList<>();
+        if (!Files.isDirectory(diretorio)) {
+            return segmentos;
+        }
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, "*" + EXTENSAO)) {
+            for (Path arquivo : arquivos) {
+                String nome = arquivo.getFileName().toString();
+                try {
+                    segmentos.add(Long.parseLong(nome.substring(0, nome.length() - EXTENSAO.length())));
+                } catch (NumberFormatException e) {
+                    // Não é um segmento do diário
+                }
+            }
+        }
+        Collections.sort(segmentos);
+        return segmentos;
+    }
+
+    private Path caminho(long segmento) {
+        return diretorio.resolve(segmento + EXTENSAO);
+    }
+
+    private static void lerCompleto(FileChannel canal, ByteBuffer buffer, long posicao) throws IOException {
+        long inicio = posicao - buffer.position();
+        while (buffer.hasRemaining()) {
+            if (canal.read(buffer, inicio + buffer.position()) < 0) {
+                throw new EOFException("Fim do segmento na posição " + (inicio + buffer.position()));
+            }
+        }
+    }
+
+    // Registro aguardando gravação
+    private static class Registro {
+        private final byte tipo;
+        private final byte[] conteudo;
+        private final MensagemPendente mensagem;
+        private final ReferenciaPendente referencia;
+
+        private Registro(byte tipo, byte[] conteudo, MensagemPendente mensagem, ReferenciaPendente referencia) {
+            this.tipo = tipo;
+            this.conteudo = conteudo;
+            this.mensagem = mensagem;
+            this.referencia = referencia;
+        }
+    }
+}
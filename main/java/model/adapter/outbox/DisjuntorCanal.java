@@ -0,0 +1,91 @@
+package model.adapter.outbox;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * PADRÃO: Adapter (suporte à outbox)
+ * PAPEL: Disjuntor (circuit breaker) de um canal de notificação
+ * FUNÇÃO: Interrompe as tentativas de entrega enquanto o canal está fora do ar,
+ * para que as notificações não gastem tentativas à toa
+ *
+ * ESTADOS:
+ * - FECHADO: entregas liberadas; falhas consecutivas são contadas
+ * - ABERTO: entregas suspensas até o fim da pausa
+ * - MEIO_ABERTO: apenas uma entrega de teste; sucesso fecha, falha reabre
+ */
+public class DisjuntorCanal {
+
+    public enum Estado {
+        FECHADO,
+        ABERTO,
+        MEIO_ABERTO
+    }
+
+    private final int limiteFalhas;
+    private final long pausaMs;
+
+    private final AtomicReference<Estado> estado;
+    private final AtomicInteger falhasConsecutivas;
+    private final AtomicLong abertoAte;
+
+    public DisjuntorCanal(int limiteFalhas, long pausaMs) {
+        this.limiteFalhas = Math.max(1, limiteFalhas);
+        this.pausaMs = Math.max(0, pausaMs);
+        this.estado = new AtomicReference<>(Estado.FECHADO);
+        this.falhasConsecutivas = new AtomicInteger();
+        this.abertoAte = new AtomicLong();
+    }
+
+    /**
+     * Verifica se uma entrega pode ser tentada agora.
+     * No estado MEIO_ABERTO, apenas o primeiro chamador recebe permissão.
+     *
+     * @return 0 se a entrega está liberada, ou quantos ms esperar antes de perguntar de novo
+     */
+    public long permitirTentativa() {
+        while (true) {
+            Estado atual = estado.get();
+            switch (atual) {
+                case FECHADO:
+                    return 0;
+                case MEIO_ABERTO:
+                    // A entrega de teste já está em andamento
+                    return Math.max(1, pausaMs / 10);
+                case ABERTO:
+                    long restante = abertoAte.get() - System.currentTimeMillis();
+                    if (restante > 0) {
+                        return restante;
+                    }
+                    if (estado.compareAndSet(Estado.ABERTO, Estado.MEIO_ABERTO)) {
+                        return 0;
+                    }
+                    break;
+            }
+        }
+    }
+
+    // Registra uma entrega bem-sucedida
+    public void registrarSucesso() {
+        falhasConsecutivas.set(0);
+        estado.set(Estado.FECHADO);
+    }
+
+    // Registra uma falha de entrega, abrindo o disjuntor se necessário
+    public void registrarFalha() {
+        int falhas = falhasConsecutivas.incrementAndGet();
+        if (estado.get() == Estado.MEIO_ABERTO || falhas >= limiteFalhas) {
+            abertoAte.set(System.currentTimeMillis() + pausaMs);
+            estado.set(Estado.ABERTO);
+        }
+    }
+
+    public Estado getEstado() {
+        return estado.get();
+    }
+
+    public int getFalhasConsecutivas() {
+        return falhasConsecutivas.get();
+    }
+}
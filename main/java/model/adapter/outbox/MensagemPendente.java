@@ -0,0 +1,103 @@
+package model.adapter.outbox;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * PADRÃO: Adapter (suporte à outbox)
+ * PAPEL: Notificação aguardando entrega
+ * FUNÇÃO: Guarda o destinatário, a mensagem e o controle de tentativas de uma
+ * notificação, e sabe se gravar e se ler do diário e da fila morta da outbox
+ *
+ * Só fica em memória durante a gravação e a entrega; na fila do canal a
+ * notificação é representada por uma ReferenciaPendente.
+ */
+public class MensagemPendente {
+
+    private static final int VERSAO_FORMATO = 1;
+
+    private final String id;
+    private final String destinatario;
+    private final String mensagem;
+    private final long criadaEm;
+    private int tentativas;
+    private long proximaTentativa;
+
+    public MensagemPendente(String destinatario, String mensagem) {
+        this(UUID.randomUUID().toString(), destinatario, mensagem, System.currentTimeMillis(), 0,
+                System.currentTimeMillis());
+    }
+
+    private MensagemPendente(String id, String destinatario, String mensagem, long criadaEm,
+                             int tentativas, long proximaTentativa) {
+        this.id = id;
+        this.destinatario = destinatario;
+        this.mensagem = mensagem;
+        this.criadaEm = criadaEm;
+        this.tentativas = tentativas;
+        this.proximaTentativa = proximaTentativa;
+    }
+
+    // Grava a notificação no formato binário da outbox
+    void gravar(DataOutputStream saida) throws IOException {
+        saida.writeInt(VERSAO_FORMATO);
+        saida.writeUTF(id);
+        saida.writeUTF(destinatario);
+        saida.writeLong(criadaEm);
+        saida.writeInt(tentativas);
+        saida.writeLong(proximaTentativa);
+        byte[] corpo = mensagem.getBytes(StandardCharsets.UTF_8);
+        saida.writeInt(corpo.length);
+        saida.write(corpo);
+    }
+
+    // Lê uma notificação gravada por gravar()
+    static MensagemPendente ler(DataInputStream entrada) throws IOException {
+        int versao = entrada.readInt();
+        if (versao != VERSAO_FORMATO) {
+            throw new IOException("Versão de arquivo da outbox não suportada: " + versao);
+        }
+        String id = entrada.readUTF();
+        String destinatario = entrada.readUTF();
+        long criadaEm = entrada.readLong();
+        int tentativas = entrada.readInt();
+        long proximaTentativa = entrada.readLong();
+        byte[] corpo = new byte[entrada.readInt()];
+        entrada.readFully(corpo);
+        return new MensagemPendente(id, destinatario, new String(corpo, StandardCharsets.UTF_8),
+                criadaEm, tentativas, proximaTentativa);
+    }
+
+    // Copia o controle de tentativas da referência (ex.: antes de ir para a fila morta)
+    void atualizarTentativas(ReferenciaPendente referencia) {
+        this.tentativas = referencia.getTentativas();
+        this.proximaTentativa = referencia.getProximaTentativa();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getDestinatario() {
+        return destinatario;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public long getCriadaEm() {
+        return criadaEm;
+    }
+
+    public int getTentativas() {
+        return tentativas;
+    }
+
+    public long getProximaTentativa() {
+        return proximaTentativa;
+    }
+}
@@ -0,0 +1,338 @@
+package model.adapter.outbox;
+
+import model.adapter.NotificadorAdapter;
+import model.singleton.ConfiguracaoSistema;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PADRÃO: Adapter (suporte à outbox)
+ * PAPEL: Fila durável de notificações de saída
+ * FUNÇÃO: Grava cada notificação em disco antes de entregá-la e tenta de novo
+ * até conseguir, para que falhas dos canais não percam mensagens
+ *
+ * FUNCIONAMENTO:
+ * - Cada canal (Email, SMS, Telegram, WhatsApp) tem seu diário em
+ *   <diretorio>/pendentes/<canal>/ (DiarioOutbox), sua fila e seus trabalhadores
+ * - O canal é identificado pelo nome do adapter ou por um ID explícito (ex.: dois
+ *   bots do Telegram); registrar outro adapter com um ID já usado é um erro
+ * - enfileirar() não toca no disco: a notificação vai para a fila de gravação
+ *   do diário, que grava em lote com um fsync por lote (group commit) em uma
+ *   thread própria; só depois do fsync ela entra na fila de entrega
+ * - A fila de entrega guarda apenas referências (ID, posição e tentativas); a
+ *   mensagem é relida do diário na hora de cada tentativa
+ * - Falha de entrega: nova tentativa com espera exponencial e variação aleatória
+ * - Após o número máximo de tentativas, a notificação é gravada em
+ *   <diretorio>/mortas/<canal>/<id>.msg e concluída no diário
+ * - Um disjuntor por canal suspende as entregas enquanto o canal está fora do ar;
+ *   as notificações continuam sendo aceitas e gravadas normalmente
+ * - Ao registrar um canal, as notificações pendentes no diário são recuperadas
+ *
+ * INTEGRAÇÃO COM RF07 (Singleton):
+ * - Diretório, trabalhadores, tentativas, esperas e disjuntor vêm do
+ *   ConfiguracaoSistema (notificacao.outbox.*)
+ */
+public class OutboxNotificacoes {
+
+    private static final String EXTENSAO = ".msg";
+    private static final String EXTENSAO_TEMPORARIA = ".tmp";
+
+    private final Path diretorioPendentes;
+    private final Path diretorioMortas;
+
+    private final int trabalhadoresPorCanal;
+    private final int tentativasMaximas;
+    private final long backoffInicialMs;
+    private final long backoffMaximoMs;
+    private final int falhasDisjuntor;
+    private final long pausaDisjuntorMs;
+
+    // Canais registrados, pelo ID do canal
+    private final Map<String, Canal> canais;
+
+    private final LongAdder enviadas;
+    private final LongAdder falhas;
+    private final LongAdder mortas;
+
+    // Cria a outbox no diretório configurado no ConfiguracaoSistema
+    public OutboxNotificacoes() {
+        this(Paths.get(ConfiguracaoSistema.getInstancia().getDiretorioOutbox()));
+    }
+
+    public OutboxNotificacoes(Path diretorio) {
+        ConfiguracaoSistema config = ConfiguracaoSistema.getInstancia();
+        this.diretorioPendentes = diretorio.resolve("pendentes");
+        this.diretorioMortas = diretorio.resolve("mortas");
+        this.trabalhadoresPorCanal = Math.max(1, config.getTrabalhadoresOutbox());
+        this.tentativasMaximas = Math.max(1, config.getTentativasMaximasOutbox());
+        this.backoffInicialMs = Math.max(1, config.getBackoffInicialOutbox());
+        this.backoffMaximoMs = Math.max(backoffInicialMs, config.getBackoffMaximoOutbox());
+        this.falhasDisjuntor = config.getFalhasDisjuntorOutbox();
+        this.pausaDisjuntorMs = config.getPausaDisjuntorOutbox();
+        this.canais = new ConcurrentHashMap<>();
+        this.enviadas = new LongAdder();
+        this.falhas = new LongAdder();
+        this.mortas = new LongAdder();
+    }
+
+    /**
+     * Registra o adapter usando o nome do canal como ID.
+     *
+     * @see #registrarCanal(String, NotificadorAdapter)
+     */
+    public void registrarCanal(NotificadorAdapter adapter) throws IOException {
+        registrarCanal(adapter.getNomeCanal(), adapter);
+    }
+
+    /**
+     * Registra o adapter de um canal, recupera suas notificações pendentes
+     * no disco e inicia os trabalhadores de entrega.
+     *
+     * Registrar de novo o mesmo adapter com o mesmo ID não tem efeito.
+     *
+     * @param idCanal ID do canal na outbox (define a pasta das notificações)
+     * @throws IllegalStateException se outro adapter já usa esse ID
+     * @throws IOException se os diretórios do canal não puderem ser criados
+     */
+    public synchronized void registrarCanal(String idCanal, NotificadorAdapter adapter) throws IOException {
+        Canal existente = canais.get(idCanal);
+        if (existente != null) {
+            if (existente.adapter != adapter) {
+                throw new IllegalStateException("Canal " + idCanal + " já registrado na outbox com outro adapter");
+            }
+            return;
+        }
+
+        String pasta = nomePasta(idCanal);
+        for (Canal outro : canais.values()) {
+            if (nomePasta(outro.nome).equals(pasta)) {
+                throw new IllegalStateException("Canal " + idCanal + " usaria a mesma pasta do canal " + outro.nome);
+            }
+        }
+
+        Canal canal = new Canal(idCanal, adapter,
+                new DiarioOutbox(Files.createDirectories(diretorioPendentes.resolve(pasta))),
+                Files.createDirectories(diretorioMortas.resolve(pasta)),
+                new DisjuntorCanal(falhasDisjuntor, pausaDisjuntorMs));
+
+        canal.fila.addAll(canal.diario.recuperar());
+        canal.diario.iniciar(canal.fila::add, "outbox-" + pasta + "-gravador");
+        canais.put(idCanal, canal);
+
+        for (int i = 0; i < trabalhadoresPorCanal; i++) {
+            Thread trabalhador = new Thread(() -> entregar(canal), "outbox-" + pasta + "-" + i);
+            trabalhador.setDaemon(true);
+            canal.trabalhadores[i] = trabalhador;
+            trabalhador.start();
+        }
+    }
+
+    /**
+     * Aceita a notificação na outbox do canal. Retorna sem esperar o disco: a
+     * gravação (em lote) e a entrega acontecem em segundo plano.
+     *
+     * @return false se o canal não está registrado ou a fila de gravação está cheia
+     */
+    public boolean enfileirar(String nomeCanal, String destinatario, String mensagem) {
+        Canal canal = canais.get(nomeCanal);
+        if (canal == null) {
+            return false;
+        }
+
+        if (!canal.diario.acrescentar(new MensagemPendente(destinatario, mensagem))) {
+            System.out.println("[Outbox] Notificação recusada: fila de gravação do canal " + nomeCanal + " cheia");
+            return false;
+        }
+        return true;
+    }
+
+    // Laço de um trabalhador: entrega as notificações do canal à medida que vencem
+    private void entregar(Canal canal) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                ReferenciaPendente referencia = canal.fila.take();
+
+                long espera = canal.disjuntor.permitirTentativa();
+                if (espera > 0) {
+                    referencia.adiar(espera);
+                    canal.fila.add(referencia);
+                    continue;
+                }
+
+                MensagemPendente pendente;
+                try {
+                    pendente = canal.diario.ler(referencia);
+                } catch (ClosedByInterruptException e) {
+                    // Encerrando: a notificação continua pendente no diário
+                    canal.fila.add(referencia);
+                    Thread.currentThread().interrupt();
+                    continue;
+                } catch (IOException e) {
+                    // Registro ilegível: não há o que entregar
+                    System.out.println("[Outbox] Notificação " + referencia.getId() + " ilegível no canal " +
+                            canal.nome + ": " + e.getMessage());
+                    mortas.increment();
+                    canal.diario.concluir(referencia);
+                    continue;
+                }
+
+                boolean enviada;
+                try {
+                    enviada = canal.adapter.enviar(pendente.getDestinatario(), pendente.getMensagem());
+                } catch (RuntimeException e) {
+                    enviada = false;
+                }
+
+                if (enviada) {
+                    canal.disjuntor.registrarSucesso();
+                    enviadas.increment();
+                    canal.diario.concluir(referencia);
+                } else {
+                    canal.disjuntor.registrarFalha();
+                    falhas.increment();
+                    tratarFalha(canal, referencia, pendente);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Agenda uma nova tentativa ou move a notificação para a fila morta
+    private void tratarFalha(Canal canal, ReferenciaPendente referencia, MensagemPendente pendente) {
+        if (referencia.getTentativas() + 1 >= tentativasMaximas) {
+            referencia.registrarFalha(0);
+            pendente.atualizarTentativas(referencia);
+            try {
+                gravarMorta(canal, pendente);
+            } catch (IOException e) {
+                // Sem a cópia na fila morta, a notificação continua pendente e é tentada mais tarde
+                System.out.println("[Outbox] Erro de disco no canal " + canal.nome + ": " + e.getMessage());
+                referencia.adiar(backoffMaximoMs);
+                canal.fila.add(referencia);
+                return;
+            }
+            mortas.increment();
+            canal.diario.concluir(referencia);
+            return;
+        }
+
+        referencia.registrarFalha(calcularEspera(referencia.getTentativas() + 1));
+        canal.diario.registrarTentativa(referencia);
+        canal.fila.add(referencia);
+    }
+
+    /**
+     * Espera antes da próxima tentativa: dobra a cada falha (até o máximo) e
+     * sorteia entre metade e o valor cheio, para que notificações que falharam
+     * juntas não tentem de novo todas ao mesmo tempo.
+     */
+    private long calcularEspera(int tentativas) {
+        int expoente = Math.min(tentativas - 1, 30);
+        long espera = Math.min(backoffMaximoMs, backoffInicialMs << expoente);
+        long metade = espera / 2;
+        return metade + ThreadLocalRandom.current().nextLong(espera - metade + 1);
+    }
+
+    // ========================================================================
+    // ARQUIVOS
+    // ========================================================================
+
+    // Grava a notificação na fila morta: arquivo temporário, fsync e move para o lugar definitivo
+    private void gravarMorta(Canal canal, MensagemPendente pendente) throws IOException {
+        Path temporario = canal.diretorioMortas.resolve(pendente.getId() + EXTENSAO_TEMPORARIA);
+        try (FileChannel arquivo = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream saida = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(arquivo)));
+            pendente.gravar(saida);
+            saida.flush();
+            arquivo.force(true);
+        }
+        Files.move(temporario, canal.diretorioMortas.resolve(pendente.getId() + EXTENSAO),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Converte o nome do canal em um nome de pasta seguro
+    private static String nomePasta(String nomeCanal) {
+        return nomeCanal.toLowerCase().replaceAll("[^a-z0-9]+", "_");
+    }
+
+    // ========================================================================
+    // CONSULTA E ENCERRAMENTO
+    // ========================================================================
+
+    // Retorna quantas notificações do canal aguardam entrega (incluindo as ainda não gravadas)
+    public int getPendentes(String nomeCanal) {
+        Canal canal = canais.get(nomeCanal);
+        return canal != null ? canal.fila.size() + canal.diario.getAguardandoGravacao() : 0;
+    }
+
+    // Retorna o estado do disjuntor do canal, ou null se o canal não está registrado
+    public DisjuntorCanal.Estado getEstadoDisjuntor(String nomeCanal) {
+        Canal canal = canais.get(nomeCanal);
+        return canal != null ? canal.disjuntor.getEstado() : null;
+    }
+
+    public long getEnviadas() {
+        return enviadas.sum();
+    }
+
+    // Retorna quantas tentativas de entrega falharam
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    // Retorna quantas notificações foram para a fila morta
+    public long getMortas() {
+        return mortas.sum();
+    }
+
+    // Interrompe os trabalhadores e grava o que já foi aceito; as notificações pendentes continuam no disco
+    public synchronized void encerrar() {
+        for (Canal canal : canais.values()) {
+            for (Thread trabalhador : canal.trabalhadores) {
+                trabalhador.interrupt();
+            }
+            canal.diario.encerrar();
+        }
+        canais.clear();
+    }
+
+    // Diário, fila, disjuntor e trabalhadores de um canal
+    private class Canal {
+        private final String nome;
+        private final NotificadorAdapter adapter;
+        private final DiarioOutbox diario;
+        private final Path diretorioMortas;
+        private final DisjuntorCanal disjuntor;
+        private final DelayQueue<ReferenciaPendente> fila;
+        private final Thread[] trabalhadores;
+
+        private Canal(String nome, NotificadorAdapter adapter, DiarioOutbox diario,
+                      Path diretorioMortas, DisjuntorCanal disjuntor) {
+            this.nome = nome;
+            this.adapter = adapter;
+            this.diario = diario;
+            this.diretorioMortas = diretorioMortas;
+            this.disjuntor = disjuntor;
+            this.fila = new DelayQueue<>();
+            this.trabalhadores = new Thread[trabalhadoresPorCanal];
+        }
+    }
+}
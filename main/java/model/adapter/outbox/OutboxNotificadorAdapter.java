@@ -0,0 +1,73 @@
+package model.adapter.outbox;
+
+import model.adapter.NotificadorAdapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * PADRÃO: Adapter (com Decorator)
+ * PAPEL: Adapter que decora outro NotificadorAdapter
+ * FUNÇÃO: Troca o envio direto pela gravação na OutboxNotificacoes; a entrega
+ * real pelo adapter decorado acontece em segundo plano, com novas tentativas
+ *
+ * USO:
+ * - new OutboxNotificadorAdapter(new TelegramAdapter(token), outbox)
+ * - Pode ser passado para o AnuncianteObserver no lugar do adapter original;
+ *   a transição de estado não espera mais o canal responder
+ * - Dois adapters do mesmo canal (ex.: bots diferentes do Telegram) precisam de
+ *   IDs de canal distintos: new OutboxNotificadorAdapter("telegram-vendas", adapter, outbox)
+ */
+public class OutboxNotificadorAdapter implements NotificadorAdapter {
+
+    private final NotificadorAdapter adapterDecorado;
+    private final OutboxNotificacoes outbox;
+
+    // ID do canal na outbox
+    private final String idCanal;
+
+    // Construtor que registra o canal do adapter decorado na outbox, com o nome do canal como ID
+    public OutboxNotificadorAdapter(NotificadorAdapter adapterDecorado, OutboxNotificacoes outbox) {
+        this(adapterDecorado.getNomeCanal(), adapterDecorado, outbox);
+    }
+
+    /**
+     * Construtor que registra o adapter decorado na outbox com um ID de canal explícito.
+     *
+     * @throws IllegalStateException se outro adapter já usa esse ID na outbox
+     */
+    public OutboxNotificadorAdapter(String idCanal, NotificadorAdapter adapterDecorado, OutboxNotificacoes outbox) {
+        this.adapterDecorado = adapterDecorado;
+        this.outbox = outbox;
+        this.idCanal = idCanal;
+        try {
+            outbox.registrarCanal(idCanal, adapterDecorado);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível preparar a outbox do canal " +
+                    adapterDecorado.getNomeCanal(), e);
+        }
+    }
+
+    /**
+     * Entrega a notificação à outbox e retorna sem esperar o disco nem a entrega.
+     *
+     * @return true se a notificação foi aceita (a fila de gravação não estava cheia)
+     */
+    @Override
+    public boolean enviar(String destinatario, String mensagem) {
+        return outbox.enfileirar(idCanal, destinatario, mensagem);
+    }
+
+    @Override
+    public String getNomeCanal() {
+        return adapterDecorado.getNomeCanal();
+    }
+
+    public String getIdCanal() {
+        return idCanal;
+    }
+
+    public NotificadorAdapter getAdapterDecorado() {
+        return adapterDecorado;
+    }
+}
@@ -0,0 +1,84 @@
+package model.adapter.outbox;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PADRÃO: Adapter (suporte à outbox)
+ * PAPEL: Referência a uma notificação gravada no diário
+ * FUNÇÃO: Guarda apenas o que a fila precisa em memória (ID, posição no diário
+ * e controle de tentativas); o destinatário e a mensagem ficam no disco e são
+ * lidos na hora da entrega
+ *
+ * Implementa Delayed para ficar na DelayQueue do canal até o horário da
+ * próxima tentativa.
+ */
+public class ReferenciaPendente implements Delayed {
+
+    private final String id;
+
+    // Segmento do diário e posição do registro da mensagem dentro dele
+    private final long segmento;
+    private final long posicao;
+
+    private int tentativas;
+    private long proximaTentativa;
+
+    ReferenciaPendente(String id, long segmento, long posicao, int tentativas, long proximaTentativa) {
+        this.id = id;
+        this.segmento = segmento;
+        this.posicao = posicao;
+        this.tentativas = tentativas;
+        this.proximaTentativa = proximaTentativa;
+    }
+
+    // Registra uma tentativa que falhou e agenda a próxima
+    void registrarFalha(long esperaMs) {
+        tentativas++;
+        proximaTentativa = System.currentTimeMillis() + esperaMs;
+    }
+
+    // Adia a próxima tentativa sem contar como falha (ex.: disjuntor aberto)
+    void adiar(long esperaMs) {
+        proximaTentativa = System.currentTimeMillis() + esperaMs;
+    }
+
+    // Aplica o controle de tentativas lido do diário na recuperação
+    void restaurar(int tentativas, long proximaTentativa) {
+        this.tentativas = tentativas;
+        this.proximaTentativa = proximaTentativa;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unidade) {
+        return unidade.convert(proximaTentativa - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed outro) {
+        if (outro instanceof ReferenciaPendente) {
+            return Long.compare(proximaTentativa, ((ReferenciaPendente) outro).proximaTentativa);
+        }
+        return Long.compare(getDelay(TimeUnit.MILLISECONDS), outro.getDelay(TimeUnit.MILLISECONDS));
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getSegmento() {
+        return segmento;
+    }
+
+    public long getPosicao() {
+        return posicao;
+    }
+
+    public int getTentativas() {
+        return tentativas;
+    }
+
+    public long getProximaTentativa() {
+        return proximaTentativa;
+    }
+}
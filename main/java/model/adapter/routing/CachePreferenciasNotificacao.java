@@ -0,0 +1,126 @@
+package model.adapter.routing;
+
+import model.singleton.ConfiguracaoSistema;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * PADRÃO: Adapter (suporte ao roteamento)
+ * PAPEL: Repositório de preferências com cache
+ * FUNÇÃO: Fornece as PreferenciasAnunciante de cada anunciante sem consultar
+ * a fonte a cada notificação
+ *
+ * FUNCIONAMENTO:
+ * - A fonte é uma função anuncianteId -> preferências (ex.: consulta a um banco)
+ * - Sem fonte informada, as preferências ficam em memória (definir/remover)
+ * - Cada resultado fica em cache pelo tempo configurado; invalidar() força a releitura
+ * - Entradas vencidas são removidas por uma varredura periódica (no máximo uma
+ *   por TTL), e não a cada inclusão
+ *
+ * INTEGRAÇÃO COM RF07 (Singleton):
+ * - O tempo de cache vem do ConfiguracaoSistema
+ *   (notificacao.preferencias.cache.ttl.segundos)
+ */
+public class CachePreferenciasNotificacao {
+
+    // Intervalo mínimo entre varreduras, para TTLs muito curtos
+    private static final long INTERVALO_MINIMO_LIMPEZA_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Function<String, PreferenciasAnunciante> fonte;
+    private final Map<String, PreferenciasAnunciante> armazenamento;
+    private final Map<String, Entrada> cache;
+    private final long ttlNanos;
+
+    // Próxima varredura das entradas vencidas (System.nanoTime)
+    private final AtomicLong proximaLimpeza;
+
+    // Preferências guardadas em memória
+    public CachePreferenciasNotificacao() {
+        this.armazenamento = new ConcurrentHashMap<>();
+        this.fonte = armazenamento::get;
+        this.cache = new ConcurrentHashMap<>();
+        this.ttlNanos = lerTtl();
+        this.proximaLimpeza = new AtomicLong(System.nanoTime() + intervaloLimpeza());
+    }
+
+    // Preferências lidas de uma fonte externa
+    public CachePreferenciasNotificacao(Function<String, PreferenciasAnunciante> fonte) {
+        this.armazenamento = null;
+        this.fonte = fonte;
+        this.cache = new ConcurrentHashMap<>();
+        this.ttlNanos = lerTtl();
+        this.proximaLimpeza = new AtomicLong(System.nanoTime() + intervaloLimpeza());
+    }
+
+    private static long lerTtl() {
+        return TimeUnit.SECONDS.toNanos(Math.max(0, ConfiguracaoSistema.getInstancia().getTtlCachePreferenciasSegundos()));
+    }
+
+    // Retorna as preferências do anunciante (VAZIA se ele não tiver nenhuma)
+    public PreferenciasAnunciante buscar(String anuncianteId) {
+        long agora = System.nanoTime();
+        Entrada entrada = cache.get(anuncianteId);
+        if (entrada != null && entrada.expiraEm - agora > 0) {
+            return entrada.preferencias;
+        }
+
+        PreferenciasAnunciante preferencias = fonte.apply(anuncianteId);
+        if (preferencias == null) {
+            preferencias = PreferenciasAnunciante.VAZIA;
+        }
+
+        limparSeNecessario(agora);
+        cache.put(anuncianteId, new Entrada(preferencias, agora + ttlNanos));
+        return preferencias;
+    }
+
+    // Remove as entradas vencidas, no máximo uma vez por intervalo de limpeza
+    private void limparSeNecessario(long agora) {
+        long proxima = proximaLimpeza.get();
+        if (agora - proxima < 0 || !proximaLimpeza.compareAndSet(proxima, agora + intervaloLimpeza())) {
+            return;
+        }
+        cache.values().removeIf(vencida -> vencida.expiraEm - agora <= 0);
+    }
+
+    private long intervaloLimpeza() {
+        return Math.max(ttlNanos, INTERVALO_MINIMO_LIMPEZA_NANOS);
+    }
+
+    /**
+     * Grava as preferências do anunciante no armazenamento em memória.
+     *
+     * @throws IllegalStateException se o cache usa uma fonte externa
+     */
+    public void definir(String anuncianteId, PreferenciasAnunciante preferencias) {
+        if (armazenamento == null) {
+            throw new IllegalStateException("Preferências vêm de uma fonte externa; atualize a fonte e chame invalidar()");
+        }
+        armazenamento.put(anuncianteId, preferencias);
+        cache.remove(anuncianteId);
+    }
+
+    // Descarta o cache do anunciante; a próxima busca relê a fonte
+    public void invalidar(String anuncianteId) {
+        cache.remove(anuncianteId);
+    }
+
+    public void invalidarTodos() {
+        cache.clear();
+    }
+
+    // Preferências em cache e o instante (System.nanoTime) em que vencem
+    private static class Entrada {
+        private final PreferenciasAnunciante preferencias;
+        private final long expiraEm;
+
+        private Entrada(PreferenciasAnunciante preferencias, long expiraEm) {
+            this.preferencias = preferencias;
+            this.expiraEm = expiraEm;
+        }
+    }
+}
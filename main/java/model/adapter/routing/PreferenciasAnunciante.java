@@ -0,0 +1,89 @@
+package model.adapter.routing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PADRÃO: Adapter (suporte ao roteamento)
+ * PAPEL: Preferências de notificação de um anunciante
+ * FUNÇÃO: Guarda o contato do anunciante em cada canal (EMAIL, SMS, TELEGRAM,
+ * WHATSAPP) e a ordem em que ele prefere ser avisado
+ *
+ * Objeto imutável: para mudar as preferências, crie uma nova instância.
+ */
+public class PreferenciasAnunciante {
+
+    // Ordem usada para os canais que o anunciante não ordenou
+    private static final List<String> ORDEM_FAILOVER = List.of("TELEGRAM", "WHATSAPP", "SMS", "EMAIL");
+
+    public static final PreferenciasAnunciante VAZIA =
+            new PreferenciasAnunciante(Collections.emptyMap(), Collections.emptyList());
+
+    // Canal -> destinatário (email, telefone, chatId...)
+    private final Map<String, String> contatos;
+
+    // Canais na ordem escolhida pelo anunciante (pode ser vazia)
+    private final List<String> ordem;
+
+    public PreferenciasAnunciante(Map<String, String> contatos, List<String> ordem) {
+        Map<String, String> normalizados = new LinkedHashMap<>();
+        for (Map.Entry<String, String> contato : contatos.entrySet()) {
+            normalizados.put(normalizarCanal(contato.getKey()), contato.getValue());
+        }
+        List<String> ordemNormalizada = new ArrayList<>(ordem.size());
+        for (String canal : ordem) {
+            ordemNormalizada.add(normalizarCanal(canal));
+        }
+        this.contatos = Collections.unmodifiableMap(normalizados);
+        this.ordem = Collections.unmodifiableList(ordemNormalizada);
+    }
+
+    /**
+     * Retorna os canais em que o anunciante tem contato, na ordem de tentativa:
+     * primeiro a ordem escolhida por ele, depois o canal padrão do sistema,
+     * depois Telegram -> WhatsApp -> SMS -> Email.
+     */
+    public List<String> canaisEmOrdem(String canalPadrao) {
+        List<String> canais = new ArrayList<>(contatos.size());
+        for (String canal : ordem) {
+            adicionarSeTemContato(canais, canal);
+        }
+        if (canalPadrao != null) {
+            adicionarSeTemContato(canais, normalizarCanal(canalPadrao));
+        }
+        for (String canal : ORDEM_FAILOVER) {
+            adicionarSeTemContato(canais, canal);
+        }
+        for (String canal : contatos.keySet()) {
+            adicionarSeTemContato(canais, canal);
+        }
+        return canais;
+    }
+
+    private void adicionarSeTemContato(List<String> canais, String canal) {
+        if (contatos.containsKey(canal) && !canais.contains(canal)) {
+            canais.add(canal);
+        }
+    }
+
+    // Retorna o destinatário do anunciante no canal, ou null se não houver
+    public String getDestinatario(String canal) {
+        return contatos.get(normalizarCanal(canal));
+    }
+
+    public Map<String, String> getContatos() {
+        return contatos;
+    }
+
+    public List<String> getOrdem() {
+        return ordem;
+    }
+
+    // Padroniza o nome do canal ("Telegram" -> "TELEGRAM")
+    public static String normalizarCanal(String canal) {
+        return canal.trim().toUpperCase();
+    }
+}
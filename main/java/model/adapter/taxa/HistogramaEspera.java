@@ -0,0 +1,84 @@
+package model.adapter.taxa;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PADRÃO: Adapter (suporte à limitação de envio)
+ * PAPEL: Histograma de tempos de espera
+ * FUNÇÃO: Conta quanto tempo os envios esperaram pelo limitador, em faixas
+ * de potência de 2 (em microssegundos), sem bloqueio
+ *
+ * Faixa 0: sem espera; faixa i (i >= 1): espera entre 2^(i-1) e 2^i - 1 µs.
+ */
+public class HistogramaEspera {
+
+    private static final int FAIXAS = 40;
+
+    private final AtomicLongArray contagens;
+    private final LongAdder total;
+    private final LongAdder somaMicros;
+
+    public HistogramaEspera() {
+        this.contagens = new AtomicLongArray(FAIXAS);
+        this.total = new LongAdder();
+        this.somaMicros = new LongAdder();
+    }
+
+    // Registra uma espera
+    public void registrar(long esperaNanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(esperaNanos));
+        int faixa = Math.min(FAIXAS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        contagens.incrementAndGet(faixa);
+        total.increment();
+        somaMicros.add(micros);
+    }
+
+    // Retorna o limite superior (µs) da faixa que contém o percentil (0 a 100)
+    public long getPercentilMicros(double percentil) {
+        long quantidade = total.sum();
+        if (quantidade == 0) {
+            return 0;
+        }
+        long alvo = (long) Math.ceil(quantidade * Math.min(100, Math.max(0, percentil)) / 100.0);
+        long acumulado = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            acumulado += contagens.get(i);
+            if (acumulado >= alvo) {
+                return limiteSuperior(i);
+            }
+        }
+        return limiteSuperior(FAIXAS - 1);
+    }
+
+    // Retorna a quantidade de envios em cada faixa
+    public long[] getContagens() {
+        long[] copia = new long[FAIXAS];
+        for (int i = 0; i < FAIXAS; i++) {
+            copia[i] = contagens.get(i);
+        }
+        return copia;
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public double getMediaMicros() {
+        long quantidade = total.sum();
+        return quantidade == 0 ? 0 : (double) somaMicros.sum() / quantidade;
+    }
+
+    private static long limiteSuperior(int faixa) {
+        return faixa == 0 ? 0 : (1L << faixa) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "envios=" + getTotal() +
+                ", média=" + String.format("%.0f", getMediaMicros()) + "µs" +
+                ", p50<=" + getPercentilMicros(50) + "µs" +
+                ", p99<=" + getPercentilMicros(99) + "µs";
+    }
+}
@@ -0,0 +1,63 @@
+package model.adapter.taxa;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PADRÃO: Adapter (suporte à limitação de envio)
+ * PAPEL: Balde de fichas (token bucket) sem bloqueio
+ * FUNÇÃO: Calcula quando cada envio pode acontecer para respeitar uma taxa
+ * média com uma rajada máxima
+ *
+ * FUNCIONAMENTO (GCRA - Generic Cell Rate Algorithm):
+ * - Guarda apenas um número: o instante teórico da próxima chegada (TAT)
+ * - Cada reserva avança o TAT em um intervalo (1 / taxa) via compareAndSet
+ * - Um envio pode sair até "rajada - 1" intervalos antes do TAT; depois disso,
+ *   a reserva devolve quanto tempo esperar (o envio é adiado, não recusado)
+ */
+public class LimitadorTaxa {
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+
+    // Instante teórico da próxima chegada (System.nanoTime)
+    private final AtomicLong proximaChegada;
+
+    /**
+     * @param quantidade quantidade de envios permitidos por período
+     * @param periodo    duração do período
+     * @param unidade    unidade do período
+     * @param rajada     envios aceitos de uma vez, sem espera (mínimo 1)
+     */
+    public LimitadorTaxa(long quantidade, long periodo, TimeUnit unidade, int rajada) {
+        this.intervaloNanos = Math.max(1, unidade.toNanos(periodo) / Math.max(1, quantidade));
+        this.toleranciaNanos = intervaloNanos * (Math.max(1, rajada) - 1);
+        this.proximaChegada = new AtomicLong(System.nanoTime());
+    }
+
+    // Reserva um envio a partir de agora
+    public long reservar() {
+        return reservar(System.nanoTime());
+    }
+
+    /**
+     * Reserva um envio que não pode sair antes de "aPartirDe".
+     *
+     * @return instante (System.nanoTime) em que o envio está liberado
+     */
+    public long reservar(long aPartirDe) {
+        while (true) {
+            long atual = proximaChegada.get();
+            long base = atual - aPartirDe > 0 ? atual : aPartirDe;
+            long liberado = atual - toleranciaNanos - aPartirDe > 0 ? atual - toleranciaNanos : aPartirDe;
+            if (proximaChegada.compareAndSet(atual, base + intervaloNanos)) {
+                return liberado;
+            }
+        }
+    }
+
+    // Indica se o limitador está ocioso (rajada completa disponível), podendo ser descartado
+    public boolean isOcioso() {
+        return proximaChegada.get() - System.nanoTime() <= 0;
+    }
+}
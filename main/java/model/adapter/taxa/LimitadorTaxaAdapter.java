@@ -0,0 +1,214 @@
+package model.adapter.taxa;
+
+import model.adapter.NotificadorAdapter;
+import model.adapter.Notificacao;
+import model.singleton.ConfiguracaoSistema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * PADRÃO: Adapter (com Decorator)
+ * PAPEL: Adapter que decora outro NotificadorAdapter
+ * FUNÇÃO: Segura cada envio até que ele caiba nos limites do provedor do canal,
+ * para que rajadas sejam espalhadas no tempo em vez de recusadas pelo provedor
+ *
+ * FUNCIONAMENTO:
+ * - Um LimitadorTaxa para o canal (mensagens por segundo + rajada)
+ * - Um LimitadorTaxa por destinatário (mensagens por minuto)
+ * - O envio espera a vaga do destinatário e só então reserva a vaga do canal;
+ *   um destinatário acima da sua cota não atrasa os demais do canal e
+ *   nenhuma mensagem é descartada
+ * - Em lote, cada notificação sai na sua própria vaga: as notificações são
+ *   percorridas pela vaga do destinatário (mantendo a ordem de cada
+ *   destinatário) e divididas em sub-lotes com as já liberadas (a rajada sai
+ *   de uma vez, as demais conforme as vagas chegam)
+ * - Se a thread for interrompida durante a espera, o envio falha (retorna
+ *   false) e a interrupção é preservada
+ * - Limitadores de destinatários ociosos são descartados por uma varredura
+ *   periódica, não a cada envio
+ * - As esperas são registradas em um HistogramaEspera
+ *
+ * INTEGRAÇÃO COM RF07 (Singleton):
+ * - Limites vêm do ConfiguracaoSistema (notificacao.taxa.<canal>.*)
+ *
+ * A espera acontece na thread que chama enviar(); use junto com a outbox ou o
+ * ObservadorAssincrono para não segurar transições de estado.
+ */
+public class LimitadorTaxaAdapter implements NotificadorAdapter {
+
+    // Intervalo entre as varreduras dos limitadores de destinatários ociosos
+    private static final long INTERVALO_LIMPEZA_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final NotificadorAdapter adapterDecorado;
+    private final LimitadorTaxa limitadorCanal;
+    private final Map<String, LimitadorTaxa> limitadoresDestino;
+    private final int porMinutoDestino;
+    private final HistogramaEspera histograma;
+
+    // Próxima varredura dos limitadores de destinatários (System.nanoTime)
+    private final AtomicLong proximaLimpeza;
+
+    // Usa os limites configurados para o canal do adapter decorado
+    public LimitadorTaxaAdapter(NotificadorAdapter adapterDecorado) {
+        this(adapterDecorado,
+                ConfiguracaoSistema.getInstancia().getTaxaPorSegundoCanal(adapterDecorado.getNomeCanal()),
+                ConfiguracaoSistema.getInstancia().getRajadaCanal(adapterDecorado.getNomeCanal()),
+                ConfiguracaoSistema.getInstancia().getTaxaPorMinutoDestino(adapterDecorado.getNomeCanal()));
+    }
+
+    public LimitadorTaxaAdapter(NotificadorAdapter adapterDecorado, int porSegundo, int rajada, int porMinutoDestino) {
+        this.adapterDecorado = adapterDecorado;
+        this.limitadorCanal = new LimitadorTaxa(Math.max(1, porSegundo), 1, TimeUnit.SECONDS, rajada);
+        this.limitadoresDestino = new ConcurrentHashMap<>();
+        this.porMinutoDestino = Math.max(1, porMinutoDestino);
+        this.histograma = new HistogramaEspera();
+        this.proximaLimpeza = new AtomicLong(System.nanoTime() + INTERVALO_LIMPEZA_NANOS);
+    }
+
+    @Override
+    public boolean enviar(String destinatario, String mensagem) {
+        long chegada = System.nanoTime();
+        if (!aguardar(reservarDestino(destinatario))) {
+            return false;
+        }
+        long vaga = limitadorCanal.reservar();
+        histograma.registrar(vaga - chegada);
+        if (!aguardar(vaga)) {
+            return false;
+        }
+        return adapterDecorado.enviar(destinatario, mensagem);
+    }
+
+    /**
+     * Envia o lote em sub-lotes, cada notificação na sua vaga.
+     *
+     * As vagas dos destinatários são reservadas em ordem e as notificações são
+     * percorridas pela vaga do destinatário (ordenação estável, então cada
+     * destinatário mantém a sua ordem). Quando a vaga do destinatário chega, a
+     * vaga do canal é reservada; enquanto ela já está liberada ou não passa da
+     * vaga do sub-lote atual, a notificação entra nele. Uma vaga posterior fecha
+     * o sub-lote: ele é enviado quando sua vaga chega e a notificação abre o
+     * próximo. Se a espera for interrompida, o restante do lote não é enviado e
+     * fica como falha.
+     */
+    @Override
+    public boolean[] enviarLote(List<Notificacao> notificacoes) {
+        boolean[] resultados = new boolean[notificacoes.size()];
+        long chegada = System.nanoTime();
+        long[] vagasDestino = new long[notificacoes.size()];
+        Integer[] ordem = new Integer[notificacoes.size()];
+        for (int i = 0; i < notificacoes.size(); i++) {
+            vagasDestino[i] = reservarDestino(notificacoes.get(i).getDestinatario());
+            ordem[i] = i;
+        }
+        Arrays.sort(ordem, (a, b) -> Long.compare(vagasDestino[a] - chegada, vagasDestino[b] - chegada));
+
+        List<Integer> subLote = new ArrayList<>();
+        long liberado = 0;
+        for (int posicao : ordem) {
+            // Envia o sub-lote atual antes de esperar por um destinatário
+            if (!subLote.isEmpty() && vagasDestino[posicao] - System.nanoTime() > 0) {
+                if (!enviarSubLote(notificacoes, subLote, liberado, resultados)) {
+                    return resultados;
+                }
+                subLote.clear();
+            }
+            if (!aguardar(vagasDestino[posicao])) {
+                return resultados;
+            }
+
+            long vaga = limitadorCanal.reservar();
+            long agora = System.nanoTime();
+            histograma.registrar(vaga - chegada);
+            // Vaga já liberada ou até a vaga do sub-lote: entra no sub-lote atual
+            if (!subLote.isEmpty() && vaga - Math.max(liberado, agora) > 0) {
+                if (!enviarSubLote(notificacoes, subLote, liberado, resultados)) {
+                    return resultados;
+                }
+                subLote.clear();
+            }
+            if (subLote.isEmpty()) {
+                liberado = vaga;
+            }
+            subLote.add(posicao);
+        }
+        enviarSubLote(notificacoes, subLote, liberado, resultados);
+        return resultados;
+    }
+
+    // Espera a vaga do sub-lote e o envia; false se a espera foi interrompida
+    private boolean enviarSubLote(List<Notificacao> notificacoes, List<Integer> posicoes,
+                                  long liberado, boolean[] resultados) {
+        if (posicoes.isEmpty()) {
+            return true;
+        }
+        if (!aguardar(liberado)) {
+            return false;
+        }
+        List<Notificacao> subLote = new ArrayList<>(posicoes.size());
+        for (int posicao : posicoes) {
+            subLote.add(notificacoes.get(posicao));
+        }
+        boolean[] parciais = adapterDecorado.enviarLote(subLote);
+        for (int i = 0; i < posicoes.size(); i++) {
+            resultados[posicoes.get(i)] = parciais[i];
+        }
+        return true;
+    }
+
+    // Reserva a vaga do destinatário; a vaga do canal só é reservada quando ela chega
+    private long reservarDestino(String destinatario) {
+        limparSeNecessario(System.nanoTime());
+        LimitadorTaxa limitadorDestino = limitadoresDestino.computeIfAbsent(destinatario,
+                k -> new LimitadorTaxa(porMinutoDestino, 1, TimeUnit.MINUTES, 1));
+        return limitadorDestino.reservar();
+    }
+
+    // Remove os limitadores de destinatários ociosos, no máximo uma vez por INTERVALO_LIMPEZA_NANOS
+    private void limparSeNecessario(long agora) {
+        long proxima = proximaLimpeza.get();
+        if (agora - proxima < 0 || !proximaLimpeza.compareAndSet(proxima, agora + INTERVALO_LIMPEZA_NANOS)) {
+            return;
+        }
+        limitadoresDestino.values().removeIf(LimitadorTaxa::isOcioso);
+    }
+
+    /**
+     * Espera até o instante liberado.
+     *
+     * @return false se a thread foi interrompida (a interrupção continua marcada)
+     */
+    private boolean aguardar(long liberado) {
+        long espera = liberado - System.nanoTime();
+        while (espera > 0) {
+            LockSupport.parkNanos(espera);
+            if (Thread.currentThread().isInterrupted()) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            espera = liberado - System.nanoTime();
+        }
+        return true;
+    }
+
+    @Override
+    public String getNomeCanal() {
+        return adapterDecorado.getNomeCanal();
+    }
+
+    public NotificadorAdapter getAdapterDecorado() {
+        return adapterDecorado;
+    }
+
+    // Retorna o histograma das esperas impostas pelo limitador
+    public HistogramaEspera getHistogramaEspera() {
+        return histograma;
+    }
+}
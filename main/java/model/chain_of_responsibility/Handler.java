@@ -12,6 +12,9 @@ public interface Handler {
     // Define o próximo handler na cadeia
     Handler setProximo(Handler proximo);
 
+    // Retorna o próximo handler na cadeia (ou null, se for o último)
+    Handler getProximo();
+
     // Processa a requisição de moderação
     boolean processar(Anuncio anuncio);
 
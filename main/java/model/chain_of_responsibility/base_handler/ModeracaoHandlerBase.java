@@ -2,6 +2,9 @@ package model.chain_of_responsibility.base_handler;
 
 import model.chain_of_responsibility.Handler;
 import model.prototype.concrete_prototype.Anuncio;
+import model.singleton.ConfiguracaoSistema;
+
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * PADRÃO: Chain of Responsibility
@@ -19,9 +22,13 @@ public abstract class ModeracaoHandlerBase implements Handler {
     // Mensagem de erro da última validação
     protected String mensagemErro;
 
+    // Versão da configuração (RF07) usada pelos valores atuais do handler
+    private final AtomicLong versaoConfiguracao;
+
     // Construtor protegido - apenas subclasses podem instanciar.
     protected ModeracaoHandlerBase(String nomeHandler) {
         this.nomeHandler = nomeHandler;
+        this.versaoConfiguracao = new AtomicLong(ConfiguracaoSistema.getInstancia().getVersao());
     }
 
     /**
@@ -34,6 +41,11 @@ public abstract class ModeracaoHandlerBase implements Handler {
         return proximo;
     }
 
+    @Override
+    public Handler getProximo() {
+        return proximo;
+    }
+
     /**
      * Processa a requisição de moderação.
      *
@@ -41,9 +53,19 @@ public abstract class ModeracaoHandlerBase implements Handler {
      * 1. Executa validação específica
      * 2. Se reprovado, interrompe a cadeia
      * 3. Se aprovado e existe próximo, delega para ele
+     *
+     * Antes de validar, verifica (com uma leitura volatile) se a configuração
+     * foi recarregada e, nesse caso, atualiza os valores do handler. A versão
+     * avança por compare-and-set: só uma thread atualiza por versão.
      */
     @Override
     public boolean processar(Anuncio anuncio) {
+        long versaoAtual = ConfiguracaoSistema.getInstancia().getVersao();
+        long versaoAplicada = versaoConfiguracao.get();
+        if (versaoAtual > versaoAplicada && versaoConfiguracao.compareAndSet(versaoAplicada, versaoAtual)) {
+            aoAtualizarConfiguracao();
+        }
+
         // Executa a validação específica deste handler
         boolean aprovado = validar(anuncio);
 
@@ -68,6 +90,15 @@ public abstract class ModeracaoHandlerBase implements Handler {
      */
     protected abstract boolean validar(Anuncio anuncio);
 
+    /**
+     * Chamado quando uma nova versão da configuração é publicada (RF07).
+     *
+     * Handlers que copiam valores do ConfiguracaoSistema devem sobrescrever
+     * para recarregá-los. A implementação padrão não faz nada.
+     */
+    protected void aoAtualizarConfiguracao() {
+    }
+
     @Override
     public String getNomeHandler() {
         return nomeHandler;
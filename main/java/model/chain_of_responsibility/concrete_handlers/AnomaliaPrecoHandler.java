@@ -0,0 +1,68 @@
+package model.chain_of_responsibility.concrete_handlers;
+
+import model.chain_of_responsibility.base_handler.ModeracaoHandlerBase;
+import model.observer.concrete_subscribers.EstatisticasPrecoObserver;
+import model.prototype.concrete_prototype.Anuncio;
+import model.singleton.ConfiguracaoSistema;
+
+/**
+ * PADRÃO: Chain of Responsibility
+ * PAPEL: ConcreteHandler
+ * FUNÇÃO: Reprova anúncios cujo preço por m² foge muito do padrão do seu segmento
+ * (tipo de imóvel × bairro × tipo de transação)
+ *
+ * Complementa o PrecoHandler, que verifica apenas os limites globais.
+ * As estatísticas vêm do EstatisticasPrecoObserver, e a verificação custa O(1).
+ *
+ * INTEGRAÇÃO COM RF07 (Singleton):
+ * - Quantidade de desvios aceitos e mínimo de amostras vêm do ConfiguracaoSistema
+ */
+public class AnomaliaPrecoHandler extends ModeracaoHandlerBase {
+
+    private final EstatisticasPrecoObserver estatisticas;
+    private volatile LimitesAnomalia limites;
+
+    public AnomaliaPrecoHandler(EstatisticasPrecoObserver estatisticas) {
+        super("Validador de Anomalia de Preço");
+        this.estatisticas = estatisticas;
+        carregarConfiguracoes();
+    }
+
+    private void carregarConfiguracoes() {
+        ConfiguracaoSistema config = ConfiguracaoSistema.getInstancia();
+        this.limites = new LimitesAnomalia(config.getLimiteDesviosPreco(), config.getAmostrasMinimasPreco());
+    }
+
+    @Override
+    protected void aoAtualizarConfiguracao() {
+        carregarConfiguracoes();
+    }
+
+    @Override
+    protected boolean validar(Anuncio anuncio) {
+        LimitesAnomalia limites = this.limites;
+        double desvio = estatisticas.calcularDesvio(anuncio, limites.amostrasMinimas);
+
+        // Sem amostras suficientes no segmento, não há como avaliar
+        if (!Double.isNaN(desvio) && Math.abs(desvio) > limites.limiteDesvios) {
+            this.mensagemErro = "Preço por m² fora do padrão da região: R$ " +
+                    String.format("%,.2f", anuncio.getPreco() / anuncio.getImovel().getArea()) +
+                    "/m² (" + (desvio < 0 ? "abaixo" : "acima") + " do esperado)";
+            return false;
+        }
+
+        this.mensagemErro = null;
+        return true;
+    }
+
+    // Limites de uma versão da configuração (trocados por inteiro a cada recarga)
+    private static final class LimitesAnomalia {
+        private final double limiteDesvios;
+        private final int amostrasMinimas;
+
+        private LimitesAnomalia(double limiteDesvios, int amostrasMinimas) {
+            this.limiteDesvios = limiteDesvios;
+            this.amostrasMinimas = amostrasMinimas;
+        }
+    }
+}
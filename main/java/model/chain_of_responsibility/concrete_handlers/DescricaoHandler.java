@@ -1,6 +1,7 @@
 package model.chain_of_responsibility.concrete_handlers;
 
 import model.chain_of_responsibility.base_handler.ModeracaoHandlerBase;
+import model.chain_of_responsibility.support.FaixaTamanho;
 import model.prototype.concrete_prototype.Anuncio;
 import model.singleton.ConfiguracaoSistema;
 
@@ -14,8 +15,8 @@ import model.singleton.ConfiguracaoSistema;
  */
 public class DescricaoHandler extends ModeracaoHandlerBase {
 
-    private int tamanhoMinimo;
-    private int tamanhoMaximo;
+    // Limites de tamanho (trocados por inteiro a cada recarga)
+    private volatile FaixaTamanho tamanho;
 
     public DescricaoHandler() {
         super("Validador de Descrição");
@@ -24,8 +25,12 @@ public class DescricaoHandler extends ModeracaoHandlerBase {
 
     private void carregarConfiguracoes() {
         ConfiguracaoSistema config = ConfiguracaoSistema.getInstancia();
-        this.tamanhoMinimo = config.getTamanhoMinimoDescricao();
-        this.tamanhoMaximo = config.getTamanhoMaximoDescricao();
+        this.tamanho = new FaixaTamanho(config.getTamanhoMinimoDescricao(), config.getTamanhoMaximoDescricao());
+    }
+
+    @Override
+    protected void aoAtualizarConfiguracao() {
+        carregarConfiguracoes();
     }
 
     @Override
@@ -37,17 +42,18 @@ public class DescricaoHandler extends ModeracaoHandlerBase {
             return false;
         }
 
+        FaixaTamanho tamanho = this.tamanho;
         String descricaoLimpa = descricao.trim();
 
-        if (descricaoLimpa.length() < tamanhoMinimo) {
+        if (descricaoLimpa.length() < tamanho.getMinimo()) {
             this.mensagemErro = "Descrição muito curta: " + descricaoLimpa.length() +
-                    " caracteres. Mínimo: " + tamanhoMinimo;
+                    " caracteres. Mínimo: " + tamanho.getMinimo();
             return false;
         }
 
-        if (descricaoLimpa.length() > tamanhoMaximo) {
+        if (descricaoLimpa.length() > tamanho.getMaximo()) {
             this.mensagemErro = "Descrição muito longa: " + descricaoLimpa.length() +
-                    " caracteres. Máximo: " + tamanhoMaximo;
+                    " caracteres. Máximo: " + tamanho.getMaximo();
             return false;
         }
 
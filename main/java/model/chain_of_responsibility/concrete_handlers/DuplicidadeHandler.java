@@ -0,0 +1,56 @@
+package model.chain_of_responsibility.concrete_handlers;
+
+import model.chain_of_responsibility.base_handler.ModeracaoHandlerBase;
+import model.observer.concrete_subscribers.IndiceSimilaridadeObserver;
+import model.prototype.concrete_prototype.Anuncio;
+import model.singleton.ConfiguracaoSistema;
+
+/**
+ * PADRÃO: Chain of Responsibility
+ * PAPEL: ConcreteHandler
+ * FUNÇÃO: Reprova anúncios quase duplicados de anúncios já ativos
+ *
+ * Consulta o IndiceSimilaridadeObserver (MinHash + LSH), que é mantido
+ * atualizado pelas transições de estado dos anúncios (RF04).
+ *
+ * Unidades de um mesmo CadastroEmLote (mesmo lote de cadastro) não são
+ * comparadas entre si, só com os demais anúncios ativos.
+ *
+ * INTEGRAÇÃO COM RF07 (Singleton):
+ * - O limiar de similaridade é carregado do Singleton ConfiguracaoSistema
+ */
+public class DuplicidadeHandler extends ModeracaoHandlerBase {
+
+    private final IndiceSimilaridadeObserver indice;
+    private volatile double limiarSimilaridade;
+
+    public DuplicidadeHandler(IndiceSimilaridadeObserver indice) {
+        super("Validador de Duplicidade");
+        this.indice = indice;
+        carregarConfiguracoes();
+    }
+
+    private void carregarConfiguracoes() {
+        ConfiguracaoSistema config = ConfiguracaoSistema.getInstancia();
+        this.limiarSimilaridade = config.getLimiarDuplicidade();
+    }
+
+    @Override
+    protected void aoAtualizarConfiguracao() {
+        carregarConfiguracoes();
+    }
+
+    @Override
+    protected boolean validar(Anuncio anuncio) {
+        IndiceSimilaridadeObserver.Correspondencia correspondencia = indice.buscarMaisSimilar(anuncio);
+
+        if (correspondencia != null && correspondencia.getSimilaridade() >= limiarSimilaridade) {
+            this.mensagemErro = "Anúncio muito similar ao anúncio ativo " + correspondencia.getAnuncioId() +
+                    " (similaridade " + String.format("%.0f", correspondencia.getSimilaridade() * 100) + "%)";
+            return false;
+        }
+
+        this.mensagemErro = null;
+        return true;
+    }
+}
@@ -1,6 +1,7 @@
 package model.chain_of_responsibility.concrete_handlers;
 
 import model.chain_of_responsibility.base_handler.ModeracaoHandlerBase;
+import model.chain_of_responsibility.support.FaixaTamanho;
 import model.prototype.concrete_prototype.Anuncio;
 import model.singleton.ConfiguracaoSistema;
 
@@ -14,8 +15,10 @@ import model.singleton.ConfiguracaoSistema;
  */
 public class FotosHandler extends ModeracaoHandlerBase {
 
-    private int quantidadeMinima;
-    private int quantidadeMaxima;
+    private final int quantidadeMinima;
+
+    // Limites de quantidade (trocados por inteiro a cada recarga)
+    private volatile FaixaTamanho quantidade;
 
     public FotosHandler() {
         super("Validador de Fotos");
@@ -31,22 +34,28 @@ public class FotosHandler extends ModeracaoHandlerBase {
 
     private void carregarConfiguracoes() {
         ConfiguracaoSistema config = ConfiguracaoSistema.getInstancia();
-        this.quantidadeMaxima = config.getLimiteFotos();
+        this.quantidade = new FaixaTamanho(quantidadeMinima, config.getLimiteFotos());
+    }
+
+    @Override
+    protected void aoAtualizarConfiguracao() {
+        carregarConfiguracoes();
     }
 
     @Override
     protected boolean validar(Anuncio anuncio) {
-        int quantidadeFotos = anuncio.getFotos().size();
+        int quantidadeFotos = anuncio.getQuantidadeFotos();
+        FaixaTamanho quantidade = this.quantidade;
 
-        if (quantidadeFotos < quantidadeMinima) {
+        if (quantidadeFotos < quantidade.getMinimo()) {
             this.mensagemErro = "Quantidade insuficiente de fotos: " + quantidadeFotos +
-                    ". Mínimo exigido: " + quantidadeMinima;
+                    ". Mínimo exigido: " + quantidade.getMinimo();
             return false;
         }
 
-        if (quantidadeFotos > quantidadeMaxima) {
+        if (quantidadeFotos > quantidade.getMaximo()) {
             this.mensagemErro = "Quantidade excessiva de fotos: " + quantidadeFotos +
-                    ". Máximo permitido: " + quantidadeMaxima;
+                    ". Máximo permitido: " + quantidade.getMaximo();
             return false;
         }
 
@@ -15,13 +15,13 @@ import model.singleton.ConfiguracaoSistema;
  * que por sua vez carrega do arquivo config.properties
  *
  * Isso permite que os limites sejam alterados sem modificar código.
+ *
+ * Os limites ficam em um objeto imutável (LimitesPreco) trocado por inteiro
+ * a cada recarga, então uma validação nunca combina valores de duas versões.
  */
 public class PrecoHandler extends ModeracaoHandlerBase {
 
-    private double precoMinimoVenda;
-    private double precoMinimoAluguel;
-    private double precoMinimoTemporada;
-    private double precoMaximo;
+    private volatile LimitesPreco limites;
 
     public PrecoHandler() {
         super("Validador de Preço");
@@ -36,16 +36,23 @@ public class PrecoHandler extends ModeracaoHandlerBase {
      */
     private void carregarConfiguracoes() {
         ConfiguracaoSistema config = ConfiguracaoSistema.getInstancia();
-        this.precoMinimoVenda = config.getPrecoMinimoVenda();
-        this.precoMinimoAluguel = config.getPrecoMinimoAluguel();
-        this.precoMinimoTemporada = config.getPrecoMinimoTemporada();
-        this.precoMaximo = config.getPrecoMaximo();
+        this.limites = new LimitesPreco(
+                config.getPrecoMinimoVenda(),
+                config.getPrecoMinimoAluguel(),
+                config.getPrecoMinimoTemporada(),
+                config.getPrecoMaximo());
+    }
+
+    @Override
+    protected void aoAtualizarConfiguracao() {
+        carregarConfiguracoes();
     }
 
     @Override
     protected boolean validar(Anuncio anuncio) {
         double preco = anuncio.getPreco();
         TipoTransacao tipo = anuncio.getTipoTransacao();
+        LimitesPreco limites = this.limites;
 
         if (preco <= 0) {
             this.mensagemErro = "Preço inválido: R$ " + String.format("%.2f", preco) +
@@ -53,13 +60,13 @@ public class PrecoHandler extends ModeracaoHandlerBase {
             return false;
         }
 
-        if (preco > precoMaximo) {
+        if (preco > limites.precoMaximo) {
             this.mensagemErro = "Preço suspeito: R$ " + String.format("%,.2f", preco) +
                     ". Valor excede o limite máximo.";
             return false;
         }
 
-        double precoMinimo = getPrecoMinimo(tipo);
+        double precoMinimo = limites.getPrecoMinimo(tipo);
         if (preco < precoMinimo) {
             this.mensagemErro = "Preço muito baixo para " + tipo.getDescricao() +
                     ": R$ " + String.format("%.2f", preco) +
@@ -71,12 +78,28 @@ public class PrecoHandler extends ModeracaoHandlerBase {
         return true;
     }
 
-    private double getPrecoMinimo(TipoTransacao tipo) {
-        switch (tipo) {
-            case VENDA: return precoMinimoVenda;
-            case ALUGUEL: return precoMinimoAluguel;
-            case TEMPORADA: return precoMinimoTemporada;
-            default: return precoMinimoVenda;
+    // Limites de preço de uma versão da configuração
+    private static final class LimitesPreco {
+        private final double precoMinimoVenda;
+        private final double precoMinimoAluguel;
+        private final double precoMinimoTemporada;
+        private final double precoMaximo;
+
+        private LimitesPreco(double precoMinimoVenda, double precoMinimoAluguel,
+                             double precoMinimoTemporada, double precoMaximo) {
+            this.precoMinimoVenda = precoMinimoVenda;
+            this.precoMinimoAluguel = precoMinimoAluguel;
+            this.precoMinimoTemporada = precoMinimoTemporada;
+            this.precoMaximo = precoMaximo;
+        }
+
+        private double getPrecoMinimo(TipoTransacao tipo) {
+            switch (tipo) {
+                case VENDA: return precoMinimoVenda;
+                case ALUGUEL: return precoMinimoAluguel;
+                case TEMPORADA: return precoMinimoTemporada;
+                default: return precoMinimoVenda;
+            }
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,257 @@
+package model.chain_of_responsibility.concrete_handlers;
+
+import model.chain_of_responsibility.base_handler.ModeracaoHandlerBase;
+import model.prototype.concrete_prototype.Anuncio;
+import model.singleton.ConfiguracaoSistema;
+import model.singleton.OuvinteConfiguracao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * PADRÃO: Chain of Responsibility
+ * PAPEL: ConcreteHandler
+ * FUNÇÃO: Reprova anúncios cujo título ou descrição casam com regras de padrão
+ * (telefones, emails, links de WhatsApp, termos ofuscados como "g0lpe")
+ *
+ * FUNCIONAMENTO:
+ * - Todas as regras são compiladas uma única vez em um único Pattern,
+ *   na forma (?<r0>regra0)|(?<r1>regra1)|...
+ * - O texto do anúncio é percorrido em uma única passada; o grupo que casou
+ *   identifica a regra
+ * - Cada regra possui um contador de ocorrências
+ *
+ * VALIDAÇÃO DAS REGRAS:
+ * - No padrão combinado os grupos de cada regra são renumerados, então
+ *   referências numeradas (\1, \2...) passariam a apontar para outra regra
+ * - Cada regra é compilada sozinha na carga; regras inválidas, com referência
+ *   numerada ou com grupo nomeado reservado (r0, r1...) são rejeitadas (e
+ *   listadas em getRegrasRejeitadas()), as demais continuam valendo
+ * - Cada regra aceita é então acrescentada ao padrão combinado, que é compilado
+ *   com ela; se a combinação falhar (ex.: duas regras com o mesmo grupo
+ *   nomeado) ou tiver grupos diferentes das regras isoladas, só essa regra é
+ *   rejeitada e o padrão continua com as anteriores
+ *
+ * INTEGRAÇÃO COM RF07 (Singleton):
+ * - As regras são carregadas do Singleton ConfiguracaoSistema
+ *   (propriedades moderacao.regra.<nome>)
+ * - Quando a configuração é recarregada, o padrão é recompilado na thread que
+ *   publicou a nova versão e trocado atomicamente; a validação nunca compila
+ */
+public class RegrasModeracaoHandler extends ModeracaoHandlerBase implements OuvinteConfiguracao {
+
+    // Nomes de grupo usados no padrão combinado (não podem aparecer nas regras)
+    private static final Pattern GRUPO_RESERVADO = Pattern.compile("\\(\\?<r\\d+>");
+
+    // Regras compiladas em uso (substituídas por inteiro a cada recarga)
+    private volatile RegrasCompiladas regras;
+
+    private RegrasModeracaoHandler() {
+        super("Validador de Regras de Padrão");
+        this.regras = compilarRegras(null);
+    }
+
+    /**
+     * Cria o handler e o registra como ouvinte da configuração.
+     *
+     * O registro acontece só depois da construção, para que a thread de
+     * monitoramento nunca veja um handler parcialmente inicializado.
+     */
+    public static RegrasModeracaoHandler criar() {
+        RegrasModeracaoHandler handler = new RegrasModeracaoHandler();
+        ConfiguracaoSistema.getInstancia().adicionarOuvinte(handler);
+        return handler;
+    }
+
+    @Override
+    public void configuracaoAtualizada(long versao) {
+        try {
+            this.regras = compilarRegras(regras);
+        } catch (PatternSyntaxException e) {
+            // Padrão combinado inconsistente: mantém as regras anteriores
+            System.out.println("[Moderação] Regras mantidas na versão anterior: " + e.getMessage());
+        }
+    }
+
+    // Carrega as regras do Singleton de configuração e compila o padrão combinado
+    private static RegrasCompiladas compilarRegras(RegrasCompiladas anteriores) {
+        List<String> nomesAceitos = new ArrayList<>();
+        Map<String, String> rejeitadas = new LinkedHashMap<>();
+        StringBuilder sb = new StringBuilder();
+        Pattern padraoCombinado = null;
+        int gruposCombinados = 0;
+
+        for (Map.Entry<String, String> definicao : ConfiguracaoSistema.getInstancia().getRegrasModeracao().entrySet()) {
+            // Cada regra é validada sozinha e depois junto com as regras já aceitas
+            String motivo = validarRegra(definicao.getValue());
+            Pattern candidato = null;
+            if (motivo == null) {
+                int tamanhoAnterior = sb.length();
+                if (!nomesAceitos.isEmpty()) {
+                    sb.append('|');
+                }
+                sb.append("(?<r").append(nomesAceitos.size()).append('>').append(definicao.getValue()).append(')');
+                int gruposEsperados = gruposCombinados + 1
+                        + Pattern.compile(definicao.getValue()).matcher("").groupCount();
+                try {
+                    candidato = Pattern.compile(sb.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+                    if (candidato.matcher("").groupCount() != gruposEsperados) {
+                        motivo = "grupos diferentes no padrão combinado";
+                    } else {
+                        gruposCombinados = gruposEsperados;
+                    }
+                } catch (PatternSyntaxException e) {
+                    motivo = "conflita com as regras anteriores (" + e.getDescription() + ")";
+                }
+                if (motivo != null) {
+                    sb.setLength(tamanhoAnterior);
+                }
+            }
+
+            if (motivo != null) {
+                rejeitadas.put(definicao.getKey(), motivo);
+                System.out.println("[Moderação] Regra " + definicao.getKey() + " rejeitada: " + motivo);
+                continue;
+            }
+            nomesAceitos.add(definicao.getKey());
+            padraoCombinado = candidato;
+        }
+
+        String[] nomesRegras = nomesAceitos.toArray(new String[0]);
+        String[] nomesGrupos = new String[nomesRegras.length];
+        LongAdder[] contadores = new LongAdder[nomesRegras.length];
+
+        // Regras que continuam existindo mantêm seus contadores
+        Map<String, LongAdder> contadoresAnteriores = new HashMap<>();
+        if (anteriores != null) {
+            for (int i = 0; i < anteriores.nomesRegras.length; i++) {
+                contadoresAnteriores.put(anteriores.nomesRegras[i], anteriores.contadores[i]);
+            }
+        }
+        for (int i = 0; i < nomesRegras.length; i++) {
+            nomesGrupos[i] = "r" + i;
+            contadores[i] = contadoresAnteriores.getOrDefault(nomesRegras[i], new LongAdder());
+        }
+
+        return new RegrasCompiladas(nomesRegras, nomesGrupos, contadores, padraoCombinado, rejeitadas);
+    }
+
+    /**
+     * Valida uma regra isolada.
+     *
+     * @return o motivo da rejeição, ou null se a regra pode entrar no padrão combinado
+     */
+    private static String validarRegra(String expressao) {
+        try {
+            Pattern.compile(expressao);
+        } catch (PatternSyntaxException e) {
+            return "expressão inválida (" + e.getDescription() + ")";
+        }
+        for (int i = 0; i < expressao.length() - 1; i++) {
+            char c = expressao.charAt(i);
+            if (c != '\\') {
+                continue;
+            }
+            char proximo = expressao.charAt(i + 1);
+            if (proximo >= '1' && proximo <= '9') {
+                return "referência numerada \\" + proximo + " (use um grupo nomeado e \\k<nome>)";
+            }
+            // Pula o caractere escapado (ex.: \\ seguido de 1 é uma barra literal)
+            i++;
+        }
+        if (GRUPO_RESERVADO.matcher(expressao).find()) {
+            return "usa um nome de grupo reservado (r seguido de número)";
+        }
+        return null;
+    }
+
+    @Override
+    protected boolean validar(Anuncio anuncio) {
+        RegrasCompiladas atuais = this.regras;
+
+        if (atuais.padraoCombinado == null) {
+            this.mensagemErro = null;
+            return true;
+        }
+
+        String titulo = anuncio.getTitulo() != null ? anuncio.getTitulo() : "";
+        String descricao = anuncio.getDescricao() != null ? anuncio.getDescricao() : "";
+
+        List<String> regrasVioladas = new ArrayList<>();
+        Matcher matcher = atuais.padraoCombinado.matcher(titulo + "\n" + descricao);
+
+        while (matcher.find()) {
+            int regra = atuais.identificarRegra(matcher);
+            if (regra >= 0) {
+                atuais.contadores[regra].increment();
+                if (!regrasVioladas.contains(atuais.nomesRegras[regra])) {
+                    regrasVioladas.add(atuais.nomesRegras[regra]);
+                }
+            }
+        }
+
+        if (!regrasVioladas.isEmpty()) {
+            this.mensagemErro = "Padrões proibidos encontrados: " + String.join(", ", regrasVioladas);
+            return false;
+        }
+
+        this.mensagemErro = null;
+        return true;
+    }
+
+    // Retorna a quantidade de ocorrências encontradas por regra
+    public Map<String, Long> getContadoresPorRegra() {
+        RegrasCompiladas atuais = this.regras;
+        Map<String, Long> resultado = new LinkedHashMap<>();
+        for (int i = 0; i < atuais.nomesRegras.length; i++) {
+            resultado.put(atuais.nomesRegras[i], atuais.contadores[i].sum());
+        }
+        return resultado;
+    }
+
+    // Retorna a quantidade de regras compiladas
+    public int getQuantidadeRegras() {
+        return regras.nomesRegras.length;
+    }
+
+    // Retorna as regras rejeitadas na última carga, com o motivo
+    public Map<String, String> getRegrasRejeitadas() {
+        return regras.rejeitadas;
+    }
+
+    // Conjunto imutável de regras compiladas e seus contadores
+    private static class RegrasCompiladas {
+        private final String[] nomesRegras;
+        private final String[] nomesGrupos;
+        private final LongAdder[] contadores;
+        private final Pattern padraoCombinado;
+        private final Map<String, String> rejeitadas;
+
+        private RegrasCompiladas(String[] nomesRegras, String[] nomesGrupos, LongAdder[] contadores,
+                                 Pattern padraoCombinado, Map<String, String> rejeitadas) {
+            this.nomesRegras = nomesRegras;
+            this.nomesGrupos = nomesGrupos;
+            this.contadores = contadores;
+            this.padraoCombinado = padraoCombinado;
+            this.rejeitadas = Collections.unmodifiableMap(rejeitadas);
+        }
+
+        // Descobre qual regra (grupo nomeado) produziu a ocorrência atual
+        private int identificarRegra(Matcher matcher) {
+            for (int i = 0; i < nomesGrupos.length; i++) {
+                if (matcher.start(nomesGrupos[i]) >= 0) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -20,25 +20,38 @@ import java.util.List;
  */
 public class TermosProibidosHandler extends ModeracaoHandlerBase {
 
-    private List<String> termosProibidos;
+    // Lista imutável, trocada por inteiro a cada recarga ou novo termo
+    private volatile List<String> termosProibidos;
+
+    // Termos adicionados em tempo de execução (preservados nas recargas)
+    private final List<String> termosAdicionais;
 
     public TermosProibidosHandler() {
         super("Validador de Termos Proibidos");
+        this.termosAdicionais = new ArrayList<>();
         carregarTermosProibidos();
     }
 
     // Carrega os termos proibidos do Singleton de configuração
-    private void carregarTermosProibidos() {
+    private synchronized void carregarTermosProibidos() {
         // Obtém termos do Singleton (RF07)
-        this.termosProibidos = new ArrayList<>(
+        List<String> termos = new ArrayList<>(
                 ConfiguracaoSistema.getInstancia().getTermosProibidos()
         );
+        termos.addAll(termosAdicionais);
+        this.termosProibidos = List.copyOf(termos);
+    }
+
+    @Override
+    protected void aoAtualizarConfiguracao() {
+        carregarTermosProibidos();
     }
 
     // Permite adicionar termos proibidos dinamicamente
-    public void adicionarTermo(String termo) {
+    public synchronized void adicionarTermo(String termo) {
         if (termo != null && !termo.trim().isEmpty()) {
-            termosProibidos.add(termo.toLowerCase().trim());
+            termosAdicionais.add(termo.toLowerCase().trim());
+            carregarTermosProibidos();
         }
     }
 
@@ -1,6 +1,7 @@
 package model.chain_of_responsibility.concrete_handlers;
 
 import model.chain_of_responsibility.base_handler.ModeracaoHandlerBase;
+import model.chain_of_responsibility.support.FaixaTamanho;
 import model.prototype.concrete_prototype.Anuncio;
 import model.singleton.ConfiguracaoSistema;
 
@@ -14,8 +15,8 @@ import model.singleton.ConfiguracaoSistema;
  */
 public class TituloHandler extends ModeracaoHandlerBase {
 
-    private int tamanhoMinimo;
-    private int tamanhoMaximo;
+    // Limites de tamanho (trocados por inteiro a cada recarga)
+    private volatile FaixaTamanho tamanho;
 
     public TituloHandler() {
         super("Validador de Título");
@@ -24,8 +25,12 @@ public class TituloHandler extends ModeracaoHandlerBase {
 
     private void carregarConfiguracoes() {
         ConfiguracaoSistema config = ConfiguracaoSistema.getInstancia();
-        this.tamanhoMinimo = config.getTamanhoMinimoTitulo();
-        this.tamanhoMaximo = config.getTamanhoMaximoTitulo();
+        this.tamanho = new FaixaTamanho(config.getTamanhoMinimoTitulo(), config.getTamanhoMaximoTitulo());
+    }
+
+    @Override
+    protected void aoAtualizarConfiguracao() {
+        carregarConfiguracoes();
     }
 
     @Override
@@ -37,17 +42,18 @@ public class TituloHandler extends ModeracaoHandlerBase {
             return false;
         }
 
+        FaixaTamanho tamanho = this.tamanho;
         String tituloLimpo = titulo.trim();
 
-        if (tituloLimpo.length() < tamanhoMinimo) {
+        if (tituloLimpo.length() < tamanho.getMinimo()) {
             this.mensagemErro = "Título muito curto: " + tituloLimpo.length() +
-                    " caracteres. Mínimo: " + tamanhoMinimo;
+                    " caracteres. Mínimo: " + tamanho.getMinimo();
             return false;
         }
 
-        if (tituloLimpo.length() > tamanhoMaximo) {
+        if (tituloLimpo.length() > tamanho.getMaximo()) {
             this.mensagemErro = "Título muito longo: " + tituloLimpo.length() +
-                    " caracteres. Máximo: " + tamanhoMaximo;
+                    " caracteres. Máximo: " + tamanho.getMaximo();
             return false;
         }
 
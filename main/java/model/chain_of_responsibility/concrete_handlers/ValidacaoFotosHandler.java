@@ -0,0 +1,251 @@
+package model.chain_of_responsibility.concrete_handlers;
+
+import model.chain_of_responsibility.base_handler.ModeracaoHandlerBase;
+import model.chain_of_responsibility.support.HttpVerificadorFoto;
+import model.chain_of_responsibility.support.ResultadoVerificacaoFoto;
+import model.chain_of_responsibility.support.VerificadorFoto;
+import model.prototype.concrete_prototype.Anuncio;
+import model.singleton.ConfiguracaoSistema;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PADRÃO: Chain of Responsibility
+ * PAPEL: ConcreteHandler
+ * FUNÇÃO: Verifica se as URLs das fotos respondem e se não há fotos duplicadas
+ *
+ * FUNCIONAMENTO:
+ * - As fotos ainda não verificadas são consultadas em paralelo (virtual threads)
+ *   através de um VerificadorFoto plugável
+ * - O resultado de cada URL fica em cache por um tempo configurável (TTL), então
+ *   um anúncio moderado novamente não consulta de novo as fotos inalteradas
+ * - Verificações simultâneas da mesma URL compartilham a mesma consulta
+ * - Falhas temporárias (ex.: erro de conexão) não ficam em cache, para que uma
+ *   queda passageira não reprove a foto durante todo o TTL
+ * - Entradas expiradas são removidas por uma varredura periódica (no máximo
+ *   uma por intervalo), e o cache tem um tamanho máximo configurável
+ * - Fotos repetidas (mesma URL ou mesmo SHA-256 dos bytes) reprovam o anúncio
+ *
+ * INTEGRAÇÃO COM RF07 (Singleton):
+ * - TTL e tamanho máximo do cache, timeout da verificação e tamanho máximo
+ *   de cada foto são carregados do ConfiguracaoSistema
+ */
+public class ValidacaoFotosHandler extends ModeracaoHandlerBase {
+
+    // Executor compartilhado: uma virtual thread por verificação
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final VerificadorFoto verificador;
+
+    // Cache compartilhado: URL -> verificação (concluída ou em andamento)
+    private final Map<String, EntradaCache> cache;
+
+    // Próximo instante (System.nanoTime) em que a varredura de expirados pode rodar
+    private final AtomicLong proximaVarreduraNanos;
+
+    // Parâmetros da configuração (trocados por inteiro a cada recarga)
+    private volatile ParametrosVerificacao parametros;
+
+    // Construtor com verificação real via HTTP
+    public ValidacaoFotosHandler() {
+        super("Validador de URLs de Fotos");
+        carregarConfiguracoes();
+        this.verificador = new HttpVerificadorFoto(Duration.ofMillis(parametros.timeoutVerificacaoMs),
+                ConfiguracaoSistema.getInstancia().getTamanhoMaximoFotoBytes());
+        this.cache = new ConcurrentHashMap<>();
+        this.proximaVarreduraNanos = new AtomicLong(System.nanoTime() + parametros.ttlCacheNanos);
+    }
+
+    // Construtor com verificador plugável
+    public ValidacaoFotosHandler(VerificadorFoto verificador) {
+        super("Validador de URLs de Fotos");
+        carregarConfiguracoes();
+        this.verificador = verificador;
+        this.cache = new ConcurrentHashMap<>();
+        this.proximaVarreduraNanos = new AtomicLong(System.nanoTime() + parametros.ttlCacheNanos);
+    }
+
+    private void carregarConfiguracoes() {
+        ConfiguracaoSistema config = ConfiguracaoSistema.getInstancia();
+        this.parametros = new ParametrosVerificacao(
+                TimeUnit.SECONDS.toNanos(config.getTtlCacheFotosSegundos()),
+                config.getTimeoutVerificacaoFotos(),
+                Math.max(1, config.getTamanhoMaximoCacheFotos()));
+    }
+
+    @Override
+    protected void aoAtualizarConfiguracao() {
+        carregarConfiguracoes();
+    }
+
+    @Override
+    protected boolean validar(Anuncio anuncio) {
+        List<String> fotos = anuncio.getFotos();
+
+        // Fotos com a mesma URL
+        Set<String> urlsVistas = new HashSet<>();
+        for (String url : fotos) {
+            if (!urlsVistas.add(url)) {
+                this.mensagemErro = "Foto duplicada: " + url;
+                return false;
+            }
+        }
+
+        // Dispara (ou reaproveita) as verificações de todas as fotos
+        Map<String, CompletableFuture<ResultadoVerificacaoFoto>> verificacoes = new HashMap<>();
+        for (String url : fotos) {
+            verificacoes.put(url, obterVerificacao(url));
+        }
+
+        try {
+            CompletableFuture.allOf(verificacoes.values().toArray(new CompletableFuture<?>[0]))
+                    .get(parametros.timeoutVerificacaoMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.mensagemErro = "Verificação de fotos interrompida";
+            return false;
+        } catch (Exception e) {
+            this.mensagemErro = "Tempo esgotado ao verificar as fotos";
+            return false;
+        }
+
+        List<String> invalidas = new ArrayList<>();
+        Map<String, String> urlPorHash = new HashMap<>();
+
+        for (String url : fotos) {
+            ResultadoVerificacaoFoto resultado = verificacoes.get(url).join();
+
+            if (!resultado.isValida()) {
+                invalidas.add(url + " (" + resultado.getMotivo() + ")");
+                continue;
+            }
+
+            String hash = resultado.getHashConteudo();
+            if (hash != null) {
+                String outraUrl = urlPorHash.putIfAbsent(hash, url);
+                if (outraUrl != null) {
+                    this.mensagemErro = "Fotos com o mesmo conteúdo: " + outraUrl + " e " + url;
+                    return false;
+                }
+            }
+        }
+
+        if (!invalidas.isEmpty()) {
+            this.mensagemErro = "Fotos inacessíveis: " + String.join(", ", invalidas);
+            return false;
+        }
+
+        this.mensagemErro = null;
+        return true;
+    }
+
+    // Retorna a verificação em cache ou inicia uma nova
+    private CompletableFuture<ResultadoVerificacaoFoto> obterVerificacao(String url) {
+        long agora = System.nanoTime();
+        limparSeNecessario(agora);
+
+        EntradaCache entrada = cache.compute(url, (chave, atual) -> {
+            if (atual != null && !atual.isExpirada(agora, parametros.ttlCacheNanos)) {
+                return atual;
+            }
+
+            EntradaCache nova = new EntradaCache(
+                    CompletableFuture.supplyAsync(() -> verificador.verificar(chave), EXECUTOR), agora);
+
+            // Falhas inesperadas e temporárias não ficam em cache
+            nova.verificacao.whenCompleteAsync((resultado, erro) -> {
+                if (erro != null || resultado.isTemporaria()) {
+                    cache.remove(chave, nova);
+                }
+            }, EXECUTOR);
+
+            return nova;
+        });
+
+        return entrada.verificacao;
+    }
+
+    /**
+     * Remove as entradas expiradas no máximo uma vez por intervalo (TTL/4) e,
+     * se o cache passou do tamanho máximo, também as concluídas mais antigas
+     * até voltar a 90% do máximo. Apenas uma thread faz a varredura por vez.
+     */
+    private void limparSeNecessario(long agora) {
+        ParametrosVerificacao parametros = this.parametros;
+        long proxima = proximaVarreduraNanos.get();
+        boolean cheio = cache.size() > parametros.tamanhoMaximoCache;
+        if (agora - proxima < 0 && !cheio) {
+            return;
+        }
+        long intervalo = Math.max(TimeUnit.SECONDS.toNanos(1), parametros.ttlCacheNanos / 4);
+        if (!proximaVarreduraNanos.compareAndSet(proxima, agora + intervalo)) {
+            return;
+        }
+
+        long ttl = parametros.ttlCacheNanos;
+        cache.values().removeIf(entrada -> entrada.verificacao.isDone() && entrada.isExpirada(agora, ttl));
+
+        if (cache.size() > parametros.tamanhoMaximoCache) {
+            List<Map.Entry<String, EntradaCache>> concluidas = new ArrayList<>();
+            for (Map.Entry<String, EntradaCache> entrada : cache.entrySet()) {
+                if (entrada.getValue().verificacao.isDone()) {
+                    concluidas.add(entrada);
+                }
+            }
+            concluidas.sort((a, b) -> Long.compare(a.getValue().criadaEmNanos, b.getValue().criadaEmNanos));
+            int excesso = cache.size() - parametros.tamanhoMaximoCache * 9 / 10;
+            for (int i = 0; i < excesso && i < concluidas.size(); i++) {
+                cache.remove(concluidas.get(i).getKey(), concluidas.get(i).getValue());
+            }
+        }
+    }
+
+    // Remove todas as verificações em cache
+    public void limparCache() {
+        cache.clear();
+    }
+
+    // Retorna a quantidade de URLs em cache
+    public int getTamanhoCache() {
+        return cache.size();
+    }
+
+    // TTL e tamanho do cache e timeout da verificação de uma versão da configuração
+    private static final class ParametrosVerificacao {
+        private final long ttlCacheNanos;
+        private final long timeoutVerificacaoMs;
+        private final int tamanhoMaximoCache;
+
+        private ParametrosVerificacao(long ttlCacheNanos, long timeoutVerificacaoMs, int tamanhoMaximoCache) {
+            this.ttlCacheNanos = ttlCacheNanos;
+            this.timeoutVerificacaoMs = timeoutVerificacaoMs;
+            this.tamanhoMaximoCache = tamanhoMaximoCache;
+        }
+    }
+
+    private static class EntradaCache {
+        private final CompletableFuture<ResultadoVerificacaoFoto> verificacao;
+        private final long criadaEmNanos;
+
+        private EntradaCache(CompletableFuture<ResultadoVerificacaoFoto> verificacao, long criadaEmNanos) {
+            this.verificacao = verificacao;
+            this.criadaEmNanos = criadaEmNanos;
+        }
+
+        private boolean isExpirada(long agora, long ttlNanos) {
+            return agora - criadaEmNanos > ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package model.chain_of_responsibility.support;
+
+/**
+ * Faixa imutável [minimo, maximo] usada pelos handlers de moderação.
+ *
+ * Os handlers trocam a faixa inteira a cada recarga da configuração, então
+ * uma validação nunca vê o mínimo de uma versão com o máximo de outra.
+ */
+public final class FaixaTamanho {
+
+    private final int minimo;
+    private final int maximo;
+
+    public FaixaTamanho(int minimo, int maximo) {
+        this.minimo = minimo;
+        this.maximo = maximo;
+    }
+
+    public int getMinimo() {
+        return minimo;
+    }
+
+    public int getMaximo() {
+        return maximo;
+    }
+}
@@ -0,0 +1,99 @@
+package model.chain_of_responsibility.support;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * PADRÃO: Strategy (suporte ao Chain of Responsibility)
+ * PAPEL: ConcreteStrategy
+ * FUNÇÃO: Baixa as fotos usando um HttpClient compartilhado e calcula o hash
+ * SHA-256 dos bytes recebidos
+ *
+ * - A foto é válida se a resposta for 2xx com Content-Type de imagem
+ * - O download é limitado: fotos acima do tamanho máximo são recusadas sem
+ *   ler o restante do corpo
+ * - O hash vem do conteúdo baixado, então a mesma imagem servida por URLs ou
+ *   hosts diferentes é detectada como duplicada
+ * - Erros de conexão, 429 e 5xx são falhas temporárias (não ficam em cache)
+ */
+public class HttpVerificadorFoto implements VerificadorFoto {
+
+    private final HttpClient httpClient;
+    private final Duration timeout;
+    private final long tamanhoMaximoBytes;
+
+    public HttpVerificadorFoto(Duration timeout, long tamanhoMaximoBytes) {
+        this.timeout = timeout;
+        this.tamanhoMaximoBytes = tamanhoMaximoBytes;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Override
+    public ResultadoVerificacaoFoto verificar(String url) {
+        try {
+            HttpRequest requisicao = HttpRequest.newBuilder(URI.create(url))
+                    .GET()
+                    .timeout(timeout)
+                    .build();
+
+            HttpResponse<InputStream> resposta = httpClient.send(requisicao, HttpResponse.BodyHandlers.ofInputStream());
+
+            // Fechar o corpo sem ler tudo encerra o download
+            try (InputStream corpo = resposta.body()) {
+                if (resposta.statusCode() == 429 || resposta.statusCode() / 100 == 5) {
+                    return ResultadoVerificacaoFoto.falhaTemporaria("HTTP " + resposta.statusCode());
+                }
+                if (resposta.statusCode() / 100 != 2) {
+                    return ResultadoVerificacaoFoto.invalida("HTTP " + resposta.statusCode());
+                }
+
+                String tipoConteudo = resposta.headers().firstValue("Content-Type").orElse("");
+                if (!tipoConteudo.startsWith("image/")) {
+                    return ResultadoVerificacaoFoto.invalida("conteúdo não é imagem");
+                }
+                if (resposta.headers().firstValueAsLong("Content-Length").orElse(-1) > tamanhoMaximoBytes) {
+                    return ResultadoVerificacaoFoto.invalida("foto acima do tamanho máximo");
+                }
+
+                String hash = calcularHash(corpo);
+                if (hash == null) {
+                    return ResultadoVerificacaoFoto.invalida("foto acima do tamanho máximo");
+                }
+                return ResultadoVerificacaoFoto.valida(hash);
+            }
+
+        } catch (IllegalArgumentException e) {
+            return ResultadoVerificacaoFoto.invalida("URL inválida");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResultadoVerificacaoFoto.falhaTemporaria("verificação interrompida");
+        } catch (Exception e) {
+            return ResultadoVerificacaoFoto.falhaTemporaria("erro de conexão");
+        }
+    }
+
+    // Lê o corpo até o tamanho máximo calculando o SHA-256; retorna null se passar do limite
+    private String calcularHash(InputStream corpo) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int lidos;
+        while ((lidos = corpo.read(buffer)) != -1) {
+            total += lidos;
+            if (total > tamanhoMaximoBytes) {
+                return null;
+            }
+            digest.update(buffer, 0, lidos);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
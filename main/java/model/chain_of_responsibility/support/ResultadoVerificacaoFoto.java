@@ -0,0 +1,54 @@
+package model.chain_of_responsibility.support;
+
+/**
+ * Resultado imutável da verificação de uma foto.
+ *
+ * O hash de conteúdo é opcional: quando o verificador não calcula o hash
+ * dos bytes da foto, a deduplicação usa apenas a URL.
+ *
+ * Uma falha temporária (erro de conexão, servidor indisponível) reprova a
+ * foto nesta moderação, mas não é guardada em cache.
+ */
+public class ResultadoVerificacaoFoto {
+
+    private final boolean valida;
+    private final String hashConteudo;
+    private final String motivo;
+    private final boolean temporaria;
+
+    private ResultadoVerificacaoFoto(boolean valida, String hashConteudo, String motivo, boolean temporaria) {
+        this.valida = valida;
+        this.hashConteudo = hashConteudo;
+        this.motivo = motivo;
+        this.temporaria = temporaria;
+    }
+
+    public static ResultadoVerificacaoFoto valida(String hashConteudo) {
+        return new ResultadoVerificacaoFoto(true, hashConteudo, null, false);
+    }
+
+    public static ResultadoVerificacaoFoto invalida(String motivo) {
+        return new ResultadoVerificacaoFoto(false, null, motivo, false);
+    }
+
+    // Falha que pode não se repetir em uma nova tentativa (não fica em cache)
+    public static ResultadoVerificacaoFoto falhaTemporaria(String motivo) {
+        return new ResultadoVerificacaoFoto(false, null, motivo, true);
+    }
+
+    public boolean isValida() {
+        return valida;
+    }
+
+    public String getHashConteudo() {
+        return hashConteudo;
+    }
+
+    public String getMotivo() {
+        return motivo;
+    }
+
+    public boolean isTemporaria() {
+        return temporaria;
+    }
+}
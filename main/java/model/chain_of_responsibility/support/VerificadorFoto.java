@@ -0,0 +1,15 @@
+package model.chain_of_responsibility.support;
+
+/**
+ * PADRÃO: Strategy (suporte ao Chain of Responsibility)
+ * PAPEL: Strategy (Interface)
+ * FUNÇÃO: Define como a URL de uma foto é verificada pelo ValidacaoFotosHandler
+ *
+ * Permite trocar a verificação real via HTTP por implementações locais
+ * (por exemplo, um servidor HTTP de teste).
+ */
+public interface VerificadorFoto {
+
+    // Verifica se a foto existe e, se possível, obtém um hash do seu conteúdo
+    ResultadoVerificacaoFoto verificar(String url);
+}
@@ -1,5 +1,6 @@
 package model.decorator.concrete_decorators;
 
+import enums.IdentificadorEstado;
 import model.decorator.FiltroBusca;
 import model.decorator.FiltroDecorator;
 import model.prototype.concrete_prototype.Anuncio;
@@ -14,34 +15,47 @@ import java.util.stream.Collectors;
  */
 public class FiltroEstadoAnuncio extends FiltroDecorator {
 
-    private final String estadoDesejado;
+    // null = sem filtro por estado
+    private final IdentificadorEstado estadoDesejado;
 
-    // Construtor do filtro por estado do anúncio
+    // Nome exibido do estado (ex.: "Ativo"); mantido para a descrição do filtro
+    private final String nomeEstado;
+
+    // Construtor do filtro pelo nome do estado (ex.: "Ativo", "Vendido/Alugado")
     public FiltroEstadoAnuncio(FiltroBusca filtroDecorado, String estadoDesejado) {
+        super(filtroDecorado);
+        this.estadoDesejado = IdentificadorEstado.porDescricao(estadoDesejado);
+        this.nomeEstado = estadoDesejado;
+    }
+
+    // Construtor do filtro pelo identificador do estado
+    public FiltroEstadoAnuncio(FiltroBusca filtroDecorado, IdentificadorEstado estadoDesejado) {
         super(filtroDecorado);
         this.estadoDesejado = estadoDesejado;
+        this.nomeEstado = estadoDesejado != null ? estadoDesejado.getDescricao() : null;
     }
 
     // Cria filtro para mostrar apenas anúncios ativos (padrão para buscas públicas)
     public static FiltroEstadoAnuncio apenasAtivos(FiltroBusca filtroDecorado) {
-        return new FiltroEstadoAnuncio(filtroDecorado, "Ativo");
+        return new FiltroEstadoAnuncio(filtroDecorado, IdentificadorEstado.ATIVO);
     }
 
     @Override
     public List<Anuncio> filtrar(List<Anuncio> anuncios) {
         List<Anuncio> resultadoParcial = super.filtrar(anuncios);
 
-        if (estadoDesejado == null || estadoDesejado.isEmpty()) {
+        if (nomeEstado == null || nomeEstado.isEmpty()) {
             return resultadoParcial;
         }
 
+        // Comparação por identidade do enum, sem comparar Strings por anúncio
         return resultadoParcial.stream()
-                .filter(a -> estadoDesejado.equalsIgnoreCase(a.getEstadoAtual()))
+                .filter(a -> a.getIdentificadorEstado() == estadoDesejado)
                 .collect(Collectors.toList());
     }
 
     @Override
     public String getDescricao() {
-        return filtroDecorado.getDescricao() + " + Estado: " + estadoDesejado;
+        return filtroDecorado.getDescricao() + " + Estado: " + nomeEstado;
     }
 }
\ No newline at end of file
@@ -45,16 +45,11 @@ public class FiltroQuartos extends FiltroDecorator {
     }
 
     private boolean dentroFaixaQuartos(Anuncio anuncio) {
-        if (anuncio.getImovel() == null) {
+        Imovel imovel = anuncio.getImovel();
+        if (imovel == null) {
             return false;
         }
 
-        // Verifica se o imóvel tem a propriedade de quartos
-        if (!(anuncio.getImovel() instanceof Imovel)) {
-            return false;
-        }
-
-        Imovel imovel = (Imovel) anuncio.getImovel();
         int quartos = imovel.getNumeroQuartos();
 
         // Imóveis sem quartos (terrenos, galpões) não passam no filtro
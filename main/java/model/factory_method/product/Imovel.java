@@ -5,7 +5,7 @@ package model.factory_method.product;
  * PAPEL: Produto Abstrato
  * FUNÇÃO: Classe abstrata que implementa comportamentos comuns a todos os imóveis.
  */
-public abstract class Imovel {
+public abstract class Imovel implements Cloneable {
 
     // Atributos comuns a todos os tipos de imóveis
     protected String tipo;
@@ -43,6 +43,11 @@ public abstract class Imovel {
         return localizacao;
     }
 
+    // Define a localização (ex.: endereço do prédio ao cadastrar unidades a partir de um protótipo)
+    public void setLocalizacao(String localizacao) {
+        this.localizacao = localizacao;
+    }
+
     public int getNumeroQuartos() {
         return numeroQuartos;
     }
@@ -67,6 +72,20 @@ public abstract class Imovel {
         this.possuiGaragem = possuiGaragem;
     }
 
+    /**
+     * Retorna uma cópia do imóvel com os mesmos atributos.
+     * A cópia rasa basta: os atributos são primitivos, Strings ou enums.
+     * Usado pelo Anuncio para copiar o imóvel compartilhado com o protótipo
+     * antes da primeira alteração (copy-on-write).
+     */
+    public Imovel copiar() {
+        try {
+            return (Imovel) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     /**
      * Validação comum a todos os imóveis
      * Subclasses podem sobrescrever para adicionar validações específicas
@@ -1,9 +1,11 @@
 package model.observer;
 
+import enums.CampoAnuncio;
+import enums.IdentificadorEstado;
 import model.prototype.concrete_prototype.Anuncio;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * PADRÃO: Observer
@@ -12,19 +14,23 @@ import java.util.List;
  *
  * Esta classe extrai a responsabilidade de gerenciamento de observers
  * do Anuncio, promovendo maior separação de responsabilidades
+ *
+ * Guarda apenas os observadores de UM anúncio e só é criada quando o anúncio
+ * recebe seu primeiro observador. Observadores de muitos anúncios devem usar
+ * o RegistroObservadores global.
  */
 public class GerenciadorObservadores {
 
-    private final List<ObservadorAnuncio> observadores;
+    private final CopyOnWriteArrayList<ObservadorAnuncio> observadores;
 
     public GerenciadorObservadores() {
-        this.observadores = new ArrayList<>();
+        this.observadores = new CopyOnWriteArrayList<>();
     }
 
     // Adiciona um observador à lista de notificação
     public void adicionar(ObservadorAnuncio observador) {
-        if (observador != null && !observadores.contains(observador)) {
-            observadores.add(observador);
+        if (observador != null) {
+            observadores.addIfAbsent(observador);
         }
     }
 
@@ -34,12 +40,26 @@ public class GerenciadorObservadores {
     }
 
     // Notifica todos os observadores sobre uma mudança de estado
-    public void notificar(Anuncio anuncio, String estadoAnterior, String estadoNovo) {
+    public void notificar(Anuncio anuncio, IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo) {
         for (ObservadorAnuncio observador : observadores) {
             observador.notificar(anuncio, estadoAnterior, estadoNovo);
         }
     }
 
+    // Entrega um lote de transições deste anúncio a todos os observadores
+    public void notificarLote(List<TransicaoAnuncio> transicoes) {
+        for (ObservadorAnuncio observador : observadores) {
+            observador.notificarLote(transicoes);
+        }
+    }
+
+    // Notifica todos os observadores sobre a alteração de um campo
+    public void notificarAlteracao(Anuncio anuncio, CampoAnuncio campo, Object valorAnterior, Object valorNovo) {
+        for (ObservadorAnuncio observador : observadores) {
+            observador.notificarAlteracao(anuncio, campo, valorAnterior, valorNovo);
+        }
+    }
+
     // Retorna a quantidade de observadores registrados
     public int getQuantidadeObservadores() {
         return observadores.size();
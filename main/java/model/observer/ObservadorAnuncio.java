@@ -1,7 +1,11 @@
 package model.observer;
 
+import enums.CampoAnuncio;
+import enums.IdentificadorEstado;
 import model.prototype.concrete_prototype.Anuncio;
 
+import java.util.List;
+
 /**
  * PADRÃO: Observer
  * PAPEL: Subscriber (Interface)
@@ -23,4 +27,37 @@ public interface ObservadorAnuncio {
      * uma transição de estado bem-sucedida.
      */
     void notificar(Anuncio anuncio, String estadoAnterior, String estadoNovo);
+
+    /**
+     * Versão por identificador, chamada pelo Anuncio a cada transição.
+     *
+     * Por padrão repassa os nomes dos estados para o método acima. Observadores
+     * que só comparam estados podem sobrescrever este método e comparar com ==.
+     */
+    default void notificar(Anuncio anuncio, IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo) {
+        notificar(anuncio, estadoAnterior.getDescricao(), estadoNovo.getDescricao());
+    }
+
+    /**
+     * Chamado uma única vez com todas as transições de uma operação em lote
+     * (ex.: RepositorioAnuncios.transicionarEmLote).
+     *
+     * Por padrão notifica uma transição por vez. Observadores que mantêm
+     * índices ou caches podem sobrescrever para atualizá-los em uma passada.
+     */
+    default void notificarLote(List<TransicaoAnuncio> transicoes) {
+        for (TransicaoAnuncio transicao : transicoes) {
+            notificar(transicao.getAnuncio(), transicao.getEstadoAnterior(), transicao.getEstadoNovo());
+        }
+    }
+
+    /**
+     * Chamado quando um campo do anúncio é alterado por um setter
+     * (título, preço, fotos etc.), sem mudança de estado.
+     *
+     * Os valores são String, Double (PRECO), TipoTransacao ou Imovel, conforme
+     * o campo. Por padrão não faz nada.
+     */
+    default void notificarAlteracao(Anuncio anuncio, CampoAnuncio campo, Object valorAnterior, Object valorNovo) {
+    }
 }
\ No newline at end of file
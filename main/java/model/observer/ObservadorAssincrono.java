@@ -0,0 +1,388 @@
+package model.observer;
+
+import enums.CampoAnuncio;
+import enums.IdentificadorEstado;
+import model.prototype.concrete_prototype.Anuncio;
+import model.singleton.ConfiguracaoSistema;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * PADRÃO: Observer (com Decorator)
+ * PAPEL: ConcreteObserver que decora outro observador
+ * FUNÇÃO: Entrega as notificações ao observador decorado em segundo plano,
+ * para que a transição de estado do Anuncio não espere canais lentos
+ * (ex.: AnuncianteObserver -> TelegramAdapter)
+ *
+ * FUNCIONAMENTO:
+ * - Cada partição possui uma fila limitada e uma virtual thread consumidora
+ * - Ordenação POR_ANUNCIO: o anúncio define a partição, então as notificações de
+ *   um mesmo anúncio chegam na ordem (FIFO), e anúncios diferentes em paralelo
+ * - Ordenação GLOBAL: uma única partição, todas as notificações em ordem
+ * - Quando a fila está cheia, aplica a política de transbordo configurada
+ * - Na política EXECUTAR_NO_CHAMADOR, a thread da transição espera a entrega em
+ *   andamento, esvazia a partição e entrega as notificações enfileiradas antes
+ *   da sua; a ordem FIFO por anúncio é mantida
+ * - Alterações de campo (notificarAlteracao) passam pela mesma fila da
+ *   partição do anúncio, na ordem em relação às transições
+ * - Notificações geradas pelo próprio observador decorado, durante uma entrega,
+ *   são entregues direto quando a fila está cheia (esperar por espaço travaria
+ *   a partição, que só esvazia quando a entrega atual termina)
+ * - aguardarEsvaziamento() espera em um monitor avisado quando a última
+ *   notificação pendente é concluída (sem polling)
+ *
+ * USO:
+ * - Crie um único ObservadorAssincrono por observador lento e registre essa mesma
+ *   instância em todos os anúncios; as filas são compartilhadas
+ */
+public class ObservadorAssincrono implements ObservadorAnuncio {
+
+    // Garantia de ordem das notificações entregues
+    public enum Ordenacao {
+        POR_ANUNCIO,
+        GLOBAL
+    }
+
+    // O que fazer quando a fila da partição está cheia
+    public enum PoliticaTransbordo {
+        BLOQUEAR,                // espera espaço na fila
+        DESCARTAR_NOVA,          // descarta a notificação que está chegando
+        DESCARTAR_MAIS_ANTIGA,   // descarta a notificação mais antiga da fila
+        EXECUTAR_NO_CHAMADOR     // entrega de forma síncrona na thread da transição
+    }
+
+    private final ObservadorAnuncio observadorDecorado;
+    private final PoliticaTransbordo politica;
+    private final Particao[] particoes;
+    private final Thread[] consumidores;
+
+    private final LongAdder entregues;
+    private final LongAdder descartadas;
+
+    // Notificações enfileiradas ou em entrega
+    private final AtomicLong pendentes;
+
+    // Monitor avisado quando não há mais notificações pendentes
+    private final Object esvaziamento;
+
+    // Cria o observador assíncrono com partições, capacidade e política do ConfiguracaoSistema
+    public ObservadorAssincrono(ObservadorAnuncio observadorDecorado) {
+        this(observadorDecorado,
+                Ordenacao.POR_ANUNCIO,
+                ConfiguracaoSistema.getInstancia().getParticoesObservadorAssincrono(),
+                ConfiguracaoSistema.getInstancia().getCapacidadeFilaObservadorAssincrono(),
+                lerPolitica(ConfiguracaoSistema.getInstancia().getPoliticaTransbordoObservador()));
+    }
+
+    public ObservadorAssincrono(ObservadorAnuncio observadorDecorado,
+                                Ordenacao ordenacao,
+                                int particoes,
+                                int capacidadePorParticao,
+                                PoliticaTransbordo politica) {
+        this.observadorDecorado = observadorDecorado;
+        this.politica = politica;
+        this.entregues = new LongAdder();
+        this.descartadas = new LongAdder();
+        this.pendentes = new AtomicLong();
+        this.esvaziamento = new Object();
+
+        int quantidade = ordenacao == Ordenacao.GLOBAL ? 1 : Math.max(1, particoes);
+        this.particoes = new Particao[quantidade];
+        this.consumidores = new Thread[quantidade];
+
+        for (int i = 0; i < quantidade; i++) {
+            Particao particao = new Particao(Math.max(1, capacidadePorParticao));
+            this.particoes[i] = particao;
+            consumidores[i] = Thread.ofVirtual()
+                    .name("observador-assincrono-" + i)
+                    .start(() -> consumir(particao));
+        }
+    }
+
+    @Override
+    public void notificar(Anuncio anuncio, String estadoAnterior, String estadoNovo) {
+        notificar(anuncio, identificar(estadoAnterior), identificar(estadoNovo));
+    }
+
+    @Override
+    public void notificar(Anuncio anuncio, IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo) {
+        enfileirar(new Notificacao(anuncio, estadoAnterior, estadoNovo, null, null, null));
+    }
+
+    @Override
+    public void notificarAlteracao(Anuncio anuncio, CampoAnuncio campo, Object valorAnterior, Object valorNovo) {
+        enfileirar(new Notificacao(anuncio, null, null, campo, valorAnterior, valorNovo));
+    }
+
+    // Converte o nome do estado, rejeitando nomes desconhecidos
+    private static IdentificadorEstado identificar(String nomeEstado) {
+        IdentificadorEstado estado = IdentificadorEstado.porDescricao(nomeEstado);
+        if (estado == null) {
+            throw new IllegalArgumentException("Estado desconhecido: " + nomeEstado);
+        }
+        return estado;
+    }
+
+    // Enfileira a notificação na partição do anúncio, aplicando a política de transbordo
+    private void enfileirar(Notificacao notificacao) {
+        Particao particao = particoes[particao(notificacao.anuncio)];
+        List<Notificacao> noChamador = null;
+        boolean assumiuParticao = false;
+
+        pendentes.incrementAndGet();
+        particao.lock.lock();
+        try {
+            if (particao.oferecer(notificacao)) {
+                return;
+            }
+
+            switch (politica) {
+                case BLOQUEAR:
+                    if (particao.entregador == Thread.currentThread()) {
+                        // Notificação gerada durante a própria entrega: esperar espaço
+                        // travaria a partição, então entrega direto
+                        noChamador = List.of(notificacao);
+                        break;
+                    }
+                    while (!particao.oferecer(notificacao)) {
+                        particao.mudou.await();
+                    }
+                    break;
+                case DESCARTAR_NOVA:
+                    descartar();
+                    break;
+                case DESCARTAR_MAIS_ANTIGA:
+                    particao.fila.poll();
+                    descartar();
+                    particao.oferecer(notificacao);
+                    break;
+                case EXECUTAR_NO_CHAMADOR:
+                    // Espera a entrega em andamento e assume a partição: entrega as
+                    // notificações já enfileiradas antes da nova, mantendo a ordem
+                    if (particao.entregador == Thread.currentThread()) {
+                        // Notificação gerada durante a própria entrega: entrega direto
+                        noChamador = List.of(notificacao);
+                        break;
+                    }
+                    while (particao.entregador != null) {
+                        particao.mudou.await();
+                        if (particao.oferecer(notificacao)) {
+                            return;
+                        }
+                    }
+                    particao.entregador = Thread.currentThread();
+                    assumiuParticao = true;
+                    noChamador = new ArrayList<>(particao.fila);
+                    noChamador.add(notificacao);
+                    particao.fila.clear();
+                    break;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            descartar();
+        } finally {
+            particao.lock.unlock();
+        }
+
+        if (noChamador != null) {
+            try {
+                noChamador.forEach(this::entregar);
+            } finally {
+                if (assumiuParticao) {
+                    particao.liberar();
+                }
+            }
+        }
+    }
+
+    private void descartar() {
+        descartadas.increment();
+        concluir();
+    }
+
+    // Laço da virtual thread consumidora de uma partição
+    private void consumir(Particao particao) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Notificacao notificacao = particao.proxima();
+                try {
+                    entregar(notificacao);
+                } finally {
+                    particao.liberar();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void entregar(Notificacao notificacao) {
+        try {
+            if (notificacao.campo != null) {
+                observadorDecorado.notificarAlteracao(notificacao.anuncio, notificacao.campo,
+                        notificacao.valorAnterior, notificacao.valorNovo);
+            } else {
+                observadorDecorado.notificar(notificacao.anuncio, notificacao.estadoAnterior, notificacao.estadoNovo);
+            }
+        } catch (RuntimeException e) {
+            // Falha de um observador não interrompe a entrega das próximas notificações
+        }
+        entregues.increment();
+        concluir();
+    }
+
+    // Decrementa as pendentes e acorda quem espera o esvaziamento
+    private void concluir() {
+        if (pendentes.decrementAndGet() == 0) {
+            synchronized (esvaziamento) {
+                esvaziamento.notifyAll();
+            }
+        }
+    }
+
+    private int particao(Anuncio anuncio) {
+        return particoes.length == 1 ? 0 : Math.floorMod(anuncio.getId().hashCode(), particoes.length);
+    }
+
+    /**
+     * Aguarda até que todas as filas estejam vazias ou o tempo se esgote.
+     *
+     * @return true se todas as notificações pendentes foram consumidas
+     */
+    public boolean aguardarEsvaziamento(long timeout, TimeUnit unidade) throws InterruptedException {
+        long limite = System.nanoTime() + unidade.toNanos(timeout);
+        synchronized (esvaziamento) {
+            while (getPendentes() > 0) {
+                long restante = limite - System.nanoTime();
+                if (restante <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(esvaziamento, restante);
+            }
+        }
+        return true;
+    }
+
+    // Interrompe as threads consumidoras; notificações ainda na fila são perdidas
+    public void encerrar() {
+        for (Thread consumidor : consumidores) {
+            consumidor.interrupt();
+        }
+    }
+
+    // Retorna a quantidade de notificações aguardando entrega (ou sendo entregues)
+    public long getPendentes() {
+        return pendentes.get();
+    }
+
+    public long getEntregues() {
+        return entregues.sum();
+    }
+
+    public long getDescartadas() {
+        return descartadas.sum();
+    }
+
+    public ObservadorAnuncio getObservadorDecorado() {
+        return observadorDecorado;
+    }
+
+    private static PoliticaTransbordo lerPolitica(String nome) {
+        try {
+            return PoliticaTransbordo.valueOf(nome.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return PoliticaTransbordo.BLOQUEAR;
+        }
+    }
+
+    /**
+     * Fila limitada de uma partição.
+     *
+     * Só um entregador por vez (a thread consumidora ou, na política
+     * EXECUTAR_NO_CHAMADOR, a thread da transição) retira notificações da
+     * partição, o que mantém a ordem FIFO por anúncio.
+     */
+    private static class Particao {
+        private final ArrayDeque<Notificacao> fila;
+        private final int capacidade;
+        private final ReentrantLock lock;
+        private final Condition disponivel;
+        private final Condition mudou;
+
+        // Thread que está entregando notificações desta partição (null se nenhuma)
+        private Thread entregador;
+
+        private Particao(int capacidade) {
+            this.fila = new ArrayDeque<>(capacidade);
+            this.capacidade = capacidade;
+            this.lock = new ReentrantLock();
+            this.disponivel = lock.newCondition();
+            this.mudou = lock.newCondition();
+        }
+
+        // Enfileira se houver espaço (chamado com o lock)
+        private boolean oferecer(Notificacao notificacao) {
+            if (fila.size() >= capacidade) {
+                return false;
+            }
+            fila.add(notificacao);
+            disponivel.signal();
+            return true;
+        }
+
+        // Espera uma notificação e assume a entrega da partição
+        private Notificacao proxima() throws InterruptedException {
+            lock.lockInterruptibly();
+            try {
+                while (fila.isEmpty() || entregador != null) {
+                    disponivel.await();
+                }
+                entregador = Thread.currentThread();
+                Notificacao notificacao = fila.poll();
+                mudou.signalAll();
+                return notificacao;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Libera a partição para o próximo entregador
+        private void liberar() {
+            lock.lock();
+            try {
+                entregador = null;
+                disponivel.signal();
+                mudou.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Notificação enfileirada: transição de estado ou alteração de campo (campo != null)
+    private static class Notificacao {
+        private final Anuncio anuncio;
+        private final IdentificadorEstado estadoAnterior;
+        private final IdentificadorEstado estadoNovo;
+        private final CampoAnuncio campo;
+        private final Object valorAnterior;
+        private final Object valorNovo;
+
+        private Notificacao(Anuncio anuncio, IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo,
+                            CampoAnuncio campo, Object valorAnterior, Object valorNovo) {
+            this.anuncio = anuncio;
+            this.estadoAnterior = estadoAnterior;
+            this.estadoNovo = estadoNovo;
+            this.campo = campo;
+            this.valorAnterior = valorAnterior;
+            this.valorNovo = valorNovo;
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package model.observer;
+
+import enums.CampoAnuncio;
+import enums.IdentificadorEstado;
+import model.prototype.concrete_prototype.Anuncio;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * PADRÃO: Observer (com Singleton)
+ * PAPEL: Subject global
+ * FUNÇÃO: Registro único de assinaturas válido para todos os anúncios,
+ * evitando registrar o mesmo observador anúncio por anúncio
+ *
+ * TÓPICOS DE ASSINATURA:
+ * - Todos os anúncios
+ * - Anúncios de um anunciante (anuncianteId)
+ * - Uma transição específica (estado anterior -> estado novo)
+ * - Entrada em um estado (qualquer estado anterior -> estado novo)
+ *
+ * Alterações de campo (notificarAlteracao) vão apenas para os tópicos
+ * "todos os anúncios" e "anunciante".
+ *
+ * Um observador assinado em mais de um tópico que combina com a mesma
+ * transição é notificado uma única vez (em notificarLote, cada transição
+ * aparece uma única vez na lista entregue a ele).
+ *
+ * CONCORRÊNCIA:
+ * - Cada tópico guarda um array imutável de observadores (copy-on-write)
+ * - A notificação lê os arrays sem bloqueio; apenas assinar/cancelar copia
+ * - Transições são indexadas pelo ordinal dos estados (sem chaves String)
+ */
+public class RegistroObservadores {
+
+    private static final ObservadorAnuncio[] VAZIO = new ObservadorAnuncio[0];
+    private static final int QUANTIDADE_ESTADOS = IdentificadorEstado.quantidade();
+
+    // Observadores de todos os anúncios
+    private volatile ObservadorAnuncio[] todos;
+
+    // Observadores por anunciante
+    private final Map<String, ObservadorAnuncio[]> porAnunciante;
+
+    // Observadores por transição (posição = anterior.ordinal * QUANTIDADE_ESTADOS + novo.ordinal)
+    private final AtomicReferenceArray<ObservadorAnuncio[]> porTransicao;
+
+    // Observadores por estado de entrada (posição = novo.ordinal)
+    private final AtomicReferenceArray<ObservadorAnuncio[]> porEntrada;
+
+    // Quantidade de assinaturas por transição ou entrada (evita percorrer os arrays quando zero)
+    private volatile int assinaturasPorEstado;
+
+    private RegistroObservadores() {
+        this.todos = VAZIO;
+        this.porAnunciante = new ConcurrentHashMap<>();
+        this.porTransicao = new AtomicReferenceArray<>(QUANTIDADE_ESTADOS * QUANTIDADE_ESTADOS);
+        this.porEntrada = new AtomicReferenceArray<>(QUANTIDADE_ESTADOS);
+    }
+
+    // Classe interna estática (Holder) para implementação thread-safe
+    private static class SingletonHolder {
+        private static final RegistroObservadores INSTANCIA = new RegistroObservadores();
+    }
+
+    public static RegistroObservadores getInstancia() {
+        return SingletonHolder.INSTANCIA;
+    }
+
+    // ========================================================================
+    // ASSINATURAS
+    // ========================================================================
+
+    // Assina as mudanças de estado de todos os anúncios
+    public synchronized void assinarTodos(ObservadorAnuncio observador) {
+        todos = adicionar(todos, observador);
+    }
+
+    public synchronized void cancelarTodos(ObservadorAnuncio observador) {
+        todos = remover(todos, observador);
+    }
+
+    // Assina as mudanças de estado dos anúncios de um anunciante
+    public void assinarAnunciante(String anuncianteId, ObservadorAnuncio observador) {
+        porAnunciante.compute(anuncianteId, (k, atual) -> adicionar(atual, observador));
+    }
+
+    public void cancelarAnunciante(String anuncianteId, ObservadorAnuncio observador) {
+        porAnunciante.computeIfPresent(anuncianteId, (k, atual) -> vazioComoNulo(remover(atual, observador)));
+    }
+
+    // Assina uma transição específica (ex.: PENDENTE_MODERACAO -> ATIVO)
+    public synchronized void assinarTransicao(IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo,
+                                              ObservadorAnuncio observador) {
+        int posicao = posicaoTransicao(estadoAnterior, estadoNovo);
+        porTransicao.set(posicao, adicionar(porTransicao.get(posicao), observador));
+        recontarAssinaturasPorEstado();
+    }
+
+    public synchronized void cancelarTransicao(IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo,
+                                               ObservadorAnuncio observador) {
+        int posicao = posicaoTransicao(estadoAnterior, estadoNovo);
+        ObservadorAnuncio[] atual = porTransicao.get(posicao);
+        if (atual != null) {
+            porTransicao.set(posicao, vazioComoNulo(remover(atual, observador)));
+            recontarAssinaturasPorEstado();
+        }
+    }
+
+    // Assina uma transição pelos nomes dos estados (ex.: "Pendente de Moderação" -> "Ativo")
+    public void assinarTransicao(String estadoAnterior, String estadoNovo, ObservadorAnuncio observador) {
+        assinarTransicao(identificar(estadoAnterior), identificar(estadoNovo), observador);
+    }
+
+    public void cancelarTransicao(String estadoAnterior, String estadoNovo, ObservadorAnuncio observador) {
+        cancelarTransicao(identificar(estadoAnterior), identificar(estadoNovo), observador);
+    }
+
+    // Assina a entrada em um estado, vindo de qualquer outro
+    public synchronized void assinarEntradaEstado(IdentificadorEstado estadoNovo, ObservadorAnuncio observador) {
+        porEntrada.set(estadoNovo.ordinal(), adicionar(porEntrada.get(estadoNovo.ordinal()), observador));
+        recontarAssinaturasPorEstado();
+    }
+
+    public synchronized void cancelarEntradaEstado(IdentificadorEstado estadoNovo, ObservadorAnuncio observador) {
+        ObservadorAnuncio[] atual = porEntrada.get(estadoNovo.ordinal());
+        if (atual != null) {
+            porEntrada.set(estadoNovo.ordinal(), vazioComoNulo(remover(atual, observador)));
+            recontarAssinaturasPorEstado();
+        }
+    }
+
+    public void assinarEntradaEstado(String estadoNovo, ObservadorAnuncio observador) {
+        assinarEntradaEstado(identificar(estadoNovo), observador);
+    }
+
+    public void cancelarEntradaEstado(String estadoNovo, ObservadorAnuncio observador) {
+        cancelarEntradaEstado(identificar(estadoNovo), observador);
+    }
+
+    // ========================================================================
+    // NOTIFICAÇÃO
+    // ========================================================================
+
+    // Notifica todos os assinantes interessados na mudança de estado do anúncio
+    public void notificar(Anuncio anuncio, IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo) {
+        ObservadorAnuncio[] todos = this.todos;
+        notificarTodos(todos, anuncio, estadoAnterior, estadoNovo);
+
+        ObservadorAnuncio[] doAnunciante = observadoresDoAnunciante(anuncio);
+        notificarNovos(doAnunciante, todos, null, null, anuncio, estadoAnterior, estadoNovo);
+
+        if (assinaturasPorEstado > 0) {
+            ObservadorAnuncio[] daTransicao = porTransicao.get(posicaoTransicao(estadoAnterior, estadoNovo));
+            notificarNovos(daTransicao, todos, doAnunciante, null, anuncio, estadoAnterior, estadoNovo);
+            notificarNovos(porEntrada.get(estadoNovo.ordinal()), todos, doAnunciante, daTransicao,
+                    anuncio, estadoAnterior, estadoNovo);
+        }
+    }
+
+    /**
+     * Entrega um lote de transições: cada assinante recebe uma única chamada
+     * a notificarLote com apenas as transições que lhe interessam, na ordem
+     * do lote e sem repetições.
+     */
+    public void notificarLote(List<TransicaoAnuncio> transicoes) {
+        if (transicoes.isEmpty()) {
+            return;
+        }
+        ObservadorAnuncio[] todos = this.todos;
+        notificarLoteTodos(todos, transicoes);
+
+        boolean porEstado = assinaturasPorEstado > 0;
+        if (porAnunciante.isEmpty() && !porEstado) {
+            return;
+        }
+
+        // Assinantes de "todos" já receberam o lote inteiro
+        Map<ObservadorAnuncio, List<TransicaoAnuncio>> porObservador = new IdentityHashMap<>();
+        for (TransicaoAnuncio transicao : transicoes) {
+            acumular(porObservador, todos, transicao, observadoresDoAnunciante(transicao.getAnuncio()));
+            if (porEstado) {
+                acumular(porObservador, todos, transicao,
+                        porTransicao.get(posicaoTransicao(transicao.getEstadoAnterior(), transicao.getEstadoNovo())));
+                acumular(porObservador, todos, transicao, porEntrada.get(transicao.getEstadoNovo().ordinal()));
+            }
+        }
+        for (Map.Entry<ObservadorAnuncio, List<TransicaoAnuncio>> grupo : porObservador.entrySet()) {
+            grupo.getKey().notificarLote(grupo.getValue());
+        }
+    }
+
+    // Notifica a alteração de um campo aos assinantes de todos os anúncios e do anunciante
+    public void notificarAlteracao(Anuncio anuncio, CampoAnuncio campo, Object valorAnterior, Object valorNovo) {
+        ObservadorAnuncio[] todos = this.todos;
+        for (ObservadorAnuncio observador : todos) {
+            observador.notificarAlteracao(anuncio, campo, valorAnterior, valorNovo);
+        }
+        ObservadorAnuncio[] doAnunciante = observadoresDoAnunciante(anuncio);
+        if (doAnunciante != null) {
+            for (ObservadorAnuncio observador : doAnunciante) {
+                if (!contem(todos, observador)) {
+                    observador.notificarAlteracao(anuncio, campo, valorAnterior, valorNovo);
+                }
+            }
+        }
+    }
+
+    // Retorna a quantidade total de assinaturas
+    public int getQuantidadeAssinaturas() {
+        int total = todos.length;
+        for (ObservadorAnuncio[] observadores : porAnunciante.values()) {
+            total += observadores.length;
+        }
+        return total + assinaturasPorEstado;
+    }
+
+    // Remove todas as assinaturas
+    public synchronized void limpar() {
+        todos = VAZIO;
+        porAnunciante.clear();
+        for (int i = 0; i < porTransicao.length(); i++) {
+            porTransicao.set(i, null);
+        }
+        for (int i = 0; i < porEntrada.length(); i++) {
+            porEntrada.set(i, null);
+        }
+        assinaturasPorEstado = 0;
+    }
+
+    // ========================================================================
+    // MÉTODOS AUXILIARES
+    // ========================================================================
+
+    private static void notificarTodos(ObservadorAnuncio[] observadores, Anuncio anuncio,
+                                       IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo) {
+        if (observadores == null) {
+            return;
+        }
+        for (ObservadorAnuncio observador : observadores) {
+            observador.notificar(anuncio, estadoAnterior, estadoNovo);
+        }
+    }
+
+    private static void notificarLoteTodos(ObservadorAnuncio[] observadores, List<TransicaoAnuncio> transicoes) {
+        if (observadores == null) {
+            return;
+        }
+        for (ObservadorAnuncio observador : observadores) {
+            observador.notificarLote(transicoes);
+        }
+    }
+
+    // Notifica os observadores que não estão em nenhum dos tópicos já notificados
+    private static void notificarNovos(ObservadorAnuncio[] observadores, ObservadorAnuncio[] notificados1,
+                                       ObservadorAnuncio[] notificados2, ObservadorAnuncio[] notificados3,
+                                       Anuncio anuncio, IdentificadorEstado estadoAnterior,
+                                       IdentificadorEstado estadoNovo) {
+        if (observadores == null) {
+            return;
+        }
+        for (ObservadorAnuncio observador : observadores) {
+            if (!contem(notificados1, observador) && !contem(notificados2, observador)
+                    && !contem(notificados3, observador)) {
+                observador.notificar(anuncio, estadoAnterior, estadoNovo);
+            }
+        }
+    }
+
+    // Acrescenta a transição à lista de cada observador do tópico (uma vez por observador)
+    private static void acumular(Map<ObservadorAnuncio, List<TransicaoAnuncio>> porObservador,
+                                 ObservadorAnuncio[] todos, TransicaoAnuncio transicao,
+                                 ObservadorAnuncio[] observadores) {
+        if (observadores == null) {
+            return;
+        }
+        for (ObservadorAnuncio observador : observadores) {
+            if (contem(todos, observador)) {
+                continue;
+            }
+            List<TransicaoAnuncio> lista = porObservador.computeIfAbsent(observador, k -> new ArrayList<>());
+            if (lista.isEmpty() || lista.get(lista.size() - 1) != transicao) {
+                lista.add(transicao);
+            }
+        }
+    }
+
+    private ObservadorAnuncio[] observadoresDoAnunciante(Anuncio anuncio) {
+        if (porAnunciante.isEmpty() || anuncio.getAnuncianteId() == null) {
+            return null;
+        }
+        return porAnunciante.get(anuncio.getAnuncianteId());
+    }
+
+    private static boolean contem(ObservadorAnuncio[] observadores, ObservadorAnuncio observador) {
+        if (observadores == null) {
+            return false;
+        }
+        for (ObservadorAnuncio existente : observadores) {
+            if (existente == observador) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int posicaoTransicao(IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo) {
+        return estadoAnterior.ordinal() * QUANTIDADE_ESTADOS + estadoNovo.ordinal();
+    }
+
+    // Converte o nome exibido no identificador do estado
+    private static IdentificadorEstado identificar(String nomeEstado) {
+        IdentificadorEstado estado = IdentificadorEstado.porDescricao(nomeEstado);
+        if (estado == null) {
+            throw new IllegalArgumentException("Estado desconhecido: " + nomeEstado);
+        }
+        return estado;
+    }
+
+    // Chamado com o monitor do registro
+    private void recontarAssinaturasPorEstado() {
+        int total = 0;
+        for (int i = 0; i < porTransicao.length(); i++) {
+            ObservadorAnuncio[] observadores = porTransicao.get(i);
+            total += observadores != null ? observadores.length : 0;
+        }
+        for (int i = 0; i < porEntrada.length(); i++) {
+            ObservadorAnuncio[] observadores = porEntrada.get(i);
+            total += observadores != null ? observadores.length : 0;
+        }
+        assinaturasPorEstado = total;
+    }
+
+    // Retorna um novo array com o observador, se ainda não estiver presente
+    private static ObservadorAnuncio[] adicionar(ObservadorAnuncio[] atual, ObservadorAnuncio observador) {
+        if (observador == null) {
+            return atual;
+        }
+        if (atual == null) {
+            return new ObservadorAnuncio[]{observador};
+        }
+        for (ObservadorAnuncio existente : atual) {
+            if (existente == observador) {
+                return atual;
+            }
+        }
+        ObservadorAnuncio[] novo = Arrays.copyOf(atual, atual.length + 1);
+        novo[atual.length] = observador;
+        return novo;
+    }
+
+    // Retorna um novo array sem o observador
+    private static ObservadorAnuncio[] remover(ObservadorAnuncio[] atual, ObservadorAnuncio observador) {
+        for (int i = 0; i < atual.length; i++) {
+            if (atual[i] == observador) {
+                ObservadorAnuncio[] novo = new ObservadorAnuncio[atual.length - 1];
+                System.arraycopy(atual, 0, novo, 0, i);
+                System.arraycopy(atual, i + 1, novo, i, atual.length - i - 1);
+                return novo;
+            }
+        }
+        return atual;
+    }
+
+    private static ObservadorAnuncio[] vazioComoNulo(ObservadorAnuncio[] observadores) {
+        return observadores.length == 0 ? null : observadores;
+    }
+}
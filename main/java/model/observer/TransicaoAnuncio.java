@@ -0,0 +1,40 @@
+package model.observer;
+
+import enums.IdentificadorEstado;
+import model.prototype.concrete_prototype.Anuncio;
+
+/**
+ * PADRÃO: Observer
+ * PAPEL: Evento de mudança de estado
+ * FUNÇÃO: Representa uma transição já aplicada (anúncio, estado anterior e novo),
+ * entregue aos observadores em lote por ObservadorAnuncio.notificarLote
+ */
+public class TransicaoAnuncio {
+
+    private final Anuncio anuncio;
+    private final IdentificadorEstado estadoAnterior;
+    private final IdentificadorEstado estadoNovo;
+
+    public TransicaoAnuncio(Anuncio anuncio, IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo) {
+        this.anuncio = anuncio;
+        this.estadoAnterior = estadoAnterior;
+        this.estadoNovo = estadoNovo;
+    }
+
+    public Anuncio getAnuncio() {
+        return anuncio;
+    }
+
+    public IdentificadorEstado getEstadoAnterior() {
+        return estadoAnterior;
+    }
+
+    public IdentificadorEstado getEstadoNovo() {
+        return estadoNovo;
+    }
+
+    @Override
+    public String toString() {
+        return anuncio.getId() + ": " + estadoAnterior.getDescricao() + " -> " + estadoNovo.getDescricao();
+    }
+}
@@ -0,0 +1,324 @@
+package model.observer.concrete_subscribers;
+
+import enums.IdentificadorEstado;
+import model.adapter.NotificadorAdapter;
+import model.observer.ObservadorAnuncio;
+import model.prototype.concrete_prototype.Anuncio;
+import model.singleton.ConfiguracaoSistema;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PADRÃO: Observer
+ * PAPEL: ConcreteObserver
+ * FUNÇÃO: Agrupa as mudanças de estado dos anúncios de um mesmo anunciante
+ * durante uma janela de tempo e envia uma única mensagem de resumo por canal
+ *
+ * FUNCIONAMENTO:
+ * - A primeira transição de um anunciante abre um lote e agenda o envio
+ *   para o fim da janela
+ * - Transições seguintes do mesmo anúncio são combinadas: fica apenas o
+ *   estado inicial e o final (Ativo -> Suspenso -> Rascunho vira Ativo -> Rascunho)
+ * - Anúncios que terminam a janela no mesmo estado em que começaram
+ *   (oscilação) são descartados do resumo
+ * - Ao fechar o lote, o resumo é enviado uma vez para cada canal do anunciante
+ * - Depois de encerrar(), cada transição é enviada na hora, sem janela
+ * - O agendador só fecha lotes; cada envio roda em uma virtual thread própria,
+ *   então um canal lento não atrasa os resumos dos demais anunciantes
+ *
+ * INTEGRAÇÃO COM RF05 (Adapter):
+ * - Cada anunciante pode ter um ou mais canais (NotificadorAdapter + destinatário)
+ *
+ * INTEGRAÇÃO COM RF07 (Singleton):
+ * - A janela vem do ConfiguracaoSistema (notificacao.agregacao.janela.ms)
+ */
+public class AgregadorNotificacoesObserver implements ObservadorAnuncio {
+
+    // Quantidade máxima de anúncios listados em um resumo
+    private static final int MAXIMO_LINHAS_RESUMO = 50;
+
+    // Tempo máximo que encerrar() espera os envios em andamento
+    private static final long ESPERA_ENCERRAMENTO_SEGUNDOS = 5;
+
+    private final long janelaMs;
+    private final ScheduledExecutorService agendador;
+
+    // Executa os envios dos resumos (bloqueantes) fora da thread do agendador
+    private final ExecutorService envios;
+
+    // Lotes abertos por anunciante
+    private final Map<String, Lote> lotes;
+
+    // Canais de cada anunciante
+    private final Map<String, List<Destino>> destinos;
+
+    // Último resumo gerado por anunciante (mesmo sem canal configurado)
+    private final Map<String, String> ultimosResumos;
+
+    private final LongAdder transicoesRecebidas;
+    private final LongAdder transicoesDescartadas;
+    private final LongAdder mensagensEnviadas;
+
+    public AgregadorNotificacoesObserver() {
+        this(ConfiguracaoSistema.getInstancia().getJanelaAgregacaoNotificacoes());
+    }
+
+    public AgregadorNotificacoesObserver(long janelaMs) {
+        this.janelaMs = Math.max(0, janelaMs);
+        this.agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "agregador-notificacoes");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.envios = Executors.newVirtualThreadPerTaskExecutor();
+        this.lotes = new ConcurrentHashMap<>();
+        this.destinos = new ConcurrentHashMap<>();
+        this.ultimosResumos = new ConcurrentHashMap<>();
+        this.transicoesRecebidas = new LongAdder();
+        this.transicoesDescartadas = new LongAdder();
+        this.mensagensEnviadas = new LongAdder();
+    }
+
+    // Adiciona um canal de notificação para o anunciante
+    public void registrarCanal(String anuncianteId, NotificadorAdapter adapter, String destinatario) {
+        destinos.computeIfAbsent(anuncianteId, k -> new CopyOnWriteArrayList<>())
+                .add(new Destino(adapter, destinatario));
+    }
+
+    // Remove todos os canais do anunciante
+    public void removerCanais(String anuncianteId) {
+        destinos.remove(anuncianteId);
+    }
+
+    @Override
+    public void notificar(Anuncio anuncio, String estadoAnterior, String estadoNovo) {
+        notificar(anuncio, identificar(estadoAnterior), identificar(estadoNovo));
+    }
+
+    // Converte o nome do estado, rejeitando nomes desconhecidos
+    private static IdentificadorEstado identificar(String nomeEstado) {
+        IdentificadorEstado estado = IdentificadorEstado.porDescricao(nomeEstado);
+        if (estado == null) {
+            throw new IllegalArgumentException("Estado desconhecido: " + nomeEstado);
+        }
+        return estado;
+    }
+
+    // Versão por identificador: os estados do lote são comparados com ==
+    @Override
+    public void notificar(Anuncio anuncio, IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo) {
+        String anuncianteId = anuncio.getAnuncianteId();
+        if (anuncianteId == null) {
+            return;
+        }
+        transicoesRecebidas.increment();
+
+        while (true) {
+            Lote lote = lotes.computeIfAbsent(anuncianteId, Lote::new);
+            boolean fecharAgora = false;
+            synchronized (lote) {
+                // O lote pode ter sido fechado entre a busca e o bloqueio
+                if (lote.fechado) {
+                    continue;
+                }
+                lote.registrar(anuncio, estadoAnterior, estadoNovo);
+                if (!lote.agendado) {
+                    lote.agendado = true;
+                    try {
+                        agendador.schedule(() -> fecharLote(lote), janelaMs, TimeUnit.MILLISECONDS);
+                    } catch (RejectedExecutionException e) {
+                        // Observador já encerrado: não há janela, envia o lote já
+                        fecharAgora = true;
+                    }
+                }
+            }
+            if (fecharAgora) {
+                fecharLote(lote);
+            }
+            return;
+        }
+    }
+
+    // Fecha o lote, monta o resumo e envia para os canais do anunciante
+    private void fecharLote(Lote lote) {
+        List<Transicao> transicoes;
+        synchronized (lote) {
+            // Já fechado por descarregar() ou pelo agendamento
+            if (lote.fechado) {
+                return;
+            }
+            lote.fechado = true;
+            lotes.remove(lote.anuncianteId, lote);
+            transicoes = new ArrayList<>(lote.transicoes.values());
+        }
+
+        List<Transicao> efetivas = new ArrayList<>(transicoes.size());
+        for (Transicao transicao : transicoes) {
+            if (transicao.estadoInicial == transicao.estadoFinal) {
+                transicoesDescartadas.add(transicao.quantidade);
+            } else {
+                transicoesDescartadas.add(transicao.quantidade - 1);
+                efetivas.add(transicao);
+            }
+        }
+
+        if (efetivas.isEmpty()) {
+            return;
+        }
+
+        String resumo = formatarResumo(efetivas);
+        ultimosResumos.put(lote.anuncianteId, resumo);
+
+        List<Destino> canais = destinos.get(lote.anuncianteId);
+        if (canais == null) {
+            return;
+        }
+        for (Destino destino : canais) {
+            try {
+                envios.execute(() -> enviarResumo(destino, resumo));
+            } catch (RejectedExecutionException e) {
+                // Observador já encerrado: envia na própria thread
+                enviarResumo(destino, resumo);
+            }
+        }
+    }
+
+    // Envia o resumo por um canal (roda em uma virtual thread)
+    private void enviarResumo(Destino destino, String resumo) {
+        try {
+            if (destino.adapter.enviar(destino.destinatario, resumo)) {
+                mensagensEnviadas.increment();
+            } else {
+                System.out.println("[AgregadorNotificacoes] Falha ao enviar resumo via " +
+                        destino.adapter.getNomeCanal());
+            }
+        } catch (RuntimeException e) {
+            // Falha de um canal não impede o envio pelos demais
+        }
+    }
+
+    // Formata a mensagem de resumo com as transições efetivas do lote
+    private String formatarResumo(List<Transicao> transicoes) {
+        StringBuilder sb = new StringBuilder();
+        if (transicoes.size() == 1) {
+            sb.append("1 anúncio seu mudou de estado:");
+        } else {
+            sb.append(transicoes.size()).append(" anúncios seus mudaram de estado:");
+        }
+
+        int linhas = Math.min(transicoes.size(), MAXIMO_LINHAS_RESUMO);
+        for (int i = 0; i < linhas; i++) {
+            Transicao transicao = transicoes.get(i);
+            sb.append("\n- '").append(transicao.titulo).append("': '")
+                    .append(transicao.estadoInicial.getDescricao()).append("' → '")
+                    .append(transicao.estadoFinal.getDescricao()).append("'");
+        }
+        if (transicoes.size() > linhas) {
+            sb.append("\n... e mais ").append(transicoes.size() - linhas).append(" anúncio(s).");
+        }
+
+        return sb.toString();
+    }
+
+    // Fecha imediatamente todos os lotes abertos (ex.: antes de encerrar o sistema)
+    public void descarregar() {
+        for (Lote lote : new ArrayList<>(lotes.values())) {
+            fecharLote(lote);
+        }
+    }
+
+    // Envia os lotes abertos, encerra o agendador e espera os envios em andamento
+    public void encerrar() {
+        agendador.shutdownNow();
+        descarregar();
+        envios.shutdown();
+        try {
+            envios.awaitTermination(ESPERA_ENCERRAMENTO_SEGUNDOS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Retorna o último resumo gerado para o anunciante
+    public String getUltimoResumo(String anuncianteId) {
+        return ultimosResumos.get(anuncianteId);
+    }
+
+    public int getLotesAbertos() {
+        return lotes.size();
+    }
+
+    public long getTransicoesRecebidas() {
+        return transicoesRecebidas.sum();
+    }
+
+    // Retorna quantas transições não geraram linha no resumo (combinadas ou oscilações)
+    public long getTransicoesDescartadas() {
+        return transicoesDescartadas.sum();
+    }
+
+    public long getMensagensEnviadas() {
+        return mensagensEnviadas.sum();
+    }
+
+    // Transições de um anunciante acumuladas na janela atual
+    private static class Lote {
+        private final String anuncianteId;
+        private final Map<String, Transicao> transicoes;
+        private boolean agendado;
+        private boolean fechado;
+
+        private Lote(String anuncianteId) {
+            this.anuncianteId = anuncianteId;
+            this.transicoes = new LinkedHashMap<>();
+        }
+
+        private void registrar(Anuncio anuncio, IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo) {
+            Transicao transicao = transicoes.get(anuncio.getId());
+            if (transicao == null) {
+                transicoes.put(anuncio.getId(), new Transicao(anuncio.getTitulo(), estadoAnterior, estadoNovo));
+            } else {
+                transicao.titulo = anuncio.getTitulo();
+                transicao.estadoFinal = estadoNovo;
+                transicao.quantidade++;
+            }
+        }
+    }
+
+    // Transição combinada de um anúncio: apenas o estado inicial e o final
+    private static class Transicao {
+        private String titulo;
+        private final IdentificadorEstado estadoInicial;
+        private IdentificadorEstado estadoFinal;
+        private int quantidade;
+
+        private Transicao(String titulo, IdentificadorEstado estadoInicial, IdentificadorEstado estadoFinal) {
+            this.titulo = titulo;
+            this.estadoInicial = estadoInicial;
+            this.estadoFinal = estadoFinal;
+            this.quantidade = 1;
+        }
+    }
+
+    // Canal de notificação de um anunciante
+    private static class Destino {
+        private final NotificadorAdapter adapter;
+        private final String destinatario;
+
+        private Destino(NotificadorAdapter adapter, String destinatario) {
+            this.adapter = adapter;
+            this.destinatario = destinatario;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package model.observer.concrete_subscribers;
 
+import enums.IdentificadorEstado;
 import model.adapter.NotificadorAdapter;
 import model.observer.ObservadorAnuncio;
+import model.observer.templates.CatalogoTemplates;
+import model.observer.templates.FormatoCanal;
 import model.prototype.concrete_prototype.Anuncio;
 
 /**
@@ -13,6 +16,8 @@ import model.prototype.concrete_prototype.Anuncio;
  * INTEGRAÇÃO COM RF05 (Adapter):
  * - Utiliza NotificadorAdapter para enviar notificações
  * - O canal de notificação é configurável (Email, SMS, Telegram, WhatsApp)
+ * - O texto vem do CatalogoTemplates, no formato do canal (HTML no Telegram,
+ *   SMS dividido em partes, texto simples nos demais)
  * - Se nenhum adapter for configurado, apenas armazena a mensagem
  */
 public class AnuncianteObserver implements ObservadorAnuncio {
@@ -49,47 +54,51 @@ public class AnuncianteObserver implements ObservadorAnuncio {
 
     @Override
     public void notificar(Anuncio anuncio, String estadoAnterior, String estadoNovo) {
-        String mensagem = formatarMensagem(anuncio, estadoAnterior, estadoNovo);
-        this.ultimaNotificacao = mensagem;
+        FormatoCanal formato = getFormato();
+
+        // SMS longos são enviados em partes
+        String[] partes = formato == FormatoCanal.SMS
+                ? CatalogoTemplates.getInstancia().renderizarSms(anuncio, estadoAnterior, estadoNovo)
+                : new String[]{CatalogoTemplates.getInstancia().renderizar(anuncio, estadoAnterior, estadoNovo, formato)};
+        enviar(partes);
+    }
+
+    // Versão por identificador: o template é escolhido sem procurar o estado pelo nome
+    @Override
+    public void notificar(Anuncio anuncio, IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo) {
+        FormatoCanal formato = getFormato();
+
+        // SMS longos são enviados em partes
+        String[] partes = formato == FormatoCanal.SMS
+                ? CatalogoTemplates.getInstancia().renderizarSms(anuncio, estadoAnterior, estadoNovo)
+                : new String[]{CatalogoTemplates.getInstancia().renderizar(anuncio, estadoAnterior, estadoNovo, formato)};
+        enviar(partes);
+    }
+
+    // Formato da mensagem para o canal configurado (texto simples sem adapter)
+    private FormatoCanal getFormato() {
+        return notificadorAdapter != null
+                ? FormatoCanal.doCanal(notificadorAdapter.getNomeCanal())
+                : FormatoCanal.TEXTO;
+    }
+
+    // Guarda a notificação e a envia em partes pelo adapter, se houver
+    private void enviar(String[] partes) {
+        this.ultimaNotificacao = partes.length == 1 ? partes[0] : String.join("", partes);
 
         // Se há adapter configurado, envia a notificação
         if (notificadorAdapter != null && destinatario != null) {
-            boolean enviado = notificadorAdapter.enviar(destinatario, mensagem);
-            if (!enviado) {
-                System.out.println("[AnuncianteObserver] Falha ao enviar notificação via " +
-                        notificadorAdapter.getNomeCanal());
+            for (String parte : partes) {
+                boolean enviado = notificadorAdapter.enviar(destinatario, parte);
+                if (!enviado) {
+                    System.out.println("[AnuncianteObserver] Falha ao enviar notificação via " +
+                            notificadorAdapter.getNomeCanal());
+                    break;
+                }
             }
         }
     }
 
-    // Formata a mensagem de notificação para o anunciante
-    private String formatarMensagem(Anuncio anuncio, String estadoAnterior, String estadoNovo) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Seu anúncio '").append(anuncio.getTitulo()).append("' ");
-        sb.append("mudou de '").append(estadoAnterior).append("' ");
-        sb.append("para '").append(estadoNovo).append("'.");
-
-        switch (estadoNovo) {
-            case "Pendente de Moderação":
-                sb.append("\n\nAguarde a revisão. Você será notificado em breve.");
-                break;
-            case "Ativo":
-                sb.append("\n\nParabéns! Seu anúncio está visível para todos.");
-                break;
-            case "Suspenso":
-                sb.append("\n\nVerifique os motivos e corrija para republicar.");
-                break;
-            case "Vendido/Alugado":
-                sb.append("\n\nParabéns! O negócio foi fechado.");
-                break;
-            case "Rascunho":
-                sb.append("\n\nVocê pode editar e enviar novamente para moderação.");
-                break;
-        }
-
-        return sb.toString();
-    }
-
     // Retorna a última notificação gerada
     public String getUltimaNotificacao() {
         return ultimaNotificacao;
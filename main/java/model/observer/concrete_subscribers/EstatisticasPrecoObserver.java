@@ -0,0 +1,229 @@
+package model.observer.concrete_subscribers;
+
+import enums.IdentificadorEstado;
+import enums.TipoTransacao;
+import model.factory_method.product.Imovel;
+import model.observer.ObservadorAnuncio;
+import model.prototype.concrete_prototype.Anuncio;
+import model.singleton.ConfiguracaoSistema;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PADRÃO: Observer
+ * PAPEL: ConcreteObserver
+ * FUNÇÃO: Mantém estatísticas incrementais do preço por m² dos anúncios que
+ * se tornam Ativos, separadas por segmento
+ *
+ * SEGMENTO: tipo do imóvel × bairro (primeiro trecho da localização) × tipo de transação
+ *
+ * FUNCIONAMENTO:
+ * - Usa o algoritmo de Welford sobre o logaritmo do preço por m²:
+ *   cada segmento guarda apenas contagem, média e soma dos quadrados (O(1) de memória)
+ * - Cada segmento também alimenta um segmento geral (tipo × transação), usado quando
+ *   o bairro tem poucas amostras
+ * - A quantidade de segmentos por bairro é limitada; acima do limite apenas
+ *   o segmento geral é atualizado, mantendo a memória limitada
+ * - A amostra de cada anúncio é guardada (valor e segmentos) e retirada quando
+ *   ele deixa o estado Ativo; um anúncio que volta a ser Ativo substitui a
+ *   amostra anterior em vez de ser contado duas vezes
+ * - O desvio padrão tem um piso (DESVIO_MINIMO): com preços idênticos no
+ *   segmento o escore continua finito e proporcional à diferença relativa
+ *
+ * INTEGRAÇÃO COM RF03:
+ * - Consultado pelo AnomaliaPrecoHandler na cadeia de moderação
+ */
+public class EstatisticasPrecoObserver implements ObservadorAnuncio {
+
+    private static final IdentificadorEstado ESTADO_AMOSTRADO = IdentificadorEstado.ATIVO;
+    private static final String BAIRRO_GERAL = "*";
+
+    // Piso do desvio padrão do log do preço por m² (~5% de variação relativa)
+    private static final double DESVIO_MINIMO = 0.05;
+
+    private final Map<String, Estatistica> segmentos;
+
+    // Amostra registrada de cada anúncio Ativo, por ID
+    private final Map<String, Amostra> amostras;
+    private final int limiteSegmentos;
+
+    public EstatisticasPrecoObserver() {
+        this.segmentos = new ConcurrentHashMap<>();
+        this.amostras = new ConcurrentHashMap<>();
+        this.limiteSegmentos = ConfiguracaoSistema.getInstancia().getLimiteSegmentosPreco();
+    }
+
+    @Override
+    public void notificar(Anuncio anuncio, String estadoAnterior, String estadoNovo) {
+        notificar(anuncio, IdentificadorEstado.porDescricao(estadoAnterior), IdentificadorEstado.porDescricao(estadoNovo));
+    }
+
+    @Override
+    public void notificar(Anuncio anuncio, IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo) {
+        if (estadoNovo == ESTADO_AMOSTRADO) {
+            registrar(anuncio);
+        } else if (estadoAnterior == ESTADO_AMOSTRADO) {
+            remover(anuncio);
+        }
+    }
+
+    // Acrescenta o preço por m² do anúncio às estatísticas do seu segmento
+    public void registrar(Anuncio anuncio) {
+        double valor = logPrecoPorMetro(anuncio);
+        if (Double.isNaN(valor)) {
+            remover(anuncio);
+            return;
+        }
+
+        Estatistica geral = segmentoGeral(anuncio);
+        Estatistica especifica = segmentos.get(chaveEspecifica(anuncio));
+        if (especifica == null && segmentos.size() < limiteSegmentos) {
+            especifica = segmentos.computeIfAbsent(chaveEspecifica(anuncio), k -> new Estatistica());
+        }
+
+        Amostra anterior = amostras.put(anuncio.getId(), new Amostra(valor, geral, especifica));
+        if (anterior != null) {
+            anterior.retirar();
+        }
+
+        geral.adicionar(valor);
+        if (especifica != null) {
+            especifica.adicionar(valor);
+        }
+    }
+
+    // Retira das estatísticas a amostra do anúncio, se houver
+    public void remover(Anuncio anuncio) {
+        Amostra amostra = amostras.remove(anuncio.getId());
+        if (amostra != null) {
+            amostra.retirar();
+        }
+    }
+
+    /**
+     * Calcula quantos desvios padrão o preço por m² do anúncio está da média do seu segmento.
+     *
+     * Usa o segmento do bairro se tiver ao menos amostrasMinimas, senão o segmento geral.
+     *
+     * @return O escore z, ou NaN se não houver amostras suficientes
+     */
+    public double calcularDesvio(Anuncio anuncio, int amostrasMinimas) {
+        double valor = logPrecoPorMetro(anuncio);
+        if (Double.isNaN(valor)) {
+            return Double.NaN;
+        }
+
+        Estatistica estatistica = segmentos.get(chaveEspecifica(anuncio));
+        if (estatistica == null || estatistica.getQuantidade() < amostrasMinimas) {
+            estatistica = segmentos.get(chaveGeral(anuncio));
+        }
+        if (estatistica == null || estatistica.getQuantidade() < amostrasMinimas) {
+            return Double.NaN;
+        }
+
+        return estatistica.escoreZ(valor);
+    }
+
+    // Retorna a quantidade de segmentos mantidos
+    public int getQuantidadeSegmentos() {
+        return segmentos.size();
+    }
+
+    // ========================================================================
+    // MÉTODOS AUXILIARES
+    // ========================================================================
+
+    private Estatistica segmentoGeral(Anuncio anuncio) {
+        return segmentos.computeIfAbsent(chaveGeral(anuncio), k -> new Estatistica());
+    }
+
+    private double logPrecoPorMetro(Anuncio anuncio) {
+        Imovel imovel = anuncio.getImovel();
+        if (imovel == null || imovel.getArea() <= 0 || anuncio.getPreco() <= 0) {
+            return Double.NaN;
+        }
+        return Math.log(anuncio.getPreco() / imovel.getArea());
+    }
+
+    private String chaveEspecifica(Anuncio anuncio) {
+        return montarChave(anuncio, extrairBairro(anuncio.getImovel().getLocalizacao()));
+    }
+
+    private String chaveGeral(Anuncio anuncio) {
+        return montarChave(anuncio, BAIRRO_GERAL);
+    }
+
+    private String montarChave(Anuncio anuncio, String bairro) {
+        TipoTransacao transacao = anuncio.getTipoTransacao();
+        return anuncio.getImovel().getTipo() + "|" + bairro + "|" + transacao.name();
+    }
+
+    // Usa o primeiro trecho da localização ("Boa Vista, Recife - PE" -> "boa vista")
+    private String extrairBairro(String localizacao) {
+        if (localizacao == null || localizacao.isBlank()) {
+            return BAIRRO_GERAL;
+        }
+        int virgula = localizacao.indexOf(',');
+        String bairro = virgula >= 0 ? localizacao.substring(0, virgula) : localizacao;
+        return bairro.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Valor registrado de um anúncio e os segmentos que ele alimentou
+    private static class Amostra {
+        private final double valor;
+        private final Estatistica geral;
+        private final Estatistica especifica;
+
+        Amostra(double valor, Estatistica geral, Estatistica especifica) {
+            this.valor = valor;
+            this.geral = geral;
+            this.especifica = especifica;
+        }
+
+        void retirar() {
+            geral.remover(valor);
+            if (especifica != null) {
+                especifica.remover(valor);
+            }
+        }
+    }
+
+    // Média e variância acumuladas pelo algoritmo de Welford
+    private static class Estatistica {
+        private long quantidade;
+        private double media;
+        private double somaQuadrados;
+
+        synchronized void adicionar(double valor) {
+            quantidade++;
+            double delta = valor - media;
+            media += delta / quantidade;
+            somaQuadrados += delta * (valor - media);
+        }
+
+        // Desfaz um adicionar(valor) (Welford inverso)
+        synchronized void remover(double valor) {
+            if (quantidade <= 1) {
+                quantidade = 0;
+                media = 0.0;
+                somaQuadrados = 0.0;
+                return;
+            }
+            double mediaAnterior = media;
+            quantidade--;
+            media = (mediaAnterior * (quantidade + 1) - valor) / quantidade;
+            somaQuadrados = Math.max(0.0, somaQuadrados - (valor - mediaAnterior) * (valor - media));
+        }
+
+        synchronized long getQuantidade() {
+            return quantidade;
+        }
+
+        synchronized double escoreZ(double valor) {
+            double desvioPadrao = quantidade > 1 ? Math.sqrt(somaQuadrados / (quantidade - 1)) : 0.0;
+            return (valor - media) / Math.max(desvioPadrao, DESVIO_MINIMO);
+        }
+    }
+}
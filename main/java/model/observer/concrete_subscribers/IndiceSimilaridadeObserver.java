@@ -0,0 +1,280 @@
+package model.observer.concrete_subscribers;
+
+import enums.IdentificadorEstado;
+import model.observer.ObservadorAnuncio;
+import model.prototype.concrete_prototype.Anuncio;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PADRÃO: Observer
+ * PAPEL: ConcreteObserver
+ * FUNÇÃO: Mantém um índice LSH (Locality Sensitive Hashing) com as assinaturas
+ * MinHash dos anúncios ativos, usado para detectar anúncios quase duplicados.
+ *
+ * RESPONSABILIDADE:
+ * - Indexar o anúncio quando ele entra no estado Ativo
+ * - Remover o anúncio do índice quando ele sai do estado Ativo
+ * - Encontrar candidatos similares sem comparar com todos os anúncios ativos
+ *
+ * FUNCIONAMENTO:
+ * - O texto (título + descrição + localização) é normalizado e quebrado em shingles
+ * - Cada anúncio recebe uma assinatura MinHash de NUMERO_HASHES posições
+ * - A assinatura é dividida em BANDAS; anúncios que coincidem em alguma banda
+ *   caem no mesmo bucket e viram candidatos
+ * - A similaridade final (Jaccard estimado) é calculada apenas para os candidatos
+ *
+ * INTEGRAÇÃO COM RF03:
+ * - Consultado pelo DuplicidadeHandler na cadeia de moderação
+ */
+public class IndiceSimilaridadeObserver implements ObservadorAnuncio {
+
+    // Tamanho da assinatura MinHash (BANDAS x LINHAS_POR_BANDA)
+    private static final int NUMERO_HASHES = 64;
+    private static final int BANDAS = 16;
+    private static final int LINHAS_POR_BANDA = NUMERO_HASHES / BANDAS;
+
+    // Quantidade de palavras por shingle
+    private static final int TAMANHO_SHINGLE = 2;
+
+    private static final IdentificadorEstado ESTADO_INDEXADO = IdentificadorEstado.ATIVO;
+
+    // Sementes fixas das funções de hash (uma por posição da assinatura)
+    private static final long[] SEMENTES = gerarSementes();
+
+    // Assinaturas dos anúncios indexados, por ID do anúncio
+    private final Map<String, long[]> assinaturas;
+
+    // Buckets LSH: chave da banda -> IDs dos anúncios
+    private final Map<Long, Set<String>> buckets;
+
+    // Lote de cadastro dos anúncios indexados que vieram de um CadastroEmLote
+    private final Map<String, String> lotesCadastro;
+
+    public IndiceSimilaridadeObserver() {
+        this.assinaturas = new ConcurrentHashMap<>();
+        this.buckets = new ConcurrentHashMap<>();
+        this.lotesCadastro = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void notificar(Anuncio anuncio, String estadoAnterior, String estadoNovo) {
+        notificar(anuncio, IdentificadorEstado.porDescricao(estadoAnterior), IdentificadorEstado.porDescricao(estadoNovo));
+    }
+
+    @Override
+    public void notificar(Anuncio anuncio, IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo) {
+        if (estadoNovo == ESTADO_INDEXADO) {
+            indexar(anuncio);
+        } else if (estadoAnterior == ESTADO_INDEXADO) {
+            remover(anuncio.getId());
+        }
+    }
+
+    // Adiciona (ou atualiza) o anúncio no índice
+    public void indexar(Anuncio anuncio) {
+        remover(anuncio.getId());
+
+        long[] assinatura = calcularAssinatura(anuncio);
+        if (anuncio.getLoteCadastro() != null) {
+            lotesCadastro.put(anuncio.getId(), anuncio.getLoteCadastro());
+        }
+        assinaturas.put(anuncio.getId(), assinatura);
+
+        for (int banda = 0; banda < BANDAS; banda++) {
+            buckets.computeIfAbsent(chaveBanda(assinatura, banda), k -> ConcurrentHashMap.newKeySet())
+                    .add(anuncio.getId());
+        }
+    }
+
+    // Remove o anúncio do índice, se estiver indexado
+    public void remover(String anuncioId) {
+        long[] assinatura = assinaturas.remove(anuncioId);
+        lotesCadastro.remove(anuncioId);
+        if (assinatura == null) {
+            return;
+        }
+
+        for (int banda = 0; banda < BANDAS; banda++) {
+            long chave = chaveBanda(assinatura, banda);
+            Set<String> bucket = buckets.get(chave);
+            if (bucket != null) {
+                bucket.remove(anuncioId);
+                if (bucket.isEmpty()) {
+                    buckets.remove(chave, bucket);
+                }
+            }
+        }
+    }
+
+    /**
+     * Busca o anúncio indexado mais similar ao informado.
+     *
+     * Apenas os anúncios que compartilham ao menos uma banda são comparados,
+     * por isso o custo não depende do total de anúncios ativos.
+     *
+     * Anúncios do mesmo lote de cadastro (mesmo CadastroEmLote e mesma versão
+     * do protótipo) são ignorados: unidades irmãs são parecidas por natureza,
+     * e o resultado não pode depender da ordem ou do tamanho dos blocos.
+     *
+     * @return A melhor correspondência ou null se nenhum candidato for encontrado
+     */
+    public Correspondencia buscarMaisSimilar(Anuncio anuncio) {
+        long[] assinatura = calcularAssinatura(anuncio);
+        String loteCadastro = anuncio.getLoteCadastro();
+
+        Correspondencia melhor = null;
+        Set<String> comparados = new HashSet<>();
+
+        for (int banda = 0; banda < BANDAS; banda++) {
+            Set<String> bucket = buckets.get(chaveBanda(assinatura, banda));
+            if (bucket == null) {
+                continue;
+            }
+
+            for (String candidatoId : bucket) {
+                if (candidatoId.equals(anuncio.getId()) || !comparados.add(candidatoId)) {
+                    continue;
+                }
+                if (loteCadastro != null && loteCadastro.equals(lotesCadastro.get(candidatoId))) {
+                    continue;
+                }
+
+                long[] outra = assinaturas.get(candidatoId);
+                if (outra == null) {
+                    continue;
+                }
+
+                double similaridade = estimarSimilaridade(assinatura, outra);
+                if (melhor == null || similaridade > melhor.getSimilaridade()) {
+                    melhor = new Correspondencia(candidatoId, similaridade);
+                }
+            }
+        }
+
+        return melhor;
+    }
+
+    // Retorna a quantidade de anúncios indexados
+    public int getQuantidadeIndexada() {
+        return assinaturas.size();
+    }
+
+    // ========================================================================
+    // MINHASH / LSH
+    // ========================================================================
+
+    private long[] calcularAssinatura(Anuncio anuncio) {
+        long[] assinatura = new long[NUMERO_HASHES];
+        Arrays.fill(assinatura, Long.MAX_VALUE);
+
+        String[] palavras = normalizar(extrairTexto(anuncio));
+        int totalShingles = Math.max(1, palavras.length - TAMANHO_SHINGLE + 1);
+
+        for (int i = 0; i < totalShingles; i++) {
+            long hashShingle = hashShingle(palavras, i);
+            for (int h = 0; h < NUMERO_HASHES; h++) {
+                long valor = misturar(hashShingle ^ SEMENTES[h]);
+                if (valor < assinatura[h]) {
+                    assinatura[h] = valor;
+                }
+            }
+        }
+
+        return assinatura;
+    }
+
+    private String extrairTexto(Anuncio anuncio) {
+        StringBuilder sb = new StringBuilder();
+        if (anuncio.getTitulo() != null) {
+            sb.append(anuncio.getTitulo()).append(' ');
+        }
+        if (anuncio.getDescricao() != null) {
+            sb.append(anuncio.getDescricao()).append(' ');
+        }
+        if (anuncio.getImovel() != null && anuncio.getImovel().getLocalizacao() != null) {
+            sb.append(anuncio.getImovel().getLocalizacao());
+        }
+        return sb.toString();
+    }
+
+    // Remove acentos, pontuação e caixa, retornando as palavras do texto
+    private String[] normalizar(String texto) {
+        String semAcentos = Normalizer.normalize(texto, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+        String limpo = semAcentos.toLowerCase().replaceAll("[^a-z0-9]+", " ").trim();
+        return limpo.isEmpty() ? new String[0] : limpo.split(" ");
+    }
+
+    private long hashShingle(String[] palavras, int inicio) {
+        long hash = 1125899906842597L;
+        int fim = Math.min(palavras.length, inicio + TAMANHO_SHINGLE);
+        for (int i = inicio; i < fim; i++) {
+            hash = 31 * hash + palavras[i].hashCode();
+        }
+        return hash;
+    }
+
+    private long chaveBanda(long[] assinatura, int banda) {
+        long chave = banda;
+        int inicio = banda * LINHAS_POR_BANDA;
+        for (int i = inicio; i < inicio + LINHAS_POR_BANDA; i++) {
+            chave = misturar(chave * 31 + assinatura[i]);
+        }
+        return chave;
+    }
+
+    private double estimarSimilaridade(long[] a, long[] b) {
+        int iguais = 0;
+        for (int i = 0; i < NUMERO_HASHES; i++) {
+            if (a[i] == b[i]) {
+                iguais++;
+            }
+        }
+        return (double) iguais / NUMERO_HASHES;
+    }
+
+    // Função de mistura de 64 bits (finalizador do MurmurHash3)
+    private static long misturar(long valor) {
+        valor ^= valor >>> 33;
+        valor *= 0xff51afd7ed558ccdL;
+        valor ^= valor >>> 33;
+        valor *= 0xc4ceb9fe1a85ec53L;
+        valor ^= valor >>> 33;
+        return valor;
+    }
+
+    private static long[] gerarSementes() {
+        long[] sementes = new long[NUMERO_HASHES];
+        long semente = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < NUMERO_HASHES; i++) {
+            semente = misturar(semente + 0x9E3779B97F4A7C15L);
+            sementes[i] = semente;
+        }
+        return sementes;
+    }
+
+    // Resultado de uma busca por similaridade
+    public static class Correspondencia {
+        private final String anuncioId;
+        private final double similaridade;
+
+        public Correspondencia(String anuncioId, double similaridade) {
+            this.anuncioId = anuncioId;
+            this.similaridade = similaridade;
+        }
+
+        public String getAnuncioId() {
+            return anuncioId;
+        }
+
+        public double getSimilaridade() {
+            return similaridade;
+        }
+    }
+}
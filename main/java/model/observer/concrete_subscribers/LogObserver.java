@@ -1,11 +1,17 @@
 package model.observer.concrete_subscribers;
 
+import enums.IdentificadorEstado;
 import model.observer.ObservadorAnuncio;
+import model.observer.TransicaoAnuncio;
 import model.prototype.concrete_prototype.Anuncio;
+import model.singleton.ConfiguracaoSistema;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -16,12 +22,21 @@ import java.util.List;
  *
  * RESPONSABILIDADE:
  * - Receber notificações de mudanças de estado do Subject (Anuncio)
- * - Registrar todas as transições em uma lista (histórico)
- * - Fornecer acesso ao histórico completo
+ * - Registrar as transições em um buffer circular de tamanho fixo
+ * - Fornecer acesso paginado ao histórico
+ *
+ * FUNCIONAMENTO:
+ * - Cada transição ocupa uma posição de arrays paralelos (instante, id, título,
+ *   código do estado anterior e do novo); nada é formatado na notificação
+ * - Quando o buffer enche, as transições mais antigas são sobrescritas
+ * - O texto do log só é montado na leitura, e apenas para a página pedida
  *
  * REGRA DE NEGÓCIO (RF04):
  * - Um mecanismo de Log deve reter a informação sobre mudanças de status
  *
+ * INTEGRAÇÃO COM RF07 (Singleton):
+ * - A capacidade do buffer vem do ConfiguracaoSistema (log.transicoes.capacidade)
+ *
  * PRINCÍPIOS APLICADOS:
  * - SRP: Responsável apenas por registrar logs
  * - GRASP - Information Expert: Sabe como formatar e armazenar logs
@@ -31,46 +46,249 @@ public class LogObserver implements ObservadorAnuncio {
     private static final DateTimeFormatter FORMATTER =
             DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    private final List<String> registros;
+    private final int capacidade;
+
+    // Buffer circular: a transição de número n fica na posição n % capacidade
+    private final long[] instantes;
+    private final long[] nanos;
+    private final String[] anuncioIds;
+    private final String[] titulos;
+    private final byte[] estadosAnteriores;
+    private final byte[] estadosNovos;
+
+    // Nomes de estado já vistos; o código gravado é a posição neste array
+    private String[] nomesEstados;
+    private int quantidadeEstados;
+
+    // Código de cada IdentificadorEstado (índice = ordinal; -1 = ainda não registrado)
+    private final byte[] codigosPorIdentificador;
+
+    // Total de transições recebidas desde a criação (ou da última limpeza)
+    private long totalTransicoes;
 
     public LogObserver() {
-        this.registros = new ArrayList<>();
+        this(ConfiguracaoSistema.getInstancia().getCapacidadeLogTransicoes());
+    }
+
+    public LogObserver(int capacidade) {
+        this.capacidade = Math.max(1, capacidade);
+        this.instantes = new long[this.capacidade];
+        this.nanos = new long[this.capacidade];
+        this.anuncioIds = new String[this.capacidade];
+        this.titulos = new String[this.capacidade];
+        this.estadosAnteriores = new byte[this.capacidade];
+        this.estadosNovos = new byte[this.capacidade];
+        this.nomesEstados = new String[8];
+        this.codigosPorIdentificador = new byte[IdentificadorEstado.values().length];
+        Arrays.fill(codigosPorIdentificador, (byte) -1);
+    }
+
+    @Override
+    public synchronized void notificar(Anuncio anuncio, String estadoAnterior, String estadoNovo) {
+        registrar(anuncio, codigoEstado(estadoAnterior), codigoEstado(estadoNovo));
+    }
+
+    // Versão por identificador: o código vem do ordinal, sem comparar nomes
+    @Override
+    public synchronized void notificar(Anuncio anuncio, IdentificadorEstado estadoAnterior,
+                                       IdentificadorEstado estadoNovo) {
+        registrar(anuncio, codigoEstado(estadoAnterior), codigoEstado(estadoNovo));
+    }
+
+    // Grava a transição na próxima posição do buffer (chamado com o monitor)
+    private void registrar(Anuncio anuncio, byte codigoAnterior, byte codigoNovo) {
+        int posicao = (int) (totalTransicoes % capacidade);
+        instantes[posicao] = System.currentTimeMillis();
+        nanos[posicao] = System.nanoTime();
+        anuncioIds[posicao] = anuncio.getId();
+        titulos[posicao] = anuncio.getTitulo();
+        estadosAnteriores[posicao] = codigoAnterior;
+        estadosNovos[posicao] = codigoNovo;
+        totalTransicoes++;
     }
 
+    // Grava o lote inteiro com uma única aquisição do monitor
     @Override
-    public void notificar(Anuncio anuncio, String estadoAnterior, String estadoNovo) {
-        String registro = formatarRegistro(anuncio, estadoAnterior, estadoNovo);
-        registros.add(registro);
+    public synchronized void notificarLote(List<TransicaoAnuncio> transicoes) {
+        for (TransicaoAnuncio transicao : transicoes) {
+            notificar(transicao.getAnuncio(), transicao.getEstadoAnterior(), transicao.getEstadoNovo());
+        }
+    }
+
+    // Retorna o código do identificador, registrando o nome na primeira vez que aparece
+    private byte codigoEstado(IdentificadorEstado estado) {
+        byte codigo = codigosPorIdentificador[estado.ordinal()];
+        if (codigo < 0) {
+            codigo = codigoEstado(estado.getDescricao());
+            codigosPorIdentificador[estado.ordinal()] = codigo;
+        }
+        return codigo;
     }
 
-    private String formatarRegistro(Anuncio anuncio, String estadoAnterior, String estadoNovo) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("[LOG] ");
-        sb.append(LocalDateTime.now().format(FORMATTER));
-        sb.append(" | Anúncio ID: ").append(anuncio.getId());
-        sb.append(" | Título: '").append(anuncio.getTitulo()).append("'");
-        sb.append(" | Transição: ").append(estadoAnterior);
-        sb.append(" → ").append(estadoNovo);
+    // Retorna o código do estado, registrando o nome na primeira vez que aparece
+    private byte codigoEstado(String nome) {
+        for (int i = 0; i < quantidadeEstados; i++) {
+            if (nomesEstados[i].equals(nome)) {
+                return (byte) i;
+            }
+        }
+        if (quantidadeEstados == nomesEstados.length) {
+            nomesEstados = Arrays.copyOf(nomesEstados, nomesEstados.length * 2);
+        }
+        nomesEstados[quantidadeEstados] = nome;
+        return (byte) quantidadeEstados++;
+    }
 
-        return sb.toString();
+    // ========================================================================
+    // LEITURA
+    // ========================================================================
+
+    /**
+     * Retorna uma página das transições mantidas, da mais antiga para a mais recente.
+     *
+     * @param pagina  número da página, começando em 0
+     * @param tamanho quantidade de transições por página
+     */
+    public synchronized List<RegistroTransicao> getTransicoes(int pagina, int tamanho) {
+        int retidas = getTotalRegistros();
+        long inicio = (long) pagina * tamanho;
+        if (pagina < 0 || tamanho <= 0 || inicio >= retidas) {
+            return new ArrayList<>();
+        }
+
+        long primeira = totalTransicoes - retidas;
+        int fim = (int) Math.min(retidas, inicio + tamanho);
+        List<RegistroTransicao> resultado = new ArrayList<>(fim - (int) inicio);
+        for (long n = primeira + inicio; n < primeira + fim; n++) {
+            resultado.add(lerRegistro(n));
+        }
+        return resultado;
+    }
+
+    // Retorna uma página das transições já formatadas como texto de log
+    public List<String> getRegistros(int pagina, int tamanho) {
+        List<RegistroTransicao> transicoes = getTransicoes(pagina, tamanho);
+        List<String> registros = new ArrayList<>(transicoes.size());
+        for (RegistroTransicao transicao : transicoes) {
+            registros.add(transicao.formatar());
+        }
+        return registros;
     }
 
+    // Retorna todas as transições mantidas, formatadas (prefira a versão paginada)
     public List<String> getRegistros() {
-        return new ArrayList<>(registros);
+        return getRegistros(0, capacidade);
     }
 
-    public String getUltimoRegistro() {
-        if (registros.isEmpty()) {
+    public synchronized String getUltimoRegistro() {
+        if (totalTransicoes == 0) {
             return null;
         }
-        return registros.get(registros.size() - 1);
+        return lerRegistro(totalTransicoes - 1).formatar();
     }
 
-    public int getTotalRegistros() {
-        return registros.size();
+    // Retorna a quantidade de transições mantidas no buffer
+    public synchronized int getTotalRegistros() {
+        return (int) Math.min(totalTransicoes, capacidade);
     }
 
-    public void limpar() {
-        registros.clear();
+    // Retorna a quantidade de transições recebidas, incluindo as já sobrescritas
+    public synchronized long getTotalTransicoes() {
+        return totalTransicoes;
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    public synchronized void limpar() {
+        Arrays.fill(anuncioIds, null);
+        Arrays.fill(titulos, null);
+        totalTransicoes = 0;
+    }
+
+    private RegistroTransicao lerRegistro(long numero) {
+        int posicao = (int) (numero % capacidade);
+        return new RegistroTransicao(
+                numero,
+                instantes[posicao],
+                nanos[posicao],
+                anuncioIds[posicao],
+                titulos[posicao],
+                nomesEstados[estadosAnteriores[posicao]],
+                nomesEstados[estadosNovos[posicao]]);
+    }
+
+    /**
+     * Transição registrada no log. O texto só é montado ao chamar formatar().
+     */
+    public static class RegistroTransicao {
+        private final long numero;
+        private final long instante;
+        private final long nanoTime;
+        private final String anuncioId;
+        private final String titulo;
+        private final String estadoAnterior;
+        private final String estadoNovo;
+
+        private RegistroTransicao(long numero, long instante, long nanoTime, String anuncioId,
+                                  String titulo, String estadoAnterior, String estadoNovo) {
+            this.numero = numero;
+            this.instante = instante;
+            this.nanoTime = nanoTime;
+            this.anuncioId = anuncioId;
+            this.titulo = titulo;
+            this.estadoAnterior = estadoAnterior;
+            this.estadoNovo = estadoNovo;
+        }
+
+        public String formatar() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("[LOG] ");
+            sb.append(LocalDateTime.ofInstant(Instant.ofEpochMilli(instante), ZoneId.systemDefault())
+                    .format(FORMATTER));
+            sb.append(" | Anúncio ID: ").append(anuncioId);
+            sb.append(" | Título: '").append(titulo).append("'");
+            sb.append(" | Transição: ").append(estadoAnterior);
+            sb.append(" → ").append(estadoNovo);
+
+            return sb.toString();
+        }
+
+        // Número sequencial da transição no log
+        public long getNumero() {
+            return numero;
+        }
+
+        // Instante da transição em milissegundos desde a época
+        public long getInstante() {
+            return instante;
+        }
+
+        // Valor de System.nanoTime() na transição (para medir intervalos)
+        public long getNanoTime() {
+            return nanoTime;
+        }
+
+        public String getAnuncioId() {
+            return anuncioId;
+        }
+
+        public String getTitulo() {
+            return titulo;
+        }
+
+        public String getEstadoAnterior() {
+            return estadoAnterior;
+        }
+
+        public String getEstadoNovo() {
+            return estadoNovo;
+        }
+
+        @Override
+        public String toString() {
+            return formatar();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,260 @@
+package model.observer.concrete_subscribers;
+
+import enums.IdentificadorEstado;
+import model.adapter.NotificadorAdapter;
+import model.adapter.routing.CachePreferenciasNotificacao;
+import model.adapter.routing.PreferenciasAnunciante;
+import model.observer.ObservadorAnuncio;
+import model.observer.templates.CatalogoTemplates;
+import model.observer.templates.FormatoCanal;
+import model.prototype.concrete_prototype.Anuncio;
+import model.singleton.ConfiguracaoSistema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * PADRÃO: Observer
+ * PAPEL: ConcreteObserver
+ * FUNÇÃO: Notifica o anunciante pelos canais que ele prefere, tentando o
+ * próximo canal quando um falha (FAILOVER) ou usando todos de uma vez (FAN_OUT)
+ *
+ * FUNCIONAMENTO:
+ * - As preferências (contato por canal e ordem) vêm do CachePreferenciasNotificacao
+ * - A ordem de tentativa é a do anunciante, depois o canal padrão do sistema,
+ *   depois Telegram -> WhatsApp -> SMS -> Email
+ * - notificacao.timeout é o prazo TOTAL da notificação: todas as tentativas
+ *   precisam terminar dentro dele; envios atrasados são cancelados
+ * - A mensagem é montada por canal, no FormatoCanal dele (como no
+ *   AnuncianteObserver): HTML escapado no Telegram, SMS dividido em partes
+ *   conforme a codificação (GSM-7 ou UCS-2); um SMS só conta como entregue se
+ *   todas as partes forem aceitas
+ *
+ * INTEGRAÇÃO COM RF05 (Adapter):
+ * - Cada canal é um NotificadorAdapter registrado com registrarCanal()
+ *
+ * INTEGRAÇÃO COM RF07 (Singleton):
+ * - Modo, canal padrão e prazo vêm do ConfiguracaoSistema
+ *
+ * Para não segurar a transição de estado até o prazo, registre o roteador
+ * dentro de um ObservadorAssincrono.
+ */
+public class RoteadorNotificacoesObserver implements ObservadorAnuncio {
+
+    // Como usar os canais do anunciante
+    public enum Modo {
+        FAILOVER,   // um canal por vez, até um entregar
+        FAN_OUT     // todos os canais ao mesmo tempo
+    }
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final CachePreferenciasNotificacao preferencias;
+    private final Modo modo;
+
+    // Adapters registrados, pelo nome normalizado do canal
+    private final Map<String, NotificadorAdapter> adapters;
+
+    private final LongAdder entregas;
+    private final LongAdder falhas;
+    private final LongAdder prazosEsgotados;
+    private final LongAdder semCanal;
+
+    // Usa o modo configurado no ConfiguracaoSistema
+    public RoteadorNotificacoesObserver(CachePreferenciasNotificacao preferencias) {
+        this(preferencias, lerModo(ConfiguracaoSistema.getInstancia().getModoRoteamentoNotificacoes()));
+    }
+
+    public RoteadorNotificacoesObserver(CachePreferenciasNotificacao preferencias, Modo modo) {
+        this.preferencias = preferencias;
+        this.modo = modo;
+        this.adapters = new ConcurrentHashMap<>();
+        this.entregas = new LongAdder();
+        this.falhas = new LongAdder();
+        this.prazosEsgotados = new LongAdder();
+        this.semCanal = new LongAdder();
+    }
+
+    // Registra o adapter de um canal (o nome vem de getNomeCanal)
+    public void registrarCanal(NotificadorAdapter adapter) {
+        adapters.put(PreferenciasAnunciante.normalizarCanal(adapter.getNomeCanal()), adapter);
+    }
+
+    @Override
+    public void notificar(Anuncio anuncio, String estadoAnterior, String estadoNovo) {
+        if (anuncio.getAnuncianteId() == null) {
+            return;
+        }
+        CatalogoTemplates catalogo = CatalogoTemplates.getInstancia();
+        rotear(anuncio.getAnuncianteId(), formato -> formato == FormatoCanal.SMS
+                ? catalogo.renderizarSms(anuncio, estadoAnterior, estadoNovo)
+                : new String[]{catalogo.renderizar(anuncio, estadoAnterior, estadoNovo, formato)});
+    }
+
+    // Versão por identificador: o template é escolhido sem procurar o estado pelo nome
+    @Override
+    public void notificar(Anuncio anuncio, IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo) {
+        if (anuncio.getAnuncianteId() == null) {
+            return;
+        }
+        CatalogoTemplates catalogo = CatalogoTemplates.getInstancia();
+        rotear(anuncio.getAnuncianteId(), formato -> formato == FormatoCanal.SMS
+                ? catalogo.renderizarSms(anuncio, estadoAnterior, estadoNovo)
+                : new String[]{catalogo.renderizar(anuncio, estadoAnterior, estadoNovo, formato)});
+    }
+
+    /**
+     * Envia um texto livre ao anunciante segundo suas preferências e o modo do
+     * roteador. O texto é adaptado ao formato de cada canal (CatalogoTemplates.formatarTexto).
+     *
+     * @return canais que entregaram a mensagem (vazio se nenhum entregou)
+     */
+    public List<String> rotear(String anuncianteId, String mensagem) {
+        CatalogoTemplates catalogo = CatalogoTemplates.getInstancia();
+        return rotear(anuncianteId, formato -> catalogo.formatarTexto(mensagem, formato));
+    }
+
+    // Roteia a mensagem montada por canal pelo renderizador (formato -> partes)
+    private List<String> rotear(String anuncianteId, Function<FormatoCanal, String[]> renderizador) {
+        ConfiguracaoSistema config = ConfiguracaoSistema.getInstancia();
+        PreferenciasAnunciante preferenciasAnunciante = preferencias.buscar(anuncianteId);
+
+        List<String> canais = new ArrayList<>();
+        for (String canal : preferenciasAnunciante.canaisEmOrdem(config.getCanalNotificacaoPadrao())) {
+            if (adapters.containsKey(canal)) {
+                canais.add(canal);
+            }
+        }
+        if (canais.isEmpty()) {
+            semCanal.increment();
+            return new ArrayList<>();
+        }
+
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getTimeoutNotificacao());
+        return modo == Modo.FAILOVER
+                ? enviarComFailover(canais, preferenciasAnunciante, renderizador, prazo)
+                : enviarParaTodos(canais, preferenciasAnunciante, renderizador, prazo);
+    }
+
+    // Tenta um canal por vez até um entregar ou o prazo acabar
+    private List<String> enviarComFailover(List<String> canais, PreferenciasAnunciante preferenciasAnunciante,
+                                           Function<FormatoCanal, String[]> renderizador, long prazo) {
+        List<String> entregues = new ArrayList<>(1);
+        for (String canal : canais) {
+            Future<Boolean> envio = iniciarEnvio(canal, preferenciasAnunciante, renderizador);
+            Boolean resultado = aguardar(envio, prazo);
+            if (resultado == null) {
+                break;
+            }
+            if (resultado) {
+                entregues.add(canal);
+                break;
+            }
+        }
+        return entregues;
+    }
+
+    // Envia para todos os canais ao mesmo tempo e aguarda até o prazo
+    private List<String> enviarParaTodos(List<String> canais, PreferenciasAnunciante preferenciasAnunciante,
+                                         Function<FormatoCanal, String[]> renderizador, long prazo) {
+        List<Future<Boolean>> envios = new ArrayList<>(canais.size());
+        for (String canal : canais) {
+            envios.add(iniciarEnvio(canal, preferenciasAnunciante, renderizador));
+        }
+
+        List<String> entregues = new ArrayList<>(canais.size());
+        for (int i = 0; i < envios.size(); i++) {
+            if (Boolean.TRUE.equals(aguardar(envios.get(i), prazo))) {
+                entregues.add(canais.get(i));
+            }
+        }
+        return entregues;
+    }
+
+    // Monta a mensagem no formato do canal (na thread que notifica) e envia em segundo plano
+    private Future<Boolean> iniciarEnvio(String canal, PreferenciasAnunciante preferenciasAnunciante,
+                                         Function<FormatoCanal, String[]> renderizador) {
+        NotificadorAdapter adapter = adapters.get(canal);
+        String destinatario = preferenciasAnunciante.getDestinatario(canal);
+        String[] partes = renderizador.apply(FormatoCanal.doCanal(adapter.getNomeCanal()));
+        return EXECUTOR.submit(() -> enviarPartes(adapter, destinatario, partes));
+    }
+
+    // Envia as partes em ordem; para na primeira recusada
+    private static boolean enviarPartes(NotificadorAdapter adapter, String destinatario, String[] partes) {
+        for (String parte : partes) {
+            if (!adapter.enviar(destinatario, parte)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Aguarda o envio até o prazo total.
+     *
+     * @return resultado do envio, ou null se o prazo acabou (o envio é cancelado)
+     */
+    private Boolean aguardar(Future<Boolean> envio, long prazo) {
+        try {
+            boolean entregue = envio.get(prazo - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (entregue) {
+                entregas.increment();
+            } else {
+                falhas.increment();
+            }
+            return entregue;
+        } catch (TimeoutException e) {
+            envio.cancel(true);
+            prazosEsgotados.increment();
+            return null;
+        } catch (ExecutionException e) {
+            falhas.increment();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            envio.cancel(true);
+            return null;
+        }
+    }
+
+    public Modo getModo() {
+        return modo;
+    }
+
+    public long getEntregas() {
+        return entregas.sum();
+    }
+
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    // Retorna quantos envios foram cancelados por estourar o prazo
+    public long getPrazosEsgotados() {
+        return prazosEsgotados.sum();
+    }
+
+    // Retorna quantas notificações não tinham canal utilizável
+    public long getSemCanal() {
+        return semCanal.sum();
+    }
+
+    private static Modo lerModo(String nome) {
+        try {
+            return Modo.valueOf(nome.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Modo.FAILOVER;
+        }
+    }
+}
@@ -0,0 +1,633 @@
+package model.observer.historico;
+
+import enums.CampoAnuncio;
+import enums.IdentificadorEstado;
+import enums.TipoTransacao;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * PADRÃO: Observer (suporte ao histórico)
+ * PAPEL: Fluxo de eventos de um anúncio
+ * FUNÇÃO: Guarda, em ordem, cada alteração de campo e de estado de um anúncio,
+ * com snapshots periódicos para reconstruir qualquer instante rapidamente
+ *
+ * FUNCIONAMENTO:
+ * - Eventos ficam em arrays paralelos (instante, campo, valor)
+ * - A cada K eventos é guardado um snapshot (VisaoAnuncio) do anúncio, junto
+ *   com a posição no arquivo logo após o último evento que ele cobre
+ * - Reconstrução no instante t: busca binária do último evento <= t, parte do
+ *   snapshot anterior a ele e aplica no máximo K - 1 eventos
+ * - Um histórico carregado a partir de um snapshot gravado (base) só tem em
+ *   memória os eventos posteriores a ele; instantes anteriores à base exigem
+ *   a leitura do arquivo inteiro (ver cobre() e isCompleto())
+ *
+ * FORMATO EM DISCO (por evento):
+ * - 1 byte: campo (ordinal de CampoAnuncio)
+ * - varint: diferença em ms para o evento anterior (o primeiro é absoluto)
+ * - valor: estado e tipo de transação em 1 byte; preço em centavos (varint);
+ *   textos como varint do tamanho + UTF-8
+ *
+ * FORMATO DO SNAPSHOT GRAVADO:
+ * - versão, varint da quantidade de eventos cobertos, varint da posição no
+ *   arquivo de eventos, e o anúncio como eventos no mesmo formato acima
+ */
+class HistoricoAnuncio {
+
+    // Versão do formato gravada no início do arquivo
+    static final int VERSAO_FORMATO = 1;
+
+    private final String anuncioId;
+    private final int intervaloSnapshot;
+
+    // Anúncio depois dos primeiros eventosBase eventos, que não estão em memória (null = histórico completo)
+    private final VisaoAnuncio base;
+    private final int eventosBase;
+
+    private long[] instantes;
+    private byte[] campos;
+    private Object[] valores;
+    private int quantidade;
+
+    // snapshots[j] = anúncio depois dos eventos [0, (primeiroSnapshot + j + 1) * intervaloSnapshot)
+    private VisaoAnuncio[] snapshots;
+
+    // posicoesSnapshots[j] = tamanho do arquivo logo após o último evento do snapshots[j]
+    private long[] posicoesSnapshots;
+    private final int primeiroSnapshot;
+
+    // Eventos ainda não gravados em disco, já codificados
+    private final Codificador pendentes;
+    private boolean cabecalhoGravado;
+
+    // Bytes do arquivo que formam eventos completos já gravados
+    private long tamanhoArquivo;
+
+    // Eventos cobertos pelo último snapshot gravado em disco
+    private int eventosSnapshotGravado;
+
+    // Último acesso (System.nanoTime) e se o histórico foi descartado da memória
+    private long ultimoUso;
+    private boolean descartado;
+
+    HistoricoAnuncio(String anuncioId, int intervaloSnapshot) {
+        this(anuncioId, intervaloSnapshot, null);
+    }
+
+    // Histórico que começa no snapshot "base" (null = desde o primeiro evento)
+    private HistoricoAnuncio(String anuncioId, int intervaloSnapshot, VisaoAnuncio base) {
+        this.anuncioId = anuncioId;
+        this.intervaloSnapshot = Math.max(1, intervaloSnapshot);
+        this.base = base;
+        this.eventosBase = base != null ? base.getEventosAplicados() : 0;
+        this.primeiroSnapshot = eventosBase / this.intervaloSnapshot;
+        this.eventosSnapshotGravado = eventosBase;
+        this.instantes = new long[16];
+        this.campos = new byte[16];
+        this.valores = new Object[16];
+        this.snapshots = new VisaoAnuncio[4];
+        this.posicoesSnapshots = new long[4];
+        this.pendentes = new Codificador();
+        this.ultimoUso = System.nanoTime();
+    }
+
+    // ========================================================================
+    // EVENTOS
+    // ========================================================================
+
+    /**
+     * Acrescenta um evento. O valor deve estar normalizado: IdentificadorEstado
+     * (ESTADO), Double (PRECO), TipoTransacao (TIPO_TRANSACAO) ou String.
+     *
+     * @return false se o histórico já foi descartado da memória (obtenha-o de novo)
+     */
+    synchronized boolean adicionar(long instante, CampoAnuncio campo, Object valor) {
+        if (descartado) {
+            return false;
+        }
+        ultimoUso = System.nanoTime();
+        // Mantém os instantes em ordem mesmo se o relógio voltar
+        long ultimo = quantidade > 0 ? instantes[quantidade - 1] : base != null ? base.getInstante() : instante;
+        if (instante < ultimo) {
+            instante = ultimo;
+        }
+        pendentes.escreverEvento(instante, campo, valor);
+        anexar(instante, campo, valor, tamanhoArquivo + (cabecalhoGravado ? 0 : 1) + pendentes.tamanho);
+        return true;
+    }
+
+    // Guarda o evento em memória; "posicao" é o tamanho do arquivo logo após ele
+    private void anexar(long instante, CampoAnuncio campo, Object valor, long posicao) {
+        if (quantidade == instantes.length) {
+            int capacidade = quantidade * 2;
+            instantes = Arrays.copyOf(instantes, capacidade);
+            campos = Arrays.copyOf(campos, capacidade);
+            valores = Arrays.copyOf(valores, capacidade);
+        }
+        instantes[quantidade] = instante;
+        campos[quantidade] = (byte) campo.ordinal();
+        valores[quantidade] = valor;
+        quantidade++;
+
+        int total = eventosBase + quantidade;
+        if (total % intervaloSnapshot == 0) {
+            int indice = total / intervaloSnapshot - 1 - primeiroSnapshot;
+            if (indice >= snapshots.length) {
+                snapshots = Arrays.copyOf(snapshots, Math.max(snapshots.length * 2, indice + 1));
+                posicoesSnapshots = Arrays.copyOf(posicoesSnapshots, snapshots.length);
+            }
+            snapshots[indice] = reconstruirAte(quantidade - 1);
+            posicoesSnapshots[indice] = posicao;
+        }
+    }
+
+    String getAnuncioId() {
+        return anuncioId;
+    }
+
+    synchronized int getQuantidadeEventos() {
+        ultimoUso = System.nanoTime();
+        return eventosBase + quantidade;
+    }
+
+    // Indica se todos os eventos do anúncio estão em memória
+    boolean isCompleto() {
+        return base == null;
+    }
+
+    // Indica se o instante pode ser reconstruído sem ler o arquivo inteiro
+    boolean cobre(long instante) {
+        return base == null || instante >= base.getInstante();
+    }
+
+    // ========================================================================
+    // RECONSTRUÇÃO
+    // ========================================================================
+
+    // Retorna o anúncio no instante informado, ou null se o histórico começa depois dele
+    synchronized VisaoAnuncio reconstruir(long instante) {
+        ultimoUso = System.nanoTime();
+        // Busca binária: primeiro evento com instante > t
+        int inicio = 0;
+        int fim = quantidade;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (instantes[meio] <= instante) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        if (inicio == 0) {
+            return cobre(instante) ? base : null;
+        }
+        return reconstruirAte(inicio - 1);
+    }
+
+    /**
+     * Retorna o anúncio logo após a última entrada no estado, ou null se ela
+     * não está nos eventos em memória (nunca entrou, ou entrou antes da base).
+     */
+    synchronized VisaoAnuncio reconstruirNaEntrada(IdentificadorEstado estado) {
+        ultimoUso = System.nanoTime();
+        for (int i = quantidade - 1; i >= 0; i--) {
+            if (campos[i] == CampoAnuncio.ESTADO.ordinal() && valores[i] == estado) {
+                // Eventos no mesmo instante (ex.: linha de base) fazem parte da mesma visão
+                int ultimo = i;
+                while (ultimo + 1 < quantidade && instantes[ultimo + 1] == instantes[i]
+                        && campos[ultimo + 1] != CampoAnuncio.ESTADO.ordinal()) {
+                    ultimo++;
+                }
+                return reconstruirAte(ultimo);
+            }
+        }
+        return null;
+    }
+
+    // Aplica os eventos em memória [0, indice] partindo do snapshot mais próximo (ou da base)
+    private VisaoAnuncio reconstruirAte(int indice) {
+        int snapshot = (eventosBase + indice + 1) / intervaloSnapshot - 1 - primeiroSnapshot;
+        VisaoAnuncio partida = snapshot >= 0 && snapshots[snapshot] != null ? snapshots[snapshot] : base;
+        Reconstrucao reconstrucao = partida != null ? new Reconstrucao(partida) : new Reconstrucao();
+        int primeiro = partida != null ? partida.getEventosAplicados() - eventosBase : 0;
+        for (int i = primeiro; i <= indice; i++) {
+            reconstrucao.aplicar(CampoAnuncio.porOrdinal(campos[i]), valores[i]);
+        }
+        return reconstrucao.congelar(anuncioId, instantes[indice], eventosBase + indice + 1);
+    }
+
+    // Estado mutável usado durante a reconstrução
+    private static class Reconstrucao {
+        private IdentificadorEstado estado;
+        private String titulo;
+        private double preco;
+        private String descricao;
+        private TipoTransacao tipoTransacao;
+        private String imovel;
+        private String anuncianteId;
+        private final List<String> fotos;
+
+        private Reconstrucao() {
+            this.fotos = new ArrayList<>();
+        }
+
+        private Reconstrucao(VisaoAnuncio base) {
+            this.estado = base.getEstado();
+            this.titulo = base.getTitulo();
+            this.preco = base.getPreco();
+            this.descricao = base.getDescricao();
+            this.tipoTransacao = base.getTipoTransacao();
+            this.imovel = base.getImovel();
+            this.anuncianteId = base.getAnuncianteId();
+            this.fotos = new ArrayList<>(base.getFotos());
+        }
+
+        private void aplicar(CampoAnuncio campo, Object valor) {
+            switch (campo) {
+                case ESTADO: estado = (IdentificadorEstado) valor; break;
+                case TITULO: titulo = (String) valor; break;
+                case PRECO: preco = (Double) valor; break;
+                case DESCRICAO: descricao = (String) valor; break;
+                case TIPO_TRANSACAO: tipoTransacao = (TipoTransacao) valor; break;
+                case IMOVEL: imovel = (String) valor; break;
+                case ANUNCIANTE: anuncianteId = (String) valor; break;
+                case FOTO_ADICIONADA: fotos.add((String) valor); break;
+                case FOTO_REMOVIDA: fotos.remove((String) valor); break;
+            }
+        }
+
+        private VisaoAnuncio congelar(String anuncioId, long instante, int eventosAplicados) {
+            return new VisaoAnuncio(anuncioId, instante, eventosAplicados, estado, titulo, preco,
+                    descricao, tipoTransacao, imovel, anuncianteId, new ArrayList<>(fotos));
+        }
+    }
+
+    // ========================================================================
+    // GRAVAÇÃO
+    // ========================================================================
+
+    /**
+     * Retorna uma cópia dos bytes ainda não gravados (com o cabeçalho, se o
+     * arquivo ainda não o tem), ou null se não há nada a gravar. Os bytes só
+     * saem do histórico em confirmarGravacao(), depois que o arquivo foi escrito.
+     */
+    synchronized byte[] copiarPendentes() {
+        if (pendentes.tamanho == 0) {
+            return null;
+        }
+        if (cabecalhoGravado) {
+            return Arrays.copyOf(pendentes.dados, pendentes.tamanho);
+        }
+        byte[] dados = new byte[pendentes.tamanho + 1];
+        dados[0] = (byte) VERSAO_FORMATO;
+        System.arraycopy(pendentes.dados, 0, dados, 1, pendentes.tamanho);
+        return dados;
+    }
+
+    // Retira dos pendentes os bytes devolvidos por copiarPendentes(), já gravados no arquivo
+    synchronized void confirmarGravacao(int bytesGravados) {
+        int eventosGravados = bytesGravados - (cabecalhoGravado ? 0 : 1);
+        pendentes.descartarInicio(eventosGravados);
+        tamanhoArquivo += bytesGravados;
+        cabecalhoGravado = true;
+    }
+
+    // Tamanho que o arquivo deve ter antes da próxima gravação
+    synchronized long getTamanhoArquivo() {
+        return tamanhoArquivo;
+    }
+
+    /**
+     * Retorna o snapshot mais recente já coberto pelo arquivo e ainda não
+     * gravado, codificado; ou null se não há snapshot novo.
+     */
+    synchronized Snapshot snapshotParaGravar() {
+        int total = (eventosBase + quantidade) / intervaloSnapshot - primeiroSnapshot;
+        for (int j = total - 1; j >= 0; j--) {
+            VisaoAnuncio snapshot = snapshots[j];
+            if (snapshot == null || snapshot.getEventosAplicados() <= eventosSnapshotGravado) {
+                return null;
+            }
+            if (posicoesSnapshots[j] <= tamanhoArquivo) {
+                return new Snapshot(snapshot, posicoesSnapshots[j]);
+            }
+        }
+        return null;
+    }
+
+    synchronized void confirmarSnapshot(Snapshot snapshot) {
+        eventosSnapshotGravado = Math.max(eventosSnapshotGravado, snapshot.visao.getEventosAplicados());
+    }
+
+    /**
+     * Descarta o histórico se ele não é usado desde "limite" e não tem bytes
+     * pendentes; adicionar() passa a recusar eventos nesta instância.
+     *
+     * @return true se o histórico foi descartado
+     */
+    synchronized boolean descartarSeOcioso(long limite) {
+        if (pendentes.tamanho > 0 || ultimoUso - limite > 0) {
+            return false;
+        }
+        descartado = true;
+        return true;
+    }
+
+    // Snapshot gravável: a visão e a posição no arquivo de eventos logo após ela
+    static final class Snapshot {
+        private final VisaoAnuncio visao;
+        private final long posicao;
+
+        private Snapshot(VisaoAnuncio visao, long posicao) {
+            this.visao = visao;
+            this.posicao = posicao;
+        }
+
+        long getPosicao() {
+            return posicao;
+        }
+
+        // Codifica o snapshot no formato do arquivo de snapshot
+        byte[] codificar() {
+            Codificador codificador = new Codificador();
+            codificador.escreverByte(VERSAO_FORMATO);
+            codificador.escreverVarLong(visao.getEventosAplicados());
+            codificador.escreverVarLong(posicao);
+            long instante = visao.getInstante();
+            if (visao.getEstado() != null) {
+                codificador.escreverEvento(instante, CampoAnuncio.ESTADO, visao.getEstado());
+            }
+            codificador.escreverEvento(instante, CampoAnuncio.TITULO, visao.getTitulo());
+            codificador.escreverEvento(instante, CampoAnuncio.PRECO, visao.getPreco());
+            codificador.escreverEvento(instante, CampoAnuncio.DESCRICAO, visao.getDescricao());
+            codificador.escreverEvento(instante, CampoAnuncio.TIPO_TRANSACAO, visao.getTipoTransacao());
+            codificador.escreverEvento(instante, CampoAnuncio.IMOVEL, visao.getImovel());
+            codificador.escreverEvento(instante, CampoAnuncio.ANUNCIANTE, visao.getAnuncianteId());
+            for (String foto : visao.getFotos()) {
+                codificador.escreverEvento(instante, CampoAnuncio.FOTO_ADICIONADA, foto);
+            }
+            return Arrays.copyOf(codificador.dados, codificador.tamanho);
+        }
+
+        /**
+         * Lê um snapshot gravado.
+         *
+         * @throws IOException se o conteúdo estiver truncado ou em formato desconhecido
+         */
+        static Snapshot decodificar(String anuncioId, byte[] dados) throws IOException {
+            if (dados.length == 0 || dados[0] != VERSAO_FORMATO) {
+                throw new IOException("Snapshot de histórico inválido");
+            }
+            Leitor leitor = new Leitor(dados);
+            leitor.posicao = 1;
+            int eventos;
+            long posicao;
+            try {
+                eventos = (int) leitor.lerVarLong();
+                posicao = leitor.lerVarLong();
+            } catch (ArrayIndexOutOfBoundsException e) {
+                throw new IOException("Snapshot de histórico truncado", e);
+            }
+
+            HistoricoAnuncio campos = new HistoricoAnuncio(anuncioId, Integer.MAX_VALUE);
+            if (decodificarEventos(campos, leitor, 0, 0) != dados.length || campos.quantidade == 0) {
+                throw new IOException("Snapshot de histórico truncado");
+            }
+            VisaoAnuncio lida = campos.reconstruirAte(campos.quantidade - 1);
+            return new Snapshot(new Reconstrucao(lida).congelar(anuncioId, lida.getInstante(), eventos), posicao);
+        }
+    }
+
+    // ========================================================================
+    // CODIFICAÇÃO
+    // ========================================================================
+
+    // Buffer de bytes com a codificação compacta dos eventos
+    private static final class Codificador {
+        private byte[] dados;
+        private int tamanho;
+        private long ultimoInstante;
+
+        private Codificador() {
+            this.dados = new byte[64];
+        }
+
+        private void escreverEvento(long instante, CampoAnuncio campo, Object valor) {
+            escreverByte(campo.ordinal());
+            escreverVarLong(instante - ultimoInstante);
+            ultimoInstante = instante;
+
+            switch (campo) {
+                case ESTADO:
+                    escreverByte(((IdentificadorEstado) valor).ordinal());
+                    break;
+                case TIPO_TRANSACAO:
+                    escreverByte(valor == null ? 0 : ((TipoTransacao) valor).ordinal() + 1);
+                    break;
+                case PRECO:
+                    escreverPreco((Double) valor);
+                    break;
+                default:
+                    escreverTexto((String) valor);
+            }
+        }
+
+        // Preço em centavos (bit 0 = 0); se tiver frações de centavo, os 8 bytes do double (bit 0 = 1)
+        private void escreverPreco(double preco) {
+            long centavos = Math.round(preco * 100);
+            if (centavos / 100.0 == preco && Math.abs(centavos) < (1L << 60)) {
+                escreverVarLong(zigZag(centavos) << 1);
+            } else {
+                escreverVarLong(1);
+                long bits = Double.doubleToRawLongBits(preco);
+                for (int i = 56; i >= 0; i -= 8) {
+                    escreverByte((int) (bits >>> i));
+                }
+            }
+        }
+
+        // Tamanho + 1 em varint (0 = null), seguido do texto em UTF-8
+        private void escreverTexto(String texto) {
+            if (texto == null) {
+                escreverByte(0);
+                return;
+            }
+            byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+            escreverVarLong(bytes.length + 1L);
+            garantirEspaco(bytes.length);
+            System.arraycopy(bytes, 0, dados, tamanho, bytes.length);
+            tamanho += bytes.length;
+        }
+
+        private void escreverVarLong(long valor) {
+            while ((valor & ~0x7FL) != 0) {
+                escreverByte((int) ((valor & 0x7F) | 0x80));
+                valor >>>= 7;
+            }
+            escreverByte((int) valor);
+        }
+
+        private void escreverByte(int valor) {
+            garantirEspaco(1);
+            dados[tamanho++] = (byte) valor;
+        }
+
+        private void garantirEspaco(int bytes) {
+            if (tamanho + bytes > dados.length) {
+                dados = Arrays.copyOf(dados, Math.max(dados.length * 2, tamanho + bytes));
+            }
+        }
+
+        // Remove os primeiros "bytes" (já gravados), mantendo os que chegaram depois
+        private void descartarInicio(int bytes) {
+            System.arraycopy(dados, bytes, dados, 0, tamanho - bytes);
+            tamanho -= bytes;
+            if (tamanho == 0 && dados.length > 4096) {
+                dados = new byte[64];
+            }
+        }
+
+        private static long zigZag(long valor) {
+            return (valor << 1) ^ (valor >> 63);
+        }
+    }
+
+    // ========================================================================
+    // DECODIFICAÇÃO
+    // ========================================================================
+
+    /**
+     * Recria o histórico a partir do conteúdo do arquivo inteiro (snapshots incluídos).
+     *
+     * @throws IOException se o conteúdo estiver em formato desconhecido
+     */
+    static HistoricoAnuncio decodificar(String anuncioId, int intervaloSnapshot, byte[] dados) throws IOException {
+        HistoricoAnuncio historico = new HistoricoAnuncio(anuncioId, intervaloSnapshot);
+        if (dados.length == 0) {
+            return historico;
+        }
+        if (dados[0] != VERSAO_FORMATO) {
+            throw new IOException("Versão de histórico desconhecida: " + dados[0]);
+        }
+
+        Leitor leitor = new Leitor(dados);
+        leitor.posicao = 1;
+        historico.cabecalhoGravado = true;
+        historico.tamanhoArquivo = decodificarEventos(historico, leitor, 0, 0);
+        historico.pendentes.ultimoInstante = historico.quantidade > 0
+                ? historico.instantes[historico.quantidade - 1] : 0;
+        return historico;
+    }
+
+    /**
+     * Recria o histórico a partir de um snapshot gravado e dos bytes do arquivo
+     * que vêm depois dele (a cauda). Os eventos anteriores ao snapshot não são lidos.
+     */
+    static HistoricoAnuncio decodificar(String anuncioId, int intervaloSnapshot, Snapshot snapshot, byte[] cauda) {
+        HistoricoAnuncio historico = new HistoricoAnuncio(anuncioId, intervaloSnapshot, snapshot.visao);
+        historico.cabecalhoGravado = true;
+        historico.tamanhoArquivo = decodificarEventos(historico, new Leitor(cauda),
+                snapshot.posicao, snapshot.visao.getInstante());
+        historico.pendentes.ultimoInstante = historico.quantidade > 0
+                ? historico.instantes[historico.quantidade - 1] : snapshot.visao.getInstante();
+        return historico;
+    }
+
+    /**
+     * Lê os eventos a partir da posição do leitor e os anexa ao histórico.
+     * Um final truncado (última gravação interrompida) é ignorado.
+     *
+     * @return tamanho do arquivo até o último evento completo
+     */
+    private static long decodificarEventos(HistoricoAnuncio historico, Leitor leitor,
+                                           long deslocamento, long instanteInicial) {
+        byte[] dados = leitor.dados;
+        long instante = instanteInicial;
+        int fimValido = leitor.posicao;
+        try {
+            while (leitor.posicao < dados.length) {
+                CampoAnuncio campo = CampoAnuncio.porOrdinal(leitor.lerByte());
+                instante += leitor.lerVarLong();
+                Object valor;
+                switch (campo) {
+                    case ESTADO:
+                        valor = IdentificadorEstado.porOrdinal(leitor.lerByte());
+                        break;
+                    case TIPO_TRANSACAO:
+                        int tipo = leitor.lerByte();
+                        valor = tipo == 0 ? null : TipoTransacao.values()[tipo - 1];
+                        break;
+                    case PRECO:
+                        valor = leitor.lerPreco();
+                        break;
+                    default:
+                        valor = leitor.lerTexto();
+                }
+                historico.anexar(instante, campo, valor, deslocamento + leitor.posicao);
+                fimValido = leitor.posicao;
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // Última gravação interrompida: mantém os eventos completos
+            System.out.println("[Histórico] Arquivo truncado do anúncio " + historico.anuncioId + "; "
+                    + historico.getQuantidadeEventos() + " evento(s) recuperado(s)");
+        }
+        return deslocamento + fimValido;
+    }
+
+    // Cursor de leitura sobre os bytes do arquivo
+    private static class Leitor {
+        private final byte[] dados;
+        private int posicao;
+
+        private Leitor(byte[] dados) {
+            this.dados = dados;
+        }
+
+        private int lerByte() {
+            return dados[posicao++] & 0xFF;
+        }
+
+        private long lerVarLong() {
+            long valor = 0;
+            int deslocamento = 0;
+            int b;
+            do {
+                b = lerByte();
+                valor |= (long) (b & 0x7F) << deslocamento;
+                deslocamento += 7;
+            } while ((b & 0x80) != 0);
+            return valor;
+        }
+
+        private double lerPreco() {
+            long codigo = lerVarLong();
+            if ((codigo & 1) == 0) {
+                long zigZag = codigo >>> 1;
+                return ((zigZag >>> 1) ^ -(zigZag & 1)) / 100.0;
+            }
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits = (bits << 8) | lerByte();
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        private String lerTexto() {
+            long tamanho = lerVarLong();
+            if (tamanho == 0) {
+                return null;
+            }
+            int bytes = (int) (tamanho - 1);
+            if (posicao + bytes > dados.length) {
+                throw new ArrayIndexOutOfBoundsException(posicao + bytes);
+            }
+            String texto = new String(dados, posicao, bytes, StandardCharsets.UTF_8);
+            posicao += bytes;
+            return texto;
+        }
+    }
+}
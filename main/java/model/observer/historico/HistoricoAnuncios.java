@@ -0,0 +1,523 @@
+package model.observer.historico;
+
+import enums.CampoAnuncio;
+import enums.IdentificadorEstado;
+import model.factory_method.product.Imovel;
+import model.observer.ObservadorAnuncio;
+import model.observer.RegistroObservadores;
+import model.observer.TransicaoAnuncio;
+import model.prototype.concrete_prototype.Anuncio;
+import model.singleton.ConfiguracaoSistema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PADRÃO: Observer
+ * PAPEL: ConcreteObserver
+ * FUNÇÃO: Registra o histórico completo de cada anúncio (alterações de campo e
+ * transições de estado) e reconstrói o anúncio em qualquer instante passado
+ *
+ * FUNCIONAMENTO:
+ * - Cada anúncio tem um fluxo de eventos (HistoricoAnuncio) com snapshots a
+ *   cada K eventos; a reconstrução lê no máximo K eventos
+ * - O primeiro evento de um anúncio grava antes uma linha de base (todos os
+ *   campos), para que o histórico comece completo
+ * - Os eventos são codificados de forma compacta (varint) e acrescentados ao
+ *   arquivo <diretorio>/<id>.hist por uma thread de descarga periódica
+ * - Se a gravação falhar, os bytes continuam no histórico (e a parte já escrita
+ *   é desfeita); a próxima descarga tenta de novo
+ * - O snapshot mais recente já gravado vai para <id>.snap (com a posição no
+ *   .hist logo após ele). Após reiniciar, o histórico é carregado a partir
+ *   desse snapshot, lendo só a cauda do .hist; o arquivo inteiro só é lido
+ *   para consultar instantes anteriores ao snapshot
+ * - Históricos sem uso há historico.ociosidade.ms (e sem eventos pendentes)
+ *   são descartados da memória e voltam a ser lidos do disco quando preciso
+ *
+ * USO (RF04 - disputas):
+ * - reconstruirNaEntrada(id, ATIVO): como o anúncio estava quando foi aprovado
+ * - reconstruir(id, dataHora): como o anúncio estava em um momento qualquer
+ *
+ * INTEGRAÇÃO COM RF07 (Singleton):
+ * - Diretório, intervalo de snapshots, intervalo de descarga e tempo de
+ *   ociosidade vêm do ConfiguracaoSistema (historico.*)
+ */
+public class HistoricoAnuncios implements ObservadorAnuncio {
+
+    private static final String EXTENSAO = ".hist";
+    private static final String EXTENSAO_SNAPSHOT = ".snap";
+
+    private final Path diretorio;
+    private final int intervaloSnapshot;
+    private final long intervaloDescargaMs;
+    private final long ociosidadeNanos;
+
+    // Históricos carregados, por ID do anúncio
+    private final Map<String, HistoricoAnuncio> historicos;
+
+    // Históricos com eventos ainda não gravados
+    private final Set<HistoricoAnuncio> pendentes;
+
+    private volatile Thread descarregador;
+
+    // Cria o histórico com o diretório e os intervalos do ConfiguracaoSistema
+    public HistoricoAnuncios() {
+        this(Paths.get(ConfiguracaoSistema.getInstancia().getDiretorioHistorico()),
+                ConfiguracaoSistema.getInstancia().getIntervaloSnapshotHistorico(),
+                ConfiguracaoSistema.getInstancia().getIntervaloDescargaHistorico(),
+                ConfiguracaoSistema.getInstancia().getOciosidadeHistorico());
+    }
+
+    public HistoricoAnuncios(Path diretorio, int intervaloSnapshot, long intervaloDescargaMs, long ociosidadeMs) {
+        this.diretorio = diretorio;
+        this.intervaloSnapshot = Math.max(1, intervaloSnapshot);
+        this.intervaloDescargaMs = Math.max(1, intervaloDescargaMs);
+        this.ociosidadeNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, ociosidadeMs));
+        this.historicos = new ConcurrentHashMap<>();
+        this.pendentes = ConcurrentHashMap.newKeySet();
+    }
+
+    // ========================================================================
+    // CICLO DE VIDA
+    // ========================================================================
+
+    /**
+     * Cria o diretório, passa a observar todos os anúncios e inicia a descarga periódica.
+     *
+     * @throws IOException se o diretório não puder ser criado
+     */
+    public synchronized void iniciar() throws IOException {
+        if (descarregador != null) {
+            return;
+        }
+        Files.createDirectories(diretorio);
+        RegistroObservadores.getInstancia().assinarTodos(this);
+
+        Thread thread = new Thread(this::executar, "historico-descarga");
+        thread.setDaemon(true);
+        descarregador = thread;
+        thread.start();
+    }
+
+    /**
+     * Deixa de observar os anúncios, para a descarga periódica e grava os eventos pendentes.
+     *
+     * @throws IOException se algum arquivo não puder ser gravado
+     */
+    public void encerrar() throws IOException {
+        RegistroObservadores.getInstancia().cancelarTodos(this);
+        Thread thread;
+        synchronized (this) {
+            thread = descarregador;
+            descarregador = null;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        descarregar();
+    }
+
+    private void executar() {
+        // Varre os históricos ociosos com uma fração do tempo de ociosidade
+        long intervaloLimpeza = Math.max(TimeUnit.MILLISECONDS.toNanos(intervaloDescargaMs), ociosidadeNanos / 4);
+        long proximaLimpeza = System.nanoTime() + intervaloLimpeza;
+        while (descarregador == Thread.currentThread()) {
+            try {
+                Thread.sleep(intervaloDescargaMs);
+                descarregar();
+                long agora = System.nanoTime();
+                if (agora - proximaLimpeza >= 0) {
+                    proximaLimpeza = agora + intervaloLimpeza;
+                    descartarOciosos(agora - ociosidadeNanos);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                // Os eventos continuam pendentes e serão gravados na próxima descarga
+                System.out.println("[Histórico] Erro ao gravar eventos: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Acrescenta aos arquivos os eventos ainda não gravados.
+     *
+     * Os bytes só saem do histórico depois de escritos; se a gravação falhar,
+     * o histórico continua pendente e a próxima descarga tenta de novo.
+     *
+     * @throws IOException se algum arquivo não puder ser gravado
+     */
+    public synchronized void descarregar() throws IOException {
+        IOException erro = null;
+        for (HistoricoAnuncio historico : new ArrayList<>(pendentes)) {
+            pendentes.remove(historico);
+            byte[] dados = historico.copiarPendentes();
+            if (dados == null) {
+                continue;
+            }
+            try {
+                acrescentar(arquivo(historico), historico.getTamanhoArquivo(), dados);
+            } catch (IOException e) {
+                pendentes.add(historico);
+                erro = e;
+                continue;
+            }
+            historico.confirmarGravacao(dados.length);
+            gravarSnapshot(historico);
+        }
+        if (erro != null) {
+            throw erro;
+        }
+    }
+
+    /**
+     * Escreve os bytes no fim do arquivo, que deve ter "tamanhoEsperado" bytes.
+     * Restos de uma gravação anterior que falhou são descartados antes, e uma
+     * gravação parcial é desfeita, para que a nova tentativa não duplique eventos.
+     */
+    private static void acrescentar(Path arquivo, long tamanhoEsperado, byte[] dados) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (canal.size() > tamanhoEsperado) {
+                canal.truncate(tamanhoEsperado);
+            }
+            long inicio = canal.size();
+            ByteBuffer buffer = ByteBuffer.wrap(dados);
+            try {
+                while (buffer.hasRemaining()) {
+                    canal.write(buffer, inicio + buffer.position());
+                }
+            } catch (IOException e) {
+                try {
+                    canal.truncate(inicio);
+                } catch (IOException erroTruncar) {
+                    e.addSuppressed(erroTruncar);
+                }
+                throw e;
+            }
+        }
+    }
+
+    // Grava o snapshot mais recente do histórico em <id>.snap (troca atômica); falhas só são registradas
+    private void gravarSnapshot(HistoricoAnuncio historico) {
+        HistoricoAnuncio.Snapshot snapshot = historico.snapshotParaGravar();
+        if (snapshot == null) {
+            return;
+        }
+        Path destino = arquivoSnapshot(historico.getAnuncioId());
+        Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try {
+            Files.write(temporario, snapshot.codificar());
+            Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            historico.confirmarSnapshot(snapshot);
+        } catch (IOException e) {
+            System.out.println("[Histórico] Erro ao gravar snapshot do anúncio " + historico.getAnuncioId()
+                    + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Descarta da memória os históricos sem uso desde "limite" e sem eventos
+     * pendentes. O snapshot mais recente é gravado antes, para que a próxima
+     * leitura comece por ele.
+     */
+    private synchronized void descartarOciosos(long limite) {
+        for (HistoricoAnuncio historico : historicos.values()) {
+            gravarSnapshot(historico);
+            if (historico.descartarSeOcioso(limite)) {
+                historicos.remove(historico.getAnuncioId(), historico);
+            }
+        }
+    }
+
+    public int getHistoricosEmMemoria() {
+        return historicos.size();
+    }
+
+    // ========================================================================
+    // OBSERVER
+    // ========================================================================
+
+    // Grava a linha de base do anúncio, se ele ainda não tem histórico
+    public void registrar(Anuncio anuncio) {
+        obter(anuncio, null, null, null);
+    }
+
+    @Override
+    public void notificar(Anuncio anuncio, String estadoAnterior, String estadoNovo) {
+        notificar(anuncio, IdentificadorEstado.porDescricao(estadoAnterior), IdentificadorEstado.porDescricao(estadoNovo));
+    }
+
+    @Override
+    public void notificar(Anuncio anuncio, IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo) {
+        HistoricoAnuncio historico;
+        do {
+            // Um histórico descartado por ociosidade recusa o evento: obtém de novo
+            historico = obter(anuncio, CampoAnuncio.ESTADO, estadoAnterior, estadoNovo);
+        } while (!historico.adicionar(System.currentTimeMillis(), CampoAnuncio.ESTADO, estadoNovo));
+        pendentes.add(historico);
+    }
+
+    @Override
+    public void notificarLote(List<TransicaoAnuncio> transicoes) {
+        for (TransicaoAnuncio transicao : transicoes) {
+            notificar(transicao.getAnuncio(), transicao.getEstadoAnterior(), transicao.getEstadoNovo());
+        }
+    }
+
+    @Override
+    public void notificarAlteracao(Anuncio anuncio, CampoAnuncio campo, Object valorAnterior, Object valorNovo) {
+        Object valor = normalizar(campo, campo == CampoAnuncio.FOTO_REMOVIDA ? valorAnterior : valorNovo);
+        HistoricoAnuncio historico;
+        do {
+            historico = obter(anuncio, campo, valorAnterior, valorNovo);
+        } while (!historico.adicionar(System.currentTimeMillis(), campo, valor));
+        pendentes.add(historico);
+    }
+
+    // ========================================================================
+    // RECONSTRUÇÃO
+    // ========================================================================
+
+    /**
+     * Reconstrói o anúncio como estava no instante informado.
+     *
+     * @return a visão do anúncio, ou null se não há histórico até esse instante
+     */
+    public VisaoAnuncio reconstruir(String anuncioId, LocalDateTime dataHora) {
+        HistoricoAnuncio historico = buscar(anuncioId);
+        long instante = dataHora.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (historico != null && !historico.cobre(instante)) {
+            // Instante anterior ao snapshot carregado: lê o arquivo inteiro só para esta consulta
+            historico = lerCompleto(anuncioId);
+        }
+        return historico != null ? historico.reconstruir(instante) : null;
+    }
+
+    /**
+     * Reconstrói o anúncio como estava na última vez que entrou no estado
+     * (ex.: ATIVO = quando foi aprovado).
+     *
+     * @return a visão do anúncio, ou null se ele nunca entrou no estado
+     */
+    public VisaoAnuncio reconstruirNaEntrada(String anuncioId, IdentificadorEstado estado) {
+        HistoricoAnuncio historico = buscar(anuncioId);
+        if (historico == null) {
+            return null;
+        }
+        VisaoAnuncio visao = historico.reconstruirNaEntrada(estado);
+        if (visao == null && !historico.isCompleto()) {
+            // A entrada pode ser anterior ao snapshot carregado
+            HistoricoAnuncio completo = lerCompleto(anuncioId);
+            visao = completo != null ? completo.reconstruirNaEntrada(estado) : null;
+        }
+        return visao;
+    }
+
+    // Retorna a quantidade de eventos registrados para o anúncio
+    public int getQuantidadeEventos(String anuncioId) {
+        HistoricoAnuncio historico = buscar(anuncioId);
+        return historico != null ? historico.getQuantidadeEventos() : 0;
+    }
+
+    // ========================================================================
+    // MÉTODOS AUXILIARES
+    // ========================================================================
+
+    // Retorna o histórico carregado ou lido do disco, sem criar um novo
+    private HistoricoAnuncio buscar(String anuncioId) {
+        HistoricoAnuncio historico = historicos.get(anuncioId);
+        if (historico != null) {
+            return historico;
+        }
+        try {
+            return historicos.computeIfAbsent(anuncioId, id -> {
+                HistoricoAnuncio lido = ler(id);
+                return lido.getQuantidadeEventos() > 0 ? lido : null;
+            });
+        } catch (UncheckedIOException e) {
+            System.out.println("[Histórico] Erro ao ler histórico do anúncio " + anuncioId + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Retorna o histórico do anúncio, lendo do disco ou criando a linha de base.
+     * A linha de base descreve o anúncio ANTES da alteração que está chegando.
+     */
+    private HistoricoAnuncio obter(Anuncio anuncio, CampoAnuncio campo, Object valorAnterior, Object valorNovo) {
+        return historicos.computeIfAbsent(anuncio.getId(), id -> {
+            HistoricoAnuncio historico = ler(id);
+            if (historico.getQuantidadeEventos() == 0) {
+                gravarLinhaDeBase(historico, anuncio, campo, valorAnterior, valorNovo);
+                pendentes.add(historico);
+            }
+            return historico;
+        });
+    }
+
+    private void gravarLinhaDeBase(HistoricoAnuncio historico, Anuncio anuncio, CampoAnuncio campo,
+                                   Object valorAnterior, Object valorNovo) {
+        long agora = System.currentTimeMillis();
+        IdentificadorEstado estado = campo == CampoAnuncio.ESTADO
+                ? (IdentificadorEstado) valorAnterior : anuncio.getIdentificadorEstado();
+        historico.adicionar(agora, CampoAnuncio.ESTADO, estado);
+
+        CampoAnuncio[] camposSimples = {CampoAnuncio.TITULO, CampoAnuncio.PRECO, CampoAnuncio.DESCRICAO,
+                CampoAnuncio.TIPO_TRANSACAO, CampoAnuncio.IMOVEL, CampoAnuncio.ANUNCIANTE};
+        for (CampoAnuncio campoBase : camposSimples) {
+            Object valor = campoBase == campo ? valorAnterior : valorAtual(anuncio, campoBase);
+            historico.adicionar(agora, campoBase, normalizar(campoBase, valor));
+        }
+
+        List<String> fotos = new ArrayList<>(anuncio.getFotos());
+        if (campo == CampoAnuncio.FOTO_ADICIONADA) {
+            fotos.remove(fotos.lastIndexOf((String) valorNovo));
+        } else if (campo == CampoAnuncio.FOTO_REMOVIDA) {
+            fotos.add((String) valorAnterior);
+        }
+        for (String foto : fotos) {
+            historico.adicionar(agora, CampoAnuncio.FOTO_ADICIONADA, foto);
+        }
+    }
+
+    private static Object valorAtual(Anuncio anuncio, CampoAnuncio campo) {
+        switch (campo) {
+            case TITULO: return anuncio.getTitulo();
+            case PRECO: return anuncio.getPreco();
+            case DESCRICAO: return anuncio.getDescricao();
+            case TIPO_TRANSACAO: return anuncio.getTipoTransacao();
+            case IMOVEL: return anuncio.getImovel();
+            default: return anuncio.getAnuncianteId();
+        }
+    }
+
+    // Converte o valor do campo para a forma guardada no histórico
+    private static Object normalizar(CampoAnuncio campo, Object valor) {
+        if (campo == CampoAnuncio.PRECO) {
+            return valor != null ? ((Number) valor).doubleValue() : 0.0;
+        }
+        if (valor instanceof Imovel) {
+            return ((Imovel) valor).getDescricaoDetalhada();
+        }
+        return valor;
+    }
+
+    /**
+     * Lê o histórico do disco (vazio se o arquivo não existe) e descarta um final truncado.
+     * Com um snapshot gravado, lê só os eventos posteriores a ele.
+     * Um arquivo ilegível é renomeado para .corrompido e o histórico recomeça.
+     *
+     * @throws UncheckedIOException se nem a leitura nem a renomeação forem possíveis
+     */
+    private HistoricoAnuncio ler(String anuncioId) {
+        Path arquivo = diretorio.resolve(anuncioId + EXTENSAO);
+        if (!Files.exists(arquivo)) {
+            apagarSnapshot(anuncioId);
+            return new HistoricoAnuncio(anuncioId, intervaloSnapshot);
+        }
+        HistoricoAnuncio aPartirDoSnapshot = lerAPartirDoSnapshot(anuncioId, arquivo);
+        if (aPartirDoSnapshot != null) {
+            return aPartirDoSnapshot;
+        }
+        try {
+            byte[] dados = Files.readAllBytes(arquivo);
+            HistoricoAnuncio historico = HistoricoAnuncio.decodificar(anuncioId, intervaloSnapshot, dados);
+            if (historico.getTamanhoArquivo() < dados.length) {
+                try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+                    canal.truncate(historico.getTamanhoArquivo());
+                }
+            }
+            return historico;
+        } catch (IOException e) {
+            System.out.println("[Histórico] Histórico ilegível do anúncio " + anuncioId + ": " + e.getMessage());
+            try {
+                Files.move(arquivo, arquivo.resolveSibling(anuncioId + EXTENSAO + ".corrompido"),
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException erroRenomear) {
+                throw new UncheckedIOException(erroRenomear);
+            }
+            apagarSnapshot(anuncioId);
+            return new HistoricoAnuncio(anuncioId, intervaloSnapshot);
+        }
+    }
+
+    /**
+     * Carrega o histórico a partir do snapshot gravado, lendo só a cauda do .hist.
+     *
+     * @return o histórico, ou null se não há snapshot utilizável (use a leitura completa)
+     */
+    private HistoricoAnuncio lerAPartirDoSnapshot(String anuncioId, Path arquivo) {
+        Path arquivoSnapshot = arquivoSnapshot(anuncioId);
+        if (!Files.exists(arquivoSnapshot)) {
+            return null;
+        }
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            HistoricoAnuncio.Snapshot snapshot =
+                    HistoricoAnuncio.Snapshot.decodificar(anuncioId, Files.readAllBytes(arquivoSnapshot));
+            long tamanho = canal.size();
+            if (snapshot.getPosicao() > tamanho) {
+                return null;
+            }
+            ByteBuffer cauda = ByteBuffer.allocate((int) (tamanho - snapshot.getPosicao()));
+            while (cauda.hasRemaining() && canal.read(cauda, snapshot.getPosicao() + cauda.position()) >= 0) {
+                // lê até preencher a cauda
+            }
+            HistoricoAnuncio historico = HistoricoAnuncio.decodificar(anuncioId, intervaloSnapshot, snapshot, cauda.array());
+            if (historico.getTamanhoArquivo() < tamanho) {
+                canal.truncate(historico.getTamanhoArquivo());
+            }
+            return historico;
+        } catch (IOException e) {
+            System.out.println("[Histórico] Snapshot ignorado do anúncio " + anuncioId + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Lê o arquivo inteiro, sem alterá-lo nem guardar o resultado (consultas antes do snapshot)
+    private HistoricoAnuncio lerCompleto(String anuncioId) {
+        Path arquivo = diretorio.resolve(anuncioId + EXTENSAO);
+        try {
+            return HistoricoAnuncio.decodificar(anuncioId, intervaloSnapshot, Files.readAllBytes(arquivo));
+        } catch (IOException e) {
+            System.out.println("[Histórico] Erro ao ler histórico do anúncio " + anuncioId + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Um snapshot sem o .hist correspondente não pode ser usado
+    private void apagarSnapshot(String anuncioId) {
+        try {
+            Files.deleteIfExists(arquivoSnapshot(anuncioId));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path arquivoSnapshot(String anuncioId) {
+        return diretorio.resolve(anuncioId + EXTENSAO_SNAPSHOT);
+    }
+
+    private Path arquivo(HistoricoAnuncio historico) {
+        return diretorio.resolve(historico.getAnuncioId() + EXTENSAO);
+    }
+}
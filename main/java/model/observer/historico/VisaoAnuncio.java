@@ -0,0 +1,110 @@
+package model.observer.historico;
+
+import enums.IdentificadorEstado;
+import enums.TipoTransacao;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * PADRÃO: Observer (suporte ao histórico)
+ * PAPEL: Visão imutável de um anúncio em um instante
+ * FUNÇÃO: Resultado da reconstrução do histórico: como o anúncio estava em
+ * um momento do passado (ex.: quando foi aprovado)
+ *
+ * O imóvel é guardado pela sua descrição detalhada no momento da alteração.
+ */
+public class VisaoAnuncio {
+
+    private final String anuncioId;
+
+    // Instante do último evento aplicado (epoch em ms)
+    private final long instante;
+
+    // Quantidade de eventos aplicados (posição do próximo evento no histórico)
+    private final int eventosAplicados;
+
+    private final IdentificadorEstado estado;
+    private final String titulo;
+    private final double preco;
+    private final String descricao;
+    private final TipoTransacao tipoTransacao;
+    private final String imovel;
+    private final String anuncianteId;
+    private final List<String> fotos;
+
+    VisaoAnuncio(String anuncioId, long instante, int eventosAplicados, IdentificadorEstado estado,
+                 String titulo, double preco, String descricao, TipoTransacao tipoTransacao,
+                 String imovel, String anuncianteId, List<String> fotos) {
+        this.anuncioId = anuncioId;
+        this.instante = instante;
+        this.eventosAplicados = eventosAplicados;
+        this.estado = estado;
+        this.titulo = titulo;
+        this.preco = preco;
+        this.descricao = descricao;
+        this.tipoTransacao = tipoTransacao;
+        this.imovel = imovel;
+        this.anuncianteId = anuncianteId;
+        this.fotos = Collections.unmodifiableList(fotos);
+    }
+
+    public String getAnuncioId() {
+        return anuncioId;
+    }
+
+    public long getInstante() {
+        return instante;
+    }
+
+    public LocalDateTime getDataHora() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(instante), ZoneId.systemDefault());
+    }
+
+    int getEventosAplicados() {
+        return eventosAplicados;
+    }
+
+    public IdentificadorEstado getEstado() {
+        return estado;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public double getPreco() {
+        return preco;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public TipoTransacao getTipoTransacao() {
+        return tipoTransacao;
+    }
+
+    // Retorna a descrição detalhada do imóvel no instante da visão
+    public String getImovel() {
+        return imovel;
+    }
+
+    public String getAnuncianteId() {
+        return anuncianteId;
+    }
+
+    public List<String> getFotos() {
+        return fotos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%s em %s] %s | %s | R$ %,.2f | %d foto(s)",
+                anuncioId, getDataHora(), estado != null ? estado.getDescricao() : "?",
+                titulo, preco, fotos.size());
+    }
+}
@@ -0,0 +1,273 @@
+package model.observer.templates;
+
+import enums.IdentificadorEstado;
+import model.prototype.concrete_prototype.Anuncio;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * PADRÃO: Singleton
+ * PAPEL: Singleton (catálogo de templates)
+ * FUNÇÃO: Mantém os templates de notificação de cada estado × formato de canal,
+ * compilados uma única vez na inicialização
+ *
+ * FUNCIONAMENTO:
+ * - Cada estado de destino (IdentificadorEstado) tem um template TEXTO, HTML e
+ *   SMS; um estado sem template usa o padrão (sem orientação extra)
+ * - A renderização escreve em um buffer reaproveitado por thread; a única
+ *   alocação é a String final (ou as partes do SMS)
+ * - SMS: o tamanho depende da codificação que o texto exige. Só com caracteres
+ *   do alfabeto GSM-7: até 160 em uma mensagem, ou partes de 153 (os caracteres
+ *   da tabela de extensão, como { } [ ] €, contam dois). Com qualquer outro
+ *   caractere (ex.: "ú", "ç", "ã", emoji) a mensagem vai em UCS-2: até 70, ou
+ *   partes de 67. A diferença é reservada ao cabeçalho de concatenação
+ * - Por isso o formato SMS é transliterado para GSM-7 (o texto do template na
+ *   compilação e o título e os estados na renderização): "anúncio" vira
+ *   "anuncio" e a notificação cabe nas partes de 160/153. Caracteres sem
+ *   equivalente (ex.: emoji) são mantidos e levam a mensagem para UCS-2
+ */
+public class CatalogoTemplates {
+
+    public static final int TAMANHO_SMS = 160;
+    public static final int TAMANHO_PARTE_SMS = 153;
+    public static final int TAMANHO_SMS_UCS2 = 70;
+    public static final int TAMANHO_PARTE_SMS_UCS2 = 67;
+
+    // Alfabeto básico GSM 03.38 (um septeto por caractere)
+    private static final String ALFABETO_GSM7 =
+            "@£$¥èéùìòÇ\nØø\rÅåΔ_ΦΓΛΩΠΨΣΘΞÆæßÉ !\"#¤%&'()*+,-./0123456789:;<=>?"
+            + "¡ABCDEFGHIJKLMNOPQRSTUVWXYZÄÖÑÜ§¿abcdefghijklmnopqrstuvwxyzäöñüà";
+
+    // Tabela de extensão GSM 03.38 (escape + caractere = dois septetos)
+    private static final String EXTENSAO_GSM7 = "^{}\\[~]|€\f";
+
+    // Substituto GSM-7 dos caracteres latinos fora do alfabeto (índice = caractere; 0 = sem substituto)
+    private static final char[] SUBSTITUTOS_GSM7 = criarSubstitutosGsm7();
+
+    // Buffers maiores que isto não são mantidos entre renderizações
+    private static final int CAPACIDADE_MAXIMA_BUFFER = 8192;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    // Estado de destino -> template por formato (índice = ordinal do FormatoCanal)
+    private final Map<IdentificadorEstado, TemplateNotificacao[]> templatesPorEstado;
+    private final TemplateNotificacao[] templatesPadrao;
+
+    private CatalogoTemplates() {
+        this.templatesPorEstado = new EnumMap<>(IdentificadorEstado.class);
+        registrar(IdentificadorEstado.PENDENTE_MODERACAO, "Aguarde a revisão. Você será notificado em breve.");
+        registrar(IdentificadorEstado.ATIVO, "Parabéns! Seu anúncio está visível para todos.");
+        registrar(IdentificadorEstado.SUSPENSO, "Verifique os motivos e corrija para republicar.");
+        registrar(IdentificadorEstado.VENDIDO, "Parabéns! O negócio foi fechado.");
+        registrar(IdentificadorEstado.RASCUNHO, "Você pode editar e enviar novamente para moderação.");
+        this.templatesPadrao = compilar(null);
+    }
+
+    // Classe interna estática (Holder) para implementação thread-safe
+    private static class SingletonHolder {
+        private static final CatalogoTemplates INSTANCIA = new CatalogoTemplates();
+    }
+
+    public static CatalogoTemplates getInstancia() {
+        return SingletonHolder.INSTANCIA;
+    }
+
+    private void registrar(IdentificadorEstado estado, String orientacao) {
+        templatesPorEstado.put(estado, compilar(orientacao));
+    }
+
+    // Compila os três formatos para um estado (orientacao null = sem texto extra)
+    private static TemplateNotificacao[] compilar(String orientacao) {
+        String complemento = orientacao != null ? "\n\n" + orientacao : "";
+        String complementoSms = orientacao != null ? " " + orientacao : "";
+
+        TemplateNotificacao[] templates = new TemplateNotificacao[FormatoCanal.values().length];
+        templates[FormatoCanal.TEXTO.ordinal()] = TemplateNotificacao.compilar(
+                "Seu anúncio '{titulo}' mudou de '{anterior}' para '{novo}'." + complemento,
+                FormatoCanal.TEXTO);
+        templates[FormatoCanal.HTML.ordinal()] = TemplateNotificacao.compilar(
+                "Seu anúncio <b>{titulo}</b> mudou de <i>{anterior}</i> para <b>{novo}</b>." + complemento,
+                FormatoCanal.HTML);
+        templates[FormatoCanal.SMS.ordinal()] = TemplateNotificacao.compilar(
+                "MyHome: seu anúncio '{titulo}' mudou para {novo}." + complementoSms,
+                FormatoCanal.SMS);
+        return templates;
+    }
+
+    // Renderiza a notificação de mudança de estado no formato do canal
+    public String renderizar(Anuncio anuncio, String estadoAnterior, String estadoNovo, FormatoCanal formato) {
+        return renderizarNoBuffer(anuncio, estadoAnterior, estadoNovo,
+                IdentificadorEstado.porDescricao(estadoNovo), formato).toString();
+    }
+
+    // Versão por identificador: escolhe o template sem procurar o estado pelo nome
+    public String renderizar(Anuncio anuncio, IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo,
+                             FormatoCanal formato) {
+        return renderizarNoBuffer(anuncio, estadoAnterior.getDescricao(), estadoNovo.getDescricao(),
+                estadoNovo, formato).toString();
+    }
+
+    /**
+     * Renderiza a notificação no formato SMS, já dividida em partes.
+     *
+     * @return uma parte se couber em um SMS; senão, as partes (ver dividirSms)
+     */
+    public String[] renderizarSms(Anuncio anuncio, String estadoAnterior, String estadoNovo) {
+        return dividirSms(renderizarNoBuffer(anuncio, estadoAnterior, estadoNovo,
+                IdentificadorEstado.porDescricao(estadoNovo), FormatoCanal.SMS));
+    }
+
+    // Versão por identificador de renderizarSms
+    public String[] renderizarSms(Anuncio anuncio, IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo) {
+        return dividirSms(renderizarNoBuffer(anuncio, estadoAnterior.getDescricao(), estadoNovo.getDescricao(),
+                estadoNovo, FormatoCanal.SMS));
+    }
+
+    /**
+     * Prepara um texto livre (não vindo de template) para o formato do canal:
+     * escapa o HTML para o Telegram e translitera o SMS e o divide em partes.
+     *
+     * @return as mensagens a enviar, na ordem
+     */
+    public String[] formatarTexto(String texto, FormatoCanal formato) {
+        switch (formato) {
+            case HTML:
+                StringBuilder escapado = new StringBuilder(texto.length() + 16);
+                TemplateNotificacao.escaparHtml(texto, escapado);
+                return new String[]{escapado.toString()};
+            case SMS:
+                return dividirSms(transliterarGsm7(texto));
+            default:
+                return new String[]{texto};
+        }
+    }
+
+    /**
+     * Divide o texto em partes de SMS, com o tamanho da codificação exigida:
+     * GSM-7 (160 em uma parte, 153 por parte) ou UCS-2 (70 e 67).
+     *
+     * Um par surrogate (ex.: emoji) ou um caractere da extensão GSM-7 nunca
+     * fica dividido entre duas partes.
+     */
+    public static String[] dividirSms(CharSequence texto) {
+        boolean gsm7 = isGsm7(texto);
+        int tamanho = texto.length();
+        int custoTotal = gsm7 ? contarSeptetos(texto) : tamanho;
+        if (custoTotal <= (gsm7 ? TAMANHO_SMS : TAMANHO_SMS_UCS2)) {
+            return new String[]{texto.toString()};
+        }
+
+        int limiteParte = gsm7 ? TAMANHO_PARTE_SMS : TAMANHO_PARTE_SMS_UCS2;
+        // Uma parte a mais cobre os caracteres empurrados para a parte seguinte
+        String[] partes = new String[(custoTotal + limiteParte - 1) / limiteParte + 1];
+        int quantidade = 0;
+        int inicio = 0;
+        while (inicio < tamanho) {
+            int fim = inicio;
+            int custo = 0;
+            while (fim < tamanho) {
+                char c = texto.charAt(fim);
+                int custoCaractere = gsm7 ? (EXTENSAO_GSM7.indexOf(c) >= 0 ? 2 : 1)
+                        : (Character.isHighSurrogate(c) && fim + 1 < tamanho ? 2 : 1);
+                if (custo + custoCaractere > limiteParte) {
+                    break;
+                }
+                custo += custoCaractere;
+                fim += gsm7 ? 1 : custoCaractere;
+            }
+            if (quantidade == partes.length) {
+                partes = Arrays.copyOf(partes, partes.length + 1);
+            }
+            partes[quantidade++] = texto.subSequence(inicio, fim).toString();
+            inicio = fim;
+        }
+        return quantidade == partes.length ? partes : Arrays.copyOf(partes, quantidade);
+    }
+
+    // Indica se o texto cabe no alfabeto GSM-7 (básico + extensão)
+    public static boolean isGsm7(CharSequence texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (ALFABETO_GSM7.indexOf(c) < 0 && EXTENSAO_GSM7.indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Translitera o texto para o alfabeto GSM-7 (ver transliterarGsm7(String, StringBuilder))
+    public static String transliterarGsm7(String texto) {
+        StringBuilder destino = new StringBuilder(texto.length());
+        transliterarGsm7(texto, destino);
+        return destino.toString();
+    }
+
+    /**
+     * Escreve o texto no buffer trocando os caracteres fora do GSM-7 pelo
+     * equivalente sem acento ("ú" -> "u", "ç" -> "c", aspas curvas -> retas).
+     * Caracteres sem equivalente são mantidos.
+     */
+    static void transliterarGsm7(String texto, StringBuilder destino) {
+        if (texto == null) {
+            destino.append("null");
+            return;
+        }
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            char substituto = c < SUBSTITUTOS_GSM7.length ? SUBSTITUTOS_GSM7[c] : 0;
+            destino.append(substituto != 0 ? substituto : c);
+        }
+    }
+
+    // Monta a tabela de substitutos: remove os acentos (NFD) e fica com a letra base se ela for GSM-7
+    private static char[] criarSubstitutosGsm7() {
+        char[] substitutos = new char[0x2030];
+        for (char c = 0; c < 0x250; c++) {
+            if (ALFABETO_GSM7.indexOf(c) >= 0 || EXTENSAO_GSM7.indexOf(c) >= 0) {
+                continue;
+            }
+            String base = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+            if (base.length() == 1 && ALFABETO_GSM7.indexOf(base.charAt(0)) >= 0) {
+                substitutos[c] = base.charAt(0);
+            }
+        }
+        substitutos['\u00A0'] = ' ';
+        substitutos['\u2013'] = '-';
+        substitutos['\u2014'] = '-';
+        substitutos['\u2018'] = '\'';
+        substitutos['\u2019'] = '\'';
+        substitutos['\u201C'] = '"';
+        substitutos['\u201D'] = '"';
+        return substitutos;
+    }
+
+    // Conta os septetos GSM-7 do texto (caracteres da extensão valem dois)
+    private static int contarSeptetos(CharSequence texto) {
+        int septetos = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            septetos += EXTENSAO_GSM7.indexOf(texto.charAt(i)) >= 0 ? 2 : 1;
+        }
+        return septetos;
+    }
+
+    private StringBuilder renderizarNoBuffer(Anuncio anuncio, String estadoAnterior, String estadoNovo,
+                                             IdentificadorEstado identificadorNovo, FormatoCanal formato) {
+        TemplateNotificacao[] templates = identificadorNovo != null
+                ? templatesPorEstado.getOrDefault(identificadorNovo, templatesPadrao)
+                : templatesPadrao;
+
+        StringBuilder buffer = BUFFER.get();
+        if (buffer.capacity() > CAPACIDADE_MAXIMA_BUFFER) {
+            buffer = new StringBuilder(512);
+            BUFFER.set(buffer);
+        }
+        buffer.setLength(0);
+
+        templates[formato.ordinal()].renderizar(buffer, anuncio.getId(), anuncio.getTitulo(),
+                estadoAnterior, estadoNovo);
+        return buffer;
+    }
+}
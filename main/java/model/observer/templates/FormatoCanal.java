@@ -0,0 +1,27 @@
+package model.observer.templates;
+
+/**
+ * PADRÃO: Observer (suporte à formatação das notificações)
+ * PAPEL: Formato de saída de um canal
+ * FUNÇÃO: Define como o texto da notificação é montado para cada canal
+ */
+public enum FormatoCanal {
+    TEXTO,  // Email, WhatsApp e canais sem formatação
+    HTML,   // Telegram (parse_mode HTML); valores são escapados
+    SMS;    // Texto curto, dividido em partes de SMS
+
+    // Retorna o formato usado pelo canal ("Telegram" -> HTML, "SMS" -> SMS, demais -> TEXTO)
+    public static FormatoCanal doCanal(String nomeCanal) {
+        if (nomeCanal == null) {
+            return TEXTO;
+        }
+        switch (nomeCanal.trim().toUpperCase()) {
+            case "TELEGRAM":
+                return HTML;
+            case "SMS":
+                return SMS;
+            default:
+                return TEXTO;
+        }
+    }
+}
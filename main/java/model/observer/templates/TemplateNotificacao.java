@@ -0,0 +1,128 @@
+package model.observer.templates;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PADRÃO: Observer (suporte à formatação das notificações)
+ * PAPEL: Template compilado
+ * FUNÇÃO: Guarda um texto de notificação já dividido em trechos fixos e campos,
+ * para que a renderização seja apenas uma sequência de appends
+ *
+ * SINTAXE:
+ * - {titulo}, {anterior}, {novo} e {id} são substituídos pelos dados do anúncio
+ * - Todo o resto é texto fixo
+ * - No formato SMS o texto fixo e os valores são transliterados para GSM-7
+ *
+ * A compilação acontece uma única vez (CatalogoTemplates); a renderização não
+ * faz parsing nem concatenação de Strings intermediárias.
+ */
+public class TemplateNotificacao {
+
+    // Campos que podem aparecer no template
+    enum Campo {
+        TITULO("titulo"),
+        ESTADO_ANTERIOR("anterior"),
+        ESTADO_NOVO("novo"),
+        ID("id");
+
+        private final String nome;
+
+        Campo(String nome) {
+            this.nome = nome;
+        }
+
+        private static Campo porNome(String nome) {
+            for (Campo campo : values()) {
+                if (campo.nome.equals(nome)) {
+                    return campo;
+                }
+            }
+            throw new IllegalArgumentException("Campo de template desconhecido: {" + nome + "}");
+        }
+    }
+
+    private final FormatoCanal formato;
+
+    // literais[i] vem antes de campos[i]; o último literal fecha o template
+    private final String[] literais;
+    private final Campo[] campos;
+
+    private TemplateNotificacao(FormatoCanal formato, String[] literais, Campo[] campos) {
+        this.formato = formato;
+        this.literais = literais;
+        this.campos = campos;
+    }
+
+    /**
+     * Compila o texto do template.
+     *
+     * @throws IllegalArgumentException se o template usa um campo desconhecido
+     */
+    public static TemplateNotificacao compilar(String fonte, FormatoCanal formato) {
+        if (formato == FormatoCanal.SMS) {
+            fonte = CatalogoTemplates.transliterarGsm7(fonte);
+        }
+        List<String> literais = new ArrayList<>();
+        List<Campo> campos = new ArrayList<>();
+
+        int inicio = 0;
+        int abre;
+        while ((abre = fonte.indexOf('{', inicio)) >= 0) {
+            int fecha = fonte.indexOf('}', abre);
+            if (fecha < 0) {
+                break;
+            }
+            literais.add(fonte.substring(inicio, abre));
+            campos.add(Campo.porNome(fonte.substring(abre + 1, fecha)));
+            inicio = fecha + 1;
+        }
+        literais.add(fonte.substring(inicio));
+
+        return new TemplateNotificacao(formato, literais.toArray(new String[0]), campos.toArray(new Campo[0]));
+    }
+
+    // Escreve o template preenchido no buffer
+    void renderizar(StringBuilder destino, String id, String titulo, String estadoAnterior, String estadoNovo) {
+        for (int i = 0; i < campos.length; i++) {
+            destino.append(literais[i]);
+            String valor;
+            switch (campos[i]) {
+                case TITULO: valor = titulo; break;
+                case ESTADO_ANTERIOR: valor = estadoAnterior; break;
+                case ESTADO_NOVO: valor = estadoNovo; break;
+                default: valor = id; break;
+            }
+            if (formato == FormatoCanal.HTML) {
+                escaparHtml(valor, destino);
+            } else if (formato == FormatoCanal.SMS) {
+                CatalogoTemplates.transliterarGsm7(valor, destino);
+            } else {
+                destino.append(valor);
+            }
+        }
+        destino.append(literais[campos.length]);
+    }
+
+    // Escapa os caracteres especiais do HTML aceito pelo Telegram
+    static void escaparHtml(String valor, StringBuilder destino) {
+        if (valor == null) {
+            destino.append("null");
+            return;
+        }
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '&': destino.append("&amp;"); break;
+                case '<': destino.append("&lt;"); break;
+                case '>': destino.append("&gt;"); break;
+                case '"': destino.append("&quot;"); break;
+                default: destino.append(c);
+            }
+        }
+    }
+
+    public FormatoCanal getFormato() {
+        return formato;
+    }
+}
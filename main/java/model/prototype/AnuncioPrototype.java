@@ -15,4 +15,20 @@ public interface AnuncioPrototype {
      * Usado para registro e recuperação de protótipos.
      */
     String getChavePrototipo();
+
+    /**
+     * Retorna a versão do protótipo: no protótipo registrado, a versão atual;
+     * em um clone, a versão do protótipo de onde ele foi clonado (0 = nenhuma).
+     */
+    long getVersaoPrototipo();
+
+    // Define a versão do protótipo (usado pelo registry ao publicar uma versão)
+    void setVersaoPrototipo(long versaoPrototipo);
+
+    /**
+     * Marca o objeto como protótipo publicado (chamado pelo registry uma única
+     * vez, antes de a versão ficar visível): a partir daí, as partes mutáveis
+     * são compartilhadas com os clones e copiadas por quem for alterá-las.
+     */
+    void marcarComoPublicado();
 }
\ No newline at end of file
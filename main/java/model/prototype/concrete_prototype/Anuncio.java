@@ -3,15 +3,26 @@ package model.prototype.concrete_prototype;
 import model.factory_method.product.Imovel;
 import model.observer.GerenciadorObservadores;
 import model.observer.ObservadorAnuncio;
+import model.observer.RegistroObservadores;
+import model.observer.TransicaoAnuncio;
 import model.prototype.AnuncioPrototype;
 import model.state.EstadoAnuncio;
 import model.state.concrete_states.EstadoRascunho;
+import enums.CampoAnuncio;
+import enums.IdentificadorEstado;
+import enums.ResultadoTransicao;
 import enums.TipoTransacao;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * PADRÕES APLICADOS:
@@ -27,9 +38,26 @@ import java.util.UUID;
  * 3. OBSERVER (RF04)
  *    PAPEL: Utiliza Subject por composição (GerenciadorObservadores)
  *    FUNÇÃO: Delega o gerenciamento de observers para classe especializada
+ *    - Observadores deste anúncio: GerenciadorObservadores, criado sob demanda
+ *    - Observadores de todos os anúncios: RegistroObservadores (global)
  */
 public class Anuncio implements AnuncioPrototype {
 
+    // Acesso atômico ao campo estadoAtual (compare-and-set sem bloqueio)
+    private static final VarHandle ESTADO_ATUAL;
+
+    static {
+        try {
+            ESTADO_ATUAL = MethodHandles.lookup().findVarHandle(Anuncio.class, "estadoAtual", EstadoAnuncio.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Transições coletadas pela operação em lote em andamento nesta thread
+    // (sem lote, cada transição notifica os observadores na hora)
+    private static final ThreadLocal<List<TransicaoAnuncio>> LOTE_EM_ANDAMENTO = new ThreadLocal<>();
+
     // Identificador único do anúncio
     private final String id;
 
@@ -49,17 +77,28 @@ public class Anuncio implements AnuncioPrototype {
     // PROTOTYPE: chave do protótipo para identificação no registry
     private String chavePrototipo;
 
-    // STATE: referência ao estado atual do anúncio
-    private EstadoAnuncio estadoAtual;
+    // PROTOTYPE: versão do protótipo de onde o anúncio foi clonado (0 = não é clone)
+    private long versaoPrototipo;
 
-    // OBSERVER: gerenciador de observadores (composição)
-    private final GerenciadorObservadores gerenciadorObservadores;
+    // PROTOTYPE: cadastro em lote de onde o anúncio veio (null = cadastro avulso; não é copiado no clone)
+    private String loteCadastro;
+
+    // PROTOTYPE: imóvel e fotos podem estar compartilhados com o protótipo (e
+    // com outros clones); são copiados na primeira alteração (copy-on-write).
+    // Voláteis: são marcados na publicação e lidos por clones em outras threads
+    private volatile boolean imovelCompartilhado;
+    private volatile boolean fotosCompartilhadas;
+
+    // STATE: referência ao estado atual do anúncio (alterada somente por compare-and-set)
+    private volatile EstadoAnuncio estadoAtual;
+
+    // OBSERVER: gerenciador de observadores deste anúncio (criado no primeiro observador)
+    private volatile GerenciadorObservadores gerenciadorObservadores;
 
     // Inicializa o anúncio no estado Rascunho (conforme RF04)
     public Anuncio() {
-        this.id = UUID.randomUUID().toString().substring(0, 8);
-        this.estadoAtual = new EstadoRascunho();
-        this.gerenciadorObservadores = new GerenciadorObservadores();
+        this.id = UUID.randomUUID().toString();
+        this.estadoAtual = EstadoRascunho.INSTANCIA;
         this.fotos = new ArrayList<>();
         this.dataCriacao = LocalDateTime.now();
         this.dataAtualizacao = LocalDateTime.now();
@@ -80,27 +119,44 @@ public class Anuncio implements AnuncioPrototype {
      * IMPORTANTE:
      * - Novo ID é gerado para a cópia
      * - Estado sempre inicia em Rascunho
-     * - Novo gerenciador de observadores (não herda observers do original)
+     * - Não herda observers do original
      * - AnuncianteId não é copiado
+     *
+     * COPY-ON-WRITE:
+     * - Imóvel e lista de fotos marcados como compartilhados (protótipo
+     *   publicado no registry, ou clone que ainda não os alterou) são
+     *   reaproveitados sem cópia; os textos já são imutáveis
+     * - Quem alterar primeiro (setter, getImovelParaAlteracao(), adicionarFoto...) copia
+     *   antes de alterar, então o protótipo nunca é modificado por um clone
+     * - O original só é lido: clonar um anúncio não publicado copia o imóvel
+     *   e as fotos, já que ele ainda pode alterá-los diretamente
      */
     private Anuncio(Anuncio original) {
-        this.id = UUID.randomUUID().toString().substring(0, 8);
+        this.id = UUID.randomUUID().toString();
         this.titulo = original.titulo;
         this.preco = original.preco;
         this.descricao = original.descricao;
         this.tipoTransacao = original.tipoTransacao;
         this.chavePrototipo = original.chavePrototipo;
-        this.fotos = new ArrayList<>(original.fotos);
-        this.imovel = original.imovel;
+        this.versaoPrototipo = original.versaoPrototipo;
+        if (original.fotosCompartilhadas) {
+            this.fotos = original.fotos;
+            this.fotosCompartilhadas = true;
+        } else {
+            this.fotos = new ArrayList<>(original.fotos);
+        }
+        if (original.imovelCompartilhado) {
+            this.imovel = original.imovel;
+            this.imovelCompartilhado = true;
+        } else {
+            this.imovel = original.imovel != null ? original.imovel.copiar() : null;
+        }
         this.dataCriacao = LocalDateTime.now();
-        this.dataAtualizacao = LocalDateTime.now();
+        this.dataAtualizacao = this.dataCriacao;
         this.anuncianteId = null;
 
         // Novo anúncio sempre começa em Rascunho
-        this.estadoAtual = new EstadoRascunho();
-
-        // Novo gerenciador (não herda observers do original)
-        this.gerenciadorObservadores = new GerenciadorObservadores();
+        this.estadoAtual = EstadoRascunho.INSTANCIA;
     }
 
     // ========================================================================
@@ -121,65 +177,149 @@ public class Anuncio implements AnuncioPrototype {
         this.chavePrototipo = chavePrototipo;
     }
 
+    @Override
+    public long getVersaoPrototipo() {
+        return versaoPrototipo;
+    }
+
+    @Override
+    public void setVersaoPrototipo(long versaoPrototipo) {
+        this.versaoPrototipo = versaoPrototipo;
+    }
+
+    public String getLoteCadastro() {
+        return loteCadastro;
+    }
+
+    // Definido pelo CadastroEmLote: anúncios do mesmo lote não são comparados entre si na duplicidade
+    public void setLoteCadastro(String loteCadastro) {
+        this.loteCadastro = loteCadastro;
+    }
+
+    // Chamado pelo registry ao publicar: imóvel e fotos passam a ser compartilhados com os clones
+    @Override
+    public void marcarComoPublicado() {
+        this.fotosCompartilhadas = true;
+        this.imovelCompartilhado = imovel != null;
+    }
+
     // ========================================================================
     // STATE PATTERN - Métodos que delegam para o estado atual
     // ========================================================================
+    //
+    // CONCORRÊNCIA: cada ação lê o estado atual uma única vez e o estado tenta
+    // a troca com transicionar(). Se duas ações disputam o mesmo anúncio (ex.:
+    // dois moderadores, ou moderador e anunciante), só uma vence; a outra
+    // recebe CONCORRENTE e nenhum observador é notificado por ela.
 
     // Envia o anúncio para moderação
-    public void enviarParaModeracao() {
-        String estadoAnterior = estadoAtual.getNomeEstado();
-        estadoAtual.enviarParaModeracao(this);
-        verificarMudancaEstado(estadoAnterior);
+    public ResultadoTransicao enviarParaModeracao() {
+        return estadoAtual.enviarParaModeracao(this);
     }
 
     // Aprova o anúncio (após moderação - RF03)
-    public void aprovar() {
-        String estadoAnterior = estadoAtual.getNomeEstado();
-        estadoAtual.aprovar(this);
-        verificarMudancaEstado(estadoAnterior);
+    public ResultadoTransicao aprovar() {
+        return estadoAtual.aprovar(this);
     }
 
     // Reprova o anúncio (na moderação - RF03)
-    public void reprovar() {
-        String estadoAnterior = estadoAtual.getNomeEstado();
-        estadoAtual.reprovar(this);
-        verificarMudancaEstado(estadoAnterior);
+    public ResultadoTransicao reprovar() {
+        return estadoAtual.reprovar(this);
     }
 
     // Marca o anúncio como vendido/alugado
-    public void vender() {
-        String estadoAnterior = estadoAtual.getNomeEstado();
-        estadoAtual.vender(this);
-        verificarMudancaEstado(estadoAnterior);
+    public ResultadoTransicao vender() {
+        return estadoAtual.vender(this);
     }
 
     // Suspende o anúncio
-    public void suspender() {
-        String estadoAnterior = estadoAtual.getNomeEstado();
-        estadoAtual.suspender(this);
-        verificarMudancaEstado(estadoAnterior);
+    public ResultadoTransicao suspender() {
+        return estadoAtual.suspender(this);
     }
 
     // Retorna o anúncio para rascunho
-    public void voltarParaRascunho() {
-        String estadoAnterior = estadoAtual.getNomeEstado();
-        estadoAtual.voltarParaRascunho(this);
-        verificarMudancaEstado(estadoAnterior);
-    }
-
-    // Verifica se houve mudança de estado e notifica observadores
-    private void verificarMudancaEstado(String estadoAnterior) {
-        String estadoNovo = estadoAtual.getNomeEstado();
-        if (!estadoAnterior.equals(estadoNovo)) {
-            this.dataAtualizacao = LocalDateTime.now();
-            // Delega a notificação para o gerenciador de observadores
-            gerenciadorObservadores.notificar(this, estadoAnterior, estadoNovo);
+    public ResultadoTransicao voltarParaRascunho() {
+        return estadoAtual.voltarParaRascunho(this);
+    }
+
+    /**
+     * Troca o estado de estadoEsperado para estadoNovo, se o anúncio ainda
+     * estiver em estadoEsperado. Usado pela TabelaTransicoes, que passa o
+     * estado atual como estado esperado.
+     *
+     * Apenas a thread que vence a troca notifica os observadores.
+     *
+     * @return APLICADA se a troca aconteceu; CONCORRENTE se outro estado já
+     *         tinha sido definido por uma transição concorrente
+     */
+    public ResultadoTransicao transicionar(EstadoAnuncio estadoEsperado, EstadoAnuncio estadoNovo) {
+        if (!ESTADO_ATUAL.compareAndSet(this, estadoEsperado, estadoNovo)) {
+            return ResultadoTransicao.CONCORRENTE;
+        }
+        if (estadoEsperado != estadoNovo) {
+            List<TransicaoAnuncio> lote = LOTE_EM_ANDAMENTO.get();
+            if (lote != null) {
+                this.dataAtualizacao = LocalDateTime.now();
+                lote.add(new TransicaoAnuncio(this, estadoEsperado.getIdentificador(), estadoNovo.getIdentificador()));
+            } else {
+                notificarMudancaEstado(estadoEsperado, estadoNovo);
+            }
         }
+        return ResultadoTransicao.APLICADA;
     }
 
-    // Método usado pelos ConcreteStates para alterar o estado interno
-    public void setEstadoInterno(EstadoAnuncio novoEstado) {
-        this.estadoAtual = novoEstado;
+    /**
+     * Executa a ação guardando as transições vencedoras em destino, sem
+     * notificar os observadores. As transições coletadas devem ser entregues
+     * depois com publicarLote().
+     */
+    public static <T> T coletarTransicoes(List<TransicaoAnuncio> destino, Supplier<T> acao) {
+        List<TransicaoAnuncio> anterior = LOTE_EM_ANDAMENTO.get();
+        LOTE_EM_ANDAMENTO.set(destino);
+        try {
+            return acao.get();
+        } finally {
+            if (anterior != null) {
+                LOTE_EM_ANDAMENTO.set(anterior);
+            } else {
+                LOTE_EM_ANDAMENTO.remove();
+            }
+        }
+    }
+
+    /**
+     * Entrega um lote de transições coletadas: cada anúncio notifica seus
+     * próprios observadores e o RegistroObservadores recebe o lote inteiro
+     * em uma única chamada.
+     */
+    public static void publicarLote(List<TransicaoAnuncio> transicoes) {
+        if (transicoes.isEmpty()) {
+            return;
+        }
+        Map<Anuncio, List<TransicaoAnuncio>> porAnuncio = new IdentityHashMap<>();
+        for (TransicaoAnuncio transicao : transicoes) {
+            if (transicao.getAnuncio().gerenciadorObservadores != null) {
+                porAnuncio.computeIfAbsent(transicao.getAnuncio(), k -> new ArrayList<>()).add(transicao);
+            }
+        }
+        for (Map.Entry<Anuncio, List<TransicaoAnuncio>> grupo : porAnuncio.entrySet()) {
+            grupo.getKey().gerenciadorObservadores.notificarLote(grupo.getValue());
+        }
+        RegistroObservadores.getInstancia().notificarLote(transicoes);
+    }
+
+    // Notifica os observadores da transição vencedora
+    private void notificarMudancaEstado(EstadoAnuncio estadoAnterior, EstadoAnuncio estadoNovo) {
+        this.dataAtualizacao = LocalDateTime.now();
+        IdentificadorEstado anterior = estadoAnterior.getIdentificador();
+        IdentificadorEstado novo = estadoNovo.getIdentificador();
+        // Delega a notificação para o gerenciador deste anúncio, se houver
+        GerenciadorObservadores gerenciador = this.gerenciadorObservadores;
+        if (gerenciador != null) {
+            gerenciador.notificar(this, anterior, novo);
+        }
+        // E para os assinantes globais
+        RegistroObservadores.getInstancia().notificar(this, anterior, novo);
     }
 
     // Retorna o nome do estado atual
@@ -187,6 +327,11 @@ public class Anuncio implements AnuncioPrototype {
         return estadoAtual.getNomeEstado();
     }
 
+    // Retorna o identificador do estado atual (comparável com ==)
+    public IdentificadorEstado getIdentificadorEstado() {
+        return estadoAtual.getIdentificador();
+    }
+
     // ========================================================================
     // OBSERVER PATTERN - Delegação para GerenciadorObservadores
     // ========================================================================
@@ -195,7 +340,10 @@ public class Anuncio implements AnuncioPrototype {
      * Adiciona um observador à lista de notificação
      * Delega para o GerenciadorObservadores
      */
-    public void adicionarObservador(ObservadorAnuncio observador) {
+    public synchronized void adicionarObservador(ObservadorAnuncio observador) {
+        if (gerenciadorObservadores == null) {
+            gerenciadorObservadores = new GerenciadorObservadores();
+        }
         gerenciadorObservadores.adicionar(observador);
     }
 
@@ -203,8 +351,10 @@ public class Anuncio implements AnuncioPrototype {
      * Remove um observador da lista de notificação
      * Delega para o GerenciadorObservadores
      */
-    public void removerObservador(ObservadorAnuncio observador) {
-        gerenciadorObservadores.remover(observador);
+    public synchronized void removerObservador(ObservadorAnuncio observador) {
+        if (gerenciadorObservadores != null) {
+            gerenciadorObservadores.remover(observador);
+        }
     }
 
     // ========================================================================
@@ -220,17 +370,34 @@ public class Anuncio implements AnuncioPrototype {
     }
 
     public void setTitulo(String titulo) {
+        String anterior = this.titulo;
         this.titulo = titulo;
-        this.dataAtualizacao = LocalDateTime.now();
+        registrarAlteracao(CampoAnuncio.TITULO, anterior, titulo);
     }
 
+    // Retorna o imóvel para consulta; pode estar compartilhado com o protótipo, então não deve ser alterado
     public Imovel getImovel() {
         return imovel;
     }
 
+    /**
+     * Retorna o imóvel para alteração.
+     * Se ele estiver compartilhado com o protótipo, uma cópia própria é criada
+     * antes (copy-on-write).
+     */
+    public Imovel getImovelParaAlteracao() {
+        if (imovelCompartilhado) {
+            imovel = imovel.copiar();
+            imovelCompartilhado = false;
+        }
+        return imovel;
+    }
+
     public void setImovel(Imovel imovel) {
+        Imovel anterior = this.imovel;
         this.imovel = imovel;
-        this.dataAtualizacao = LocalDateTime.now();
+        this.imovelCompartilhado = false;
+        registrarAlteracao(CampoAnuncio.IMOVEL, anterior, imovel);
     }
 
     public double getPreco() {
@@ -238,8 +405,9 @@ public class Anuncio implements AnuncioPrototype {
     }
 
     public void setPreco(double preco) {
+        double anterior = this.preco;
         this.preco = preco;
-        this.dataAtualizacao = LocalDateTime.now();
+        registrarAlteracao(CampoAnuncio.PRECO, anterior, preco);
     }
 
     public String getDescricao() {
@@ -247,8 +415,9 @@ public class Anuncio implements AnuncioPrototype {
     }
 
     public void setDescricao(String descricao) {
+        String anterior = this.descricao;
         this.descricao = descricao;
-        this.dataAtualizacao = LocalDateTime.now();
+        registrarAlteracao(CampoAnuncio.DESCRICAO, anterior, descricao);
     }
 
     public TipoTransacao getTipoTransacao() {
@@ -256,22 +425,38 @@ public class Anuncio implements AnuncioPrototype {
     }
 
     public void setTipoTransacao(TipoTransacao tipoTransacao) {
+        TipoTransacao anterior = this.tipoTransacao;
         this.tipoTransacao = tipoTransacao;
-        this.dataAtualizacao = LocalDateTime.now();
+        registrarAlteracao(CampoAnuncio.TIPO_TRANSACAO, anterior, tipoTransacao);
     }
 
+    // Retorna uma visão somente leitura das fotos (sem copiar a lista)
     public List<String> getFotos() {
-        return new ArrayList<>(fotos);
+        return Collections.unmodifiableList(fotos);
+    }
+
+    public int getQuantidadeFotos() {
+        return fotos.size();
     }
 
     public void adicionarFoto(String urlFoto) {
-        this.fotos.add(urlFoto);
-        this.dataAtualizacao = LocalDateTime.now();
+        fotosParaAlteracao().add(urlFoto);
+        registrarAlteracao(CampoAnuncio.FOTO_ADICIONADA, null, urlFoto);
     }
 
     public void removerFoto(String urlFoto) {
-        this.fotos.remove(urlFoto);
-        this.dataAtualizacao = LocalDateTime.now();
+        if (fotos.contains(urlFoto) && fotosParaAlteracao().remove(urlFoto)) {
+            registrarAlteracao(CampoAnuncio.FOTO_REMOVIDA, urlFoto, null);
+        }
+    }
+
+    // Retorna a lista de fotos própria deste anúncio, copiando-a se estiver compartilhada
+    private List<String> fotosParaAlteracao() {
+        if (fotosCompartilhadas) {
+            fotos = new ArrayList<>(fotos);
+            fotosCompartilhadas = false;
+        }
+        return fotos;
     }
 
     public LocalDateTime getDataCriacao() {
@@ -287,8 +472,19 @@ public class Anuncio implements AnuncioPrototype {
     }
 
     public void setAnuncianteId(String anuncianteId) {
+        String anterior = this.anuncianteId;
         this.anuncianteId = anuncianteId;
+        registrarAlteracao(CampoAnuncio.ANUNCIANTE, anterior, anuncianteId);
+    }
+
+    // Atualiza a data de alteração e notifica os observadores sobre o campo alterado
+    private void registrarAlteracao(CampoAnuncio campo, Object valorAnterior, Object valorNovo) {
         this.dataAtualizacao = LocalDateTime.now();
+        GerenciadorObservadores gerenciador = this.gerenciadorObservadores;
+        if (gerenciador != null) {
+            gerenciador.notificarAlteracao(this, campo, valorAnterior, valorNovo);
+        }
+        RegistroObservadores.getInstancia().notificarAlteracao(this, campo, valorAnterior, valorNovo);
     }
 
     // Valida se o anúncio possui os atributos obrigatórios preenchidos (RF01)
@@ -7,9 +7,15 @@ import model.factory_method.product.concrete_products.*;
 import model.prototype.AnuncioPrototype;
 import model.prototype.concrete_prototype.Anuncio;
 
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * PADRÃO: Prototype
@@ -18,16 +24,44 @@ import java.util.Set;
  *
  * Permite registrar, recuperar e clonar protótipos por chave
  * Esta classe funciona como um "catálogo" de configurações padrão que podem ser usadas para criar novos anúncios rapidamente
+ *
+ * CONCORRÊNCIA:
+ * - As chaves são normalizadas (maiúsculas) uma única vez, no registro
+ * - Leituras e clonagens não bloqueiam (ConcurrentHashMap)
+ * - Cada protótipo publicado é imutável e tem uma versão; atualizar() publica
+ *   uma nova versão por compare-and-set, sem afetar clones em andamento
+ * - Cada clone guarda a versão do protótipo de onde veio
+ *
+ * CARREGAMENTO SOB DEMANDA:
+ * - Os protótipos padrão são registrados como Suppliers (registrarSobDemanda)
+ *   e só são criados no primeiro uso da chave; nós que nunca clonam não
+ *   criam nenhum Imovel nem Anuncio
+ * - getRelatorio() informa o tempo de inicialização e o que já foi criado
  */
 public class AnuncioPrototypeRegistry {
 
-    // Mapa de protótipos registrados
-    private final Map<String, AnuncioPrototype> prototipos;
+    // Versão atual de cada protótipo, pela chave normalizada
+    private final Map<String, EntradaPrototipo> prototipos;
+
+    // Protótipos registrados sob demanda e ainda não criados, pela chave normalizada
+    private final Map<String, Supplier<? extends AnuncioPrototype>> pendentes;
+
+    // Dados do relatório de inicialização e de criação sob demanda
+    private final long duracaoInicializacaoNanos;
+    private final int registradosNaInicializacao;
+    private final AtomicInteger materializados;
+    private final AtomicLong duracaoMaterializacaoNanos;
 
-    // Construtor que inicializa o registro com protótipos padrão do sistema
+    // Construtor que inicializa o registro com protótipos padrão do sistema (sob demanda)
     public AnuncioPrototypeRegistry() {
-        this.prototipos = new HashMap<>();
+        long inicio = System.nanoTime();
+        this.prototipos = new ConcurrentHashMap<>();
+        this.pendentes = new ConcurrentHashMap<>();
+        this.materializados = new AtomicInteger();
+        this.duracaoMaterializacaoNanos = new AtomicLong();
         registrarPrototiposPadrao();
+        this.registradosNaInicializacao = pendentes.size();
+        this.duracaoInicializacaoNanos = System.nanoTime() - inicio;
     }
 
     /**
@@ -44,48 +78,44 @@ public class AnuncioPrototypeRegistry {
         // ============================================================
 
         // Apartamento Padrão 2 Quartos (conforme exemplo do RF02)
-        Anuncio aptoPadrao2Q = criarPrototipoApartamento(
+        adicionarPendente("APARTAMENTO_PADRAO_2Q", () -> criarPrototipoApartamento(
                 "APARTAMENTO_PADRAO_2Q",
                 "Apartamento 2 Quartos - Padrão",
                 60.0,  // área
                 2,     // quartos
                 1,     // banheiros
                 250000.0  // preço sugerido
-        );
-        registrar(aptoPadrao2Q);
+        ));
 
         // Apartamento Compacto (Studio)
-        Anuncio aptoStudio = criarPrototipoApartamento(
+        adicionarPendente("APARTAMENTO_STUDIO", () -> criarPrototipoApartamento(
                 "APARTAMENTO_STUDIO",
                 "Studio/Apartamento Compacto",
                 35.0,
                 1,
                 1,
                 180000.0
-        );
-        registrar(aptoStudio);
+        ));
 
         // Apartamento Família (3 quartos)
-        Anuncio aptoFamilia = criarPrototipoApartamento(
+        adicionarPendente("APARTAMENTO_FAMILIA_3Q", () -> criarPrototipoApartamento(
                 "APARTAMENTO_FAMILIA_3Q",
                 "Apartamento Família 3 Quartos",
                 90.0,
                 3,
                 2,
                 400000.0
-        );
-        registrar(aptoFamilia);
+        ));
 
         // Apartamento Alto Padrão
-        Anuncio aptoAltoPadrao = criarPrototipoApartamentoAltoPadrao();
-        registrar(aptoAltoPadrao);
+        adicionarPendente("APARTAMENTO_ALTO_PADRAO", () -> criarPrototipoApartamentoAltoPadrao());
 
         // ============================================================
         // PROTÓTIPOS DE CASA
         // ============================================================
 
         // Casa Padrão
-        Anuncio casaPadrao = criarPrototipoCasa(
+        adicionarPendente("CASA_PADRAO", () -> criarPrototipoCasa(
                 "CASA_PADRAO",
                 "Casa Residencial Padrão",
                 120.0,
@@ -93,11 +123,10 @@ public class AnuncioPrototypeRegistry {
                 3,
                 2,
                 350000.0
-        );
-        registrar(casaPadrao);
+        ));
 
         // Casa Térrea Compacta
-        Anuncio casaTerrea = criarPrototipoCasa(
+        adicionarPendente("CASA_TERREA_COMPACTA", () -> criarPrototipoCasa(
                 "CASA_TERREA_COMPACTA",
                 "Casa Térrea Compacta",
                 70.0,
@@ -105,45 +134,41 @@ public class AnuncioPrototypeRegistry {
                 2,
                 1,
                 220000.0
-        );
-        registrar(casaTerrea);
+        ));
 
         // Casa Sobrado
-        Anuncio casaSobrado = criarPrototipoCasaSobrado();
-        registrar(casaSobrado);
+        adicionarPendente("CASA_SOBRADO", () -> criarPrototipoCasaSobrado());
 
         // ============================================================
         // PROTÓTIPOS DE TERRENO
         // ============================================================
 
         // Terreno Urbano Padrão
-        Anuncio terrenoPadrao = criarPrototipoTerreno(
+        adicionarPendente("TERRENO_URBANO_PADRAO", () -> criarPrototipoTerreno(
                 "TERRENO_URBANO_PADRAO",
                 "Terreno Urbano",
                 300.0,
                 10.0,
                 Terreno.TipoTerreno.URBANO,
                 150000.0
-        );
-        registrar(terrenoPadrao);
+        ));
 
         // Terreno para Construção
-        Anuncio terrenoConstrucao = criarPrototipoTerreno(
+        adicionarPendente("TERRENO_CONSTRUCAO", () -> criarPrototipoTerreno(
                 "TERRENO_CONSTRUCAO",
                 "Terreno Pronto para Construção",
                 450.0,
                 15.0,
                 Terreno.TipoTerreno.URBANO,
                 250000.0
-        );
-        registrar(terrenoConstrucao);
+        ));
 
         // ============================================================
         // PROTÓTIPOS DE SALA COMERCIAL
         // ============================================================
 
         // Sala Comercial Pequena
-        Anuncio salaPequena = criarPrototipoSalaComercial(
+        adicionarPendente("SALA_COMERCIAL_PEQUENA", () -> criarPrototipoSalaComercial(
                 "SALA_COMERCIAL_PEQUENA",
                 "Sala Comercial Compacta",
                 30.0,
@@ -151,11 +176,10 @@ public class AnuncioPrototypeRegistry {
                 SalaComercial.TipoUsoComercial.ESCRITORIO,
                 1500.0,  // preço aluguel
                 TipoTransacao.ALUGUEL
-        );
-        registrar(salaPequena);
+        ));
 
         // Sala Comercial Média
-        Anuncio salaMedia = criarPrototipoSalaComercial(
+        adicionarPendente("SALA_COMERCIAL_MEDIA", () -> criarPrototipoSalaComercial(
                 "SALA_COMERCIAL_MEDIA",
                 "Sala Comercial",
                 50.0,
@@ -163,15 +187,14 @@ public class AnuncioPrototypeRegistry {
                 SalaComercial.TipoUsoComercial.ESCRITORIO,
                 2500.0,
                 TipoTransacao.ALUGUEL
-        );
-        registrar(salaMedia);
+        ));
 
         // ============================================================
         // PROTÓTIPOS DE GALPÃO
         // ============================================================
 
         // Galpão Logístico
-        Anuncio galpaoLogistico = criarPrototipoGalpao(
+        adicionarPendente("GALPAO_LOGISTICO", () -> criarPrototipoGalpao(
                 "GALPAO_LOGISTICO",
                 "Galpão Logístico",
                 1000.0,
@@ -179,11 +202,10 @@ public class AnuncioPrototypeRegistry {
                 Galpao.TipoUsoGalpao.LOGISTICA,
                 15000.0,
                 TipoTransacao.ALUGUEL
-        );
-        registrar(galpaoLogistico);
+        ));
 
         // Galpão Industrial
-        Anuncio galpaoIndustrial = criarPrototipoGalpao(
+        adicionarPendente("GALPAO_INDUSTRIAL", () -> criarPrototipoGalpao(
                 "GALPAO_INDUSTRIAL",
                 "Galpão Industrial",
                 2000.0,
@@ -191,8 +213,7 @@ public class AnuncioPrototypeRegistry {
                 Galpao.TipoUsoGalpao.INDUSTRIAL,
                 25000.0,
                 TipoTransacao.ALUGUEL
-        );
-        registrar(galpaoIndustrial);
+        ));
     }
 
     // ============================================================
@@ -376,40 +397,127 @@ public class AnuncioPrototypeRegistry {
     // ============================================================
 
     /**
-     * Registra um novo protótipo no sistema.
+     * Registra um novo protótipo no sistema (ou uma nova versão, se a chave
+     * já existir).
      *
      * EXTENSIBILIDADE: Novos protótipos podem ser adicionados
      * em tempo de execução sem modificar código existente.
      *
+     * O protótipo passa a pertencer ao registry e não deve mais ser alterado
+     * diretamente; alterações são feitas com atualizar().
+     *
      * @param prototipo O protótipo a ser registrado
+     * @return a versão publicada
      */
-    public void registrar(AnuncioPrototype prototipo) {
-        prototipos.put(prototipo.getChavePrototipo().toUpperCase(), prototipo);
+    public long registrar(AnuncioPrototype prototipo) {
+        String chave = normalizarChave(prototipo.getChavePrototipo());
+        pendentes.remove(chave);
+        EntradaPrototipo entrada = prototipos.compute(chave, (k, atual) -> {
+            long versao = atual != null ? atual.getVersao() + 1 : 1;
+            prototipo.setVersaoPrototipo(versao);
+            return new EntradaPrototipo(k, versao, prototipo);
+        });
+        return entrada.getVersao();
+    }
+
+    /**
+     * Registra um protótipo que só será criado no primeiro uso da chave
+     * (obter, clonar, atualizar...). A criação acontece uma única vez, mesmo
+     * com acessos concorrentes, e publica a versão 1.
+     *
+     * O Supplier deve criar um protótipo com a mesma chave. Se a chave já
+     * tem um protótipo criado, nada muda (use registrar() para uma nova versão).
+     *
+     * @param chave Chave do protótipo (case insensitive)
+     * @param fabrica Cria o protótipo
+     */
+    public void registrarSobDemanda(String chave, Supplier<? extends AnuncioPrototype> fabrica) {
+        adicionarPendente(chave, fabrica);
+    }
+
+    // Guarda a fábrica sob demanda; privado para poder ser chamado pelo construtor
+    private void adicionarPendente(String chave, Supplier<? extends AnuncioPrototype> fabrica) {
+        String chaveNormalizada = normalizarChave(chave);
+        if (!prototipos.containsKey(chaveNormalizada)) {
+            pendentes.put(chaveNormalizada, fabrica);
+        }
+    }
+
+    /**
+     * Cria todos os protótipos registrados sob demanda (ex.: aquecimento de um
+     * nó que vai clonar muito).
+     */
+    public void materializarTodos() {
+        for (String chave : pendentes.keySet()) {
+            entrada(chave);
+        }
+    }
+
+    /**
+     * Publica uma nova versão do protótipo, sem bloquear quem está clonando.
+     *
+     * A alteração é aplicada em uma cópia da versão atual (que nunca é
+     * modificada); a cópia só é publicada se nenhuma outra versão foi
+     * publicada no meio tempo, senão a alteração é refeita sobre a mais nova.
+     * Clones em andamento continuam usando a versão que leram.
+     *
+     * @param chave Chave do protótipo (case insensitive)
+     * @param alteracao Alteração a aplicar na nova versão (pode ser reaplicada)
+     * @return a entrada publicada, ou null se a chave não existe
+     */
+    public EntradaPrototipo atualizar(String chave, Consumer<Anuncio> alteracao) {
+        String chaveNormalizada = normalizarChave(chave);
+        while (true) {
+            EntradaPrototipo atual = entrada(chaveNormalizada);
+            if (atual == null) {
+                return null;
+            }
+            Anuncio copia = (Anuncio) atual.getPrototipo().clonar();
+            alteracao.accept(copia);
+            copia.setChavePrototipo(atual.getChave());
+            copia.setVersaoPrototipo(atual.getVersao() + 1);
+            EntradaPrototipo nova = new EntradaPrototipo(atual.getChave(), atual.getVersao() + 1, copia);
+            if (prototipos.replace(chaveNormalizada, atual, nova)) {
+                return nova;
+            }
+        }
     }
 
     /**
      * Obtém um protótipo pelo sua chave identificadora.
+     * O protótipo retornado é compartilhado e não deve ser alterado.
      *
      * @param chave Chave do protótipo (case insensitive)
      * @return O protótipo ou null se não encontrado
      */
     public AnuncioPrototype obter(String chave) {
-        return prototipos.get(chave.toUpperCase());
+        EntradaPrototipo entrada = entrada(normalizarChave(chave));
+        return entrada != null ? entrada.getPrototipo() : null;
+    }
+
+    /**
+     * Obtém o protótipo junto com a sua versão, em uma única leitura.
+     *
+     * @return A entrada ou null se não encontrada
+     */
+    public EntradaPrototipo obterEntrada(String chave) {
+        return entrada(normalizarChave(chave));
     }
 
     /**
      * Clona um protótipo registrado, retornando uma nova instância.
      *
      * Este é o método principal para criar anúncios a partir de
-     * configurações padrão.
+     * configurações padrão. A leitura não bloqueia, e o clone registra em
+     * getVersaoPrototipo() a versão de onde veio.
      *
      * @param chave Chave do protótipo a ser clonado
      * @return Nova instância clonada ou null se não encontrado
      */
     public AnuncioPrototype clonar(String chave) {
-        AnuncioPrototype prototipo = obter(chave);
-        if (prototipo != null) {
-            return prototipo.clonar();
+        EntradaPrototipo entrada = entrada(normalizarChave(chave));
+        if (entrada != null) {
+            return entrada.getPrototipo().clonar();
         }
         return null;
     }
@@ -418,26 +526,189 @@ public class AnuncioPrototypeRegistry {
      * Verifica se existe um protótipo com a chave informada.
      */
     public boolean existe(String chave) {
-        return prototipos.containsKey(chave.toUpperCase());
+        String chaveNormalizada = normalizarChave(chave);
+        return prototipos.containsKey(chaveNormalizada) || pendentes.containsKey(chaveNormalizada);
+    }
+
+    /**
+     * Retorna a versão atual do protótipo, ou 0 se a chave não existe.
+     */
+    public long getVersao(String chave) {
+        EntradaPrototipo entrada = entrada(normalizarChave(chave));
+        return entrada != null ? entrada.getVersao() : 0;
     }
 
     /**
-     * Retorna todas as chaves de protótipos disponíveis.
+     * Retorna todas as chaves de protótipos disponíveis (cópia imutável).
      */
     public Set<String> getChavesDisponiveis() {
-        return prototipos.keySet();
+        Set<String> chaves = new HashSet<>(prototipos.keySet());
+        chaves.addAll(pendentes.keySet());
+        return Set.copyOf(chaves);
     }
 
     /**
-     * Retorna o número de protótipos registrados.
+     * Retorna o número de protótipos registrados (criados ou sob demanda).
      */
     public int getQuantidadePrototipos() {
-        return prototipos.size();
+        return getChavesDisponiveis().size();
+    }
+
+    /**
+     * Retorna o relatório de inicialização: tempo do construtor e protótipos
+     * já criados sob demanda.
+     */
+    public RelatorioRegistry getRelatorio() {
+        return new RelatorioRegistry(duracaoInicializacaoNanos, registradosNaInicializacao,
+                materializados.get(), pendentes.size(), duracaoMaterializacaoNanos.get());
     }
     /**
      * Remove um protótipo do registro.
      */
     public void remover(String chave) {
-        prototipos.remove(chave.toUpperCase());
+        String chaveNormalizada = normalizarChave(chave);
+        pendentes.remove(chaveNormalizada);
+        prototipos.remove(chaveNormalizada);
+    }
+
+    /**
+     * Retorna a entrada da chave já normalizada, criando o protótipo se ele
+     * foi registrado sob demanda e ainda não existe.
+     *
+     * @throws IllegalStateException se o Supplier criar um protótipo de outra chave
+     */
+    private EntradaPrototipo entrada(String chave) {
+        EntradaPrototipo entrada = prototipos.get(chave);
+        if (entrada != null || !pendentes.containsKey(chave)) {
+            return entrada;
+        }
+        return prototipos.computeIfAbsent(chave, k -> {
+            Supplier<? extends AnuncioPrototype> fabrica = pendentes.get(k);
+            if (fabrica == null) {
+                return null;
+            }
+            long inicio = System.nanoTime();
+            AnuncioPrototype prototipo = fabrica.get();
+            if (!k.equals(normalizarChave(prototipo.getChavePrototipo()))) {
+                throw new IllegalStateException("Protótipo criado para a chave " + k
+                        + " tem a chave " + prototipo.getChavePrototipo());
+            }
+            prototipo.setVersaoPrototipo(1);
+            pendentes.remove(k);
+            materializados.incrementAndGet();
+            duracaoMaterializacaoNanos.addAndGet(System.nanoTime() - inicio);
+            return new EntradaPrototipo(k, 1, prototipo);
+        });
+    }
+
+    /**
+     * Normaliza a chave (sem espaços nas pontas, em maiúsculas).
+     * Chaves já normalizadas (o caso comum) são retornadas sem alocação.
+     */
+    private static String normalizarChave(String chave) {
+        int tamanho = chave.length();
+        if (tamanho == 0 || chave.charAt(0) <= ' ' || chave.charAt(tamanho - 1) <= ' ') {
+            return chave.trim().toUpperCase(Locale.ROOT);
+        }
+        for (int i = 0; i < tamanho; i++) {
+            char c = chave.charAt(i);
+            if (c >= 'a' && c <= 'z' || c > 127) {
+                return chave.toUpperCase(Locale.ROOT);
+            }
+        }
+        return chave;
+    }
+
+    // ============================================================
+    // ENTRADA DO REGISTRY
+    // ============================================================
+
+    /**
+     * Versão publicada de um protótipo: chave, número da versão e protótipo.
+     * Imutável; uma atualização publica uma nova entrada.
+     */
+    public static class EntradaPrototipo {
+
+        private final String chave;
+        private final long versao;
+        private final AnuncioPrototype prototipo;
+
+        // Toda versão publicada passa por aqui: o protótipo é marcado como compartilhado
+        private EntradaPrototipo(String chave, long versao, AnuncioPrototype prototipo) {
+            prototipo.marcarComoPublicado();
+            this.chave = chave;
+            this.versao = versao;
+            this.prototipo = prototipo;
+        }
+
+        public String getChave() {
+            return chave;
+        }
+
+        public long getVersao() {
+            return versao;
+        }
+
+        public AnuncioPrototype getPrototipo() {
+            return prototipo;
+        }
+
+        @Override
+        public String toString() {
+            return chave + " v" + versao;
+        }
+    }
+
+    /**
+     * Relatório de inicialização e de criação sob demanda dos protótipos.
+     */
+    public static class RelatorioRegistry {
+        private final long duracaoInicializacaoNanos;
+        private final int registradosNaInicializacao;
+        private final int materializados;
+        private final int pendentes;
+        private final long duracaoMaterializacaoNanos;
+
+        private RelatorioRegistry(long duracaoInicializacaoNanos, int registradosNaInicializacao,
+                                  int materializados, int pendentes, long duracaoMaterializacaoNanos) {
+            this.duracaoInicializacaoNanos = duracaoInicializacaoNanos;
+            this.registradosNaInicializacao = registradosNaInicializacao;
+            this.materializados = materializados;
+            this.pendentes = pendentes;
+            this.duracaoMaterializacaoNanos = duracaoMaterializacaoNanos;
+        }
+
+        // Tempo gasto no construtor do registry
+        public long getDuracaoInicializacaoNanos() {
+            return duracaoInicializacaoNanos;
+        }
+
+        // Protótipos padrão registrados sob demanda pelo construtor
+        public int getRegistradosNaInicializacao() {
+            return registradosNaInicializacao;
+        }
+
+        // Protótipos sob demanda que já foram criados
+        public int getMaterializados() {
+            return materializados;
+        }
+
+        // Protótipos sob demanda ainda não criados
+        public int getPendentes() {
+            return pendentes;
+        }
+
+        // Tempo total gasto criando protótipos sob demanda
+        public long getDuracaoMaterializacaoNanos() {
+            return duracaoMaterializacaoNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Inicialização em %.2f ms (%d protótipo(s) sob demanda); "
+                            + "%d criado(s) em %.2f ms, %d pendente(s)",
+                    duracaoInicializacaoNanos / 1_000_000.0, registradosNaInicializacao,
+                    materializados, duracaoMaterializacaoNanos / 1_000_000.0, pendentes);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,249 @@
+package model.prototype.prototype_manager;
+
+import model.chain_of_responsibility.Handler;
+import model.factory_method.product.Imovel;
+import model.factory_method.product.concrete_products.Apartamento;
+import model.factory_method.product.concrete_products.SalaComercial;
+import model.prototype.AnuncioPrototype;
+import model.prototype.concrete_prototype.Anuncio;
+import model.repository.RepositorioAnuncios;
+import model.singleton.ConfiguracaoSistema;
+import model.state.AcaoAnuncio;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * PADRÃO: Prototype
+ * PAPEL: Cliente do Prototype Manager (cadastro em lote)
+ * FUNÇÃO: Cadastra muitas unidades de um mesmo empreendimento a partir de um
+ * protótipo: clona, personaliza, modera e salva no repositório
+ *
+ * FUNCIONAMENTO:
+ * - As unidades são lidas do Stream em blocos de tamanho fixo, então a memória
+ *   de trabalho não depende do total de unidades
+ * - Em cada bloco, clonagem, personalização e moderação rodam em paralelo
+ * - A cadeia de moderação (Chain of Responsibility) guarda estado por
+ *   validação, então cada thread monta a sua própria cadeia (Supplier<Handler>)
+ * - Cada cadastro recebe um lote de cadastro (chave e versão do protótipo +
+ *   identificador da execução) gravado em todas as unidades. A detecção de
+ *   duplicidade ignora anúncios do mesmo lote, então unidades já aprovadas em
+ *   blocos anteriores não reprovam as irmãs dos blocos seguintes: o resultado
+ *   não depende do tamanho do bloco. Anúncios de outros cadastros (ou de outra
+ *   versão do protótipo) continuam sendo comparados normalmente
+ * - O bloco é salvo de uma vez e as transições (enviar para moderação,
+ *   aprovar, reprovar) são feitas com RepositorioAnuncios.transicionarEmLote,
+ *   com uma única notificação aos observadores por ação
+ *
+ * INTEGRAÇÃO COM RF07 (Singleton):
+ * - O tamanho do bloco vem do ConfiguracaoSistema (anuncio.cadastro.lote.tamanho)
+ */
+public class CadastroEmLote {
+
+    private final AnuncioPrototypeRegistry registry;
+    private final RepositorioAnuncios repositorio;
+
+    // Cria uma cadeia de moderação nova (uma por thread)
+    private final Supplier<Handler> fabricaModeracao;
+
+    private final int tamanhoBloco;
+
+    // Cria o cadastro com o tamanho de bloco do ConfiguracaoSistema
+    public CadastroEmLote(AnuncioPrototypeRegistry registry, RepositorioAnuncios repositorio,
+                          Supplier<Handler> fabricaModeracao) {
+        this(registry, repositorio, fabricaModeracao,
+                ConfiguracaoSistema.getInstancia().getTamanhoLoteCadastro());
+    }
+
+    public CadastroEmLote(AnuncioPrototypeRegistry registry, RepositorioAnuncios repositorio,
+                          Supplier<Handler> fabricaModeracao, int tamanhoBloco) {
+        this.registry = registry;
+        this.repositorio = repositorio;
+        this.fabricaModeracao = fabricaModeracao;
+        this.tamanhoBloco = Math.max(1, tamanhoBloco);
+    }
+
+    /**
+     * Cadastra uma unidade por elemento do Stream, clonando o protótipo.
+     *
+     * @param chavePrototipo Chave do protótipo no registry
+     * @param personalizacaoComum Dados comuns a todas as unidades (anunciante,
+     *        endereço do prédio, fotos...); aplicada a cada clone, pode ser null
+     * @param unidades Andar, número e preço de cada unidade
+     * @return o relatório do cadastro
+     * @throws IllegalArgumentException se o protótipo não existe
+     */
+    public ResultadoCadastro cadastrar(String chavePrototipo, Consumer<Anuncio> personalizacaoComum,
+                                       Stream<UnidadeLote> unidades) {
+        AnuncioPrototypeRegistry.EntradaPrototipo entrada = registry.obterEntrada(chavePrototipo);
+        if (entrada == null) {
+            throw new IllegalArgumentException("Protótipo não encontrado: " + chavePrototipo);
+        }
+
+        long inicio = System.nanoTime();
+        ResultadoCadastro resultado = new ResultadoCadastro(entrada,
+                entrada.getChave() + "@v" + entrada.getVersao() + "#" + UUID.randomUUID());
+        ThreadLocal<Handler> cadeias = ThreadLocal.withInitial(fabricaModeracao);
+        UnidadeLote[] bloco = new UnidadeLote[tamanhoBloco];
+
+        Iterator<UnidadeLote> iterador = unidades.iterator();
+        while (iterador.hasNext()) {
+            int tamanho = 0;
+            while (tamanho < bloco.length && iterador.hasNext()) {
+                bloco[tamanho++] = iterador.next();
+            }
+            processarBloco(entrada.getPrototipo(), personalizacaoComum, bloco, tamanho, cadeias, resultado);
+            Arrays.fill(bloco, 0, tamanho, null);
+        }
+
+        resultado.duracaoNanos = System.nanoTime() - inicio;
+        return resultado;
+    }
+
+    private void processarBloco(AnuncioPrototype prototipo, Consumer<Anuncio> personalizacaoComum,
+                                UnidadeLote[] bloco, int tamanho, ThreadLocal<Handler> cadeias,
+                                ResultadoCadastro resultado) {
+        Anuncio[] anuncios = new Anuncio[tamanho];
+        String[] motivos = new String[tamanho];
+
+        IntStream.range(0, tamanho).parallel().forEach(i -> {
+            Anuncio anuncio = (Anuncio) prototipo.clonar();
+            anuncio.setLoteCadastro(resultado.loteCadastro);
+            if (personalizacaoComum != null) {
+                personalizacaoComum.accept(anuncio);
+            }
+            personalizar(anuncio, bloco[i]);
+
+            Handler cadeia = cadeias.get();
+            if (!cadeia.processar(anuncio)) {
+                motivos[i] = motivoReprovacao(cadeia);
+            }
+            anuncios[i] = anuncio;
+        });
+
+        List<Anuncio> novos = Arrays.asList(anuncios);
+        List<String> ids = new ArrayList<>(tamanho);
+        List<String> aprovados = new ArrayList<>(tamanho);
+        List<String> reprovados = new ArrayList<>();
+        for (int i = 0; i < tamanho; i++) {
+            String id = anuncios[i].getId();
+            ids.add(id);
+            if (motivos[i] == null) {
+                aprovados.add(id);
+            } else {
+                reprovados.add(id);
+                resultado.reprovados.put(id, motivos[i]);
+            }
+        }
+
+        repositorio.salvarTodos(novos);
+        repositorio.transicionarEmLote(ids, AcaoAnuncio.ENVIAR_PARA_MODERACAO);
+        resultado.aprovados += repositorio.transicionarEmLote(aprovados, AcaoAnuncio.APROVAR).getAplicadas();
+        repositorio.transicionarEmLote(reprovados, AcaoAnuncio.REPROVAR);
+        resultado.total += tamanho;
+        resultado.blocos++;
+    }
+
+    // Aplica ao clone os dados da unidade
+    private static void personalizar(Anuncio anuncio, UnidadeLote unidade) {
+        anuncio.setPreco(unidade.getPreco());
+        anuncio.setTitulo(anuncio.getTitulo() + " - Unidade " + unidade.getNumeroUnidade());
+
+        Imovel imovel = anuncio.getImovelParaAlteracao();
+        if (imovel instanceof Apartamento) {
+            ((Apartamento) imovel).setAndar(unidade.getAndar());
+            ((Apartamento) imovel).setNumeroApartamento(unidade.getNumeroUnidade());
+        } else if (imovel instanceof SalaComercial) {
+            ((SalaComercial) imovel).setAndar(unidade.getAndar());
+        }
+    }
+
+    // Retorna a mensagem do primeiro handler da cadeia que reprovou
+    private static String motivoReprovacao(Handler cadeia) {
+        for (Handler atual = cadeia; atual != null; atual = atual.getProximo()) {
+            if (atual.getMensagemErro() != null) {
+                return atual.getNomeHandler() + ": " + atual.getMensagemErro();
+            }
+        }
+        return "Reprovado na moderação";
+    }
+
+    /**
+     * Relatório de um cadastro em lote.
+     */
+    public static class ResultadoCadastro {
+        private final String chavePrototipo;
+        private final long versaoPrototipo;
+        private final String loteCadastro;
+        private final Map<String, String> reprovados;
+        private int total;
+        private int aprovados;
+        private int blocos;
+        private long duracaoNanos;
+
+        private ResultadoCadastro(AnuncioPrototypeRegistry.EntradaPrototipo entrada, String loteCadastro) {
+            this.chavePrototipo = entrada.getChave();
+            this.versaoPrototipo = entrada.getVersao();
+            this.loteCadastro = loteCadastro;
+            this.reprovados = new LinkedHashMap<>();
+        }
+
+        public String getChavePrototipo() {
+            return chavePrototipo;
+        }
+
+        // Versão do protótipo usada em todas as unidades do cadastro
+        public long getVersaoPrototipo() {
+            return versaoPrototipo;
+        }
+
+        // Lote de cadastro gravado em todas as unidades (Anuncio.getLoteCadastro)
+        public String getLoteCadastro() {
+            return loteCadastro;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getAprovados() {
+            return aprovados;
+        }
+
+        // IDs dos anúncios reprovados, com o handler e o motivo
+        public Map<String, String> getReprovados() {
+            return Collections.unmodifiableMap(reprovados);
+        }
+
+        public int getBlocos() {
+            return blocos;
+        }
+
+        public long getDuracaoNanos() {
+            return duracaoNanos;
+        }
+
+        // Retorna a vazão do cadastro em unidades por segundo
+        public double getUnidadesPorSegundo() {
+            return duracaoNanos > 0 ? total * 1_000_000_000.0 / duracaoNanos : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s v%d: %d unidade(s) em %d bloco(s), %d aprovada(s), %d reprovada(s) "
+                            + "em %.1f ms (%,.0f unidades/s)",
+                    chavePrototipo, versaoPrototipo, total, blocos, aprovados, reprovados.size(),
+                    duracaoNanos / 1_000_000.0, getUnidadesPorSegundo());
+        }
+    }
+}
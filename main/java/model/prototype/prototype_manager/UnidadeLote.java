@@ -0,0 +1,37 @@
+package model.prototype.prototype_manager;
+
+/**
+ * PADRÃO: Prototype
+ * PAPEL: Personalização de um clone no cadastro em lote
+ * FUNÇÃO: Dados que diferenciam uma unidade das demais unidades do mesmo
+ * empreendimento clonadas do mesmo protótipo (andar, número e preço)
+ */
+public class UnidadeLote {
+
+    private final int andar;
+    private final String numeroUnidade;
+    private final double preco;
+
+    public UnidadeLote(int andar, String numeroUnidade, double preco) {
+        this.andar = andar;
+        this.numeroUnidade = numeroUnidade;
+        this.preco = preco;
+    }
+
+    public int getAndar() {
+        return andar;
+    }
+
+    public String getNumeroUnidade() {
+        return numeroUnidade;
+    }
+
+    public double getPreco() {
+        return preco;
+    }
+
+    @Override
+    public String toString() {
+        return "Unidade " + numeroUnidade + " (" + andar + "º andar)";
+    }
+}
@@ -0,0 +1,355 @@
+package model.repository;
+
+import enums.IdentificadorEstado;
+import enums.ResultadoTransicao;
+import model.observer.ObservadorAnuncio;
+import model.observer.RegistroObservadores;
+import model.observer.TransicaoAnuncio;
+import model.prototype.concrete_prototype.Anuncio;
+import model.state.AcaoAnuncio;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * PADRÃO: Repository (suporte ao State e ao Observer)
+ * PAPEL: Armazenamento dos anúncios em memória
+ * FUNÇÃO: Guarda os anúncios por ID, com índices por anunciante e por estado,
+ * e aplica ações de transição a muitos anúncios de uma vez
+ *
+ * OPERAÇÕES EM LOTE:
+ * - transicionarEmLote aplica a mesma AcaoAnuncio a um conjunto de IDs em paralelo
+ * - Cada anúncio passa pela regra do seu estado atual (compare-and-set do Anuncio)
+ * - Nenhum observador é chamado durante o lote; ao final, as transições aplicadas
+ *   são entregues de uma vez (ObservadorAnuncio.notificarLote)
+ * - O índice por estado também é atualizado em uma única passada por lote
+ *
+ * Exemplos: suspender todos os anúncios de um anunciante; suspender os anúncios
+ * ativos criados antes de uma data.
+ *
+ * CICLO DE VIDA:
+ * - O índice por estado acompanha as transições por um observador assinado no
+ *   RegistroObservadores global. O construtor não assina nada: chame iniciar()
+ *   antes de usar o repositório e encerrar() ao descartá-lo, senão o registro
+ *   global mantém o repositório vivo
+ * - Consultas que dependem do índice por estado (getPorEstado e o
+ *   transicionarEmLote por estado) lançam IllegalStateException fora desse ciclo
+ */
+public class RepositorioAnuncios {
+
+    // Anúncios por ID
+    private final Map<String, Anuncio> anuncios;
+
+    // Índice: anunciante -> IDs dos seus anúncios
+    private final Map<String, Set<String>> idsPorAnunciante;
+
+    // Anunciante de cada anúncio no momento em que foi salvo (para reindexar)
+    private final Map<String, String> anunciantePorId;
+
+    // Índice: estado -> IDs dos anúncios naquele estado (preenchido no construtor, só lido depois)
+    private final Map<IdentificadorEstado, Set<String>> idsPorEstado;
+
+    // Mantém o índice por estado em dia com as transições feitas fora do lote
+    private final ObservadorAnuncio observadorIndice;
+
+    // Indica se o observador do índice está assinado (entre iniciar() e encerrar())
+    private final AtomicBoolean iniciado;
+
+    public RepositorioAnuncios() {
+        this.anuncios = new ConcurrentHashMap<>();
+        this.idsPorAnunciante = new ConcurrentHashMap<>();
+        this.anunciantePorId = new ConcurrentHashMap<>();
+        this.idsPorEstado = new EnumMap<>(IdentificadorEstado.class);
+        for (IdentificadorEstado estado : IdentificadorEstado.values()) {
+            idsPorEstado.put(estado, ConcurrentHashMap.newKeySet());
+        }
+        this.observadorIndice = new ObservadorIndiceEstado();
+        this.iniciado = new AtomicBoolean();
+    }
+
+    // Assina o índice por estado no RegistroObservadores (chamadas repetidas não fazem nada)
+    public RepositorioAnuncios iniciar() {
+        if (iniciado.compareAndSet(false, true)) {
+            RegistroObservadores.getInstancia().assinarTodos(observadorIndice);
+        }
+        return this;
+    }
+
+    // Cancela a assinatura do índice no RegistroObservadores
+    public void encerrar() {
+        if (iniciado.compareAndSet(true, false)) {
+            RegistroObservadores.getInstancia().cancelarTodos(observadorIndice);
+        }
+    }
+
+    public boolean isIniciado() {
+        return iniciado.get();
+    }
+
+    // ========================================================================
+    // ARMAZENAMENTO
+    // ========================================================================
+
+    /**
+     * Salva o anúncio e seus índices. Salvar de novo a mesma instância apenas
+     * atualiza os índices.
+     *
+     * @throws IllegalStateException se outro anúncio já está salvo com o mesmo ID
+     */
+    public void salvar(Anuncio anuncio) {
+        String id = anuncio.getId();
+        Anuncio anterior = anuncios.putIfAbsent(id, anuncio);
+        if (anterior != null) {
+            if (anterior != anuncio) {
+                throw new IllegalStateException("Já existe outro anúncio salvo com o ID " + id);
+            }
+            removerDosIndices(anuncio);
+        }
+
+        String anuncianteId = anuncio.getAnuncianteId();
+        if (anuncianteId != null) {
+            anunciantePorId.put(id, anuncianteId);
+            idsPorAnunciante.computeIfAbsent(anuncianteId, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+        idsPorEstado.get(anuncio.getIdentificadorEstado()).add(id);
+    }
+
+    // Salva vários anúncios (para no primeiro ID repetido; os anteriores ficam salvos)
+    public void salvarTodos(Collection<Anuncio> novos) {
+        for (Anuncio anuncio : novos) {
+            salvar(anuncio);
+        }
+    }
+
+    public Anuncio buscar(String id) {
+        return anuncios.get(id);
+    }
+
+    // Remove o anúncio; retorna o anúncio removido ou null
+    public Anuncio remover(String id) {
+        Anuncio removido = anuncios.remove(id);
+        if (removido != null) {
+            removerDosIndices(removido);
+        }
+        return removido;
+    }
+
+    // Retorna os anúncios de um anunciante
+    public List<Anuncio> getPorAnunciante(String anuncianteId) {
+        return resolver(idsPorAnunciante.getOrDefault(anuncianteId, Collections.emptySet()));
+    }
+
+    // Retorna os anúncios que estão no estado informado
+    public List<Anuncio> getPorEstado(IdentificadorEstado estado) {
+        exigirIniciado();
+        List<Anuncio> resultado = new ArrayList<>();
+        for (String id : idsPorEstado.get(estado)) {
+            Anuncio anuncio = anuncios.get(id);
+            // Confere o estado atual: uma transição pode estar sendo indexada agora
+            if (anuncio != null && anuncio.getIdentificadorEstado() == estado) {
+                resultado.add(anuncio);
+            }
+        }
+        return resultado;
+    }
+
+    public List<Anuncio> listar() {
+        return new ArrayList<>(anuncios.values());
+    }
+
+    public int getQuantidade() {
+        return anuncios.size();
+    }
+
+    // ========================================================================
+    // TRANSIÇÕES EM LOTE
+    // ========================================================================
+
+    /**
+     * Aplica a ação a todos os anúncios informados, em paralelo.
+     *
+     * Cada anúncio segue a regra do seu estado atual; ações não permitidas ou
+     * perdidas para uma transição concorrente ficam em getRejeitados(). Os
+     * observadores recebem todas as transições aplicadas em uma única chamada.
+     */
+    public ResultadoLote transicionarEmLote(Collection<String> ids, AcaoAnuncio acao) {
+        long inicio = System.nanoTime();
+        String[] lista = ids.toArray(new String[0]);
+        TransicaoAnuncio[] transicoes = new TransicaoAnuncio[lista.length];
+        ResultadoTransicao[] resultados = new ResultadoTransicao[lista.length];
+
+        IntStream.range(0, lista.length).parallel().forEach(i -> {
+            Anuncio anuncio = anuncios.get(lista[i]);
+            if (anuncio == null) {
+                return;
+            }
+            List<TransicaoAnuncio> coletadas = new ArrayList<>(1);
+            resultados[i] = Anuncio.coletarTransicoes(coletadas, () -> acao.aplicar(anuncio));
+            if (!coletadas.isEmpty()) {
+                transicoes[i] = coletadas.get(0);
+            }
+        });
+
+        ResultadoLote lote = new ResultadoLote(acao);
+        for (int i = 0; i < lista.length; i++) {
+            if (resultados[i] == null) {
+                lote.naoEncontrados.add(lista[i]);
+            } else if (resultados[i] != ResultadoTransicao.APLICADA) {
+                lote.rejeitados.put(lista[i], resultados[i]);
+            } else if (transicoes[i] != null) {
+                lote.transicoes.add(transicoes[i]);
+            }
+        }
+
+        // Uma única entrega aos observadores (o índice por estado é um deles)
+        Anuncio.publicarLote(lote.transicoes);
+
+        lote.duracaoNanos = System.nanoTime() - inicio;
+        return lote;
+    }
+
+    // Aplica a ação aos anúncios do estado informado que satisfazem o filtro
+    public ResultadoLote transicionarEmLote(IdentificadorEstado estado, Predicate<Anuncio> filtro, AcaoAnuncio acao) {
+        List<String> ids = new ArrayList<>();
+        for (Anuncio anuncio : getPorEstado(estado)) {
+            if (filtro.test(anuncio)) {
+                ids.add(anuncio.getId());
+            }
+        }
+        return transicionarEmLote(ids, acao);
+    }
+
+    // Suspende todos os anúncios de um anunciante
+    public ResultadoLote suspenderTodosDoAnunciante(String anuncianteId) {
+        return transicionarEmLote(idsPorAnunciante.getOrDefault(anuncianteId, Collections.emptySet()),
+                AcaoAnuncio.SUSPENDER);
+    }
+
+    // ========================================================================
+    // MÉTODOS AUXILIARES
+    // ========================================================================
+
+    // O índice por estado só acompanha as transições com o observador assinado
+    private void exigirIniciado() {
+        if (!iniciado.get()) {
+            throw new IllegalStateException("RepositorioAnuncios não iniciado: chame iniciar() antes de consultar por estado");
+        }
+    }
+
+    private void atualizarIndiceEstado(List<TransicaoAnuncio> transicoes) {
+        for (TransicaoAnuncio transicao : transicoes) {
+            String id = transicao.getAnuncio().getId();
+            if (anuncios.get(id) == transicao.getAnuncio()) {
+                idsPorEstado.get(transicao.getEstadoAnterior()).remove(id);
+                idsPorEstado.get(transicao.getEstadoNovo()).add(id);
+            }
+        }
+    }
+
+    private void removerDosIndices(Anuncio anuncio) {
+        String id = anuncio.getId();
+        String anuncianteId = anunciantePorId.remove(id);
+        if (anuncianteId != null) {
+            Set<String> ids = idsPorAnunciante.get(anuncianteId);
+            if (ids != null) {
+                ids.remove(id);
+            }
+        }
+        for (Set<String> ids : idsPorEstado.values()) {
+            ids.remove(id);
+        }
+    }
+
+    private List<Anuncio> resolver(Set<String> ids) {
+        List<Anuncio> resultado = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Anuncio anuncio = anuncios.get(id);
+            if (anuncio != null) {
+                resultado.add(anuncio);
+            }
+        }
+        return resultado;
+    }
+
+    // Observador que move o anúncio entre os conjuntos do índice por estado
+    private class ObservadorIndiceEstado implements ObservadorAnuncio {
+
+        @Override
+        public void notificar(Anuncio anuncio, String estadoAnterior, String estadoNovo) {
+            notificar(anuncio, IdentificadorEstado.porDescricao(estadoAnterior),
+                    IdentificadorEstado.porDescricao(estadoNovo));
+        }
+
+        @Override
+        public void notificar(Anuncio anuncio, IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo) {
+            atualizarIndiceEstado(Collections.singletonList(new TransicaoAnuncio(anuncio, estadoAnterior, estadoNovo)));
+        }
+
+        // Um lote inteiro atualiza o índice em uma única passada
+        @Override
+        public void notificarLote(List<TransicaoAnuncio> transicoes) {
+            atualizarIndiceEstado(transicoes);
+        }
+    }
+
+    /**
+     * Resultado de uma transição em lote.
+     */
+    public static class ResultadoLote {
+        private final AcaoAnuncio acao;
+        private final List<TransicaoAnuncio> transicoes;
+        private final Map<String, ResultadoTransicao> rejeitados;
+        private final List<String> naoEncontrados;
+        private long duracaoNanos;
+
+        private ResultadoLote(AcaoAnuncio acao) {
+            this.acao = acao;
+            this.transicoes = new ArrayList<>();
+            this.rejeitados = new LinkedHashMap<>();
+            this.naoEncontrados = new ArrayList<>();
+        }
+
+        public AcaoAnuncio getAcao() {
+            return acao;
+        }
+
+        // Transições aplicadas, na ordem dos IDs informados
+        public List<TransicaoAnuncio> getTransicoes() {
+            return Collections.unmodifiableList(transicoes);
+        }
+
+        public int getAplicadas() {
+            return transicoes.size();
+        }
+
+        // IDs cuja ação não foi aplicada, com o motivo (NAO_PERMITIDA, BLOQUEADA ou CONCORRENTE)
+        public Map<String, ResultadoTransicao> getRejeitados() {
+            return Collections.unmodifiableMap(rejeitados);
+        }
+
+        public List<String> getNaoEncontrados() {
+            return Collections.unmodifiableList(naoEncontrados);
+        }
+
+        public long getDuracaoNanos() {
+            return duracaoNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d aplicada(s), %d rejeitada(s), %d não encontrada(s) em %.1f ms",
+                    acao.getDescricao(), transicoes.size(), rejeitados.size(), naoEncontrados.size(),
+                    duracaoNanos / 1_000_000.0);
+        }
+    }
+}
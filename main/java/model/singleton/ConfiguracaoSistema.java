@@ -1,10 +1,28 @@
 package model.singleton;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -16,26 +34,54 @@ import java.util.stream.Collectors;
  * - Carrega configurações de um arquivo config.properties
  * - Fornece acesso global às configurações do sistema
  * - Configurações incluem: taxas, limites, termos proibidos, URLs de serviços
+ *
+ * RECARGA A QUENTE:
+ * - As propriedades ficam em um snapshot imutável e versionado, publicado
+ *   atomicamente (campo volatile); leitores nunca bloqueiam
+ * - iniciarMonitoramento() observa o arquivo com um WatchService e publica
+ *   um novo snapshot a cada alteração
+ * - Eventos do WatchService chegam no meio da escrita: a recarga só acontece
+ *   depois de INTERVALO_ESTABILIZACAO_MS sem novos eventos, e uma leitura em
+ *   que o arquivo mudou de tamanho/data, ficou vazio ou perdeu chaves da
+ *   versão atual é descartada (remover uma chave exige reiniciar o sistema)
+ * - Os handlers de moderação comparam getVersao() a cada execução e recarregam
+ *   seus valores quando a versão muda
+ * - Estruturas caras (ex.: padrões compilados) são reconstruídas por
+ *   OuvinteConfiguracao, na thread de monitoramento, fora do caminho crítico
  */
 public class ConfiguracaoSistema {
 
     // Nome do arquivo de configuração
     private static final String ARQUIVO_CONFIG = "config.properties";
 
-    // Propriedades carregadas do arquivo
-    private final Properties propriedades;
+    // Tempo sem eventos do WatchService antes de reler o arquivo
+    private static final long INTERVALO_ESTABILIZACAO_MS = 250;
+
+    // Prefixo das propriedades que definem regras de padrão da moderação
+    private static final String PREFIXO_REGRA_MODERACAO = "moderacao.regra.";
+
+    // Snapshot atual das propriedades (substituído por inteiro a cada recarga)
+    private volatile SnapshotConfiguracao snapshot;
 
     // Indica se as configurações foram carregadas com sucesso
     private final boolean carregadoComSucesso;
 
+    // Interessados em saber quando um novo snapshot é publicado
+    private final List<WeakReference<OuvinteConfiguracao>> ouvintes;
+
+    // Thread que observa o arquivo de configuração (null se não iniciada)
+    private Thread monitor;
+
     /**
      * Construtor PRIVADO - Impede que outras classes criem instâncias diretamente
      *
      * Carrega as configurações do arquivo config.properties na inicialização
      */
     private ConfiguracaoSistema() {
-        this.propriedades = new Properties();
-        this.carregadoComSucesso = carregarPropriedades();
+        Properties propriedades = new Properties();
+        this.carregadoComSucesso = carregarPropriedades(propriedades);
+        this.snapshot = new SnapshotConfiguracao(propriedades, 1);
+        this.ouvintes = new CopyOnWriteArrayList<>();
     }
 
     // Classe interna estática (Holder) para implementação thread-safe
@@ -51,17 +97,33 @@ public class ConfiguracaoSistema {
         return SingletonHolder.INSTANCIA;
     }
 
-    // Carrega as propriedades do arquivo de configuração
-    private boolean carregarPropriedades() {
-        try (InputStream input = getClass().getClassLoader().getResourceAsStream(ARQUIVO_CONFIG)) {
+    // Carrega as propriedades do arquivo de configuração (o mesmo lido nas recargas)
+    private boolean carregarPropriedades(Properties propriedades) {
+        if (lerPropriedades(propriedades) && !propriedades.isEmpty()) {
+            return true;
+        }
+        propriedades.clear();
+        return carregarPropriedadesPadrao(propriedades);
+    }
+
+    /**
+     * Lê o arquivo de configuração: o indicado por localizarArquivo() ou,
+     * se não houver, o config.properties do classpath.
+     *
+     * @return false se o arquivo não existe, não pôde ser lido ou está malformado
+     */
+    private boolean lerPropriedades(Properties propriedades) {
+        Path arquivo = localizarArquivo();
+        try (InputStream input = arquivo != null
+                ? lerArquivoEstavel(arquivo)
+                : getClass().getClassLoader().getResourceAsStream(ARQUIVO_CONFIG)) {
             if (input == null) {
-                // Tenta carregar de caminho alternativo
-                return carregarPropriedadesPadrao();
+                return false;
             }
             propriedades.load(input);
             return true;
-        } catch (IOException e) {
-            return carregarPropriedadesPadrao();
+        } catch (IOException | IllegalArgumentException e) {
+            return false;
         }
     }
 
@@ -70,7 +132,7 @@ public class ConfiguracaoSistema {
      *
      * Garante que o sistema funcione mesmo sem o arquivo de configuração
      */
-    private boolean carregarPropriedadesPadrao() {
+    private boolean carregarPropriedadesPadrao(Properties propriedades) {
         // Configurações gerais
         propriedades.setProperty("sistema.nome", "MyHome");
         propriedades.setProperty("sistema.versao", "1.0.0");
@@ -81,12 +143,24 @@ public class ConfiguracaoSistema {
         propriedades.setProperty("anuncio.descricao.tamanho.maximo", "5000");
         propriedades.setProperty("anuncio.titulo.tamanho.minimo", "10");
         propriedades.setProperty("anuncio.titulo.tamanho.maximo", "100");
+        propriedades.setProperty("anuncio.fotos.cache.ttl.segundos", "600");
+        propriedades.setProperty("anuncio.fotos.cache.maximo", "50000");
+        propriedades.setProperty("anuncio.fotos.verificacao.timeout", "3000");
+        propriedades.setProperty("anuncio.fotos.tamanho.maximo.bytes", "10485760");
+        propriedades.setProperty("anuncio.expiracao.dias", "90");
+        propriedades.setProperty("anuncio.expiracao.lembrete.dias", "7");
+        propriedades.setProperty("anuncio.agendamento.tick.ms", "1000");
+        propriedades.setProperty("anuncio.agendamento.arquivo", "dados/agendamento.bin");
+        propriedades.setProperty("anuncio.cadastro.lote.tamanho", "1000");
 
         // Configurações de preços
         propriedades.setProperty("preco.minimo.venda", "10000");
         propriedades.setProperty("preco.minimo.aluguel", "100");
         propriedades.setProperty("preco.minimo.temporada", "50");
         propriedades.setProperty("preco.maximo", "500000000");
+        propriedades.setProperty("preco.anomalia.desvios", "3.0");
+        propriedades.setProperty("preco.anomalia.amostras.minimas", "30");
+        propriedades.setProperty("preco.anomalia.segmentos.maximo", "10000");
 
         // Taxas e comissões
         propriedades.setProperty("comissao.venda.percentual", "6.0");
@@ -96,16 +170,57 @@ public class ConfiguracaoSistema {
         // Termos proibidos
         propriedades.setProperty("moderacao.termos.proibidos",
                 "golpe,fraude,enganação,spam,grátis,urgente venda");
+        propriedades.setProperty("moderacao.duplicidade.limiar", "0.8");
+
+        // Regras de padrão (expressões regulares)
+        propriedades.setProperty("moderacao.regra.email", "[\\w.+-]+@[\\w-]+\\.[\\w.]+");
+        propriedades.setProperty("moderacao.regra.telefone", "\\(?\\d{2}\\)?\\s?9?\\d{4}[-\\s]?\\d{4}");
+        propriedades.setProperty("moderacao.regra.termo_ofuscado",
+                "g[o0]lp[e3]|fr[a4@]ud[e3]|sp[a4@]m");
+        propriedades.setProperty("moderacao.regra.whatsapp", "wa\\.me/|whatsapp\\.com|chat\\.whatsapp");
 
         // URLs de serviços
         propriedades.setProperty("servico.email.url", "https://api.myhome.com/email");
         propriedades.setProperty("servico.sms.url", "https://api.myhome.com/sms");
         propriedades.setProperty("servico.telegram.url", "https://api.telegram.org/bot");
+        propriedades.setProperty("servico.telegram.requisicoes.simultaneas", "32");
+        propriedades.setProperty("servico.telegram.intervalo.chat.ms", "1000");
+        propriedades.setProperty("servico.telegram.mensagens.por.segundo", "30");
         propriedades.setProperty("servico.whatsapp.url", "https://api.myhome.com/whatsapp");
 
         // Notificação
         propriedades.setProperty("notificacao.canal.padrao", "EMAIL");
         propriedades.setProperty("notificacao.timeout", "5000");
+        propriedades.setProperty("notificacao.taxa.email.por.segundo", "50");
+        propriedades.setProperty("notificacao.taxa.email.rajada", "100");
+        propriedades.setProperty("notificacao.taxa.email.destino.por.minuto", "30");
+        propriedades.setProperty("notificacao.taxa.sms.por.segundo", "10");
+        propriedades.setProperty("notificacao.taxa.sms.rajada", "20");
+        propriedades.setProperty("notificacao.taxa.sms.destino.por.minuto", "6");
+        propriedades.setProperty("notificacao.taxa.telegram.por.segundo", "30");
+        propriedades.setProperty("notificacao.taxa.telegram.rajada", "30");
+        propriedades.setProperty("notificacao.taxa.telegram.destino.por.minuto", "20");
+        propriedades.setProperty("notificacao.taxa.whatsapp.por.segundo", "20");
+        propriedades.setProperty("notificacao.taxa.whatsapp.rajada", "40");
+        propriedades.setProperty("notificacao.taxa.whatsapp.destino.por.minuto", "10");
+        propriedades.setProperty("notificacao.roteamento.modo", "FAILOVER");
+        propriedades.setProperty("notificacao.preferencias.cache.ttl.segundos", "300");
+        propriedades.setProperty("notificacao.agregacao.janela.ms", "30000");
+        propriedades.setProperty("notificacao.outbox.diretorio", "outbox");
+        propriedades.setProperty("notificacao.outbox.trabalhadores", "2");
+        propriedades.setProperty("notificacao.outbox.tentativas.maximo", "8");
+        propriedades.setProperty("notificacao.outbox.backoff.inicial.ms", "1000");
+        propriedades.setProperty("notificacao.outbox.backoff.maximo.ms", "300000");
+        propriedades.setProperty("notificacao.outbox.disjuntor.falhas", "5");
+        propriedades.setProperty("notificacao.outbox.disjuntor.pausa.ms", "30000");
+        propriedades.setProperty("observador.assincrono.particoes", "8");
+        propriedades.setProperty("observador.assincrono.capacidade", "1024");
+        propriedades.setProperty("observador.assincrono.politica", "DESCARTAR_MAIS_ANTIGA");
+        propriedades.setProperty("log.transicoes.capacidade", "10000");
+        propriedades.setProperty("historico.diretorio", "historico");
+        propriedades.setProperty("historico.snapshot.intervalo", "32");
+        propriedades.setProperty("historico.descarga.ms", "1000");
+        propriedades.setProperty("historico.ociosidade.ms", "600000");
 
         // Busca
         propriedades.setProperty("busca.resultados.por.pagina", "20");
@@ -122,12 +237,12 @@ public class ConfiguracaoSistema {
 
     // Retorna o nome do sistema
     public String getNomeSistema() {
-        return propriedades.getProperty("sistema.nome", "MyHome");
+        return propriedades().getProperty("sistema.nome", "MyHome");
     }
 
     // Retorna a versão do sistema
     public String getVersaoSistema() {
-        return propriedades.getProperty("sistema.versao", "1.0.0");
+        return propriedades().getProperty("sistema.versao", "1.0.0");
     }
 
     // --- Configurações de Anúncios ---
@@ -157,6 +272,51 @@ public class ConfiguracaoSistema {
         return getIntProperty("anuncio.titulo.tamanho.maximo", 100);
     }
 
+    // Retorna por quanto tempo (em segundos) a verificação de uma foto fica em cache
+    public int getTtlCacheFotosSegundos() {
+        return getIntProperty("anuncio.fotos.cache.ttl.segundos", 600);
+    }
+
+    // Retorna quantas URLs de fotos o cache de verificação guarda no máximo
+    public int getTamanhoMaximoCacheFotos() {
+        return getIntProperty("anuncio.fotos.cache.maximo", 50000);
+    }
+
+    // Retorna o timeout para verificar as fotos de um anúncio (em ms)
+    public int getTimeoutVerificacaoFotos() {
+        return getIntProperty("anuncio.fotos.verificacao.timeout", 3000);
+    }
+
+    // Retorna o tamanho máximo (em bytes) baixado de cada foto para calcular o hash
+    public int getTamanhoMaximoFotoBytes() {
+        return getIntProperty("anuncio.fotos.tamanho.maximo.bytes", 10485760);
+    }
+
+    // Retorna quantos dias um anúncio Ativo sem alterações fica publicado antes de ser suspenso
+    public int getDiasExpiracaoAnuncio() {
+        return getIntProperty("anuncio.expiracao.dias", 90);
+    }
+
+    // Retorna com quantos dias de antecedência o anunciante é lembrado da expiração (0 = sem lembrete)
+    public int getDiasLembreteExpiracao() {
+        return getIntProperty("anuncio.expiracao.lembrete.dias", 7);
+    }
+
+    // Retorna a resolução (ms) do agendador de prazos dos anúncios
+    public int getTickAgendamentoMs() {
+        return getIntProperty("anuncio.agendamento.tick.ms", 1000);
+    }
+
+    // Retorna o arquivo onde os prazos agendados são gravados entre execuções
+    public String getArquivoAgendamento() {
+        return propriedades().getProperty("anuncio.agendamento.arquivo", "dados/agendamento.bin");
+    }
+
+    // Retorna quantas unidades o cadastro em lote processa por vez
+    public int getTamanhoLoteCadastro() {
+        return getIntProperty("anuncio.cadastro.lote.tamanho", 1000);
+    }
+
     // --- Configurações de Preços ---
 
     // Retorna o preço mínimo para venda
@@ -179,6 +339,21 @@ public class ConfiguracaoSistema {
         return getDoubleProperty("preco.maximo", 500000000.0);
     }
 
+    // Retorna quantos desvios padrão o preço por m² pode se afastar da média do segmento
+    public double getLimiteDesviosPreco() {
+        return getDoubleProperty("preco.anomalia.desvios", 3.0);
+    }
+
+    // Retorna o mínimo de amostras de um segmento para avaliar anomalias de preço
+    public int getAmostrasMinimasPreco() {
+        return getIntProperty("preco.anomalia.amostras.minimas", 30);
+    }
+
+    // Retorna o número máximo de segmentos de estatísticas de preço mantidos
+    public int getLimiteSegmentosPreco() {
+        return getIntProperty("preco.anomalia.segmentos.maximo", 10000);
+    }
+
     // --- Taxas e Comissões ---
 
     // Retorna a taxa de comissão para venda (em percentual)
@@ -203,40 +378,82 @@ public class ConfiguracaoSistema {
      * Usada pelo TermosProibidosHandler no Chain of Responsibility (RF03)
      */
     public List<String> getTermosProibidos() {
-        String termos = propriedades.getProperty("moderacao.termos.proibidos", "");
+        String termos = propriedades().getProperty("moderacao.termos.proibidos", "");
         return Arrays.stream(termos.split(","))
                 .map(String::trim)
                 .filter(s -> !s.isEmpty())
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Retorna as regras de padrão (nome -> expressão regular) para moderação,
+     * ordenadas pelo nome da regra
+     * Usadas pelo RegrasModeracaoHandler no Chain of Responsibility (RF03)
+     */
+    public Map<String, String> getRegrasModeracao() {
+        Properties atual = propriedades();
+        Map<String, String> regras = new TreeMap<>();
+        for (String chave : atual.stringPropertyNames()) {
+            if (chave.startsWith(PREFIXO_REGRA_MODERACAO)) {
+                String expressao = atual.getProperty(chave).trim();
+                if (!expressao.isEmpty()) {
+                    regras.put(chave.substring(PREFIXO_REGRA_MODERACAO.length()), expressao);
+                }
+            }
+        }
+        return regras;
+    }
+
+    /**
+     * Retorna a similaridade mínima (0 a 1) para considerar um anúncio duplicado
+     * Usada pelo DuplicidadeHandler no Chain of Responsibility (RF03)
+     */
+    public double getLimiarDuplicidade() {
+        return getDoubleProperty("moderacao.duplicidade.limiar", 0.8);
+    }
+
     // --- URLs de Serviços Externos ---
 
     // Retorna a URL do serviço de email
     public String getUrlServicoEmail() {
-        return propriedades.getProperty("servico.email.url", "");
+        return propriedades().getProperty("servico.email.url", "");
     }
 
     // Retorna a URL do serviço de SMS
     public String getUrlServicoSMS() {
-        return propriedades.getProperty("servico.sms.url", "");
+        return propriedades().getProperty("servico.sms.url", "");
     }
 
     // Retorna a URL da API do Telegram
     public String getUrlServicoTelegram() {
-        return propriedades.getProperty("servico.telegram.url", "");
+        return propriedades().getProperty("servico.telegram.url", "");
+    }
+
+    // Retorna quantas requisições ao Telegram podem estar em andamento ao mesmo tempo
+    public int getRequisicoesSimultaneasTelegram() {
+        return getIntProperty("servico.telegram.requisicoes.simultaneas", 32);
+    }
+
+    // Retorna o intervalo mínimo (ms) entre mensagens para um mesmo chat do Telegram
+    public int getIntervaloChatTelegram() {
+        return getIntProperty("servico.telegram.intervalo.chat.ms", 1000);
+    }
+
+    // Retorna o limite global de mensagens por segundo do bot do Telegram
+    public int getMensagensPorSegundoTelegram() {
+        return getIntProperty("servico.telegram.mensagens.por.segundo", 30);
     }
 
     // Retorna a URL da API do WhatsApp
     public String getUrlServicoWhatsApp() {
-        return propriedades.getProperty("servico.whatsapp.url", "");
+        return propriedades().getProperty("servico.whatsapp.url", "");
     }
 
     // --- Configurações de Notificação ---
 
     // Retorna o canal de notificação padrão
     public String getCanalNotificacaoPadrao() {
-        return propriedades.getProperty("notificacao.canal.padrao", "EMAIL");
+        return propriedades().getProperty("notificacao.canal.padrao", "EMAIL");
     }
 
     // Retorna o timeout para envio de notificação (em ms)
@@ -244,6 +461,119 @@ public class ConfiguracaoSistema {
         return getIntProperty("notificacao.timeout", 5000);
     }
 
+    // --- Limites de Envio por Canal ---
+    // Chaves: notificacao.taxa.<canal>.* com o canal em minúsculas (email, sms, telegram, whatsapp)
+
+    // Retorna quantas mensagens por segundo o canal aceita
+    public int getTaxaPorSegundoCanal(String canal) {
+        return getIntProperty("notificacao.taxa." + canal.toLowerCase() + ".por.segundo", 10);
+    }
+
+    // Retorna quantas mensagens o canal aceita em rajada, sem espera
+    public int getRajadaCanal(String canal) {
+        return getIntProperty("notificacao.taxa." + canal.toLowerCase() + ".rajada", 10);
+    }
+
+    // Retorna quantas mensagens por minuto um mesmo destinatário pode receber pelo canal
+    public int getTaxaPorMinutoDestino(String canal) {
+        return getIntProperty("notificacao.taxa." + canal.toLowerCase() + ".destino.por.minuto", 10);
+    }
+
+    // Retorna o modo de roteamento entre os canais do anunciante (FAILOVER ou FAN_OUT)
+    public String getModoRoteamentoNotificacoes() {
+        return propriedades().getProperty("notificacao.roteamento.modo", "FAILOVER");
+    }
+
+    // Retorna por quanto tempo (segundos) as preferências de canal ficam em cache
+    public int getTtlCachePreferenciasSegundos() {
+        return getIntProperty("notificacao.preferencias.cache.ttl.segundos", 300);
+    }
+
+    // Retorna a janela (ms) em que as notificações de um anunciante são agregadas
+    public int getJanelaAgregacaoNotificacoes() {
+        return getIntProperty("notificacao.agregacao.janela.ms", 30000);
+    }
+
+    // --- Outbox de Notificações ---
+
+    // Retorna o diretório onde a outbox grava as notificações pendentes
+    public String getDiretorioOutbox() {
+        return propriedades().getProperty("notificacao.outbox.diretorio", "outbox");
+    }
+
+    // Retorna quantos trabalhadores entregam as notificações de cada canal
+    public int getTrabalhadoresOutbox() {
+        return getIntProperty("notificacao.outbox.trabalhadores", 2);
+    }
+
+    // Retorna o número de tentativas antes de mover a notificação para a fila morta
+    public int getTentativasMaximasOutbox() {
+        return getIntProperty("notificacao.outbox.tentativas.maximo", 8);
+    }
+
+    // Retorna a espera (ms) antes da segunda tentativa; dobra a cada falha
+    public int getBackoffInicialOutbox() {
+        return getIntProperty("notificacao.outbox.backoff.inicial.ms", 1000);
+    }
+
+    // Retorna a espera máxima (ms) entre tentativas
+    public int getBackoffMaximoOutbox() {
+        return getIntProperty("notificacao.outbox.backoff.maximo.ms", 300000);
+    }
+
+    // Retorna quantas falhas consecutivas abrem o disjuntor de um canal
+    public int getFalhasDisjuntorOutbox() {
+        return getIntProperty("notificacao.outbox.disjuntor.falhas", 5);
+    }
+
+    // Retorna quanto tempo (ms) o disjuntor fica aberto antes de testar o canal de novo
+    public int getPausaDisjuntorOutbox() {
+        return getIntProperty("notificacao.outbox.disjuntor.pausa.ms", 30000);
+    }
+
+    // Retorna o número de partições (filas) de um ObservadorAssincrono
+    public int getParticoesObservadorAssincrono() {
+        return getIntProperty("observador.assincrono.particoes", 8);
+    }
+
+    // Retorna a capacidade de cada fila de um ObservadorAssincrono
+    public int getCapacidadeFilaObservadorAssincrono() {
+        return getIntProperty("observador.assincrono.capacidade", 1024);
+    }
+
+    /**
+     * Retorna a política usada quando a fila de um ObservadorAssincrono está cheia
+     * (BLOQUEAR, DESCARTAR_NOVA, DESCARTAR_MAIS_ANTIGA ou EXECUTAR_NO_CHAMADOR)
+     */
+    public String getPoliticaTransbordoObservador() {
+        return propriedades().getProperty("observador.assincrono.politica", "DESCARTAR_MAIS_ANTIGA");
+    }
+
+    // Retorna quantas transições o LogObserver mantém em memória
+    public int getCapacidadeLogTransicoes() {
+        return getIntProperty("log.transicoes.capacidade", 10000);
+    }
+
+    // Retorna o diretório onde o histórico dos anúncios é gravado
+    public String getDiretorioHistorico() {
+        return propriedades().getProperty("historico.diretorio", "historico");
+    }
+
+    // Retorna a cada quantos eventos o histórico guarda um snapshot do anúncio
+    public int getIntervaloSnapshotHistorico() {
+        return getIntProperty("historico.snapshot.intervalo", 32);
+    }
+
+    // Retorna o intervalo (ms) entre as gravações dos eventos do histórico em disco
+    public int getIntervaloDescargaHistorico() {
+        return getIntProperty("historico.descarga.ms", 1000);
+    }
+
+    // Retorna após quanto tempo (ms) sem uso o histórico de um anúncio sai da memória
+    public int getOciosidadeHistorico() {
+        return getIntProperty("historico.ociosidade.ms", 600000);
+    }
+
     // --- Configurações de Busca ---
 
     // Retorna o número de resultados por página na busca
@@ -256,14 +586,198 @@ public class ConfiguracaoSistema {
         return getIntProperty("busca.resultados.maximo", 1000);
     }
 
+    // ========================================================================
+    // RECARGA A QUENTE
+    // ========================================================================
+
+    // Retorna a versão do snapshot atual (incrementada a cada recarga)
+    public long getVersao() {
+        return snapshot.versao;
+    }
+
+    /**
+     * Registra um interessado em recargas da configuração.
+     *
+     * O ouvinte é mantido por referência fraca: deixa de ser notificado
+     * quando não é mais referenciado em nenhum outro lugar.
+     */
+    public void adicionarOuvinte(OuvinteConfiguracao ouvinte) {
+        ouvintes.add(new WeakReference<>(ouvinte));
+    }
+
+    // Remove um interessado em recargas da configuração
+    public void removerOuvinte(OuvinteConfiguracao ouvinte) {
+        ouvintes.removeIf(ref -> ref.get() == null || ref.get() == ouvinte);
+    }
+
+    /**
+     * Relê o arquivo de configuração e publica um novo snapshot.
+     *
+     * O snapshot atual é mantido se o arquivo não puder ser lido, se mudar
+     * durante a leitura, se estiver malformado ou vazio. Chaves removidas do
+     * arquivo deixam de valer (os getters voltam ao valor padrão).
+     *
+     * @return true se um novo snapshot foi publicado
+     */
+    public synchronized boolean recarregar() {
+        Properties propriedades = new Properties();
+        if (!lerPropriedades(propriedades) || propriedades.isEmpty()) {
+            System.out.println("[Config] Recarga ignorada: arquivo ilegível ou vazio");
+            return false;
+        }
+
+        SnapshotConfiguracao novo = new SnapshotConfiguracao(propriedades, snapshot.versao + 1);
+        this.snapshot = novo;
+        notificarOuvintes(novo.versao);
+        return true;
+    }
+
+    /**
+     * Lê o arquivo inteiro e confirma que tamanho e data de modificação não
+     * mudaram durante a leitura.
+     *
+     * @return o conteúdo lido, ou null se o arquivo ainda está sendo escrito
+     */
+    private InputStream lerArquivoEstavel(Path arquivo) throws IOException {
+        long tamanho = Files.size(arquivo);
+        FileTime modificacao = Files.getLastModifiedTime(arquivo);
+        byte[] conteudo = Files.readAllBytes(arquivo);
+
+        if (conteudo.length != tamanho
+                || Files.size(arquivo) != tamanho
+                || !Files.getLastModifiedTime(arquivo).equals(modificacao)) {
+            return null;
+        }
+        return new ByteArrayInputStream(conteudo);
+    }
+
+    /**
+     * Inicia uma thread daemon que observa o arquivo de configuração com um
+     * WatchService e chama recarregar() quando o arquivo para de mudar.
+     *
+     * @return true se o monitoramento está ativo
+     */
+    public synchronized boolean iniciarMonitoramento() {
+        if (monitor != null) {
+            return true;
+        }
+
+        Path arquivo = localizarArquivo();
+        if (arquivo == null) {
+            return false;
+        }
+
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            arquivo.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            return false;
+        }
+
+        monitor = new Thread(() -> monitorar(watchService, arquivo.getFileName()), "config-monitor");
+        monitor.setDaemon(true);
+        monitor.start();
+        return true;
+    }
+
+    // Laço da thread de monitoramento
+    private void monitorar(WatchService watchService, Path nomeArquivo) {
+        try (watchService) {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!consumirEventos(watchService.take(), nomeArquivo)) {
+                    continue;
+                }
+
+                // Espera o arquivo parar de mudar antes de reler
+                WatchKey chave;
+                while ((chave = watchService.poll(INTERVALO_ESTABILIZACAO_MS, TimeUnit.MILLISECONDS)) != null) {
+                    consumirEventos(chave, nomeArquivo);
+                }
+
+                recarregar();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Encerrar o WatchService não deve derrubar a aplicação
+        }
+    }
+
+    // Consome os eventos da chave e indica se algum se refere ao arquivo
+    private static boolean consumirEventos(WatchKey chave, Path nomeArquivo) {
+        boolean alterado = false;
+        for (WatchEvent<?> evento : chave.pollEvents()) {
+            if (nomeArquivo.equals(evento.context())) {
+                alterado = true;
+            }
+        }
+        chave.reset();
+        return alterado;
+    }
+
+    // Encerra o monitoramento do arquivo de configuração
+    public synchronized void pararMonitoramento() {
+        if (monitor != null) {
+            monitor.interrupt();
+            monitor = null;
+        }
+    }
+
+    // Avisa os ouvintes registrados, descartando os que já foram coletados
+    private void notificarOuvintes(long versao) {
+        for (WeakReference<OuvinteConfiguracao> ref : ouvintes) {
+            OuvinteConfiguracao ouvinte = ref.get();
+            if (ouvinte == null) {
+                ouvintes.remove(ref);
+            } else {
+                try {
+                    ouvinte.configuracaoAtualizada(versao);
+                } catch (RuntimeException e) {
+                    // Um ouvinte com problema não impede os demais de serem avisados
+                }
+            }
+        }
+    }
+
+    /**
+     * Localiza o arquivo de configuração no sistema de arquivos.
+     *
+     * Usa a propriedade de sistema "myhome.config" ou, se o config.properties
+     * do classpath estiver em um diretório, o próprio arquivo.
+     */
+    private Path localizarArquivo() {
+        String caminho = System.getProperty("myhome.config");
+        if (caminho != null) {
+            return Paths.get(caminho).toAbsolutePath();
+        }
+
+        URL url = getClass().getClassLoader().getResource(ARQUIVO_CONFIG);
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
     // ========================================================================
     // MÉTODOS AUXILIARES
     // ========================================================================
 
+    // Retorna as propriedades do snapshot atual
+    private Properties propriedades() {
+        return snapshot.propriedades;
+    }
+
     // Obtém uma propriedade como inteiro
     private int getIntProperty(String chave, int valorPadrao) {
         try {
-            return Integer.parseInt(propriedades.getProperty(chave, String.valueOf(valorPadrao)));
+            return Integer.parseInt(propriedades().getProperty(chave, String.valueOf(valorPadrao)));
         } catch (NumberFormatException e) {
             return valorPadrao;
         }
@@ -272,7 +786,7 @@ public class ConfiguracaoSistema {
     // Obtém uma propriedade como double
     private double getDoubleProperty(String chave, double valorPadrao) {
         try {
-            return Double.parseDouble(propriedades.getProperty(chave, String.valueOf(valorPadrao)));
+            return Double.parseDouble(propriedades().getProperty(chave, String.valueOf(valorPadrao)));
         } catch (NumberFormatException e) {
             return valorPadrao;
         }
@@ -283,7 +797,7 @@ public class ConfiguracaoSistema {
      * Útil para acessar propriedades não mapeadas por métodos específicos
      */
     public String getPropriedade(String chave, String valorPadrao) {
-        return propriedades.getProperty(chave, valorPadrao);
+        return propriedades().getProperty(chave, valorPadrao);
     }
 
     // Verifica se as configurações foram carregadas com sucesso
@@ -320,6 +834,7 @@ public class ConfiguracaoSistema {
 
         sb.append("\n[Moderação]\n");
         sb.append("  Termos proibidos: ").append(getTermosProibidos().size()).append(" termo(s)\n");
+        sb.append("  Regras de padrão: ").append(getRegrasModeracao().size()).append(" regra(s)\n");
 
         sb.append("\n[Notificação]\n");
         sb.append("  Canal padrão: ").append(getCanalNotificacaoPadrao()).append("\n");
@@ -327,4 +842,15 @@ public class ConfiguracaoSistema {
         sb.append("─".repeat(60));
         return sb.toString();
     }
+
+    // Conjunto imutável de propriedades e sua versão
+    private static class SnapshotConfiguracao {
+        private final Properties propriedades;
+        private final long versao;
+
+        private SnapshotConfiguracao(Properties propriedades, long versao) {
+            this.propriedades = propriedades;
+            this.versao = versao;
+        }
+    }
 }
\ No newline at end of file
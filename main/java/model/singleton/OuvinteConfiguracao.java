@@ -0,0 +1,13 @@
+package model.singleton;
+
+/**
+ * Interessado em recargas do ConfiguracaoSistema.
+ *
+ * Chamado na thread que publicou o novo snapshot (normalmente a thread de
+ * monitoramento do arquivo), nunca no caminho crítico de quem lê a configuração.
+ */
+public interface OuvinteConfiguracao {
+
+    // Chamado após a publicação de um novo snapshot de configuração
+    void configuracaoAtualizada(long versao);
+}
@@ -0,0 +1,44 @@
+package model.state;
+
+import enums.ResultadoTransicao;
+import model.prototype.concrete_prototype.Anuncio;
+
+/**
+ * PADRÃO: State
+ * PAPEL: Ação do Context como objeto
+ * FUNÇÃO: Representa as ações de transição do Anuncio como valores, para que
+ * uma mesma ação possa ser aplicada a vários anúncios (operações em lote)
+ *
+ * As transições válidas de cada ação estão na TabelaTransicoes: aplicar()
+ * apenas chama o método correspondente do Anuncio.
+ */
+public enum AcaoAnuncio {
+    ENVIAR_PARA_MODERACAO("Enviar para moderação"),
+    APROVAR("Aprovar"),
+    REPROVAR("Reprovar"),
+    VENDER("Vender"),
+    SUSPENDER("Suspender"),
+    VOLTAR_PARA_RASCUNHO("Voltar para rascunho");
+
+    private final String descricao;
+
+    AcaoAnuncio(String descricao) {
+        this.descricao = descricao;
+    }
+
+    // Aplica a ação ao anúncio, respeitando as regras do estado atual
+    public ResultadoTransicao aplicar(Anuncio anuncio) {
+        switch (this) {
+            case ENVIAR_PARA_MODERACAO: return anuncio.enviarParaModeracao();
+            case APROVAR: return anuncio.aprovar();
+            case REPROVAR: return anuncio.reprovar();
+            case VENDER: return anuncio.vender();
+            case SUSPENDER: return anuncio.suspender();
+            default: return anuncio.voltarParaRascunho();
+        }
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+}
@@ -1,5 +1,7 @@
 package model.state;
 
+import enums.IdentificadorEstado;
+import enums.ResultadoTransicao;
 import model.prototype.concrete_prototype.Anuncio;
 
 /**
@@ -8,54 +10,73 @@ import model.prototype.concrete_prototype.Anuncio;
  * FUNÇÃO: Define a interface para encapsular o comportamento associado
  * a um estado particular do Context (Anuncio).
  *
- * Fluxo de estados:
- * 1. Rascunho -> Pendente de Moderação (enviarParaModeracao)
- * 2. Pendente -> Ativo (aprovar) ou Suspenso (reprovar)
- * 3. Ativo -> Vendido (vender) ou Suspenso (suspender)
- * 4. Suspenso -> Rascunho (voltarParaRascunho)
- * 5. Vendido -> Estado final (sem transições)
+ * Fluxo de estados: declarado na TabelaTransicoes (estado x ação -> estado)
+ *
+ * FLYWEIGHT:
+ * - Os estados não guardam dados do anúncio, então cada estado concreto tem
+ *   uma única instância compartilhada (INSTANCIA); transições não alocam
+ * - Cada estado tem um IdentificadorEstado, usado em comparações por identidade
+ *
+ * DESPACHO:
+ * - Cada ação consulta a TabelaTransicoes (leitura de array [estado][ação]);
+ *   os estados concretos não precisam sobrescrever nada
+ * - Um estado pode sobrescrever uma ação quando precisar de um comportamento
+ *   que a tabela não descreve
+ *
+ * CONCORRÊNCIA:
+ * - Cada ação retorna um ResultadoTransicao
+ * - Ações válidas chamam anuncio.transicionar(this, novoEstado): a troca só
+ *   acontece se o anúncio ainda estiver neste estado (compare-and-set)
+ * - Ações não permitidas retornam NAO_PERMITIDA (ou BLOQUEADA, se a guarda
+ *   recusar) sem alterar o anúncio
  */
 public abstract class EstadoAnuncio {
 
-    // Nome do estado (para identificação)
+    // Identidade do estado (comparável com ==)
+    protected final IdentificadorEstado identificador;
+
+    // Nome do estado (para exibição)
     protected final String nomeEstado;
 
     // Construtor protegido - apenas subclasses podem instanciar
-    protected EstadoAnuncio(String nomeEstado) {
-        this.nomeEstado = nomeEstado;
+    protected EstadoAnuncio(IdentificadorEstado identificador) {
+        this.identificador = identificador;
+        this.nomeEstado = identificador.getDescricao();
     }
 
     // Envia o anúncio para moderação.
-    public void enviarParaModeracao(Anuncio anuncio) {
-        // Estados concretos que permitem esta ação devem sobrescrever
+    public ResultadoTransicao enviarParaModeracao(Anuncio anuncio) {
+        return executar(anuncio, AcaoAnuncio.ENVIAR_PARA_MODERACAO);
     }
 
     // Aprova o anúncio na moderação.
-    public void aprovar(Anuncio anuncio) {
-        // Transição válida: Pendente de Moderação -> Ativo
+    public ResultadoTransicao aprovar(Anuncio anuncio) {
+        return executar(anuncio, AcaoAnuncio.APROVAR);
     }
 
     // Reprova o anúncio na moderação
-    public void reprovar(Anuncio anuncio) {
-        // Transição válida: Pendente de Moderação -> Suspenso
+    public ResultadoTransicao reprovar(Anuncio anuncio) {
+        return executar(anuncio, AcaoAnuncio.REPROVAR);
     }
 
     // Marca o anúncio como vendido/alugado
-    public void vender(Anuncio anuncio) {
-        // Transição válida: Ativo -> Vendido/Alugado
+    public ResultadoTransicao vender(Anuncio anuncio) {
+        return executar(anuncio, AcaoAnuncio.VENDER);
     }
 
     // Suspende o anúncio
-    public void suspender(Anuncio anuncio) {
-        /* Transições válidas:
-          - Pendente de Moderação -> Suspenso (anunciante desiste)
-          - Ativo -> Suspenso (anunciante retira)
-        */
+    public ResultadoTransicao suspender(Anuncio anuncio) {
+        return executar(anuncio, AcaoAnuncio.SUSPENDER);
     }
 
     // Retorna o anúncio para rascunho (para correções)
-    public void voltarParaRascunho(Anuncio anuncio) {
-        // Transição válida: Suspenso -> Rascunho
+    public ResultadoTransicao voltarParaRascunho(Anuncio anuncio) {
+        return executar(anuncio, AcaoAnuncio.VOLTAR_PARA_RASCUNHO);
+    }
+
+    // Aplica a ação conforme a TabelaTransicoes em uso
+    protected ResultadoTransicao executar(Anuncio anuncio, AcaoAnuncio acao) {
+        return TabelaTransicoes.getInstancia().aplicar(this, acao, anuncio);
     }
 
     /**
@@ -65,4 +86,9 @@ public abstract class EstadoAnuncio {
     public String getNomeEstado() {
         return nomeEstado;
     }
+
+    // Retorna o identificador do estado
+    public IdentificadorEstado getIdentificador() {
+        return identificador;
+    }
 }
\ No newline at end of file
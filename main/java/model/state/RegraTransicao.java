@@ -0,0 +1,70 @@
+package model.state;
+
+import model.prototype.concrete_prototype.Anuncio;
+
+import java.util.function.Predicate;
+
+/**
+ * PADRÃO: State
+ * PAPEL: Regra da tabela de transições
+ * FUNÇÃO: Declara uma transição válida: no estado de origem, a ação leva ao
+ * estado de destino, desde que a guarda (opcional) permita
+ *
+ * As regras são imutáveis e compiladas pela TabelaTransicoes.
+ */
+public class RegraTransicao {
+
+    private final EstadoAnuncio origem;
+    private final AcaoAnuncio acao;
+    private final EstadoAnuncio destino;
+
+    // Condição adicional sobre o anúncio (null = sempre permitida)
+    private final Predicate<Anuncio> guarda;
+
+    // Descrição da guarda, usada na exportação do grafo
+    private final String descricaoGuarda;
+
+    // Cria uma regra sem guarda
+    public RegraTransicao(EstadoAnuncio origem, AcaoAnuncio acao, EstadoAnuncio destino) {
+        this(origem, acao, destino, null, null);
+    }
+
+    public RegraTransicao(EstadoAnuncio origem, AcaoAnuncio acao, EstadoAnuncio destino,
+                          String descricaoGuarda, Predicate<Anuncio> guarda) {
+        if (origem == null || acao == null || destino == null) {
+            throw new IllegalArgumentException("Origem, ação e destino da transição são obrigatórios");
+        }
+        this.origem = origem;
+        this.acao = acao;
+        this.destino = destino;
+        this.guarda = guarda;
+        this.descricaoGuarda = guarda != null && descricaoGuarda == null ? "guarda" : descricaoGuarda;
+    }
+
+    public EstadoAnuncio getOrigem() {
+        return origem;
+    }
+
+    public AcaoAnuncio getAcao() {
+        return acao;
+    }
+
+    public EstadoAnuncio getDestino() {
+        return destino;
+    }
+
+    public Predicate<Anuncio> getGuarda() {
+        return guarda;
+    }
+
+    public String getDescricaoGuarda() {
+        return descricaoGuarda;
+    }
+
+    @Override
+    public String toString() {
+        return origem.getNomeEstado() + " --" + acao.getDescricao()
+                + (descricaoGuarda != null ? " [" + descricaoGuarda + "]" : "")
+                + "--> " + destino.getNomeEstado();
+    }
+}
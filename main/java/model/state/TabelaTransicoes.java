@@ -0,0 +1,208 @@
+package model.state;
+
+import enums.IdentificadorEstado;
+import enums.ResultadoTransicao;
+import model.prototype.concrete_prototype.Anuncio;
+import model.state.concrete_states.EstadoAtivo;
+import model.state.concrete_states.EstadoPendenteModeracao;
+import model.state.concrete_states.EstadoRascunho;
+import model.state.concrete_states.EstadoSuspenso;
+import model.state.concrete_states.EstadoVendido;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * PADRÃO: State
+ * PAPEL: Tabela de transições (compartilhada por todos os estados)
+ * FUNÇÃO: Concentra em um único lugar as transições válidas do anúncio
+ * (estado x ação -> estado + guarda) e despacha as ações dos estados
+ *
+ * FUNCIONAMENTO:
+ * - As regras são declaradas como lista (RegraTransicao) e compiladas em
+ *   arrays densos indexados por [estado][ação] (ordinais dos enums)
+ * - Despachar uma ação é uma leitura de array: célula vazia = NAO_PERMITIDA,
+ *   guarda recusada = BLOQUEADA, senão a troca é feita com anuncio.transicionar()
+ * - Para adicionar um estado (ex.: Reservado) basta o identificador, a classe
+ *   do estado e as suas regras; os demais estados não mudam
+ *
+ * EXPORTAÇÃO:
+ * - getRegras(), getAcoesPermitidas() e exportarDot() descrevem o grafo de
+ *   estados, para documentação e conferência das regras
+ *
+ * Fluxo padrão:
+ * 1. Rascunho -> Pendente de Moderação (enviarParaModeracao)
+ * 2. Pendente -> Ativo (aprovar), Suspenso (reprovar ou suspender)
+ * 3. Ativo -> Vendido (vender) ou Suspenso (suspender)
+ * 4. Suspenso -> Rascunho (voltarParaRascunho)
+ * 5. Vendido -> Estado final (sem transições)
+ */
+public class TabelaTransicoes {
+
+    private static final int QUANTIDADE_ACOES = AcaoAnuncio.values().length;
+
+    // Tabela padrão do sistema, criada no primeiro uso
+    private static class TabelaPadraoHolder {
+        private static final TabelaTransicoes PADRAO = new TabelaTransicoes(regrasPadrao());
+    }
+
+    // Tabela que substitui a padrão (null = usa a padrão)
+    private static volatile TabelaTransicoes substituta;
+
+    private final List<RegraTransicao> regras;
+
+    // Destino de cada célula [estado * QUANTIDADE_ACOES + ação] (null = ação não permitida)
+    private final EstadoAnuncio[] destinos;
+
+    // Guarda de cada célula (null = sem guarda)
+    private final Predicate<Anuncio>[] guardas;
+
+    // Instância de cada estado que aparece nas regras, por identificador
+    private final EstadoAnuncio[] estados;
+
+    /**
+     * Compila as regras em arrays densos.
+     *
+     * @throws IllegalArgumentException se duas regras tiverem a mesma origem e
+     *         ação, ou se dois estados diferentes tiverem o mesmo identificador
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TabelaTransicoes(List<RegraTransicao> regras) {
+        int quantidadeEstados = IdentificadorEstado.quantidade();
+        this.regras = Collections.unmodifiableList(new ArrayList<>(regras));
+        this.destinos = new EstadoAnuncio[quantidadeEstados * QUANTIDADE_ACOES];
+        this.guardas = (Predicate<Anuncio>[]) new Predicate[destinos.length];
+        this.estados = new EstadoAnuncio[quantidadeEstados];
+
+        for (RegraTransicao regra : this.regras) {
+            registrarEstado(regra.getOrigem());
+            registrarEstado(regra.getDestino());
+            int celula = celula(regra.getOrigem().getIdentificador(), regra.getAcao());
+            if (destinos[celula] != null) {
+                throw new IllegalArgumentException("Transição duplicada: " + regra.getOrigem().getNomeEstado()
+                        + " / " + regra.getAcao().getDescricao());
+            }
+            destinos[celula] = regra.getDestino();
+            guardas[celula] = regra.getGuarda();
+        }
+    }
+
+    // Retorna a tabela em uso
+    public static TabelaTransicoes getInstancia() {
+        TabelaTransicoes tabela = substituta;
+        return tabela != null ? tabela : TabelaPadraoHolder.PADRAO;
+    }
+
+    // Passa a usar outra tabela (null volta para a padrão)
+    public static void substituir(TabelaTransicoes tabela) {
+        substituta = tabela;
+    }
+
+    // Retorna as regras do fluxo padrão do anúncio (RF04)
+    public static List<RegraTransicao> regrasPadrao() {
+        List<RegraTransicao> regras = new ArrayList<>();
+        regras.add(new RegraTransicao(EstadoRascunho.INSTANCIA, AcaoAnuncio.ENVIAR_PARA_MODERACAO, EstadoPendenteModeracao.INSTANCIA));
+        regras.add(new RegraTransicao(EstadoPendenteModeracao.INSTANCIA, AcaoAnuncio.APROVAR, EstadoAtivo.INSTANCIA));
+        regras.add(new RegraTransicao(EstadoPendenteModeracao.INSTANCIA, AcaoAnuncio.REPROVAR, EstadoSuspenso.INSTANCIA));
+        regras.add(new RegraTransicao(EstadoPendenteModeracao.INSTANCIA, AcaoAnuncio.SUSPENDER, EstadoSuspenso.INSTANCIA));
+        regras.add(new RegraTransicao(EstadoAtivo.INSTANCIA, AcaoAnuncio.VENDER, EstadoVendido.INSTANCIA));
+        regras.add(new RegraTransicao(EstadoAtivo.INSTANCIA, AcaoAnuncio.SUSPENDER, EstadoSuspenso.INSTANCIA));
+        regras.add(new RegraTransicao(EstadoSuspenso.INSTANCIA, AcaoAnuncio.VOLTAR_PARA_RASCUNHO, EstadoRascunho.INSTANCIA));
+        return regras;
+    }
+
+    // ========================================================================
+    // DESPACHO
+    // ========================================================================
+
+    // Aplica a ação ao anúncio que está no estado informado
+    public ResultadoTransicao aplicar(EstadoAnuncio estado, AcaoAnuncio acao, Anuncio anuncio) {
+        int celula = celula(estado.getIdentificador(), acao);
+        EstadoAnuncio destino = destinos[celula];
+        if (destino == null) {
+            return ResultadoTransicao.NAO_PERMITIDA;
+        }
+        Predicate<Anuncio> guarda = guardas[celula];
+        if (guarda != null && !guarda.test(anuncio)) {
+            return ResultadoTransicao.BLOQUEADA;
+        }
+        return anuncio.transicionar(estado, destino);
+    }
+
+    // ========================================================================
+    // CONSULTA E EXPORTAÇÃO DO GRAFO
+    // ========================================================================
+
+    // Retorna o estado de destino da ação, ou null se a ação não é permitida
+    public EstadoAnuncio getDestino(IdentificadorEstado estado, AcaoAnuncio acao) {
+        return destinos[celula(estado, acao)];
+    }
+
+    // Retorna as ações que têm transição a partir do estado (sem avaliar guardas)
+    public Set<AcaoAnuncio> getAcoesPermitidas(IdentificadorEstado estado) {
+        Set<AcaoAnuncio> acoes = EnumSet.noneOf(AcaoAnuncio.class);
+        for (AcaoAnuncio acao : AcaoAnuncio.values()) {
+            if (destinos[celula(estado, acao)] != null) {
+                acoes.add(acao);
+            }
+        }
+        return acoes;
+    }
+
+    // Retorna true se nenhuma ação sai do estado
+    public boolean isTerminal(IdentificadorEstado estado) {
+        return getAcoesPermitidas(estado).isEmpty();
+    }
+
+    // Retorna a instância do estado usada nas regras, ou null se ele não aparece na tabela
+    public EstadoAnuncio getEstado(IdentificadorEstado identificador) {
+        return estados[identificador.ordinal()];
+    }
+
+    public List<RegraTransicao> getRegras() {
+        return regras;
+    }
+
+    // Exporta o grafo de estados no formato DOT (Graphviz)
+    public String exportarDot() {
+        StringBuilder dot = new StringBuilder("digraph EstadosAnuncio {\n");
+        for (EstadoAnuncio estado : estados) {
+            if (estado != null) {
+                dot.append("    ").append(estado.getIdentificador().name())
+                        .append(" [label=\"").append(estado.getNomeEstado()).append('"')
+                        .append(isTerminal(estado.getIdentificador()) ? ", shape=doublecircle" : "")
+                        .append("];\n");
+            }
+        }
+        for (RegraTransicao regra : regras) {
+            dot.append("    ").append(regra.getOrigem().getIdentificador().name())
+                    .append(" -> ").append(regra.getDestino().getIdentificador().name())
+                    .append(" [label=\"").append(regra.getAcao().getDescricao());
+            if (regra.getDescricaoGuarda() != null) {
+                dot.append(" [").append(regra.getDescricaoGuarda()).append(']');
+            }
+            dot.append("\"];\n");
+        }
+        return dot.append("}\n").toString();
+    }
+
+    // ========================================================================
+    // MÉTODOS AUXILIARES
+    // ========================================================================
+
+    private static int celula(IdentificadorEstado estado, AcaoAnuncio acao) {
+        return estado.ordinal() * QUANTIDADE_ACOES + acao.ordinal();
+    }
+
+    private void registrarEstado(EstadoAnuncio estado) {
+        EstadoAnuncio existente = estados[estado.getIdentificador().ordinal()];
+        if (existente != null && existente != estado) {
+            throw new IllegalArgumentException("Duas instâncias para o estado " + estado.getNomeEstado());
+        }
+        estados[estado.getIdentificador().ordinal()] = estado;
+    }
+}
@@ -0,0 +1,374 @@
+package model.state.agendamento;
+
+import enums.IdentificadorEstado;
+import model.observer.ObservadorAnuncio;
+import model.observer.RegistroObservadores;
+import model.observer.TransicaoAnuncio;
+import model.prototype.concrete_prototype.Anuncio;
+import model.repository.RepositorioAnuncios;
+import model.singleton.ConfiguracaoSistema;
+import model.state.AcaoAnuncio;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PADRÃO: State (transições por tempo) + Observer
+ * PAPEL: ConcreteObserver que agenda transições do Context (Anuncio)
+ * FUNÇÃO: Suspende anúncios Ativos que passaram N dias sem alterações e
+ * avisa o anunciante alguns dias antes
+ *
+ * FUNCIONAMENTO:
+ * - Ao entrar em Ativo, o anúncio ganha um prazo de EXPIRACAO (e um de LEMBRETE)
+ *   em uma RodaTemporizacao; ao sair de Ativo, os prazos são cancelados
+ * - Uma única thread avança a roda a cada tick; não há um temporizador por anúncio
+ * - Quando o prazo vence, o agendador confere a dataAtualizacao do anúncio:
+ *   se ele foi alterado depois do agendamento, o prazo é refeito a partir dela
+ * - Os anúncios vencidos em um mesmo tick são suspensos em lote
+ *   (RepositorioAnuncios.transicionarEmLote)
+ * - encerrar() grava os prazos em disco; iniciar() os restaura
+ *
+ * INTEGRAÇÃO COM RF07 (Singleton):
+ * - Dias de expiração, antecedência do lembrete, tick e arquivo vêm do
+ *   ConfiguracaoSistema (anuncio.expiracao.*, anuncio.agendamento.*)
+ */
+public class AgendadorExpiracao implements ObservadorAnuncio {
+
+    // Identifica o formato do arquivo de prazos
+    private static final int FORMATO_ARQUIVO = 0x41474431;
+
+    private final RepositorioAnuncios repositorio;
+    private final long duracaoExpiracaoMs;
+    private final long antecedenciaLembreteMs;
+    private final Path arquivo;
+
+    private final RodaTemporizacao roda;
+
+    // Prazos de cada anúncio (posição = ordinal do Prazo.Tipo); protegido pelo monitor
+    private final Map<String, Prazo[]> prazosPorAnuncio;
+
+    private final List<OuvinteLembreteExpiracao> ouvintes;
+
+    private final LongAdder expirados;
+    private final LongAdder lembretes;
+    private final LongAdder reagendados;
+
+    private volatile Thread relogio;
+
+    // Cria o agendador com os prazos e o arquivo do ConfiguracaoSistema
+    public AgendadorExpiracao(RepositorioAnuncios repositorio) {
+        this(repositorio,
+                TimeUnit.DAYS.toMillis(ConfiguracaoSistema.getInstancia().getDiasExpiracaoAnuncio()),
+                TimeUnit.DAYS.toMillis(ConfiguracaoSistema.getInstancia().getDiasLembreteExpiracao()),
+                ConfiguracaoSistema.getInstancia().getTickAgendamentoMs(),
+                Paths.get(ConfiguracaoSistema.getInstancia().getArquivoAgendamento()));
+    }
+
+    public AgendadorExpiracao(RepositorioAnuncios repositorio, long duracaoExpiracaoMs,
+                              long antecedenciaLembreteMs, long tickMs, Path arquivo) {
+        this.repositorio = repositorio;
+        this.duracaoExpiracaoMs = duracaoExpiracaoMs;
+        this.antecedenciaLembreteMs = antecedenciaLembreteMs;
+        this.arquivo = arquivo;
+        this.roda = new RodaTemporizacao(tickMs, System.currentTimeMillis());
+        this.prazosPorAnuncio = new HashMap<>();
+        this.ouvintes = new CopyOnWriteArrayList<>();
+        this.expirados = new LongAdder();
+        this.lembretes = new LongAdder();
+        this.reagendados = new LongAdder();
+    }
+
+    // Registra quem recebe os lembretes de expiração
+    public void adicionarOuvinte(OuvinteLembreteExpiracao ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    // ========================================================================
+    // CICLO DE VIDA
+    // ========================================================================
+
+    /**
+     * Restaura os prazos gravados, agenda os anúncios Ativos do repositório que
+     * ainda não têm prazo, passa a observar as transições e inicia o relógio.
+     *
+     * @throws IOException se o arquivo de prazos existir mas não puder ser lido
+     */
+    public synchronized void iniciar() throws IOException {
+        if (relogio != null) {
+            return;
+        }
+        restaurar();
+        for (Anuncio anuncio : repositorio.getPorEstado(IdentificadorEstado.ATIVO)) {
+            if (!prazosPorAnuncio.containsKey(anuncio.getId())) {
+                agendar(anuncio);
+            }
+        }
+        RegistroObservadores.getInstancia().assinarTodos(this);
+
+        Thread thread = new Thread(this::executar, "agendador-expiracao");
+        thread.setDaemon(true);
+        relogio = thread;
+        thread.start();
+    }
+
+    /**
+     * Para o relógio, deixa de observar as transições e grava os prazos pendentes.
+     *
+     * @throws IOException se o arquivo de prazos não puder ser gravado
+     */
+    public void encerrar() throws IOException {
+        Thread thread;
+        synchronized (this) {
+            thread = relogio;
+            relogio = null;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        RegistroObservadores.getInstancia().cancelarTodos(this);
+        salvar();
+    }
+
+    // Laço do relógio: avança a roda a cada tick
+    private void executar() {
+        long tickMs = roda.getTickMs();
+        while (relogio == Thread.currentThread()) {
+            try {
+                processar(System.currentTimeMillis());
+                Thread.sleep(tickMs - System.currentTimeMillis() % tickMs);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // Uma falha ao processar um tick não para o relógio
+                System.out.println("[Agendador] Erro ao processar prazos: " + e.getMessage());
+            }
+        }
+    }
+
+    // ========================================================================
+    // AGENDAMENTO
+    // ========================================================================
+
+    // Agenda a expiração (e o lembrete) do anúncio a partir da sua última alteração
+    public synchronized void agendar(Anuncio anuncio) {
+        cancelar(anuncio.getId());
+        long expiracao = calcularExpiracao(anuncio);
+        incluir(new Prazo(anuncio.getId(), Prazo.Tipo.EXPIRACAO, expiracao));
+        if (antecedenciaLembreteMs > 0 && expiracao - antecedenciaLembreteMs > System.currentTimeMillis()) {
+            incluir(new Prazo(anuncio.getId(), Prazo.Tipo.LEMBRETE, expiracao - antecedenciaLembreteMs));
+        }
+    }
+
+    // Cancela os prazos do anúncio
+    public synchronized void cancelar(String anuncioId) {
+        Prazo[] prazos = prazosPorAnuncio.remove(anuncioId);
+        if (prazos != null) {
+            for (Prazo prazo : prazos) {
+                if (prazo != null) {
+                    roda.cancelar(prazo);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void notificar(Anuncio anuncio, String estadoAnterior, String estadoNovo) {
+        notificar(anuncio, IdentificadorEstado.porDescricao(estadoAnterior), IdentificadorEstado.porDescricao(estadoNovo));
+    }
+
+    @Override
+    public void notificar(Anuncio anuncio, IdentificadorEstado estadoAnterior, IdentificadorEstado estadoNovo) {
+        if (estadoNovo == IdentificadorEstado.ATIVO) {
+            agendar(anuncio);
+        } else if (estadoAnterior == IdentificadorEstado.ATIVO) {
+            cancelar(anuncio.getId());
+        }
+    }
+
+    // Atualiza os prazos de um lote inteiro com uma única aquisição do monitor
+    @Override
+    public synchronized void notificarLote(List<TransicaoAnuncio> transicoes) {
+        for (TransicaoAnuncio transicao : transicoes) {
+            notificar(transicao.getAnuncio(), transicao.getEstadoAnterior(), transicao.getEstadoNovo());
+        }
+    }
+
+    // ========================================================================
+    // VENCIMENTO
+    // ========================================================================
+
+    /**
+     * Processa os prazos vencidos até o instante informado: envia os lembretes
+     * e suspende em lote os anúncios expirados.
+     *
+     * @return quantidade de anúncios suspensos
+     */
+    public int processar(long agoraMs) {
+        List<Anuncio> lembrar = new ArrayList<>();
+        List<String> expirar = new ArrayList<>();
+
+        synchronized (this) {
+            for (Prazo prazo : roda.avancar(agoraMs)) {
+                Prazo[] prazos = prazosPorAnuncio.get(prazo.getAnuncioId());
+                if (prazos == null || prazos[prazo.getTipo().ordinal()] != prazo) {
+                    continue;
+                }
+                prazos[prazo.getTipo().ordinal()] = null;
+                if (prazos[0] == null && prazos[1] == null) {
+                    prazosPorAnuncio.remove(prazo.getAnuncioId());
+                }
+
+                Anuncio anuncio = repositorio.buscar(prazo.getAnuncioId());
+                if (anuncio == null || anuncio.getIdentificadorEstado() != IdentificadorEstado.ATIVO) {
+                    continue;
+                }
+
+                // Anúncio alterado depois do agendamento: o prazo conta a partir da alteração
+                long expiracao = calcularExpiracao(anuncio);
+                long vencimento = prazo.getTipo() == Prazo.Tipo.EXPIRACAO
+                        ? expiracao : expiracao - antecedenciaLembreteMs;
+                if (vencimento > agoraMs) {
+                    incluir(new Prazo(prazo.getAnuncioId(), prazo.getTipo(), vencimento));
+                    reagendados.increment();
+                } else if (prazo.getTipo() == Prazo.Tipo.EXPIRACAO) {
+                    expirar.add(prazo.getAnuncioId());
+                } else {
+                    lembrar.add(anuncio);
+                }
+            }
+        }
+
+        // Lembretes e transições acontecem fora do monitor
+        for (Anuncio anuncio : lembrar) {
+            LocalDateTime dataExpiracao = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(calcularExpiracao(anuncio)), ZoneId.systemDefault());
+            for (OuvinteLembreteExpiracao ouvinte : ouvintes) {
+                ouvinte.lembrar(anuncio, dataExpiracao);
+            }
+            lembretes.increment();
+        }
+
+        if (expirar.isEmpty()) {
+            return 0;
+        }
+        int suspensos = repositorio.transicionarEmLote(expirar, AcaoAnuncio.SUSPENDER).getAplicadas();
+        expirados.add(suspensos);
+        return suspensos;
+    }
+
+    // ========================================================================
+    // PERSISTÊNCIA
+    // ========================================================================
+
+    // Grava os prazos pendentes em arquivo temporário e o move para o lugar definitivo
+    public void salvar() throws IOException {
+        List<Prazo> prazos;
+        synchronized (this) {
+            prazos = roda.listar();
+        }
+
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try (DataOutputStream saida = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporario)))) {
+            saida.writeInt(FORMATO_ARQUIVO);
+            saida.writeInt(prazos.size());
+            for (Prazo prazo : prazos) {
+                saida.writeUTF(prazo.getAnuncioId());
+                saida.writeByte(prazo.getTipo().ordinal());
+                saida.writeLong(prazo.getInstante());
+            }
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Recarrega os prazos gravados; prazos que venceram enquanto o sistema estava parado vencem no próximo tick
+    private void restaurar() throws IOException {
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(arquivo)))) {
+            if (entrada.readInt() != FORMATO_ARQUIVO) {
+                throw new IOException("Arquivo de prazos em formato desconhecido: " + arquivo);
+            }
+            int quantidade = entrada.readInt();
+            Prazo.Tipo[] tipos = Prazo.Tipo.values();
+            for (int i = 0; i < quantidade; i++) {
+                String anuncioId = entrada.readUTF();
+                Prazo.Tipo tipo = tipos[entrada.readByte()];
+                long instante = entrada.readLong();
+                Prazo[] prazos = prazosPorAnuncio.get(anuncioId);
+                if (prazos == null || prazos[tipo.ordinal()] == null) {
+                    incluir(new Prazo(anuncioId, tipo, instante));
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // Primeira execução: nada a restaurar
+        }
+    }
+
+    // ========================================================================
+    // MÉTODOS AUXILIARES
+    // ========================================================================
+
+    // Chamado com o monitor do agendador
+    private void incluir(Prazo prazo) {
+        Prazo[] prazos = prazosPorAnuncio.computeIfAbsent(prazo.getAnuncioId(),
+                k -> new Prazo[Prazo.Tipo.values().length]);
+        Prazo anterior = prazos[prazo.getTipo().ordinal()];
+        if (anterior != null) {
+            roda.cancelar(anterior);
+        }
+        prazos[prazo.getTipo().ordinal()] = prazo;
+        roda.agendar(prazo);
+    }
+
+    // Instante (epoch em ms) em que o anúncio expira, contado da última alteração
+    private long calcularExpiracao(Anuncio anuncio) {
+        return anuncio.getDataAtualizacao().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                + duracaoExpiracaoMs;
+    }
+
+    // Retorna quantos prazos estão agendados
+    public synchronized int getQuantidadeAgendada() {
+        return roda.getQuantidade();
+    }
+
+    // Retorna quantos anúncios foram suspensos por expiração
+    public long getExpirados() {
+        return expirados.sum();
+    }
+
+    public long getLembretes() {
+        return lembretes.sum();
+    }
+
+    // Retorna quantos prazos foram refeitos porque o anúncio foi alterado
+    public long getReagendados() {
+        return reagendados.sum();
+    }
+}
@@ -0,0 +1,18 @@
+package model.state.agendamento;
+
+import model.prototype.concrete_prototype.Anuncio;
+
+import java.time.LocalDateTime;
+
+/**
+ * PADRÃO: Observer
+ * PAPEL: Subscriber (Interface)
+ * FUNÇÃO: Recebe os lembretes de expiração emitidos pelo AgendadorExpiracao
+ * (ex.: para avisar o anunciante por um NotificadorAdapter)
+ */
+@FunctionalInterface
+public interface OuvinteLembreteExpiracao {
+
+    // Chamado quando faltam poucos dias para o anúncio Ativo ser suspenso
+    void lembrar(Anuncio anuncio, LocalDateTime dataExpiracao);
+}
@@ -0,0 +1,55 @@
+package model.state.agendamento;
+
+/**
+ * PADRÃO: State (suporte às transições por tempo)
+ * PAPEL: Prazo agendado
+ * FUNÇÃO: Representa um instante em que algo deve acontecer com um anúncio
+ * (expiração ou lembrete), guardado em uma posição da RodaTemporizacao
+ *
+ * O prazo também é o nó da lista encadeada da sua posição na roda; por isso
+ * o cancelamento é O(1) e não precisa procurar o prazo.
+ */
+public class Prazo {
+
+    // O que acontece quando o prazo vence
+    public enum Tipo {
+        EXPIRACAO,   // Ativo -> Suspenso
+        LEMBRETE     // aviso ao anunciante antes da expiração
+    }
+
+    private final String anuncioId;
+    private final Tipo tipo;
+
+    // Instante do vencimento (epoch em ms)
+    private final long instante;
+
+    // Posição na roda (nivel < 0 = fora da roda); mantidos pela RodaTemporizacao
+    long tick;
+    int nivel = -1;
+    int posicao;
+    Prazo anterior;
+    Prazo proximo;
+
+    public Prazo(String anuncioId, Tipo tipo, long instante) {
+        this.anuncioId = anuncioId;
+        this.tipo = tipo;
+        this.instante = instante;
+    }
+
+    public String getAnuncioId() {
+        return anuncioId;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public long getInstante() {
+        return instante;
+    }
+
+    // Retorna true enquanto o prazo está na roda (nem vencido nem cancelado)
+    public boolean isAgendado() {
+        return nivel >= 0;
+    }
+}
@@ -0,0 +1,192 @@
+package model.state.agendamento;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PADRÃO: State (suporte às transições por tempo)
+ * PAPEL: Roda de temporização hierárquica
+ * FUNÇÃO: Guarda milhões de prazos com inclusão e cancelamento O(1), sem um
+ * temporizador por anúncio
+ *
+ * FUNCIONAMENTO:
+ * - O tempo é dividido em ticks (ex.: 1 segundo); cada nível tem 64 posições
+ * - Nível 0: uma posição por tick (próximos 64 ticks)
+ * - Nível n: uma posição a cada 64^n ticks; 7 níveis cobrem 64^7 ticks
+ * - Cada posição é uma lista duplamente encadeada de prazos
+ * - Quando o nível 0 dá a volta, a posição correspondente do nível 1 é
+ *   redistribuída para os níveis inferiores (e assim por diante)
+ * - A cada tick, os prazos da posição atual do nível 0 vencem
+ *
+ * Os ticks são contados a partir do epoch, então um prazo gravado em disco
+ * volta para a mesma posição relativa depois de reiniciar o sistema.
+ *
+ * Não é thread-safe: o AgendadorExpiracao sincroniza o acesso.
+ */
+public class RodaTemporizacao {
+
+    private static final int BITS_POR_NIVEL = 6;
+    private static final int POSICOES = 1 << BITS_POR_NIVEL;
+    private static final int MASCARA = POSICOES - 1;
+    private static final int NIVEIS = 7;
+
+    // Maior distância (em ticks) que a roda representa
+    private static final long ALCANCE_MAXIMO = (1L << (BITS_POR_NIVEL * NIVEIS)) - 1;
+
+    private final long tickMs;
+
+    // Primeiro prazo de cada posição de cada nível
+    private final Prazo[][] posicoes;
+
+    // Último tick processado
+    private long tickAtual;
+
+    private int quantidade;
+
+    public RodaTemporizacao(long tickMs, long agoraMs) {
+        this.tickMs = Math.max(1, tickMs);
+        this.posicoes = new Prazo[NIVEIS][POSICOES];
+        this.tickAtual = agoraMs / this.tickMs;
+    }
+
+    /**
+     * Inclui o prazo na roda. Prazos já vencidos vencem no próximo tick.
+     *
+     * @throws IllegalStateException se o prazo já está agendado
+     */
+    public void agendar(Prazo prazo) {
+        if (prazo.isAgendado()) {
+            throw new IllegalStateException("Prazo já agendado: " + prazo.getAnuncioId());
+        }
+        // Arredonda para cima: o prazo nunca vence antes do instante pedido
+        long tick = (prazo.getInstante() + tickMs - 1) / tickMs;
+        prazo.tick = Math.max(tick, tickAtual + 1);
+        inserir(prazo);
+        quantidade++;
+    }
+
+    // Remove o prazo da roda; retorna false se ele já tinha vencido ou sido cancelado
+    public boolean cancelar(Prazo prazo) {
+        if (!prazo.isAgendado()) {
+            return false;
+        }
+        desligar(prazo);
+        quantidade--;
+        return true;
+    }
+
+    /**
+     * Avança a roda até o instante informado.
+     *
+     * @return prazos que venceram, na ordem de vencimento
+     */
+    public List<Prazo> avancar(long agoraMs) {
+        long alvo = agoraMs / tickMs;
+        List<Prazo> vencidos = new ArrayList<>();
+
+        if (quantidade == 0) {
+            tickAtual = Math.max(tickAtual, alvo);
+            return vencidos;
+        }
+
+        while (tickAtual < alvo && quantidade > 0) {
+            tickAtual++;
+            redistribuir();
+
+            int posicao = (int) (tickAtual & MASCARA);
+            Prazo prazo = posicoes[0][posicao];
+            posicoes[0][posicao] = null;
+            while (prazo != null) {
+                Prazo proximo = prazo.proximo;
+                soltar(prazo);
+                vencidos.add(prazo);
+                quantidade--;
+                prazo = proximo;
+            }
+        }
+        tickAtual = Math.max(tickAtual, alvo);
+        return vencidos;
+    }
+
+    // Retorna todos os prazos agendados (para gravação em disco)
+    public List<Prazo> listar() {
+        List<Prazo> prazos = new ArrayList<>(quantidade);
+        for (Prazo[] nivel : posicoes) {
+            for (Prazo prazo : nivel) {
+                for (; prazo != null; prazo = prazo.proximo) {
+                    prazos.add(prazo);
+                }
+            }
+        }
+        return prazos;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public long getTickMs() {
+        return tickMs;
+    }
+
+    // ========================================================================
+    // MÉTODOS AUXILIARES
+    // ========================================================================
+
+    // Coloca o prazo no nível cujo alcance cobre a distância até o vencimento
+    private void inserir(Prazo prazo) {
+        long distancia = Math.min(prazo.tick - tickAtual, ALCANCE_MAXIMO);
+        long tick = tickAtual + distancia;
+
+        int nivel = 0;
+        while (nivel < NIVEIS - 1 && distancia >= (1L << (BITS_POR_NIVEL * (nivel + 1)))) {
+            nivel++;
+        }
+        int posicao = (int) ((tick >>> (BITS_POR_NIVEL * nivel)) & MASCARA);
+
+        Prazo primeiro = posicoes[nivel][posicao];
+        prazo.nivel = nivel;
+        prazo.posicao = posicao;
+        prazo.anterior = null;
+        prazo.proximo = primeiro;
+        if (primeiro != null) {
+            primeiro.anterior = prazo;
+        }
+        posicoes[nivel][posicao] = prazo;
+    }
+
+    // Quando um nível dá a volta, desce os prazos da posição atual do nível acima
+    private void redistribuir() {
+        for (int nivel = 1; nivel < NIVEIS; nivel++) {
+            if (((tickAtual >>> (BITS_POR_NIVEL * (nivel - 1))) & MASCARA) != 0) {
+                return;
+            }
+            int posicao = (int) ((tickAtual >>> (BITS_POR_NIVEL * nivel)) & MASCARA);
+            Prazo prazo = posicoes[nivel][posicao];
+            posicoes[nivel][posicao] = null;
+            while (prazo != null) {
+                Prazo proximo = prazo.proximo;
+                inserir(prazo);
+                prazo = proximo;
+            }
+        }
+    }
+
+    private void desligar(Prazo prazo) {
+        if (prazo.anterior != null) {
+            prazo.anterior.proximo = prazo.proximo;
+        } else {
+            posicoes[prazo.nivel][prazo.posicao] = prazo.proximo;
+        }
+        if (prazo.proximo != null) {
+            prazo.proximo.anterior = prazo.anterior;
+        }
+        soltar(prazo);
+    }
+
+    private static void soltar(Prazo prazo) {
+        prazo.nivel = -1;
+        prazo.anterior = null;
+        prazo.proximo = null;
+    }
+}
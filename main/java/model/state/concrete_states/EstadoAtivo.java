@@ -1,6 +1,6 @@
 package model.state.concrete_states;
 
-import model.prototype.concrete_prototype.Anuncio;
+import enums.IdentificadorEstado;
 import model.state.EstadoAnuncio;
 
     /**
@@ -12,7 +12,7 @@ import model.state.EstadoAnuncio;
      * - Representa o anúncio publicado e visível publicamente
      * - Permite transições para Vendido (negócio fechado) ou Suspenso (retirado)
      *
-     * TRANSIÇÕES PERMITIDAS:
+     * TRANSIÇÕES PERMITIDAS (declaradas na TabelaTransicoes):
      * - vender() -> EstadoVendido
      * - suspender() -> EstadoSuspenso
      *
@@ -24,27 +24,10 @@ import model.state.EstadoAnuncio;
      */
     public class EstadoAtivo extends EstadoAnuncio {
 
-        public EstadoAtivo() {
-            super("Ativo");
-        }
-
-        /**
-         * Marca o anúncio como vendido/alugado - transição para Vendido.
-         * Chamado quando o negócio é fechado.
-         */
-        @Override
-        public void vender(Anuncio anuncio) {
-            // Transição: Ativo -> Vendido/Alugado
-            anuncio.setEstadoInterno(new EstadoVendido());
-        }
+        // Instância única compartilhada por todos os anúncios (Flyweight)
+        public static final EstadoAtivo INSTANCIA = new EstadoAtivo();
 
-        /**
-         * Suspende o anúncio - transição para Suspenso.
-         * Chamado quando o anunciante decide retirar o anúncio.
-         */
-        @Override
-        public void suspender(Anuncio anuncio) {
-            // Transição: Ativo -> Suspenso
-            anuncio.setEstadoInterno(new EstadoSuspenso());
+        private EstadoAtivo() {
+            super(IdentificadorEstado.ATIVO);
         }
     }
@@ -1,6 +1,6 @@
 package model.state.concrete_states;
 
-import model.prototype.concrete_prototype.Anuncio;
+import enums.IdentificadorEstado;
 import model.state.EstadoAnuncio;
 
 /**
@@ -13,7 +13,7 @@ import model.state.EstadoAnuncio;
  * - Permite transições para Ativo (aprovado) ou Suspenso (reprovado)
  * - Permite que anunciante suspenda (desista) durante a moderação
  *
- * TRANSIÇÕES PERMITIDAS:
+ * TRANSIÇÕES PERMITIDAS (declaradas na TabelaTransicoes):
  * - aprovar() -> EstadoAtivo
  * - reprovar() -> EstadoSuspenso
  * - suspender() -> EstadoSuspenso (anunciante desiste)
@@ -28,37 +28,10 @@ import model.state.EstadoAnuncio;
  */
 public class EstadoPendenteModeracao extends EstadoAnuncio {
 
-    public EstadoPendenteModeracao() {
-        super("Pendente de Moderação");
-    }
-
-    /**
-     * Aprova o anúncio - transição para Ativo.
-     * Chamado pelo sistema de moderação (RF03) quando todas validações passam.
-     */
-    @Override
-    public void aprovar(Anuncio anuncio) {
-        // Transição: Pendente de Moderação -> Ativo
-        anuncio.setEstadoInterno(new EstadoAtivo());
-    }
-
-    /**
-     * Reprova o anúncio - transição para Suspenso.
-     * Chamado pelo sistema de moderação (RF03) quando validações falham.
-     */
-    @Override
-    public void reprovar(Anuncio anuncio) {
-        // Transição: Pendente de Moderação -> Suspenso
-        anuncio.setEstadoInterno(new EstadoSuspenso());
-    }
+    // Instância única compartilhada por todos os anúncios (Flyweight)
+    public static final EstadoPendenteModeracao INSTANCIA = new EstadoPendenteModeracao();
 
-    /**
-     * Suspende o anúncio - transição para Suspenso.
-     * Chamado quando o anunciante desiste durante a moderação.
-     */
-    @Override
-    public void suspender(Anuncio anuncio) {
-        // Transição: Pendente de Moderação -> Suspenso (anunciante desistiu)
-        anuncio.setEstadoInterno(new EstadoSuspenso());
+    private EstadoPendenteModeracao() {
+        super(IdentificadorEstado.PENDENTE_MODERACAO);
     }
 }
\ No newline at end of file
@@ -1,6 +1,6 @@
 package model.state.concrete_states;
 
-import model.prototype.concrete_prototype.Anuncio;
+import enums.IdentificadorEstado;
 import model.state.EstadoAnuncio;
 
 /**
@@ -12,7 +12,7 @@ import model.state.EstadoAnuncio;
  * - Representa o estado inicial do anúncio
  * - Permite transição para Pendente de Moderação
  *
- * TRANSIÇÕES PERMITIDAS:
+ * TRANSIÇÕES PERMITIDAS (declaradas na TabelaTransicoes):
  * - enviarParaModeracao() -> EstadoPendenteModeracao
  *
  * REGRA DE NEGÓCIO (RF04):
@@ -22,20 +22,10 @@ import model.state.EstadoAnuncio;
  */
 public class EstadoRascunho extends EstadoAnuncio {
 
-    public EstadoRascunho() {
-        super("Rascunho");
-    }
+    // Instância única compartilhada por todos os anúncios (Flyweight)
+    public static final EstadoRascunho INSTANCIA = new EstadoRascunho();
 
-    /**
-     * Sobrescreve o comportamento padrão para permitir envio para moderação
-     *
-     * Esta é a única transição válida a partir do estado Rascunho
-     */
-    @Override
-    public void enviarParaModeracao(Anuncio anuncio) {
-        // Transição: Rascunho -> Pendente de Moderação
-        anuncio.setEstadoInterno(new EstadoPendenteModeracao());
+    private EstadoRascunho() {
+        super(IdentificadorEstado.RASCUNHO);
     }
-
-    // Outros métodos (aprovar, reprovar, vender, suspender, voltarParaRascunho) não são sobrescritos - eles herdam a implementação vazia da classe base, pois essas operações não são permitidas no estado Rascunho
 }
\ No newline at end of file
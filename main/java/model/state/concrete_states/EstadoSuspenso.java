@@ -1,6 +1,6 @@
 package model.state.concrete_states;
 
-import model.prototype.concrete_prototype.Anuncio;
+import enums.IdentificadorEstado;
 import model.state.EstadoAnuncio;
 
 /**
@@ -12,7 +12,7 @@ import model.state.EstadoAnuncio;
  * - Representa o anúncio reprovado na moderação OU retirado pelo anunciante
  * - Permite transição para Rascunho (para correções e reenvio)
  *
- * TRANSIÇÕES PERMITIDAS:
+ * TRANSIÇÕES PERMITIDAS (declaradas na TabelaTransicoes):
  * - voltarParaRascunho() -> EstadoRascunho
  *
  * REGRA DE NEGÓCIO (RF04):
@@ -23,17 +23,10 @@ import model.state.EstadoAnuncio;
  */
 public class EstadoSuspenso extends EstadoAnuncio {
 
-    public EstadoSuspenso() {
-        super("Suspenso");
-    }
+    // Instância única compartilhada por todos os anúncios (Flyweight)
+    public static final EstadoSuspenso INSTANCIA = new EstadoSuspenso();
 
-    /**
-     * Retorna o anúncio para rascunho - transição para Rascunho.
-     * Chamado quando o anunciante deseja corrigir o anúncio e tentar novamente
-     */
-    @Override
-    public void voltarParaRascunho(Anuncio anuncio) {
-        // Transição: Suspenso -> Rascunho
-        anuncio.setEstadoInterno(new EstadoRascunho());
+    private EstadoSuspenso() {
+        super(IdentificadorEstado.SUSPENSO);
     }
 }
\ No newline at end of file
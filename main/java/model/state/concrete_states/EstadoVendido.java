@@ -1,5 +1,6 @@
 package model.state.concrete_states;
 
+import enums.IdentificadorEstado;
 import model.state.EstadoAnuncio;
 
 /**
@@ -11,7 +12,7 @@ import model.state.EstadoAnuncio;
  * - Representa o estado final do anúncio (imóvel negociado)
  * - Não permite nenhuma transição (estado terminal)
  *
- * TRANSIÇÕES PERMITIDAS:
+ * TRANSIÇÕES PERMITIDAS (declaradas na TabelaTransicoes):
  * - Nenhuma (estado final)
  *
  * REGRA DE NEGÓCIO (RF04):
@@ -20,12 +21,15 @@ import model.state.EstadoAnuncio;
  * - Não está mais visível nas buscas públicas
  * - Mantido no sistema apenas para histórico
  *
- * NOTA: Esta classe não sobrescreve nenhum método da classe base,
- * pois todas as operações herdam a implementação vazia (não permitidas).
+ * NOTA: A TabelaTransicoes não tem regras a partir deste estado, então
+ * todas as operações retornam NAO_PERMITIDA.
  */
 public class EstadoVendido extends EstadoAnuncio {
 
-    public EstadoVendido() {
-        super("Vendido/Alugado");
+    // Instância única compartilhada por todos os anúncios (Flyweight)
+    public static final EstadoVendido INSTANCIA = new EstadoVendido();
+
+    private EstadoVendido() {
+        super(IdentificadorEstado.VENDIDO);
     }
 }
\ No newline at end of file